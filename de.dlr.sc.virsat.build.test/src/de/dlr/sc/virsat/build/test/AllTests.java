@@ -17,6 +17,7 @@ import de.dlr.sc.virsat.build.inheritance.VirSatInheritanceBuilderTest;
 import de.dlr.sc.virsat.build.inheritance.VirSatTransactionalBuilderTest;
 import de.dlr.sc.virsat.build.marker.util.VirSatInheritanceMarkerHelperTest;
 import de.dlr.sc.virsat.build.marker.util.VirSatValidationMarkerHelperTest;
+import de.dlr.sc.virsat.build.validator.ParallelValidationEngineTest;
 import de.dlr.sc.virsat.build.validator.VirSatValidatorBuilderTest;
 import de.dlr.sc.virsat.build.validator.core.DvlmSEIsUniqeNameValidatorTest;
 import de.dlr.sc.virsat.build.validator.core.DvlmMissingResourcePropertyValidatorTest;
@@ -40,6 +41,7 @@ import junit.framework.JUnit4TestAdapter;
 	VirSatValidationMarkerHelperTest.class,
 	VirSatInheritanceMarkerHelperTest.class,
 	VirSatValidatorBuilderTest.class,
+	ParallelValidationEngineTest.class,
 	VirSatInheritanceBuilderTest.class,
 	DvlmResolvedStructuralElementInstanceValidatorTest.class,
 	DvlmRepositoryDefaultQuantityKindValidatorTest.class
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.build.validator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.core.resources.IMarker;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.build.marker.util.VirSatValidationMarkerHelper;
+import de.dlr.sc.virsat.build.test.ABuilderTest;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.validator.IStructuralElementInstanceValidator;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerBuffer;
+
+/**
+ * test Case for the parallel execution of the SEI validators
+ */
+public class ParallelValidationEngineTest extends ABuilderTest {
+
+	private static final String MESSAGE = "Validated";
+
+	/**
+	 * test Validator marking every SEI it validates
+	 */
+	private static class TestMarkingValidator implements IStructuralElementInstanceValidator {
+
+		private VirSatValidationMarkerHelper vvmHelper = new VirSatValidationMarkerHelper();
+		private Set<StructuralElementInstance> seis = Collections.synchronizedSet(new HashSet<>());
+		private volatile boolean notBuffered = false;
+
+		@Override
+		public boolean validate(StructuralElementInstance sei) {
+			seis.add(sei);
+			if (!VirSatProblemMarkerBuffer.isBuffering()) {
+				notBuffered = true;
+			}
+			vvmHelper.createDVLMValidationMarker(IMarker.SEVERITY_WARNING, MESSAGE, sei);
+			return true;
+		}
+	}
+
+	@Test
+	public void testValidate() {
+		TestMarkingValidator validator = new TestMarkingValidator();
+		IStructuralElementInstanceValidator failingValidator = sei -> {
+			throw new RuntimeException("Validation failed");
+		};
+
+		VirSatValidationMarkerHelper vvmHelper = new VirSatValidationMarkerHelper();
+		new ParallelValidationEngine(ForkJoinPool.commonPool()).validate(Arrays.asList(validator, failingValidator),
+				Arrays.asList(seiEdSc, seiEdRw, seiEdObc), null, null);
+
+		//CHECKSTYLE:OFF
+		assertEquals("All SEIs got validated", 3, validator.seis.size());
+		//CHECKSTYLE:ON
+		assertFalse("Markers got buffered during the validation", validator.notBuffered);
+		assertFalse("Buffering stopped on the calling thread", VirSatProblemMarkerBuffer.isBuffering());
+
+		for (StructuralElementInstance sei : Arrays.asList(seiEdSc, seiEdRw, seiEdObc)) {
+			Set<IMarker> markers = vvmHelper.getAllMarkers(sei);
+			assertEquals("Marker of the validator and of the failing validator got created", 2, markers.size());
+			assertTrue("Marker of the validator got created", markers.stream().anyMatch(marker -> MESSAGE.equals(marker.getAttribute(IMarker.MESSAGE, ""))));
+			assertTrue("Marker of the failing validator got created", markers.stream().anyMatch(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR));
+		}
+	}
+}
@@ -14,13 +14,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.core.internal.events.ResourceDelta;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -28,6 +34,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import de.dlr.sc.virsat.build.test.ABuilderTest;
+import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.validator.IRepositoryValidator;
@@ -37,9 +44,11 @@ import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
 /**
  * test Case for the Validator Builder
  */
+@SuppressWarnings("restriction")
 public class VirSatValidatorBuilderTest extends ABuilderTest {
 
 	List<IStructuralElementInstanceValidator> seiValidators = new LinkedList<>();
+	List<IRepositoryValidator> repoValidators = new LinkedList<>();
 
 	/**
 	 * test Validator to be injected in the validation builder
@@ -47,7 +56,7 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 	 */
 	private static class TestSeiValidator implements IStructuralElementInstanceValidator {
 
-		private List<StructuralElementInstance> seis = new ArrayList<>();
+		private List<StructuralElementInstance> seis = Collections.synchronizedList(new ArrayList<>());
 		private boolean gotCalled = false;
 		
 		@Override
@@ -58,6 +67,21 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 		}
 	}
 	
+	/**
+	 * test Validator to be injected in the validation builder
+	 * will count how often it got called 
+	 */
+	private static class TestRepoValidator implements IRepositoryValidator {
+
+		private int calls = 0;
+		
+		@Override
+		public boolean validate(Repository repo) {
+			calls++;
+			return true;
+		}
+	}
+	
 	private class TestVirSatValidatorBuilder extends VirSatValidatorBuilder {
 		@Override
 		protected IProject getVirSatProject() {
@@ -74,10 +98,9 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 			return seiValidators;
 		}
 		
-		@SuppressWarnings("unchecked")
 		@Override
 		protected List<IRepositoryValidator> getRepoValidators() {
-			return Collections.EMPTY_LIST;
+			return repoValidators;
 		}
 		
 		@Override
@@ -88,6 +111,7 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 	};
 	
 	private TestSeiValidator testSeiValidator;
+	private TestRepoValidator testRepoValidator;
 	private TestVirSatValidatorBuilder builder;
 	
 	@Before
@@ -96,6 +120,9 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 		testSeiValidator = new TestSeiValidator();
 		seiValidators.clear();
 		seiValidators.add(testSeiValidator);
+		testRepoValidator = new TestRepoValidator();
+		repoValidators.clear();
+		repoValidators.add(testRepoValidator);
 		builder = new TestVirSatValidatorBuilder();
 	}
 
@@ -137,6 +164,70 @@ public class VirSatValidatorBuilderTest extends ABuilderTest {
 		//CHECKSTYLE:On
 	}
 	
+	/**
+	 * Creates a resource delta reporting a change of kind on the given resource only
+	 * @param resource the changed resource
+	 * @param kind the kind of the change
+	 * @return the resource delta
+	 */
+	private IResourceDelta createDelta(IResource resource, int kind) {
+		return new ResourceDelta(resource.getFullPath(), null) {
+			@Override
+			public int getKind() {
+				return kind;
+			}
+			
+			@Override
+			public IResource getResource() {
+				return resource;
+			}
+			
+			@Override
+			public void accept(IResourceDeltaVisitor visitor, int memberFlags) throws CoreException {
+				visitor.visit(this);
+			}
+		};
+	}
+	
+	@Test
+	public void testIncrementalBuildOnDvlmFile() {
+		builder.incrementalBuild(createDelta(fileRw, IResourceDelta.CHANGED), null);
+		
+		assertEquals("Changed SEI and its parent got validated", 2, testSeiValidator.seis.size());
+		assertTrue("Changed SEI got validated", testSeiValidator.seis.contains(seiEdRw));
+		assertTrue("Parent SEI got validated", testSeiValidator.seis.contains(seiEdSc));
+		assertEquals("Repository did not get validated", 0, testRepoValidator.calls);
+	}
+	
+	@Test
+	public void testIncrementalBuildOnRootSeiFile() {
+		builder.incrementalBuild(createDelta(fileSc, IResourceDelta.CHANGED), null);
+		
+		assertEquals("Only the changed root SEI got validated", Collections.singletonList(seiEdSc), testSeiValidator.seis);
+		assertEquals("Repository got validated for the root SEI", 1, testRepoValidator.calls);
+	}
+	
+	@Test
+	public void testIncrementalBuildOnRepositoryFile() {
+		builder.incrementalBuild(createDelta(fileRepo, IResourceDelta.CHANGED), null);
+		
+		assertTrue("No Sei got validated", testSeiValidator.seis.isEmpty());
+		assertEquals("Repository got validated", 1, testRepoValidator.calls);
+	}
+	
+	@Test
+	public void testIncrementalBuildOnAddedDocument() throws CoreException {
+		IFile document = project.getFile("Document.txt");
+		document.create(new ByteArrayInputStream(new byte[] { 1 }), IResource.NONE, null);
+		
+		builder.incrementalBuild(createDelta(document, IResourceDelta.ADDED), null);
+		
+		//CHECKSTYLE:OFF
+		assertEquals("Added documents trigger a full build", 3, testSeiValidator.seis.size());
+		//CHECKSTYLE:ON
+		assertEquals("Repository got validated", 1, testRepoValidator.calls);
+	}
+	
 	@Test
 	public void testAutoBuild() {
 		assertEquals("tested Correct Amount of Seis", 0, testSeiValidator.seis.size());
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import de.dlr.sc.virsat.project.Activator;
 import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerHelper;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerIndex;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
 
 /**
@@ -74,6 +75,8 @@ public abstract class AVirSatBuilder extends IncrementalProjectBuilder {
 
 	@Override
 	protected IProject[] build(int kind, Map<String, String> args, IProgressMonitor monitor) {
+		// Markers changed by the build are not broadcast before the build has finished
+		VirSatProblemMarkerIndex.buildStarted();
 		try {
 			Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatBuilder: <" + builderName + "> Try to trigger custom build"));
 			
@@ -111,6 +114,8 @@ public abstract class AVirSatBuilder extends IncrementalProjectBuilder {
 			Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatBuilder: <" + builderName + "> Finished Custom build"));
 		} catch (Exception e) {
 			Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatBuilder: <" + builderName + "> Errored", e));
+		} finally {
+			VirSatProblemMarkerIndex.buildFinished();
 		}
 		return null; 
 	}
@@ -23,6 +23,7 @@ import de.dlr.sc.virsat.project.Activator;
 import de.dlr.sc.virsat.project.editingDomain.VirSatEditingDomainRegistry;
 import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerHelper;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerIndex;
 
 /**
  * This class implements an incremental builder compatible to
@@ -75,6 +76,8 @@ public abstract class AVirSatTransactionalBuilder extends AVirSatBuilder {
 
 	@Override
 	protected IProject[] build(int kind, Map<String, String> args, IProgressMonitor monitor) {
+		// Markers changed by the build are not broadcast before the build has finished
+		VirSatProblemMarkerIndex.buildStarted();
 		try {
 			// The builder is supposed to build the project in an unmanaged resourceSet
 			// but since we can have inconsistencies between the resource on the eclipse workspace and the in memory representation
@@ -118,6 +121,8 @@ public abstract class AVirSatTransactionalBuilder extends AVirSatBuilder {
 			Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalBuilder: <" + builderName + "> Finished build"));
 		} catch (Exception e) {
 			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "VirSatTransactionalBuilder: <" + builderName + "> Errored", e));
+		} finally {
+			VirSatProblemMarkerIndex.buildFinished();
 		}
 		return null; 
 	}
@@ -12,6 +12,7 @@ package de.dlr.sc.virsat.build.inheritance;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -187,10 +188,13 @@ public class VirSatInheritanceBuilder extends AVirSatTransactionalBuilder {
 	}
 	
 	/**
-	 * This method creates an instance of the Inheritance Copier
+	 * This method creates an instance of the Inheritance Copier. Full builds search the
+	 * referenced SEIs of independent SEIs in parallel on the common fork join pool.
 	 * @return A new instance of the Inheritance Copier
 	 */
 	protected IInheritanceCopier createInheritanceCopier() {
-		return new InheritanceCopier(virSatTed);
+		InheritanceCopier inheritanceCopier = new InheritanceCopier(virSatTed);
+		inheritanceCopier.setForkJoinPool(ForkJoinPool.commonPool());
+		return inheritanceCopier;
 	}
 }
@@ -9,16 +9,16 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.build.marker.util;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 
-import de.dlr.sc.virsat.build.Activator;
 import de.dlr.sc.virsat.model.dvlm.general.IUuid;
 import de.dlr.sc.virsat.model.dvlm.inheritance.InheritancePackage;
 import de.dlr.sc.virsat.project.markers.IMarkerHelper;
@@ -86,19 +86,11 @@ public class VirSatValidationMarkerHelper extends VirSatProblemMarkerHelper impl
 	 * @param iUuid An eObject on which the Problem actually occurred.
 	 *  This information should be evaluated in out Editor to show the exact place of problem
 	 * @param eFeature An eFeature detailing where on the eObject the Issues is happening
-	 * @return The created Marker
+	 * @return The created Marker or null in case it got recorded by the VirSatProblemMarkerBuffer
 	 */
 	public IMarker createEMFValidationMarker(int severity, String message, IUuid iUuid, EStructuralFeature eFeature) {
-		IMarker marker = createMarker(ID_EMF_VALIDATION_PROBLEM_MARKER, severity, message, iUuid);
-		if (marker == null) {
-			return null;
-		}
-		try {
-			marker.setAttribute(ATTRIBUTE_ESTRUCTURALFEATURE, (eFeature != null) ? eFeature.getName() : ESTRUCTURALFEATURE_EMPTY);
-		} catch (CoreException e) {
-			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Could not create marker"));
-			return null;
-		}
+		String esfName = (eFeature != null) ? eFeature.getName() : ESTRUCTURALFEATURE_EMPTY;
+		IMarker marker = createMarker(ID_EMF_VALIDATION_PROBLEM_MARKER, severity, message, iUuid, Collections.singletonMap(ATTRIBUTE_ESTRUCTURALFEATURE, esfName));
 		return marker;
 	}
 	
@@ -109,18 +101,14 @@ public class VirSatValidationMarkerHelper extends VirSatProblemMarkerHelper impl
 	 * @param iUuid An eObject on which the Problem actually occurred.
 	 *  This information should be evaluated in out Editor to show the exact place of problem
 	 * @param superIUuid The IUuid of the sei which the object is inheriting from
-	 * @return The created Marker
+	 * @return The created Marker or null in case it got recorded by the VirSatProblemMarkerBuffer
 	 */
 	public IMarker createInheritanceValidationMarker(int severity, String message, IUuid iUuid, IUuid superIUuid) {
-		IMarker marker = createMarker(ID_INH_VALIDATION_PROBLEM_MARKER, severity, message, iUuid);
 		EStructuralFeature eFeature = InheritancePackage.Literals.IINHERITS_FROM__SUPER_SEIS; 
-		try {
-			marker.setAttribute(ATTRIBUTE_ESTRUCTURALFEATURE, eFeature.getName());
-			marker.setAttribute(ATTRIBUTE_SUPERIUUID, (superIUuid != null) ? superIUuid.getUuid().toString() : SUPERIUUID_EMPTY);
-		} catch (CoreException e) {
-			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Could not create marker"));
-			return null;
-		}
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(ATTRIBUTE_ESTRUCTURALFEATURE, eFeature.getName());
+		attributes.put(ATTRIBUTE_SUPERIUUID, (superIUuid != null) ? superIUuid.getUuid().toString() : SUPERIUUID_EMPTY);
+		IMarker marker = createMarker(ID_INH_VALIDATION_PROBLEM_MARKER, severity, message, iUuid, attributes);
 		return marker;
 	}
 	/**
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.build.validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import de.dlr.sc.virsat.build.marker.util.VirSatValidationMarkerHelper;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.validator.IStructuralElementInstanceValidator;
+import de.dlr.sc.virsat.project.Activator;
+import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerBuffer;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerBuffer.MarkerRequest;
+
+/**
+ * Engine executing the SEI validators in parallel. The validators only read the model, thus
+ * the SEIs are validated concurrently on a fork join pool while the calling thread holds a read only
+ * transaction. The markers created by the validators are buffered per SEI and finally created
+ * by the calling thread in one workspace operation.
+ */
+public class ParallelValidationEngine {
+
+	private ForkJoinPool forkJoinPool;
+	private VirSatValidationMarkerHelper vvmHelper = new VirSatValidationMarkerHelper();
+
+	/**
+	 * Constructor of the engine
+	 * @param forkJoinPool the pool to run the validators on
+	 */
+	public ParallelValidationEngine(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Executes all given validators on all given SEIs. The proxies of the SEIs are supposed to be
+	 * resolved already, e.g. by {@link de.dlr.sc.virsat.project.resources.VirSatResourceSet#getAllSeisInProject()},
+	 * since resolving them from within the parallel validation would change the resource set.
+	 * @param seiValidators the validators to be executed
+	 * @param seis the SEIs to be validated
+	 * @param ed the editing domain of the SEIs or null in case they are not managed by a transactional editing domain
+	 * @param monitor the monitor for progress reporting
+	 */
+	public void validate(List<IStructuralElementInstanceValidator> seiValidators, Collection<StructuralElementInstance> seis, VirSatTransactionalEditingDomain ed, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		subMonitor.beginTask("Executing Validation of SEIs", 2);
+
+		List<MarkerRequest> markerRequests = new ArrayList<>();
+		Runnable validation = () -> markerRequests.addAll(forkJoinPool.submit(() -> seis.parallelStream()
+				.flatMap(sei -> validate(seiValidators, sei).stream())
+				.collect(Collectors.toList())
+		).join());
+
+		if (ed == null) {
+			validation.run();
+		} else {
+			try {
+				ed.runExclusiveInProject(validation);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.getPluginId(), "ParallelValidationEngine: Got interrupted while validating", e));
+				return;
+			}
+		}
+		subMonitor.worked(1);
+
+		subMonitor.subTask("Creating " + markerRequests.size() + " Markers");
+		VirSatProblemMarkerBuffer.createMarkers(markerRequests, subMonitor.newChild(1));
+		subMonitor.done();
+	}
+
+	/**
+	 * Executes the validators on a single SEI and records the markers they create
+	 * @param seiValidators the validators to be executed
+	 * @param sei the SEI to be validated
+	 * @return the markers to be created for the SEI
+	 */
+	protected List<MarkerRequest> validate(List<IStructuralElementInstanceValidator> seiValidators, StructuralElementInstance sei) {
+		List<MarkerRequest> markerRequests;
+		VirSatProblemMarkerBuffer.startBuffering();
+		try {
+			for (IStructuralElementInstanceValidator validator : seiValidators) {
+				try {
+					validator.validate(sei);
+				} catch (Exception e) {
+					Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.getPluginId(), "ParallelValidationEngine: Could not execute Validator on SEI" + sei.getFullQualifiedInstanceName(), e));
+					vvmHelper.createDVLMValidationMarker(IMarker.SEVERITY_ERROR, "Could not execute validation on SEI " + sei.getFullQualifiedInstanceName(), sei);
+				}
+			}
+		} finally {
+			// The pool threads are reused, thus always stop buffering on them
+			markerRequests = VirSatProblemMarkerBuffer.stopBuffering();
+		}
+		return markerRequests;
+	}
+}
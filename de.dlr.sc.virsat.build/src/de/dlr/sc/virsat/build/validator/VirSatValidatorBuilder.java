@@ -9,29 +9,48 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.build.validator;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 
 import de.dlr.sc.virsat.build.inheritance.AVirSatBuilder;
 import de.dlr.sc.virsat.build.marker.util.VirSatValidationMarkerHelper;
+import de.dlr.sc.virsat.build.validator.core.AUniqueNameValidator;
 import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.general.GeneralPackage;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceIndexAdapter;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.validator.IRepositoryValidator;
 import de.dlr.sc.virsat.model.dvlm.validator.IStructuralElementInstanceValidator;
 import de.dlr.sc.virsat.model.dvlm.validator.RepoValidatorsInstantiator;
 import de.dlr.sc.virsat.project.Activator;
+import de.dlr.sc.virsat.project.editingDomain.VirSatEditingDomainRegistry;
+import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
+import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
 
 /**
- * Eclipse builder that runs validators on the model
+ * Eclipse builder that runs validators on the model. Full builds validate all SEIs
+ * in parallel. Incremental builds only validate the SEIs of the changed resources
+ * together with the SEIs depending on them.
  *
  */
 public class VirSatValidatorBuilder extends AVirSatBuilder {
@@ -67,10 +86,177 @@ public class VirSatValidatorBuilder extends AVirSatBuilder {
 	protected void fullBuild(IProgressMonitor monitor) {
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), Status.OK, "VirSatValidatorBuilder: Started full build", null));
 		
+		Set<StructuralElementInstance> seis = getResourceSet().getAllSeisInProject();
+		
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		
+		// check all the resources and delete the existing markers 
+		vvmHelper.deleteAllMarkersInWorkspace();
+		
+		// The repository validators are executed directly, whereas the
+		// validation of the SEIs is distributed over the available cores
+		validate(true, Collections.emptySet(), subMonitor.newChild(1));
+		VirSatTransactionalEditingDomain ed = VirSatEditingDomainRegistry.INSTANCE.getEd(getResourceSet());
+		createValidationEngine().validate(getSeiValidators(), seis, ed, subMonitor.newChild(1));
+		
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), Status.OK, "VirSatValidatorBuilder: Executed full build", null));
+	}
+
+	@Override
+	protected void incrementalBuild(IResourceDelta delta, IProgressMonitor monitor) {
+		if (delta == null) {
+			fullBuild(monitor);
+			return;
+		}
+		
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), Status.OK, "VirSatValidatorBuilder: Started incremental build", null));
+		
+		VirSatResourceSet resourceSet = getResourceSet();
+		Set<StructuralElementInstance> changedSeis = new HashSet<>();
+		AtomicBoolean repositoryChanged = new AtomicBoolean(false);
+		AtomicBoolean requiresFullBuild = new AtomicBoolean(false);
+		
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+				public boolean visit(IResourceDelta delta) {
+					IResource iResource = delta.getResource();
+					if (!(iResource instanceof IFile)) {
+						return true;
+					}
+					
+					IFile iFile = (IFile) iResource;
+					if (!VirSatProjectCommons.FILENAME_EXTENSION.equalsIgnoreCase(iFile.getFileExtension())) {
+						// Documents referenced by resource properties may have been added or removed
+						int kind = delta.getKind();
+						if (kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED) {
+							requiresFullBuild.set(true);
+						}
+						return true;
+					}
+					
+					// The markers of removed files are gone with them and their parents changed as well
+					if (!iFile.exists()) {
+						return true;
+					}
+					
+					Resource resource = resourceSet.safeGetResource(iFile, false);
+					if (resource != null) {
+						for (EObject eObject : resource.getContents()) {
+							if (eObject instanceof Repository) {
+								repositoryChanged.set(true);
+							} else if (eObject instanceof StructuralElementInstance) {
+								changedSeis.add((StructuralElementInstance) eObject);
+							}
+						}
+					}
+					return true;
+				}
+			});
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.getPluginId(), "VirSatValidatorBuilder: Could not process the resource delta", e));
+			requiresFullBuild.set(true);
+		}
+		
+		if (requiresFullBuild.get()) {
+			fullBuild(monitor);
+			return;
+		}
+		
+		// Renaming a root SEI may cause duplicate names in the repository
+		for (StructuralElementInstance sei : changedSeis) {
+			if (sei.eContainer() instanceof Repository) {
+				repositoryChanged.set(true);
+			}
+		}
+		
+		Set<StructuralElementInstance> seis = getAffectedSeis(changedSeis);
+		Repository repo = resourceSet.getRepository();
+		
+		// Replace the markers of the repository and the affected SEIs only. The name uniqueness of
+		// the children of these SEIs and of the root SEIs gets checked by their parent, therefore these
+		// markers have to be replaced as well even though the children themselves are not validated again.
+		if (repositoryChanged.get()) {
+			vvmHelper.deleteAllMarkersForObjectAndContents(repo);
+			for (StructuralElementInstance rootSei : repo.getRootEntities()) {
+				if (!seis.contains(rootSei)) {
+					deleteUniqueNameMarkers(rootSei);
+				}
+			}
+		}
+		for (StructuralElementInstance sei : seis) {
+			vvmHelper.deleteAllMarkersForObjectAndContents(sei);
+			for (StructuralElementInstance childSei : sei.getChildren()) {
+				if (!seis.contains(childSei)) {
+					deleteUniqueNameMarkers(childSei);
+				}
+			}
+		}
+		
+		validate(repositoryChanged.get(), seis, monitor);
+		
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), Status.OK, "VirSatValidatorBuilder: Executed incremental build on " + seis.size() + " SEIs", null));
+	}
+	
+	/**
+	 * This method creates the engine which executes the SEI validators of a full build
+	 * in parallel on the common fork join pool.
+	 * @return A new instance of the validation engine
+	 */
+	protected ParallelValidationEngine createValidationEngine() {
+		return new ParallelValidationEngine(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This method hands back the SEIs which need to be validated again after the given SEIs changed.
+	 * Besides the changed SEIs these are their parents, which check the names of their children for
+	 * uniqueness, as well as the SEIs directly inheriting from them. Sub SEIs which get updated by
+	 * the inheritance builder are part of the resource delta themselves.
+	 * @param changedSeis the SEIs of the changed resources
+	 * @return the SEIs to be validated
+	 */
+	protected Set<StructuralElementInstance> getAffectedSeis(Set<StructuralElementInstance> changedSeis) {
+		Set<StructuralElementInstance> affectedSeis = new HashSet<>(changedSeis);
+		
+		for (StructuralElementInstance sei : changedSeis) {
+			if (sei.eContainer() instanceof StructuralElementInstance) {
+				affectedSeis.add((StructuralElementInstance) sei.eContainer());
+			}
+			
+			InheritanceIndexAdapter inheritanceIndex = InheritanceIndexAdapter.getExistingInheritanceIndex(sei);
+			if (inheritanceIndex != null) {
+				affectedSeis.addAll(inheritanceIndex.getSubSeis(sei));
+			}
+		}
+		
+		return affectedSeis;
+	}
+	
+	/**
+	 * Deletes the markers placed on the given SEI by the name uniqueness validation of its parent
+	 * @param sei the SEI of which to delete the markers
+	 */
+	private void deleteUniqueNameMarkers(StructuralElementInstance sei) {
+		for (IMarker marker : vvmHelper.getEMFValidationMarkers(sei, GeneralPackage.Literals.INAME__NAME)) {
+			if (marker.getAttribute(IMarker.MESSAGE, "").startsWith(AUniqueNameValidator.MESSAGE_PREFIX)) {
+				try {
+					marker.delete();
+				} catch (CoreException e) {
+					Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.getPluginId(), "VirSatValidatorBuilder: Could not delete marker: " + marker, e));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Executes the validators on the repository and the given SEIs
+	 * @param validateRepository true in case the repository validators should be executed
+	 * @param seis the SEIs to be validated
+	 * @param monitor the monitor for progress reporting
+	 */
+	private void validate(boolean validateRepository, Set<StructuralElementInstance> seis, IProgressMonitor monitor) {
 		List<IStructuralElementInstanceValidator> seiValidators = getSeiValidators();
-		List<IRepositoryValidator> repoValidators = getRepoValidators();
+		List<IRepositoryValidator> repoValidators = validateRepository ? getRepoValidators() : Collections.emptyList();
 		
-		Set<StructuralElementInstance> seis = getResourceSet().getAllSeisInProject();
 		Repository repo = getResourceSet().getRepository();
 		
 		int maxTasks = seis.size() * seiValidators.size() + repoValidators.size();
@@ -78,11 +264,10 @@ public class VirSatValidatorBuilder extends AVirSatBuilder {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, maxTasks);
 		subMonitor.beginTask("Executing Validation of Repository and SEIs", maxTasks);
 		
-		// check all the resources and delete the existing markers 
-		vvmHelper.deleteAllMarkersInWorkspace();
-		
 		// now execute all Validators for the Repository
-		subMonitor.subTask("Validating Repository: " + repo.getUuid());
+		if (validateRepository) {
+			subMonitor.subTask("Validating Repository: " + repo.getUuid());
+		}
 		for (IRepositoryValidator validator : repoValidators) {
 			try {
 				validator.validate(repo);
@@ -108,13 +293,6 @@ public class VirSatValidatorBuilder extends AVirSatBuilder {
 		}
 		
 		subMonitor.done();
-		
-		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), Status.OK, "VirSatValidatorBuilder: Executed full build", null));
-	}
-
-	@Override
-	protected void incrementalBuild(IResourceDelta delta, IProgressMonitor monitor) {
-		fullBuild(monitor);
 	}
 	
 	@Override
@@ -10,8 +10,10 @@
 package de.dlr.sc.virsat.commons;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -84,6 +86,57 @@ public class DependencyTreeTest {
 		assertEquals("Trimming is correct", expectedNodesAfterTrimming, nodesAfterTrimming);
 	}
 	
+	@Test
+	public void testGetAllDependents() {
+		Set<String> expectedDependents = new HashSet<>(Arrays.asList("massWithMargin", "summary(massWithMargin)", "massMargin"));
+		assertEquals("All transitive dependents are found", expectedDependents, tree.getAllDependents(Arrays.asList("massWithMargin")));
+		assertEquals("Direct dependents are found", Arrays.asList("massWithMargin", "massMargin"), new ArrayList<>(tree.getDependents("mass")));
+		assertEquals("Direct dependencies are found", Arrays.asList("mass", "margin"), new ArrayList<>(tree.getDependencies("massWithMargin")));
+		assertTrue("Unknown nodes have no dependents", tree.getAllDependents(Arrays.asList("volume")).isEmpty());
+	}
+	
+	@Test
+	public void testCopyAndRemoveNode() {
+		DependencyTree<String> copy = new DependencyTree<>(tree);
+		copy.removeNode("massMargin");
+		
+		assertFalse("Node has been removed from the copy", copy.getNodes().contains("massMargin"));
+		assertTrue("Node is still in the original tree", tree.getNodes().contains("massMargin"));
+		assertFalse("Removed node is not linearized anymore", copy.getLinearOrder().contains("massMargin"));
+		assertEquals("Removed node is not a dependent anymore", Arrays.asList("massWithMargin"), new ArrayList<>(copy.getDependents("mass")));
+	}
+	
+	@Test
+	public void testRemoveCycles() {
+		tree.addDependencies("mass", new String[] { "summary(massWithMargin)" });
+		tree.addDependencies("power", new String[] { "power" });
+		
+		List<String> cycleNodes = new ArrayList<>();
+		tree.removeCycles(cycleNodes::add);
+		
+		assertEquals("One node is removed per cycle", 2, cycleNodes.size());
+		assertTrue("Self dependency is a cycle", cycleNodes.contains("power"));
+		assertEquals("All cycles removed", null, tree.hasCycle());
+		assertTrue("Nodes not on a cycle are kept", tree.getNodes().contains("margin"));
+	}
+	
+	@Test
+	public void testLongChain() {
+		final int CHAIN_LENGTH = 100000;
+		DependencyTree<Integer> chain = new DependencyTree<>();
+		for (int i = 0; i < CHAIN_LENGTH; i++) {
+			chain.addDependencies(i + 1, new Integer[] { i });
+		}
+		
+		assertEquals("Long chains have no cycle", null, chain.hasCycle());
+		List<Integer> linear = chain.getLinearOrder();
+		assertEquals("All nodes are linearized", CHAIN_LENGTH + 1, linear.size());
+		assertEquals("Dependencies come first", Integer.valueOf(0), linear.get(0));
+		
+		chain.addDependencies(0, new Integer[] { CHAIN_LENGTH });
+		assertTrue("Closing the chain creates a cycle", chain.hasCycle() != null);
+	}
+	
 	@Test
 	public void testToDot() {
 		String dot = tree.toDot("dependencyGraph");
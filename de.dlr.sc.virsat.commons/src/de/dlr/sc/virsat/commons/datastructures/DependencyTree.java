@@ -9,41 +9,55 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.commons.datastructures;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
 
 /**
- * Dependency tree for objects.
+ * Dependency tree for objects. The dependencies and dependents of every node are kept
+ * in insertion ordered sets, so that adding and removing edges as well as the linearization
+ * and the cycle detection run in time linear to the size of the tree.
  * @author muel_s8
  *
  * @param <T> the class of objects that will be store in the dependency tree.
  */
 
 public class DependencyTree<T> {
-
-	private Map<T, List<T>> children;
-	private Map<T, List<T>> parents;
-	private Map<T, Integer> heights;
+	
+	private Map<T, Set<T>> children;
+	private Map<T, Set<T>> parents;
 	private Set<T> roots;
 	
 	/**
 	 * Public constructor
 	 */
 	public DependencyTree() {
-		children = new HashMap<>();
+		children = new LinkedHashMap<>();
 		parents = new HashMap<>();
-		heights = new HashMap<>();
-		roots = new HashSet<>();
+		roots = new LinkedHashSet<>();
+	}
+	
+	/**
+	 * Copy constructor creating an independent tree with the same nodes and dependencies
+	 * @param other the tree to copy
+	 */
+	public DependencyTree(DependencyTree<T> other) {
+		this();
+		other.children.forEach((node, dependencies) -> children.put(node, new LinkedHashSet<>(dependencies)));
+		other.parents.forEach((node, dependents) -> parents.put(node, new LinkedHashSet<>(dependents)));
+		roots.addAll(other.roots);
 	}
 	
 	/**
@@ -55,63 +69,31 @@ public class DependencyTree<T> {
 	public void addDependencies(T object, List<T> dependencies) {
 		// Add the object, if it is not yet in the tree, to the tree and then add
 		// all its dependencies
-		if (children.containsKey(object)) {
-			List<T> existingDependencies = children.get(object);
-			for (T dependency : dependencies) {
-				if (!existingDependencies.contains(dependency)) {
-					existingDependencies.add(dependency);
-				}
-			}
-		} else {
-			children.put(object, dependencies);
-			parents.put(object, new ArrayList<>());
-			heights.put(object, 0);
-		}
-		
-		dependencies.forEach((dependency) -> {
-			addDependencies(dependency, new ArrayList<>());
-			parents.get(dependency).add(object);
-		});
+		Set<T> objectDependencies = addNode(object);
 		
-		// Update heights
-		Queue<T> toProcess = new LinkedList<>();
-		toProcess.add(object);
-		updateHeights(toProcess);
-		
-		// Update the roots
-		if (parents.get(object).size() == 0) {
-			roots.add(object);
+		for (T dependency : dependencies) {
+			addNode(dependency);
+			if (objectDependencies.add(dependency)) {
+				parents.get(dependency).add(object);
+				roots.remove(dependency);
+			}
 		}
-		
-		roots.removeAll(dependencies);
 	}
 	
 	/**
-	 * Internal update of node heights
-	 * @param toProcess nodes who, together with their successors, will have their height information
-	 * updated.
+	 * Internal adding of a node without any dependencies
+	 * @param node the node to be added if it is not yet in the tree
+	 * @return the dependencies of the node
 	 */
-	private void updateHeights(Queue<T> toProcess) {
-		Set<T> processed = new HashSet<T>();
-		processed.addAll(toProcess);
-		
-		while (!toProcess.isEmpty()) {
-			T node = toProcess.poll();
-			List<T> tmpDependencies = children.get(node);
-			
-			int heightNode = heights.get(node);
-			
-			for (T dependency : tmpDependencies) {
-				if (!processed.contains(dependency)) {
-					toProcess.add(dependency);
-					processed.add(dependency);
-				}
-				
-				int height = heights.get(dependency);
-				height = Math.max(heightNode + 1, height);
-				heights.put(dependency, height);
-			}
+	private Set<T> addNode(T node) {
+		Set<T> dependencies = children.get(node);
+		if (dependencies == null) {
+			dependencies = new LinkedHashSet<>();
+			children.put(node, dependencies);
+			parents.put(node, new LinkedHashSet<>());
+			roots.add(node);
 		}
+		return dependencies;
 	}
 	
 	/**
@@ -122,6 +104,52 @@ public class DependencyTree<T> {
 		return children.keySet();
 	}
 	
+	/**
+	 * Get the direct dependencies of a node
+	 * @param node the node in the tree
+	 * @return the nodes the passed node depends on, empty if the node is not in the tree
+	 */
+	public Collection<T> getDependencies(T node) {
+		Set<T> dependencies = children.get(node);
+		return dependencies == null ? Collections.emptySet() : Collections.unmodifiableSet(dependencies);
+	}
+	
+	/**
+	 * Get the direct dependents of a node
+	 * @param node the node in the tree
+	 * @return the nodes depending on the passed node, empty if the node is not in the tree
+	 */
+	public Collection<T> getDependents(T node) {
+		Set<T> dependents = parents.get(node);
+		return dependents == null ? Collections.emptySet() : Collections.unmodifiableSet(dependents);
+	}
+	
+	/**
+	 * Get all nodes that directly or transitively depend on one of the passed nodes
+	 * @param nodes the nodes whose dependents are requested. Nodes which are not in the tree are ignored.
+	 * @return a set containing the passed nodes of the tree and all their transitive dependents
+	 */
+	public Set<T> getAllDependents(Collection<T> nodes) {
+		Set<T> dependents = new HashSet<T>();
+		Queue<T> toProcess = new ArrayDeque<T>();
+		for (T node : nodes) {
+			if (children.containsKey(node) && dependents.add(node)) {
+				toProcess.add(node);
+			}
+		}
+		
+		while (!toProcess.isEmpty()) {
+			T node = toProcess.poll();
+			for (T dependent : parents.get(node)) {
+				if (dependents.add(dependent)) {
+					toProcess.add(dependent);
+				}
+			}
+		}
+		
+		return dependents;
+	}
+	
 	/**
 	 * Add a list of dependencies to an object
 	 * @param object the object which has dependencies
@@ -129,26 +157,37 @@ public class DependencyTree<T> {
 	 */
 	
 	public void addDependencies(T object, T[] dependencies) {
-		addDependencies(object, new LinkedList<T>(Arrays.asList(dependencies)));
+		addDependencies(object, Arrays.asList(dependencies));
 	}
 	
 	/**
-	 * Removes a node from the dependency tree. Also searches for new root nodes that might result
-	 * from the deletion of the node
+	 * Removes a node from the dependency tree. Dependencies of the node which are not
+	 * needed by any other node anymore become new root nodes.
 	 * @param node the node to be removed
 	 */
 	public void removeNode(T node) {
-		children.remove(node);
-		for (Entry<T, List<T>> childEntry : children.entrySet()) {
-			T object = childEntry.getKey();
-			List<T> dependencies = childEntry.getValue();
-			dependencies.remove(node);
-
-			List<T> succParents = parents.get(object);
-			succParents.remove(node);
-			
-			if (succParents.size() == 0) {
-				roots.add(object);
+		Set<T> dependencies = children.remove(node);
+		if (dependencies == null) {
+			return;
+		}
+		
+		Set<T> dependents = parents.remove(node);
+		roots.remove(node);
+		
+		for (T dependency : dependencies) {
+			Set<T> dependencyParents = parents.get(dependency);
+			if (dependencyParents != null) {
+				dependencyParents.remove(node);
+				if (dependencyParents.isEmpty()) {
+					roots.add(dependency);
+				}
+			}
+		}
+		
+		for (T dependent : dependents) {
+			Set<T> dependentChildren = children.get(dependent);
+			if (dependentChildren != null) {
+				dependentChildren.remove(node);
 			}
 		}
 	}
@@ -162,11 +201,18 @@ public class DependencyTree<T> {
 	public Set<T> trim(Collection<T> nodes) {
 		// Nodes that will be removed in the trimming process
 		Set<T> removeNodes = new HashSet<T>();
+		Set<T> keyNodes = new HashSet<T>(nodes);
+		Set<T> visited = new HashSet<T>();
 		
-		// For each root node compute the reachable fragment
+		// For each root node compute the reachable fragment. Fragments are disjoint,
+		// so every fragment only has to be computed once.
 		for (T root : roots) {
+			if (visited.contains(root)) {
+				continue;
+			}
+			
 			Set<T> reachable = new HashSet<T>();
-			Queue<T> toProcess = new LinkedList<T>();
+			Queue<T> toProcess = new ArrayDeque<T>();
 			
 			toProcess.add(root);
 			reachable.add(root);
@@ -174,26 +220,23 @@ public class DependencyTree<T> {
 			while (!toProcess.isEmpty()) {
 				T node = toProcess.poll();
 				
-				
-				List<T> dependencies = children.get(node);
-				for (T dependency : dependencies) {
-					if (!reachable.contains(dependency)) {
+				for (T dependency : children.get(node)) {
+					if (reachable.add(dependency)) {
 						toProcess.add(dependency);
-						reachable.add(dependency);
 					}
 				}
 				
-				List<T> dependents = parents.get(node);
-				for (T dependent : dependents) {
-					if (!reachable.contains(dependent)) {
+				for (T dependent : parents.get(node)) {
+					if (reachable.add(dependent)) {
 						toProcess.add(dependent);
-						reachable.add(dependent);
 					}
 				}
 			}
 			
+			visited.addAll(reachable);
+			
 			// We can reach one of the key nodes
-			if (Collections.disjoint(reachable, nodes)) {
+			if (Collections.disjoint(reachable, keyNodes)) {
 				removeNodes.addAll(reachable);
 			}
 		}
@@ -213,54 +256,44 @@ public class DependencyTree<T> {
 	 */
 	
 	public T hasCycle() {
-		// Check for all nodes if there is an edge to a node of lower height
-	
-		for (Entry<T, List<T>> childEntry : children.entrySet()) {
-			T object = childEntry.getKey();
-			List<T> dependencies = childEntry.getValue();
-			int height = heights.get(object);
-			for (T dependency : dependencies) {
-				int heightDependency = heights.get(dependency);
-				if (heightDependency < height || dependency == object) {
-					// We have an edge to a node with lower height, this means we have a cycle
-					return object;
-				}
+		for (List<T> component : getStronglyConnectedComponents(children.keySet())) {
+			if (isCyclic(component)) {
+				return component.get(0);
 			}
 		}
 		
 		return null;
-		
 	}
 	
 	/**
-	 * Calculates a linearization of the tree adhering to the condition that nodes at higher heights
-	 * will always be prioritized, even if they have no dependencies.
-	 * @return a linearizaiton of the partial order tree
+	 * Calculates a linearization of the tree in which every node comes after all of its dependencies.
+	 * The order is computed with Kahn's algorithm: starting from the roots, i.e. the nodes nothing
+	 * depends on, a node is taken in breadth first order as soon as all nodes depending on it have
+	 * been taken, and the result is reversed. This method does not detect cycles. Nodes on a cycle
+	 * and all their direct and indirect dependencies are never taken and are thus missing from the
+	 * linearization. Call {@link #removeCycles(ICycleVisitor)} first, which finds the cycles as
+	 * strongly connected components with Tarjan's algorithm, to linearize all remaining nodes.
+	 * @return a linearization of the partial order tree
 	 */
 	
 	public List<T> getLinearOrder() {
-		List<T> linear = new ArrayList<>();
+		List<T> linear = new ArrayList<>(children.size());
 		
-		Queue<T> toProcess = new LinkedList<>();
-		Set<T> processed = new HashSet<T>();
-		toProcess.addAll(roots);
+		// Kahn's algorithm starting from the roots, a node is processed as soon
+		// as all nodes depending on it have been processed
+		Map<T, Integer> remainingParents = new HashMap<>();
+		Queue<T> toProcess = new ArrayDeque<>(roots);
 		
 		while (!toProcess.isEmpty()) {
 			T object = toProcess.poll();
-			if (!processed.contains(object)) {
-				linear.add(object);
-				processed.add(object);
-			}
+			linear.add(object);
 			
-			List<T> dependencies = children.get(object);
-			if (dependencies != null) {
-				for (T dependency : dependencies) {
-					List<T> dependencyParents = parents.get(dependency);
-					if (linear.containsAll(dependencyParents)) {
-						toProcess.add(dependency);
-					}
+			for (T dependency : children.get(object)) {
+				int remaining = remainingParents.getOrDefault(dependency, parents.get(dependency).size()) - 1;
+				remainingParents.put(dependency, remaining);
+				if (remaining == 0) {
+					toProcess.add(dependency);
 				}
-				
 			}
 		}
 		
@@ -284,29 +317,130 @@ public class DependencyTree<T> {
 	}
 	
 	/**
-	 * Internal node height update using the linearized order
+	 * Removes all cycles in the tree
+	 * @param visitor a visitor called everything we remove a cycle
 	 */
-	private void updateHeights() {
-		List<T> linearized = getLinearOrder();
-		for (int i = 0; i < linearized.size(); ++i) {
-			heights.put(linearized.get(i), linearized.size() - i);
+	public void removeCycles(ICycleVisitor<T> visitor) {
+		// Removing a node can only break cycles within its own strongly connected component,
+		// so after removing a node only the rest of its component has to be checked again
+		Queue<Set<T>> toCheck = new ArrayDeque<>();
+		toCheck.add(children.keySet());
+		
+		while (!toCheck.isEmpty()) {
+			Set<T> nodes = toCheck.poll();
+			for (List<T> component : getStronglyConnectedComponents(nodes)) {
+				if (isCyclic(component)) {
+					T cycleNode = component.get(0);
+					visitor.visit(cycleNode);
+					removeNode(cycleNode);
+					
+					if (component.size() > 1) {
+						toCheck.add(new LinkedHashSet<>(component.subList(1, component.size())));
+					}
+				}
+			}
 		}
 	}
 	
 	/**
-	 * Removes all cycles in the tree
-	 * @param visitor a visitor called everything we remove a cycle
+	 * Checks if a strongly connected component contains a cycle
+	 * @param component the strongly connected component
+	 * @return true if the component has more than one node or its node depends on itself
 	 */
-	public void removeCycles(ICycleVisitor<T> visitor) {
-		updateHeights();
+	private boolean isCyclic(List<T> component) {
+		T node = component.get(0);
+		return component.size() > 1 || children.get(node).contains(node);
+	}
+	
+	/**
+	 * Frame of the iterative depth first search in the strongly connected component computation
+	 * @param <T> object type, same as dependency tree
+	 */
+	private static class SearchFrame<T> {
+		private T node;
+		private Iterator<T> dependencies;
+		
+		/**
+		 * Constructor
+		 * @param node the node being searched
+		 * @param dependencies the iterator over the dependencies of the node
+		 */
+		SearchFrame(T node, Iterator<T> dependencies) {
+			this.node = node;
+			this.dependencies = dependencies;
+		}
+	}
+	
+	/**
+	 * Computes the strongly connected components of the sub graph formed by the given nodes using
+	 * Tarjan's algorithm. The depth first search is implemented iteratively, so that deep trees
+	 * do not overflow the stack.
+	 * @param nodes the nodes of the sub graph. Edges to nodes outside of the sub graph are ignored.
+	 * @return the strongly connected components of the sub graph
+	 */
+	private List<List<T>> getStronglyConnectedComponents(Set<T> nodes) {
+		List<List<T>> components = new ArrayList<>();
+		Map<T, Integer> indices = new HashMap<>();
+		Map<T, Integer> lowLinks = new HashMap<>();
+		Deque<T> componentStack = new ArrayDeque<>();
+		Set<T> onComponentStack = new HashSet<>();
+		Deque<SearchFrame<T>> searchStack = new ArrayDeque<>();
+		int index = 0;
 		
-		T cycleNode = hasCycle();		
+		for (T start : nodes) {
+			if (indices.containsKey(start)) {
+				continue;
+			}
+			
+			indices.put(start, index);
+			lowLinks.put(start, index);
+			index++;
+			componentStack.push(start);
+			onComponentStack.add(start);
+			searchStack.push(new SearchFrame<>(start, children.get(start).iterator()));
+			
+			while (!searchStack.isEmpty()) {
+				SearchFrame<T> frame = searchStack.peek();
+				
+				if (frame.dependencies.hasNext()) {
+					T dependency = frame.dependencies.next();
+					if (!nodes.contains(dependency)) {
+						continue;
+					}
+					
+					if (!indices.containsKey(dependency)) {
+						indices.put(dependency, index);
+						lowLinks.put(dependency, index);
+						index++;
+						componentStack.push(dependency);
+						onComponentStack.add(dependency);
+						searchStack.push(new SearchFrame<>(dependency, children.get(dependency).iterator()));
+					} else if (onComponentStack.contains(dependency)) {
+						lowLinks.put(frame.node, Math.min(lowLinks.get(frame.node), indices.get(dependency)));
+					}
+				} else {
+					searchStack.pop();
+					if (!searchStack.isEmpty()) {
+						T parent = searchStack.peek().node;
+						lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(frame.node)));
+					}
+					
+					// The node is the root of a strongly connected component
+					if (lowLinks.get(frame.node).equals(indices.get(frame.node))) {
+						List<T> component = new ArrayList<>();
+						T member;
+						do {
+							member = componentStack.pop();
+							onComponentStack.remove(member);
+							component.add(member);
+						} while (!member.equals(frame.node));
+						components.add(component);
+					}
+				}
+			}
+		}
 		
-		while (cycleNode != null) {
-			visitor.visit(cycleNode);
-			removeNode(cycleNode);
-			cycleNode = hasCycle();
-		} 
+		return components;
 	}
 	
 	/**
@@ -320,17 +454,19 @@ public class DependencyTree<T> {
 		sb.append("digraph " + name + " {\n");
 		
 		List<T> linearized = getLinearOrder();
+		Map<T, Integer> linearIndices = new HashMap<>();
 		
 		for (int i = 0; i < linearized.size(); ++i) {
 			T item = linearized.get(i);
+			linearIndices.put(item, i);
 			sb.append(i + " [label=\"" + item.toString() + "\"]\n");
 		}
 		
 		for (int i = 0; i < linearized.size(); ++i) {
 			T item = linearized.get(i);
-			List<T> itemChildren = children.get(item);
+			Set<T> itemChildren = children.get(item);
 			for (T child : itemChildren) {
-				int indexChild = linearized.indexOf(child);
+				int indexChild = linearIndices.getOrDefault(child, -1);
 				sb.append(indexChild + "->" + i + "\n");
 			}
 		}
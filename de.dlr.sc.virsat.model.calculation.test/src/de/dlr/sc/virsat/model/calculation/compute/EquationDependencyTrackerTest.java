@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationIntermediateResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+
+/**
+ * Test cases for keeping the dependency tree of the equations of a project up to date
+ */
+public class EquationDependencyTrackerTest {
+
+	private Resource resourceA;
+	private Resource resourceB;
+	private Equation equationA;
+	private Equation equationB;
+	private EquationDependencyTracker tracker;
+
+	/**
+	 * Creates an equation of the form name = 1
+	 * @param name the name of the intermediate result
+	 * @return the new equation
+	 */
+	private Equation createLiteralEquation(String name) {
+		EquationIntermediateResult result = CalculationFactory.eINSTANCE.createEquationIntermediateResult();
+		result.setName(name);
+		NumberLiteral literal = CalculationFactory.eINSTANCE.createNumberLiteral();
+		literal.setValue("1");
+
+		Equation equation = CalculationFactory.eINSTANCE.createEquation();
+		equation.setResult(result);
+		equation.setExpression(literal);
+		return equation;
+	}
+
+	@Before
+	public void setUp() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceA = new XMIResourceImpl(URI.createURI("a.dvlm"));
+		resourceB = new XMIResourceImpl(URI.createURI("b.dvlm"));
+		resourceSet.getResources().add(resourceA);
+		resourceSet.getResources().add(resourceB);
+
+		// a = 1 and b = a, where b lives in another resource than a
+		equationA = createLiteralEquation("a");
+		resourceA.getContents().add(equationA);
+
+		EquationIntermediateResult resultB = CalculationFactory.eINSTANCE.createEquationIntermediateResult();
+		resultB.setName("b");
+		ReferencedInput referenceToA = CalculationFactory.eINSTANCE.createReferencedInput();
+		referenceToA.setReference((EquationIntermediateResult) equationA.getResult());
+		equationB = CalculationFactory.eINSTANCE.createEquation();
+		equationB.setResult(resultB);
+		equationB.setExpression(referenceToA);
+		resourceB.getContents().add(equationB);
+
+		ExpressionHelper exprHelper = new ExpressionHelper();
+		tracker = new EquationDependencyTracker(new EquationHelper(exprHelper), exprHelper);
+		tracker.initialize(Arrays.asList(equationA, equationB));
+	}
+
+	@Test
+	public void testInitialize() {
+		assertTrue("Tracker is initialized", tracker.isInitialized());
+		assertThat("Tree contains both equations", tracker.getDependencyTree().getNodes(), hasItems(equationA.getResult(), equationB.getResult()));
+		assertThat("Both resources are tracked", tracker.getTrackedResources(), hasItems(resourceA, resourceB));
+
+		tracker.reset();
+		assertFalse("Tracker is reset", tracker.isInitialized());
+	}
+
+	@Test
+	public void testUpdateFindsDependentEquations() {
+		Set<Equation> affected = tracker.update(Collections.singleton(resourceA));
+		assertEquals("Equation of changed resource and its dependent equation are affected", 2, affected.size());
+		assertThat("Equation of changed resource and its dependent equation are affected", affected, hasItems(equationA, equationB));
+
+		affected = tracker.update(Collections.singleton(resourceB));
+		assertEquals("Nothing depends on the equation of resource b", Collections.singleton(equationB), affected);
+	}
+
+	@Test
+	public void testUpdateReplacesEquationsOfChangedResource() {
+		Equation equationC = createLiteralEquation("c");
+		resourceA.getContents().add(equationC);
+		resourceB.getContents().remove(equationB);
+
+		Set<Equation> affected = tracker.update(Arrays.asList(resourceA, resourceB));
+		assertThat("New equation is affected", affected, hasItems(equationA, equationC));
+		assertFalse("Removed equation is not affected anymore", affected.contains(equationB));
+
+		Set<?> nodes = tracker.getDependencyTree().getNodes();
+		assertTrue("New equation has been added to the tree", nodes.contains(equationC.getResult()));
+		assertFalse("Removed equation has been removed from the tree", nodes.contains(equationB.getResult()));
+		assertFalse("Expression of removed equation has been removed from the tree", nodes.contains(equationB.getExpression()));
+	}
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.AdditionAndSubtraction;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationIntermediateResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+
+/**
+ * Test cases for the compiled evaluation plans of equations
+ */
+public class EquationPlanCacheTest {
+
+	private static final double EPSILON = 0.0001;
+
+	private Resource resource;
+	private Equation equationA;
+	private Equation equationB;
+	private NumberLiteral literal;
+	private ExpressionHelper exprHelper;
+	private EquationPlanCache planCache;
+
+	/**
+	 * Creates a number literal
+	 * @param value the value of the literal
+	 * @return the new literal
+	 */
+	private NumberLiteral createLiteral(String value) {
+		NumberLiteral numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		numberLiteral.setValue(value);
+		return numberLiteral;
+	}
+
+	@Before
+	public void setUp() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resource = new XMIResourceImpl(URI.createURI("a.dvlm"));
+		resourceSet.getResources().add(resource);
+
+		// a = 1 + 2 and b = a + 1
+		literal = createLiteral("1");
+		AdditionAndSubtraction addition = CalculationFactory.eINSTANCE.createAdditionAndSubtraction();
+		addition.setLeft(literal);
+		addition.setOperator(MathOperator.PLUS);
+		addition.setRight(createLiteral("2"));
+
+		EquationIntermediateResult resultA = CalculationFactory.eINSTANCE.createEquationIntermediateResult();
+		resultA.setName("a");
+		equationA = CalculationFactory.eINSTANCE.createEquation();
+		equationA.setResult(resultA);
+		equationA.setExpression(addition);
+		resource.getContents().add(equationA);
+
+		ReferencedInput referenceToA = CalculationFactory.eINSTANCE.createReferencedInput();
+		referenceToA.setReference(resultA);
+		AdditionAndSubtraction additionB = CalculationFactory.eINSTANCE.createAdditionAndSubtraction();
+		additionB.setLeft(referenceToA);
+		additionB.setOperator(MathOperator.PLUS);
+		additionB.setRight(createLiteral("1"));
+
+		EquationIntermediateResult resultB = CalculationFactory.eINSTANCE.createEquationIntermediateResult();
+		resultB.setName("b");
+		equationB = CalculationFactory.eINSTANCE.createEquation();
+		equationB.setResult(resultB);
+		equationB.setExpression(additionB);
+		resource.getContents().add(equationB);
+
+		exprHelper = new ExpressionHelper();
+		planCache = new EquationPlanCache(exprHelper);
+	}
+
+	/**
+	 * Gets the value of a number literal result
+	 * @param result the result
+	 * @return the value of the result
+	 */
+	private double getValue(IExpressionResult result) {
+		assertTrue("Result is a number", result instanceof NumberLiteralResult);
+		return ((NumberLiteralResult) result).getValue();
+	}
+
+	@Test
+	public void testEvaluate() {
+		Map<EObject, IExpressionResult> interimResults = new HashMap<>();
+		IExpressionResult resultA = planCache.evaluate(equationA, interimResults);
+		assertEquals("Plan computes the equation", 3, getValue(resultA), EPSILON);
+		assertSame("Result of the expression is stored", resultA, interimResults.get(equationA.getExpression()));
+		assertEquals("Results of the nodes are stored", 1, getValue(interimResults.get(literal)), EPSILON);
+
+		IExpressionResult expectedResult = exprHelper.evaluate(equationA.getExpression());
+		assertTrue("Plan computes the same result as the expression helper", expectedResult.equals(resultA, EPSILON));
+
+		IExpressionResult resultB = planCache.evaluate(equationB, interimResults);
+		assertEquals("Plan uses the result of the referenced equation", 4, getValue(resultB), EPSILON);
+	}
+
+	@Test
+	public void testEvaluationsDoNotShareResults() {
+		EquationPlan plan = planCache.getPlan(equationA);
+		Map<EObject, IExpressionResult> interimResults1 = new HashMap<>();
+		Map<EObject, IExpressionResult> interimResults2 = new HashMap<>();
+
+		plan.evaluate(exprHelper, interimResults1);
+		IExpressionResult result = plan.evaluate(exprHelper, interimResults2);
+		assertEquals("Plan computes the equation again", 3, getValue(result), EPSILON);
+		assertNotSame("Every evaluation gets its own literal results", interimResults1.get(literal), interimResults2.get(literal));
+	}
+
+	@Test
+	public void testPlanIsCached() {
+		EquationPlan plan = planCache.getPlan(equationA);
+		assertTrue("Plan is cached", planCache.hasPlan(equationA));
+		assertSame("Plan is compiled only once", plan, planCache.getPlan(equationA));
+
+		// Writing the result of the evaluation does not change the plan
+		equationA.setResultText("3.0");
+		assertTrue("Plan is still cached", planCache.hasPlan(equationA));
+	}
+
+	@Test
+	public void testPlanIsInvalidatedOnChange() {
+		planCache.evaluate(equationA, new HashMap<>());
+		planCache.getPlan(equationB);
+
+		literal.setValue("5");
+		assertFalse("Plan is dropped after changing its expression", planCache.hasPlan(equationA));
+		assertTrue("Plan of other equation is kept", planCache.hasPlan(equationB));
+		assertEquals("Recompiled plan computes the changed equation", 7, getValue(planCache.evaluate(equationA, new HashMap<>())), EPSILON);
+
+		equationA.setExpression(createLiteral("2"));
+		assertFalse("Plan is dropped after replacing its expression", planCache.hasPlan(equationA));
+		assertTrue("Adapter has been removed from the old expression", literal.eAdapters().isEmpty());
+	}
+
+	@Test
+	public void testRemoveDetachedPlans() {
+		planCache.getPlan(equationA);
+		planCache.getPlan(equationB);
+
+		resource.getContents().remove(equationA);
+		planCache.removeDetachedPlans();
+
+		assertFalse("Plan of removed equation is dropped", planCache.hasPlan(equationA));
+		assertTrue("Plan of remaining equation is kept", planCache.hasPlan(equationB));
+
+		planCache.clear();
+		assertFalse("All plans are dropped", planCache.hasPlan(equationB));
+		assertTrue("Adapters have been removed", equationB.eAdapters().isEmpty());
+	}
+}
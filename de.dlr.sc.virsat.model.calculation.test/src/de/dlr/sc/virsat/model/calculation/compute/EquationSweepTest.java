@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.test.util.ExpressionUtil;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.FloatProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the parameter sweeps of equations
+ */
+public class EquationSweepTest extends AEquationTest {
+
+	private StructuralElementInstance sei;
+	private Category cat;
+	private ValuePropertyInstance vpiVoltage;
+	private ValuePropertyInstance vpiCurrent;
+	private ValuePropertyInstance vpiPower;
+	private ValuePropertyInstance vpiMass;
+	private List<Equation> equations;
+
+	/**
+	 * Creates a category assignment with a value property in the SEI
+	 * @param name the name of the category assignment
+	 * @return the value property instance of the category assignment
+	 */
+	private ValuePropertyInstance createValue(String name) {
+		CategoryAssignment ca = new CategoryInstantiator().generateInstance(cat, name);
+		sei.getCategoryAssignments().add(ca);
+		return (ValuePropertyInstance) ca.getPropertyInstances().get(0);
+	}
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+
+		cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setName("Parameter");
+		cat.setIsApplicableForAll(true);
+		contents.add(cat);
+
+		FloatProperty value = PropertydefinitionsFactory.eINSTANCE.createFloatProperty();
+		value.setName("value");
+		cat.getProperties().add(value);
+
+		StructuralElement se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setName("Equipment");
+
+		sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName("equipment");
+		sei.setType(se);
+		contents.add(sei);
+
+		createResources();
+
+		vpiVoltage = createValue("voltage");
+		vpiCurrent = createValue("current");
+		vpiPower = createValue("power");
+		vpiMass = createValue("mass");
+
+		equations = ExpressionUtil.getAllEquationsFrom(esResourceSet, esResource,
+					"Ref: equipment.voltage.value = 1;"
+				+	"Ref: equipment.current.value = 1;"
+				+	"Ref: equipment.power.value = equipment.voltage.value * equipment.current.value * margin;"
+				+	"Calc: margin = 1 + 0.5;"
+				+	"Ref: equipment.mass.value = 10;"
+		);
+	}
+
+	@Test
+	public void testRun() {
+		EquationSweep sweep = new EquationSweep(new EquationHelper(), equations, Arrays.asList(vpiVoltage, vpiCurrent), Arrays.asList(vpiPower, vpiMass));
+		assertEquals("Only the equation depending on the parameters is evaluated per vector", 1, sweep.getSweptEquationCount());
+
+		List<double[]> parameterVectors = Arrays.asList(new double[] {2, 3}, new double[] {4, 5});
+		double[][] outputValues = sweep.run(parameterVectors);
+
+		assertEquals("Got results for all vectors", 2, outputValues.length);
+		assertArrayEquals("Outputs of the first vector are correct", new double[] {9, 10}, outputValues[0], EPSILON);
+		assertArrayEquals("Outputs of the second vector are correct", new double[] {30, 10}, outputValues[1], EPSILON);
+
+		assertNull("Model has not been changed", vpiPower.getValue());
+		assertNull("Model has not been changed", vpiVoltage.getValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRunWithWrongVectorSize() {
+		EquationSweep sweep = new EquationSweep(new EquationHelper(), equations, Arrays.asList(vpiVoltage, vpiCurrent), Arrays.asList(vpiPower));
+		sweep.run(Collections.singletonList(new double[] {1}));
+	}
+
+	@Test
+	public void testCsv() throws IOException {
+		List<String> parameterNames = new ArrayList<>();
+		String csv = "equipment.voltage.value, equipment.current.value\n2,3\n\n4,5\n";
+		List<double[]> parameterVectors = EquationSweep.readParameterVectors(new BufferedReader(new StringReader(csv)), parameterNames);
+
+		assertEquals("Read the names of the parameters", Arrays.asList("equipment.voltage.value", "equipment.current.value"), parameterNames);
+		assertEquals("Read all vectors", 2, parameterVectors.size());
+		assertArrayEquals("Read the values of the vectors", new double[] {4, 5}, parameterVectors.get(1), EPSILON);
+
+		List<ValuePropertyInstance> parameters = EquationSweep.findValuePropertyInstances(parameterNames, Collections.singletonList(sei));
+		assertEquals("Found the parameters", Arrays.asList(vpiVoltage, vpiCurrent), parameters);
+
+		EquationSweep sweep = new EquationSweep(new EquationHelper(), equations, parameters, Collections.singletonList(vpiPower));
+		StringWriter writer = new StringWriter();
+		sweep.writeResults(writer, parameterVectors, sweep.run(parameterVectors));
+
+		String[] lines = writer.toString().split(System.lineSeparator());
+		assertEquals("Wrote a header and one line per vector", 3, lines.length);
+		assertEquals("Header contains the names of parameters and outputs", "equipment.voltage.value,equipment.current.value,equipment.power.value", lines[0]);
+		assertEquals("Line contains the values of parameters and outputs", "4.0,5.0,30.0", lines[2]);
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadMalformedCsv() throws IOException {
+		String csv = "equipment.voltage.value,equipment.current.value\n2,x\n";
+		EquationSweep.readParameterVectors(new BufferedReader(new StringReader(csv)), new ArrayList<>());
+	}
+}
@@ -10,6 +10,7 @@
 package de.dlr.sc.virsat.model.calculation.compute;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -47,5 +48,15 @@ public class NumberLiteralHelperTest {
 		numberLiteralTest1.setValue(Double.toString(TEST_VALUE_4));
 		assertEquals(TEST_VALUE_4, numLitHelper.getValue(), TEST_PRECISION);
 	}
+	
+	@Test
+	public void testParseValue() {
+		final double TEST_PRECISION = 0.0001;
+		final double TEST_VALUE = 20.5;
+		
+		assertEquals(TEST_VALUE, NumberLiteralHelper.parseValue(Double.toString(TEST_VALUE)), TEST_PRECISION);
+		assertTrue(Double.isNaN(NumberLiteralHelper.parseValue(null)));
+		assertTrue(Double.isNaN(NumberLiteralHelper.parseValue("abc")));
+	}
 
 }
@@ -11,6 +11,8 @@ package de.dlr.sc.virsat.model.calculation.compute;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -83,4 +85,53 @@ public class NumberLiteralResultHelperTest {
 		assertEquals("Quantity Kind Compuation correct", 1d, resultPlus.getQuantityKinds().get(qk), EPSILON);
 		assertEquals("Quantity Kind Compuation correct", 1d, resultMinus.getQuantityKinds().get(qk), EPSILON);
 	}
+	
+	@Test
+	public void testApplyUnaryMathOperator() {
+		final double EPSILON = 0.000001;
+		final double TEST_VALUE = 16;
+		
+		AQuantityKind qk = QudvUnitHelper.getInstance().createSimpleQuantityKind("A", "a", "", "");
+		Map<AQuantityKind, Double> quantityKinds = new HashMap<>();
+		quantityKinds.put(qk, 2d);
+		
+		NumberLiteralResultHelper numLitResultHelper = new NumberLiteralResultHelper(new NumberLiteralResult(TEST_VALUE, quantityKinds));
+		
+		NumberLiteralResult resultSqrt = numLitResultHelper.applyMathOperator(MathOperator.SQRT);
+		NumberLiteralResult resultMinus = numLitResultHelper.applyMathOperator(MathOperator.MINUS);
+		NumberLiteralResult resultLd = numLitResultHelper.applyMathOperator(MathOperator.LD);
+		NumberLiteralResult resultNegate = numLitResultHelper.applyMathOperator("-");
+		
+		assertEquals("Value Computation correct", 4, resultSqrt.getValue(), EPSILON);
+		assertEquals("Value Computation correct", -TEST_VALUE, resultMinus.getValue(), EPSILON);
+		assertEquals("Value Computation correct", 4, resultLd.getValue(), EPSILON);
+		assertEquals("Value Computation correct", -TEST_VALUE, resultNegate.getValue(), EPSILON);
+		assertEquals("Value Computation correct", "4.0", resultSqrt.getNumberLiteral().getValue());
+		
+		assertEquals("Quantity Kind Compuation correct", 1d, resultSqrt.getQuantityKinds().get(qk), EPSILON);
+		assertEquals("Quantity Kinds of operand are not changed", 2d, quantityKinds.get(qk), EPSILON);
+		assertSame("Quantity Kinds of operand are passed on", quantityKinds, resultMinus.getQuantityKinds());
+		
+		NumberLiteralResult resultAcos = new NumberLiteralResultHelper(new NumberLiteralResult(2)).applyMathOperator(MathOperator.ACOS);
+		assertTrue("Value out of range yields NaN", Double.isNaN(resultAcos.getValue()));
+	}
+	
+	@Test
+	public void testGetValue() {
+		final double EPSILON = 0.000001;
+		final double TEST_VALUE = 20.5;
+		
+		NumberLiteral numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		numberLiteral.setValue(Double.toString(TEST_VALUE));
+		assertEquals("Value of literal is parsed", TEST_VALUE, new NumberLiteralResult(numberLiteral).getValue(), EPSILON);
+		
+		NumberLiteralResult result = new NumberLiteralResult(TEST_VALUE);
+		assertEquals("Value is kept", TEST_VALUE, result.getValue(), EPSILON);
+		assertEquals("Literal is created on request", Double.toString(TEST_VALUE), result.getNumberLiteral().getValue());
+		assertSame("Literal is only created once", result.getNumberLiteral(), result.getNumberLiteral());
+		
+		NumberLiteral invalidLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		invalidLiteral.setValue("abc");
+		assertTrue("Invalid literal yields NaN", Double.isNaN(new NumberLiteralResult(invalidLiteral).getValue()));
+	}
 }
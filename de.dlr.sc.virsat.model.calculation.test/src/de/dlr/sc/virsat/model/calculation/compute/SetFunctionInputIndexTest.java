@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.IntProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the index of the inputs of set functions
+ */
+public class SetFunctionInputIndexTest {
+
+	private Category cat;
+	private IntProperty value;
+	private StructuralElementInstance seiRoot;
+	private StructuralElementInstance seiMid;
+	private CategoryAssignment caRoot;
+	private CategoryAssignment caMid;
+	private CategoryAssignment caLeaf;
+	private SetFunction summary;
+	private SetFunctionInputIndex index;
+
+	/**
+	 * Creates an SEI with a category assignment of the mass category
+	 * @param name the name of the SEI
+	 * @param parent the parent of the SEI or null
+	 * @return the category assignment of the new SEI
+	 */
+	private CategoryAssignment createSeiWithMass(String name, StructuralElementInstance parent) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName(name);
+		CategoryAssignment ca = new CategoryInstantiator().generateInstance(cat, "mass" + name);
+		ca.setEquationSection(CalculationFactory.eINSTANCE.createEquationSection());
+		sei.getCategoryAssignments().add(ca);
+		if (parent != null) {
+			parent.getChildren().add(sei);
+		}
+		return ca;
+	}
+
+	/**
+	 * Adds an equation of the form value = summary{Mass.value} to a category assignment
+	 * @param ca the category assignment
+	 * @return the set function of the equation
+	 */
+	private SetFunction addSummaryEquation(CategoryAssignment ca) {
+		TypeInstanceResult result = CalculationFactory.eINSTANCE.createTypeInstanceResult();
+		result.setReference(getValue(ca));
+		SetFunction setFunction = CalculationFactory.eINSTANCE.createSetFunction();
+		setFunction.setOperator("summary");
+		setFunction.setTypeDefinition(value);
+
+		Equation equation = CalculationFactory.eINSTANCE.createEquation();
+		equation.setResult(result);
+		equation.setExpression(setFunction);
+		ca.getEquationSection().getEquations().add(equation);
+		return setFunction;
+	}
+
+	/**
+	 * Gets the value property instance of a category assignment of the mass category
+	 * @param ca the category assignment
+	 * @return the value property instance
+	 */
+	private APropertyInstance getValue(CategoryAssignment ca) {
+		return ca.getPropertyInstances().get(0);
+	}
+
+	@Before
+	public void setUp() {
+		cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setName("Mass");
+		cat.setIsApplicableForAll(true);
+		value = PropertydefinitionsFactory.eINSTANCE.createIntProperty();
+		value.setName("value");
+		cat.getProperties().add(value);
+
+		// Setup the data model:
+		// Root
+		//	-- CA: massRoot = summary{Mass.value}
+		//	-- Sei: Mid
+		//		-- CA: massMid
+		//		-- Sei: Leaf
+		//			-- CA: massLeaf
+		caRoot = createSeiWithMass("Root", null);
+		seiRoot = (StructuralElementInstance) caRoot.eContainer();
+		caMid = createSeiWithMass("Mid", seiRoot);
+		seiMid = (StructuralElementInstance) caMid.eContainer();
+		caLeaf = createSeiWithMass("Leaf", seiMid);
+		summary = addSummaryEquation(caRoot);
+
+		ResourceSet resourceSet = new ResourceSetImpl();
+		Resource resource = new XMIResourceImpl(URI.createURI("root.dvlm"));
+		resourceSet.getResources().add(resource);
+		resource.getContents().add(seiRoot);
+
+		index = SetFunctionInputIndex.attachIndex(resourceSet);
+	}
+
+	@Test
+	public void testGetIndex() {
+		ResourceSet resourceSet = seiRoot.eResource().getResourceSet();
+		assertSame("Index is shared within the resource set", index, SetFunctionInputIndex.getIndex(seiMid));
+		assertTrue("Index is attached to the resource set", resourceSet.eAdapters().contains(index));
+		assertSame("Index is only attached once", index, SetFunctionInputIndex.attachIndex(resourceSet));
+		assertEquals("Index is only attached once", 1, resourceSet.eAdapters().size());
+
+		StructuralElementInstance seiWithoutResource = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		assertNotSame("SEI without resource set gets its own index", index, SetFunctionInputIndex.getIndex(seiWithoutResource));
+
+		ResourceSet resourceSetWithoutIndex = new ResourceSetImpl();
+		Resource resource = new XMIResourceImpl(URI.createURI("other.dvlm"));
+		resourceSetWithoutIndex.getResources().add(resource);
+		resource.getContents().add(seiWithoutResource);
+		SetFunctionInputIndex unattachedIndex = SetFunctionInputIndex.getIndex(seiWithoutResource);
+		assertNotSame("SEI in a resource set without index gets its own index", index, unattachedIndex);
+		assertFalse("Getting the index does not attach it", resourceSetWithoutIndex.eAdapters().contains(unattachedIndex));
+	}
+
+	@Test
+	public void testGetInputs() {
+		assertEquals("Inputs of all sub trees are aggregated without the local result",
+				Arrays.asList(getValue(caMid), getValue(caLeaf)), index.getInputs(seiRoot, summary));
+
+		// Changing a value does not change the inputs
+		((ValuePropertyInstance) getValue(caLeaf)).setValue("5");
+		assertEquals("Inputs did not change",
+				Arrays.asList(getValue(caMid), getValue(caLeaf)), index.getInputs(seiRoot, summary));
+	}
+
+	@Test
+	public void testGetInputsAfterEvaluation() {
+		index.getInputs(seiRoot, summary);
+
+		// Writing the outputs of an evaluation keeps the cached inputs
+		Equation equation = (Equation) summary.eContainer();
+		equation.setResultText("5");
+		equation.setOverride(true);
+
+		// Add a leaf without notifying the index to detect if the cached inputs are still used
+		seiMid.eSetDeliver(false);
+		createSeiWithMass("SilentLeaf", seiMid);
+		seiMid.eSetDeliver(true);
+
+		assertEquals("Cached inputs are still used",
+				Arrays.asList(getValue(caMid), getValue(caLeaf)), index.getInputs(seiRoot, summary));
+	}
+
+	@Test
+	public void testGetInputsAfterStructuralChange() {
+		index.getInputs(seiRoot, summary);
+
+		// Adding a new leaf has to invalidate the cached inputs along its path to the root
+		CategoryAssignment caNewLeaf = createSeiWithMass("NewLeaf", seiMid);
+		assertEquals("Inputs of the new leaf are found",
+				Arrays.asList(getValue(caMid), getValue(caLeaf), getValue(caNewLeaf)), index.getInputs(seiRoot, summary));
+
+		seiMid.getChildren().clear();
+		assertEquals("Inputs of the removed leaves are gone",
+				Collections.singletonList(getValue(caMid)), index.getInputs(seiRoot, summary));
+	}
+
+	@Test
+	public void testGetInputsWithSetFunctionInChild() {
+		index.getInputs(seiRoot, summary);
+
+		// Once the child computes the summary of its sub tree on its own, its result is the only input
+		SetFunction midSummary = addSummaryEquation(caMid);
+		assertEquals("Result of the child is used as input",
+				Collections.singletonList(getValue(caMid)), index.getInputs(seiRoot, summary));
+		assertEquals("Child aggregates its own sub tree",
+				Collections.singletonList(getValue(caLeaf)), index.getInputs(seiMid, midSummary));
+	}
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.scoping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.general.IInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the index serving the scopes of the equation DSL
+ */
+public class EquationSectionScopeIndexTest {
+
+	private ResourceSet resourceSet;
+	private Resource resourceA;
+	private Resource resourceB;
+	private StructuralElementInstance seiA;
+	private StructuralElementInstance seiB;
+	private CategoryAssignment caA;
+	private int namedObjects;
+
+	/**
+	 * Name provider using the full qualified instance names and counting the named objects
+	 */
+	private IQualifiedNameProvider qualifiedNameProvider = new IQualifiedNameProvider.AbstractImpl() {
+		@Override
+		public QualifiedName getFullyQualifiedName(EObject obj) {
+			namedObjects++;
+			if (obj instanceof IInstance) {
+				return QualifiedName.create(((IInstance) obj).getFullQualifiedInstanceName().split("\\."));
+			}
+			return null;
+		}
+	};
+
+	/**
+	 * Creates an SEI as root object of a resource
+	 * @param name the name of the SEI
+	 * @param resource the resource of the SEI
+	 * @return the new SEI
+	 */
+	private StructuralElementInstance createSei(String name, Resource resource) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName(name);
+		resource.getContents().add(sei);
+		return sei;
+	}
+
+	/**
+	 * Creates a category assignment within an SEI
+	 * @param name the name of the category assignment
+	 * @param sei the SEI
+	 * @return the new category assignment
+	 */
+	private CategoryAssignment createCa(String name, StructuralElementInstance sei) {
+		CategoryAssignment ca = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		ca.setName(name);
+		sei.getCategoryAssignments().add(ca);
+		return ca;
+	}
+
+	@Before
+	public void setUp() {
+		resourceSet = new ResourceSetImpl();
+		resourceA = new XMIResourceImpl(URI.createURI("a.dvlm"));
+		resourceB = new XMIResourceImpl(URI.createURI("b.dvlm"));
+		resourceSet.getResources().add(resourceA);
+		resourceSet.getResources().add(resourceB);
+
+		seiA = createSei("A", resourceA);
+		caA = createCa("ca", seiA);
+		seiB = createSei("B", resourceB);
+		createCa("ca", seiB);
+
+		namedObjects = 0;
+	}
+
+	/**
+	 * Creates a scope of all instances of the resource set
+	 * @param skipResource the resource to be skipped or null
+	 * @return the scope
+	 */
+	private IScope createScope(Resource skipResource) {
+		return EquationSectionScopeIndex.createScope(Collections.singletonList(resourceSet), skipResource, IInstance.class, qualifiedNameProvider);
+	}
+
+	/**
+	 * Looks up an object by its name
+	 * @param scope the scope
+	 * @param name the name with its segments separated by dots
+	 * @return the object or null if the scope does not contain the name
+	 */
+	private EObject lookup(IScope scope, String name) {
+		IEObjectDescription description = scope.getSingleElement(QualifiedName.create(name.split("\\.")));
+		return description == null ? null : description.getEObjectOrProxy();
+	}
+
+	/**
+	 * Counts all elements of a scope
+	 * @param elements the elements of the scope
+	 * @return the number of elements
+	 */
+	private int count(Iterable<IEObjectDescription> elements) {
+		int numberOfElements = 0;
+		for (@SuppressWarnings("unused") IEObjectDescription element : elements) {
+			numberOfElements++;
+		}
+		return numberOfElements;
+	}
+
+	@Test
+	public void testCreateScope() {
+		IScope scope = createScope(null);
+		assertEquals("All instances are in the scope", 4, count(scope.getAllElements()));
+		assertSame("Instance is found by its name", seiA, lookup(scope, "A"));
+		assertSame("Instance is found by its name", caA, lookup(scope, "A.ca"));
+		assertNull("Unknown name is not found", lookup(scope, "C"));
+
+		IScope scopeWithoutB = createScope(resourceB);
+		assertEquals("Instances of the skipped resource are not in the scope", 2, count(scopeWithoutB.getAllElements()));
+		assertNull("Instance of the skipped resource is not found", lookup(scopeWithoutB, "B"));
+
+		IScope scopeOfCategories = EquationSectionScopeIndex.createScope(Collections.singletonList(resourceSet), null, Category.class, qualifiedNameProvider);
+		assertEquals("Scope only contains objects of the requested type", 0, count(scopeOfCategories.getAllElements()));
+	}
+
+	@Test
+	public void testIndexIsReused() {
+		createScope(null);
+		assertEquals("All objects have been named once", 4, namedObjects);
+
+		createScope(null);
+		createScope(resourceB);
+		assertEquals("Index is reused for further scopes", 4, namedObjects);
+	}
+
+	@Test
+	public void testChangedResourceIsIndexedAgain() {
+		createScope(null);
+		namedObjects = 0;
+
+		CategoryAssignment caNew = createCa("caNew", seiB);
+		IScope scope = createScope(null);
+		assertSame("Added instance is found", caNew, lookup(scope, "B.caNew"));
+		assertEquals("Only the changed resource has been indexed again", 3, namedObjects);
+
+		namedObjects = 0;
+		resourceSet.getResources().remove(resourceB);
+		scope = createScope(null);
+		assertNull("Instances of removed resources are dropped", lookup(scope, "B"));
+		assertEquals("No other resource has been indexed again", 0, namedObjects);
+	}
+
+	@Test
+	public void testRenamedInstanceIsIndexedAgain() {
+		createScope(null);
+
+		seiA.setName("C");
+		IScope scope = createScope(null);
+		assertNull("Old name is not found anymore", lookup(scope, "A.ca"));
+		assertSame("Instance is found by its new name", caA, lookup(scope, "C.ca"));
+	}
+
+	@Test
+	public void testChildInOwnResourceIsIndexedWithItsResource() {
+		Resource resourceChild = new XMIResourceImpl(URI.createURI("child.dvlm"));
+		resourceSet.getResources().add(resourceChild);
+		StructuralElementInstance seiChild = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		seiChild.setName("Child");
+		seiA.getChildren().add(seiChild);
+		resourceChild.getContents().add(seiChild);
+		CategoryAssignment caChild = createCa("caChild", seiChild);
+
+		IScope scope = createScope(null);
+		assertSame("Instance of the child resource is found", caChild, lookup(scope, "A.Child.caChild"));
+		assertEquals("Instances of the child resource are indexed once", 6, count(scope.getAllElements()));
+
+		EcoreUtil.remove(caChild);
+		scope = createScope(null);
+		assertNull("Removed instance of the child resource is not found", lookup(scope, "A.Child.caChild"));
+		assertEquals("Removed instance is not in the scope", 5, count(scope.getAllElements()));
+	}
+}
@@ -14,13 +14,18 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import de.dlr.sc.virsat.model.calculation.compute.EquationDependencyTrackerTest;
 import de.dlr.sc.virsat.model.calculation.compute.EquationHelperTest;
+import de.dlr.sc.virsat.model.calculation.compute.EquationPlanCacheTest;
+import de.dlr.sc.virsat.model.calculation.compute.EquationSweepTest;
 import de.dlr.sc.virsat.model.calculation.compute.ExpressionHelperTest;
 import de.dlr.sc.virsat.model.calculation.compute.IncrementalEquationBuilderTest;
 import de.dlr.sc.virsat.model.calculation.compute.NumberLiteralResultHelperTest;
 import de.dlr.sc.virsat.model.calculation.compute.NumberLiteralSetterTest;
+import de.dlr.sc.virsat.model.calculation.compute.SetFunctionInputIndexTest;
 import de.dlr.sc.virsat.model.calculation.compute.UnresolvedSetFunctionHelperTest;
 import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelperTest;
+import de.dlr.sc.virsat.model.calculation.scoping.EquationSectionScopeIndexTest;
 import de.dlr.sc.virsat.model.calculation.serializer.SafeEquationDSLSemanticSequencerTest;
 import de.dlr.sc.virsat.model.calculation.validator.UnitPropertyValueValidatorTest;
 import junit.framework.JUnit4TestAdapter;
@@ -38,6 +43,11 @@ import junit.framework.JUnit4TestAdapter;
 				UnresolvedSetFunctionHelperTest.class,
 				EquationHelperTest.class,
 				IncrementalEquationBuilderTest.class,
+				EquationDependencyTrackerTest.class,
+				EquationPlanCacheTest.class,
+				EquationSweepTest.class,
+				SetFunctionInputIndexTest.class,
+				EquationSectionScopeIndexTest.class,
 				VirSatEquationMarkerHelperTest.class,
 				UnitPropertyValueValidatorTest.class,
 				NumberLiteralSetterTest.class,
@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.project.Activator;
+
+/**
+ * Keeps the dependency tree of all equations in a project up to date between builds.
+ * Instead of recreating the tree from all equations on every build, only the equations
+ * of changed resources are removed from the tree and added again. The equations that
+ * depend on a changed resource are found by reverse lookups in the tree.
+ */
+public class EquationDependencyTracker {
+
+	private EquationHelper equationHelper;
+	private ExpressionHelper exprHelper;
+
+	private DependencyTree<EObject> tree;
+	private Map<Resource, Set<Equation>> equationsByResource = new HashMap<>();
+	private Map<Resource, Set<EObject>> nodesByResource = new HashMap<>();
+	private Map<Equation, Resource> equationResources = new HashMap<>();
+	private Map<Equation, List<EObject>> equationNodes = new HashMap<>();
+	private Map<EObject, Equation> nodeToEquation = new HashMap<>();
+	private Set<SetFunction> setFunctions = new HashSet<>();
+
+	/**
+	 * Public constructor
+	 * @param equationHelper the helper used for creating the dependencies of equations
+	 * @param exprHelper the helper used for resolving the dependencies of expressions
+	 */
+	public EquationDependencyTracker(EquationHelper equationHelper, ExpressionHelper exprHelper) {
+		this.equationHelper = equationHelper;
+		this.exprHelper = exprHelper;
+	}
+
+	/**
+	 * Checks if the tracker has been initialized with the equations of the project
+	 * @return true if the dependency tree is available
+	 */
+	public boolean isInitialized() {
+		return tree != null;
+	}
+
+	/**
+	 * Drops the dependency tree, e.g. because the equations of the project could not be read
+	 */
+	public void reset() {
+		tree = null;
+		equationsByResource.clear();
+		nodesByResource.clear();
+		equationResources.clear();
+		equationNodes.clear();
+		nodeToEquation.clear();
+		setFunctions.clear();
+	}
+
+	/**
+	 * Creates the dependency tree from all equations of the project
+	 * @param equations all equations of the project
+	 */
+	public void initialize(Collection<Equation> equations) {
+		reset();
+		tree = new DependencyTree<>();
+		addEquations(equations);
+	}
+
+	/**
+	 * Gets the dependency tree of all equations of the project. The tree is owned by the
+	 * tracker, so it has to be copied before it is modified e.g. by removing its cycles.
+	 * @return the dependency tree or null if the tracker has not been initialized
+	 */
+	public DependencyTree<EObject> getDependencyTree() {
+		return tree;
+	}
+
+	/**
+	 * Gets the resources from which equations or their dependencies have been added to the tree
+	 * @return the tracked resources
+	 */
+	public Set<Resource> getTrackedResources() {
+		Set<Resource> resources = new HashSet<>(equationsByResource.keySet());
+		resources.addAll(nodesByResource.keySet());
+		return resources;
+	}
+
+	/**
+	 * Updates the dependency tree after some resources have changed. The equations of the changed resources
+	 * are removed from the tree together with all equations depending on them. Afterwards the equations
+	 * which are still part of the model are added again. Since set functions collect their inputs from
+	 * the structure of the model, which may have changed in any resource, their dependencies are compared
+	 * against the tree and their equations are updated as well in case of a difference.
+	 * @param changedResources the resources which have changed, have been reloaded or have been removed
+	 * @return all equations that have to be evaluated again
+	 */
+	public Set<Equation> update(Collection<Resource> changedResources) {
+		Set<EObject> staleNodes = new HashSet<>();
+		Set<Equation> staleEquations = new HashSet<>();
+		for (Resource resource : changedResources) {
+			Set<EObject> resourceNodes = nodesByResource.remove(resource);
+			if (resourceNodes != null) {
+				staleNodes.addAll(resourceNodes);
+			}
+			Set<Equation> resourceEquations = equationsByResource.get(resource);
+			if (resourceEquations != null) {
+				staleEquations.addAll(resourceEquations);
+			}
+		}
+
+		for (SetFunction setFunction : setFunctions) {
+			Set<EObject> dependencies = new HashSet<>(exprHelper.getDependencies(setFunction));
+			if (!dependencies.equals(new HashSet<>(tree.getDependencies(setFunction)))) {
+				staleNodes.add(setFunction);
+			}
+		}
+
+		// All equations depending on stale nodes have to be linked again
+		staleEquations.addAll(getEquations(tree.getAllDependents(staleNodes)));
+		for (Equation equation : staleEquations) {
+			removeEquation(equation);
+		}
+		removeOrphans(staleNodes);
+
+		Set<Equation> addedEquations = new HashSet<>();
+		for (Resource resource : changedResources) {
+			if (resource.isLoaded() && resource.getResourceSet() != null) {
+				addedEquations.addAll(getAllEquationsInResource(resource));
+			}
+		}
+		for (Equation equation : staleEquations) {
+			Resource resource = equation.eResource();
+			if (resource != null && !changedResources.contains(resource)) {
+				addedEquations.add(equation);
+			}
+		}
+		addEquations(addedEquations);
+
+		// Finally collect everything downstream of the changed resources in the updated tree
+		Set<EObject> changedNodes = new HashSet<>();
+		for (Resource resource : changedResources) {
+			changedNodes.addAll(nodesByResource.getOrDefault(resource, Collections.emptySet()));
+		}
+
+		Set<Equation> affectedEquations = getEquations(tree.getAllDependents(changedNodes));
+		affectedEquations.addAll(addedEquations);
+		return affectedEquations;
+	}
+
+	/**
+	 * Adds equations to the tree and indexes their nodes
+	 * @param equations the equations to be added
+	 */
+	private void addEquations(Collection<Equation> equations) {
+		equationHelper.addToDependencyTree(tree, equations);
+
+		Set<EObject> nodes = tree.getNodes();
+		for (Equation equation : equations) {
+			Resource resource = equation.eResource();
+			equationResources.put(equation, resource);
+			equationsByResource.computeIfAbsent(resource, key -> new HashSet<>()).add(equation);
+
+			List<EObject> ownedNodes = getOwnedNodes(equation);
+			equationNodes.put(equation, ownedNodes);
+			for (EObject node : ownedNodes) {
+				nodeToEquation.put(node, equation);
+				if (node instanceof SetFunction && nodes.contains(node)) {
+					setFunctions.add((SetFunction) node);
+				}
+
+				indexNode(node);
+				tree.getDependencies(node).forEach(this::indexNode);
+				tree.getDependents(node).forEach(this::indexNode);
+			}
+		}
+	}
+
+	/**
+	 * Removes the nodes owned by an equation from the tree
+	 * @param equation the equation to be removed
+	 */
+	private void removeEquation(Equation equation) {
+		List<EObject> ownedNodes = equationNodes.remove(equation);
+		if (ownedNodes == null) {
+			return;
+		}
+
+		Resource resource = equationResources.remove(equation);
+		Set<Equation> resourceEquations = equationsByResource.get(resource);
+		if (resourceEquations != null) {
+			resourceEquations.remove(equation);
+			if (resourceEquations.isEmpty()) {
+				equationsByResource.remove(resource);
+			}
+		}
+
+		Set<EObject> neighbours = new HashSet<>();
+		for (EObject node : ownedNodes) {
+			nodeToEquation.remove(node);
+			setFunctions.remove(node);
+			neighbours.addAll(tree.getDependencies(node));
+			neighbours.addAll(tree.getDependents(node));
+		}
+
+		Set<EObject> nodes = tree.getNodes();
+		for (EObject node : ownedNodes) {
+			if (nodes.contains(node)) {
+				tree.removeNode(node);
+			}
+		}
+
+		removeOrphans(neighbours);
+	}
+
+	/**
+	 * Removes nodes that are not owned by an equation and that are neither depending
+	 * on other nodes nor have dependents, such as type instances which are no longer referenced
+	 * @param candidates the nodes that may have become orphans
+	 */
+	private void removeOrphans(Collection<EObject> candidates) {
+		Set<EObject> nodes = tree.getNodes();
+		for (EObject node : candidates) {
+			boolean isOrphan = nodes.contains(node) && !nodeToEquation.containsKey(node)
+					&& tree.getDependencies(node).isEmpty() && tree.getDependents(node).isEmpty();
+			if (isOrphan) {
+				tree.removeNode(node);
+			}
+		}
+	}
+
+	/**
+	 * Remembers the resource a node has been contained in when it was added to the tree
+	 * @param node the node of the tree
+	 */
+	private void indexNode(EObject node) {
+		Resource resource = node.eResource();
+		if (resource != null) {
+			nodesByResource.computeIfAbsent(resource, key -> new HashSet<>()).add(node);
+		}
+	}
+
+	/**
+	 * Gets the equations owning some of the given nodes
+	 * @param nodes the nodes of the tree
+	 * @return the equations owning the nodes
+	 */
+	private Set<Equation> getEquations(Collection<EObject> nodes) {
+		Set<Equation> equations = new HashSet<>();
+		for (EObject node : nodes) {
+			Equation equation = nodeToEquation.get(node);
+			if (equation != null) {
+				equations.add(equation);
+			}
+		}
+		return equations;
+	}
+
+	/**
+	 * Gets the nodes an equation adds to the tree on its own, which are its result and its expressions
+	 * @param equation the equation
+	 * @return the nodes owned by the equation
+	 */
+	private List<EObject> getOwnedNodes(Equation equation) {
+		List<EObject> ownedNodes = new ArrayList<>();
+		if (equation.getResult() != null) {
+			ownedNodes.add(equation.getResult());
+		}
+
+		AExpression expression = equation.getExpression();
+		if (expression != null) {
+			ownedNodes.add(expression);
+			expression.eAllContents().forEachRemaining(object -> {
+				if (object instanceof AExpression) {
+					ownedNodes.add(object);
+				}
+			});
+		}
+		return ownedNodes;
+	}
+
+	/**
+	 * Call this method to get all Equations from a given EMF Resource
+	 * @param resource The EMF Resource to look in for equations
+	 * @return A list with all contained equations
+	 */
+	private List<Equation> getAllEquationsInResource(Resource resource) {
+		List<Equation> equations = new ArrayList<>();
+
+		try {
+			EcoreUtil.resolveAll(resource);
+			EcoreUtil.getAllContents(resource, true).forEachRemaining(object -> {
+				if (object instanceof Equation) {
+					equations.add((Equation) object);
+				}
+			});
+		} catch (Exception e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.getPluginId(), "Could not read active Equation from Repository", e));
+		}
+
+		return equations;
+	}
+}
@@ -11,6 +11,7 @@ package de.dlr.sc.virsat.model.calculation.compute;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ public class EquationHelper {
 	public static final double EPS = 0.000000001d;
 	
 	private ExpressionHelper exprHelper;
+	private EquationPlanCache planCache;
 	
 	/**
 	 * Public constructor
@@ -51,6 +53,7 @@ public class EquationHelper {
 	
 	public EquationHelper(ExpressionHelper exprHelper) {
 		this.exprHelper = exprHelper;
+		this.planCache = new EquationPlanCache(exprHelper);
 	}
 	
 	/**
@@ -70,6 +73,17 @@ public class EquationHelper {
 	 */
 	public DependencyTree<EObject> createDependencyTree(List<Equation> equations) {
 		DependencyTree<EObject> tree = new DependencyTree<>();
+		addToDependencyTree(tree, equations);
+		return tree;
+	}
+	
+	/**
+	 * Adds the dependencies of a collection of equations to an existing dependency tree. This allows
+	 * to keep a tree up to date by only adding the equations that have changed.
+	 * @param tree the dependency tree to which the dependencies of the equations will be added
+	 * @param equations the equations that will be added to the tree
+	 */
+	public void addToDependencyTree(DependencyTree<EObject> tree, Collection<Equation> equations) {
 		List<AExpression> dependencies = new ArrayList<>(); 
 		
 		// For all equations create dependencies of the form
@@ -110,8 +124,6 @@ public class EquationHelper {
 				});
 			}
 		}
-		
-		return tree;
 	}
 	
 	/**
@@ -126,7 +138,25 @@ public class EquationHelper {
 	}
 	
 	/**
-	 * Evaluates a dependency tree according to its linearization
+	 * Gets the expression helper used for evaluating the expressions of the equations
+	 * @return the expression helper of this helper
+	 */
+	public ExpressionHelper getExpressionHelper() {
+		return exprHelper;
+	}
+	
+	/**
+	 * Gets the cache of the compiled evaluation plans of the equations
+	 * @return the plan cache used by this helper
+	 */
+	public EquationPlanCache getPlanCache() {
+		return planCache;
+	}
+	
+	/**
+	 * Evaluates a dependency tree according to its linearization. The expressions of the equations
+	 * are evaluated with their compiled plans once the result of the equation is reached in the
+	 * linearization. At this point all inputs of the expression have already been evaluated.
 	 * @param tree the dependency tree to evaluate
 	 * @return a list of problems that have occurred during the evaluation
 	 */
@@ -136,17 +166,17 @@ public class EquationHelper {
 		List<EvaluationProblem> equationProblems = new ArrayList<>();
 		Map<EObject, IExpressionResult> mapExpressionToResult = new HashMap<>();
 		
+		planCache.removeDetachedPlans();
+		
 		// Evaluate the expressions according to the linearization
 		for (EObject object : linear) {
 			if (object instanceof AExpression) {
-				exprHelper.evaluate((AExpression) object, mapExpressionToResult);
-				
 				// Check if its a referenced input with a definition attached to it
 				// If so, update the referenced instance
 				if (object instanceof ReferencedInput) {
 					ReferencedInput refInput = (ReferencedInput) object;
 					if (refInput.getDefinition() != null) {
-						IEquationInput eqInput = exprHelper.getReferencedDefinitionInput(refInput);
+						IEquationInput eqInput = planCache.getPlan(exprHelper.getEquation(refInput)).getResolvedInput(refInput);
 						refInput.setReference(eqInput);
 					}
 				}
@@ -154,9 +184,10 @@ public class EquationHelper {
 				IEquationResult equationResult = (IEquationResult) object;
 
 				Equation equation = (Equation) equationResult.eContainer();
-				IExpressionResult result = exprHelper.evaluate(equation.getExpression(), mapExpressionToResult);
+				IExpressionResult result = planCache.evaluate(equation, mapExpressionToResult);
 
-				boolean hasWritePermissionResult = RightsHelper.hasWritePermission(equationResult, userContext);
+				// The result is contained in the equation, hence both share the same write permission
+				boolean hasWritePermission = RightsHelper.hasWritePermission(equation, userContext);
 				boolean isTypeInstance = equationResult instanceof TypeInstanceResult;
 				
 				// Assign the result according to the registrated setter
@@ -167,7 +198,7 @@ public class EquationHelper {
 					
 					mapExpressionToResult.put(instance, result);
 					
-					if (hasWritePermissionResult) {
+					if (hasWritePermission) {
 						updateOverrideFlag(instance);
 						equationProblems.addAll(setter.set(instance, result));
 					} else if (setter != null) {
@@ -181,9 +212,8 @@ public class EquationHelper {
 					}
 				} 
 
-				boolean hasWritePermissionEquation = RightsHelper.hasWritePermission(equation, userContext);
-				if (hasWritePermissionEquation) {
-					if (equation.isIsInherited()) {
+				if (hasWritePermission) {
+					if (equation.isIsInherited() && !equation.isOverride()) {
 						equation.setOverride(true);
 					}
 					
@@ -207,7 +237,9 @@ public class EquationHelper {
 	private void updateOverrideFlag(ATypeInstance instance) {
 		if (instance.isIsInherited() && instance instanceof IOverridableInheritanceLink) {
 			IOverridableInheritanceLink overrideable = (IOverridableInheritanceLink) instance;
-			overrideable.setOverride(true);
+			if (!overrideable.isOverride()) {
+				overrideable.setOverride(true);
+			}
 		}
 	}
 	
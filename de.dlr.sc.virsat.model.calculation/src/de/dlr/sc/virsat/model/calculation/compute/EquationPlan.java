@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.UnresolvedExpressionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALeftOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.AOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.AdvancedFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationIntermediateResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationInput;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.util.CalculationSwitch;
+
+/**
+ * Compiled evaluation plan of an equation. The expression tree of the equation is flattened
+ * into a list of steps in postfix order, which is executed on a stack of results. The inputs
+ * referenced by definition are resolved once when the plan is compiled, thus executing the plan
+ * neither dispatches over the expression tree nor searches the model for these inputs again. The
+ * evaluators are queried in the order of their priority for every step, just as the
+ * {@link ExpressionHelper} does. A plan stays valid as long as none of the objects it depends on
+ * (see {@link #getDependencies()}) changes.
+ * <p>
+ * A compiled plan is not changed by its execution. It can be executed by several threads at the
+ * same time as long as every thread uses its own map of interim results.
+ */
+public class EquationPlan {
+
+	/**
+	 * The kinds of steps of a plan
+	 */
+	private enum StepKind {
+		LITERAL, INPUT, UNARY, BINARY, FUNCTION, DELEGATE
+	}
+
+	/**
+	 * A single step of the plan computing the result of one node of the expression tree
+	 */
+	private static class Step {
+		private final StepKind kind;
+		private final AExpression node;
+		private final int arity;
+		private final IEquationInput input;
+		private final boolean isUnresolved;
+
+		/**
+		 * Constructor of a step
+		 * @param kind the kind of the step
+		 * @param node the node of the expression tree computed by the step
+		 * @param arity the number of results the step takes from the stack
+		 */
+		Step(StepKind kind, AExpression node, int arity) {
+			this(kind, node, arity, null, false);
+		}
+
+		/**
+		 * Constructor of a step reading an input
+		 * @param kind the kind of the step
+		 * @param node the node of the expression tree computed by the step
+		 * @param arity the number of results the step takes from the stack
+		 * @param input the input read by the step
+		 * @param isUnresolved true iff the input referenced by definition could not be resolved
+		 */
+		Step(StepKind kind, AExpression node, int arity, IEquationInput input, boolean isUnresolved) {
+			this.kind = kind;
+			this.node = node;
+			this.arity = arity;
+			this.input = input;
+			this.isUnresolved = isUnresolved;
+		}
+	}
+
+	private final Equation equation;
+	private final List<Step> steps = new ArrayList<>();
+	private final Map<ReferencedInput, IEquationInput> resolvedInputs = new HashMap<>();
+	private final Set<EObject> dependencies = new LinkedHashSet<>();
+	private int maxStackSize;
+
+	/**
+	 * Constructor for the plan of an equation. Use {@link #compile(Equation, ExpressionHelper)} for creating plans.
+	 * @param equation the equation of the plan
+	 */
+	private EquationPlan(Equation equation) {
+		this.equation = equation;
+	}
+
+	/**
+	 * Compiles the expression of an equation into a plan
+	 * @param equation the equation to be compiled
+	 * @param exprHelper the helper used for resolving the inputs referenced by definition
+	 * @return the compiled plan
+	 */
+	public static EquationPlan compile(Equation equation, ExpressionHelper exprHelper) {
+		EquationPlan plan = new EquationPlan(equation);
+		plan.dependencies.add(equation);
+
+		int stackSize = plan.compile(equation.getExpression(), exprHelper);
+		plan.maxStackSize = Math.max(stackSize, 1);
+		return plan;
+	}
+
+	/**
+	 * Appends the steps for computing a node of the expression tree in postfix order
+	 * @param node the node to be compiled
+	 * @param exprHelper the helper used for resolving the inputs referenced by definition
+	 * @return the stack size needed for computing the node
+	 */
+	private int compile(AExpression node, ExpressionHelper exprHelper) {
+		if (node == null) {
+			steps.add(new Step(StepKind.DELEGATE, null, 0));
+			return 1;
+		}
+		dependencies.add(node);
+
+		CalculationSwitch<Integer> compileSwitch = new CalculationSwitch<Integer>() {
+			@Override
+			public Integer caseReferencedInput(ReferencedInput object) {
+				IEquationInput input;
+				boolean isUnresolved = false;
+				if (object.getDefinition() != null) {
+					input = exprHelper.getReferencedDefinitionInput(object, dependencies);
+					isUnresolved = input == null;
+					resolvedInputs.put(object, input);
+				} else {
+					input = object.getReference();
+				}
+				steps.add(new Step(StepKind.INPUT, object, 0, input, isUnresolved));
+				return 1;
+			}
+
+			@Override
+			public Integer caseALiteral(ALiteral object) {
+				steps.add(new Step(StepKind.LITERAL, object, 0));
+				return 1;
+			}
+
+			@Override
+			public Integer caseALeftOpRightExpression(ALeftOpRightExpression object) {
+				int leftStackSize = compile(object.getLeft(), exprHelper);
+				int rightStackSize = compile(object.getRight(), exprHelper);
+				steps.add(new Step(StepKind.BINARY, object, 2));
+				return Math.max(leftStackSize, rightStackSize + 1);
+			}
+
+			@Override
+			public Integer caseAdvancedFunction(AdvancedFunction object) {
+				int stackSize = 0;
+				int index = 0;
+				for (AExpression input : object.getInputs()) {
+					stackSize = Math.max(stackSize, compile(input, exprHelper) + index);
+					index++;
+				}
+				steps.add(new Step(StepKind.FUNCTION, object, index));
+				return Math.max(stackSize, 1);
+			}
+
+			@Override
+			public Integer caseSetFunction(SetFunction object) {
+				// The inputs of set functions depend on the structure of the model,
+				// they are collected by the expression helper whenever the plan is executed
+				steps.add(new Step(StepKind.DELEGATE, object, 0));
+				return 1;
+			}
+
+			@Override
+			public Integer caseAOpRightExpression(AOpRightExpression object) {
+				int stackSize = compile(object.getRight(), exprHelper);
+				steps.add(new Step(StepKind.UNARY, object, 1));
+				return stackSize;
+			}
+
+			@Override
+			public Integer defaultCase(EObject object) {
+				steps.add(new Step(StepKind.DELEGATE, (AExpression) object, 0));
+				return 1;
+			}
+		};
+
+		return compileSwitch.doSwitch(node);
+	}
+
+	/**
+	 * Gets the equation of the plan
+	 * @return the equation of the plan
+	 */
+	public Equation getEquation() {
+		return equation;
+	}
+
+	/**
+	 * Gets all objects the plan depends on. These are the equation, the nodes of its expression
+	 * and all objects which have been inspected for resolving the inputs referenced by definition.
+	 * @return the objects the plan depends on
+	 */
+	public Set<EObject> getDependencies() {
+		return Collections.unmodifiableSet(dependencies);
+	}
+
+	/**
+	 * Gets the input a referenced input of the equation has been resolved to when the plan was compiled
+	 * @param referencedInput a referenced input with a definition
+	 * @return the resolved equation input or null if it could not be resolved
+	 */
+	public IEquationInput getResolvedInput(ReferencedInput referencedInput) {
+		return resolvedInputs.get(referencedInput);
+	}
+
+	/**
+	 * Executes the plan. Just as {@link ExpressionHelper#evaluate(EObject, Map)} the results of all nodes
+	 * of the expression are stored in the map of interim results and nodes which already have a result
+	 * in the map are not computed again.
+	 * @param exprHelper the helper providing the getters and evaluators
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the expression of the equation
+	 */
+	public IExpressionResult evaluate(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+		IExpressionResult[] stack = new IExpressionResult[maxStackSize];
+		int top = 0;
+
+		for (Step step : steps) {
+			top -= step.arity;
+
+			IExpressionResult result;
+			if (step.node != null && interimResultMap.containsKey(step.node)) {
+				result = interimResultMap.get(step.node);
+			} else {
+				result = execute(step, Arrays.asList(stack).subList(top, top + step.arity), exprHelper, interimResultMap);
+				if (step.node != null) {
+					interimResultMap.put(step.node, result);
+				}
+			}
+
+			stack[top++] = result;
+		}
+
+		return stack[0];
+	}
+
+	/**
+	 * Computes the result of a single step
+	 * @param step the step to be executed
+	 * @param operands the results of the operands of the step
+	 * @param exprHelper the helper providing the getters and evaluators
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the step
+	 */
+	private IExpressionResult execute(Step step, List<IExpressionResult> operands, ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+		switch (step.kind) {
+			case LITERAL:
+				return exprHelper.performGet(step.node);
+			case INPUT:
+				return getInput(step, exprHelper, interimResultMap);
+			case UNARY:
+				AOpRightExpression opRightExpression = (AOpRightExpression) step.node;
+				IExpressionResult right = operands.get(0);
+				return applyEvaluator(exprHelper, evaluator -> evaluator.caseAOpRightExpression(opRightExpression, right));
+			case BINARY:
+				ALeftOpRightExpression leftOpRightExpression = (ALeftOpRightExpression) step.node;
+				IExpressionResult leftOperand = operands.get(0);
+				IExpressionResult rightOperand = operands.get(1);
+				return applyEvaluator(exprHelper, evaluator -> evaluator.caseALeftOpRightExpression(leftOpRightExpression, leftOperand, rightOperand));
+			case FUNCTION:
+				AdvancedFunction advancedFunction = (AdvancedFunction) step.node;
+				List<IExpressionResult> inputs = new ArrayList<>(operands);
+				return applyEvaluator(exprHelper, evaluator -> evaluator.caseAAdvancedFunction(advancedFunction, inputs));
+			default:
+				if (step.node == null) {
+					return new UnresolvedExpressionResult();
+				}
+				return exprHelper.evaluate(step.node, interimResultMap);
+		}
+	}
+
+	/**
+	 * Gets the result of a referenced input
+	 * @param step the step of the referenced input
+	 * @param exprHelper the helper providing the getters
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the referenced input
+	 */
+	private IExpressionResult getInput(Step step, ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+		if (step.isUnresolved) {
+			return new UnresolvedExpressionResult(step.node);
+		}
+
+		IEquationInput input = step.input;
+		if (interimResultMap.containsKey(input)) {
+			return interimResultMap.get(input);
+		}
+
+		if (input instanceof EquationIntermediateResult) {
+			Equation inputEquation = (Equation) input.eContainer();
+			return interimResultMap.get(inputEquation.getExpression());
+		}
+		return exprHelper.performGet(input);
+	}
+
+	/**
+	 * Applies the first evaluator in the order of their priority which can handle the operands of a step
+	 * @param exprHelper the helper providing the evaluators
+	 * @param evaluation the call of the evaluator
+	 * @return the result of the evaluation
+	 */
+	private IExpressionResult applyEvaluator(ExpressionHelper exprHelper, Function<IExpressionEvaluator, IExpressionResult> evaluation) {
+		for (IExpressionEvaluator evaluator : exprHelper.getEvaluators()) {
+			IExpressionResult result = evaluation.apply(evaluator);
+			if (result != null) {
+				return result;
+			}
+		}
+		return new UnresolvedExpressionResult();
+	}
+}
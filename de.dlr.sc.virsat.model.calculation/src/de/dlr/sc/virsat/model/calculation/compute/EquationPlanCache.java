@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationPackage;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+
+/**
+ * Cache of the compiled evaluation plans of equations. A plan is compiled when it is requested
+ * for the first time and is dropped as soon as one of the objects it depends on changes, e.g.
+ * because the expression of the equation has been edited or because a definition referenced by
+ * the equation resolves to a different instance. Plans of equations which have been removed
+ * from their resources are dropped by {@link #removeDetachedPlans()}.
+ */
+public class EquationPlanCache {
+
+	private ExpressionHelper exprHelper;
+	private Map<Equation, EquationPlan> plans = new HashMap<>();
+	private Map<Equation, PlanInvalidator> invalidators = new HashMap<>();
+
+	/**
+	 * Adapter dropping the plan of an equation when one of the objects the plan depends on changes
+	 */
+	private class PlanInvalidator extends AdapterImpl {
+		private Equation equation;
+
+		/**
+		 * Constructor of the adapter
+		 * @param equation the equation of the plan
+		 */
+		PlanInvalidator(Equation equation) {
+			this.equation = equation;
+		}
+
+		@Override
+		public void notifyChanged(Notification msg) {
+			if (msg.isTouch() || !invalidates(msg)) {
+				return;
+			}
+			invalidate(equation);
+		}
+	}
+
+	/**
+	 * Public constructor
+	 * @param exprHelper the helper used for compiling and executing the plans
+	 */
+	public EquationPlanCache(ExpressionHelper exprHelper) {
+		this.exprHelper = exprHelper;
+	}
+
+	/**
+	 * Gets the plan of an equation and compiles it if necessary
+	 * @param equation the equation
+	 * @return the plan of the equation
+	 */
+	public synchronized EquationPlan getPlan(Equation equation) {
+		EquationPlan plan = plans.get(equation);
+		if (plan == null) {
+			plan = EquationPlan.compile(equation, exprHelper);
+			plans.put(equation, plan);
+
+			PlanInvalidator invalidator = new PlanInvalidator(equation);
+			invalidators.put(equation, invalidator);
+			for (EObject dependency : plan.getDependencies()) {
+				dependency.eAdapters().add(invalidator);
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Evaluates an equation with its compiled plan
+	 * @param equation the equation to be evaluated
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the expression of the equation
+	 */
+	public IExpressionResult evaluate(Equation equation, Map<EObject, IExpressionResult> interimResultMap) {
+		return getPlan(equation).evaluate(exprHelper, interimResultMap);
+	}
+
+	/**
+	 * Checks if a plan is cached for an equation
+	 * @param equation the equation
+	 * @return true iff a compiled plan of the equation is available
+	 */
+	public synchronized boolean hasPlan(Equation equation) {
+		return plans.containsKey(equation);
+	}
+
+	/**
+	 * Drops the plan of an equation
+	 * @param equation the equation
+	 */
+	public synchronized void invalidate(Equation equation) {
+		EquationPlan plan = plans.remove(equation);
+		PlanInvalidator invalidator = invalidators.remove(equation);
+		if (plan != null && invalidator != null) {
+			for (EObject dependency : plan.getDependencies()) {
+				dependency.eAdapters().remove(invalidator);
+			}
+		}
+	}
+
+	/**
+	 * Drops the plans of all equations which are no longer contained in a resource,
+	 * e.g. because they have been deleted or their resource has been unloaded
+	 */
+	public synchronized void removeDetachedPlans() {
+		List<Equation> detachedEquations = new ArrayList<>();
+		for (Equation equation : plans.keySet()) {
+			if (equation.eResource() == null) {
+				detachedEquations.add(equation);
+			}
+		}
+		detachedEquations.forEach(this::invalidate);
+	}
+
+	/**
+	 * Drops all plans
+	 */
+	public synchronized void clear() {
+		new ArrayList<>(plans.keySet()).forEach(this::invalidate);
+	}
+
+	/**
+	 * Checks if a notification may change a plan. The evaluation of equations itself writes
+	 * the result text of the equations and the derived references of referenced inputs,
+	 * which does not affect the plans.
+	 * @param msg the notification
+	 * @return true iff the notification invalidates the plan
+	 */
+	private boolean invalidates(Notification msg) {
+		Object notifier = msg.getNotifier();
+		Object feature = msg.getFeature();
+		if (notifier instanceof Equation) {
+			return feature == CalculationPackage.Literals.EQUATION__EXPRESSION || feature == CalculationPackage.Literals.EQUATION__RESULT;
+		}
+		if (notifier instanceof ReferencedInput && ((ReferencedInput) notifier).getDefinition() != null) {
+			return feature != CalculationPackage.Literals.REFERENCED_INPUT__REFERENCE;
+		}
+		return true;
+	}
+}
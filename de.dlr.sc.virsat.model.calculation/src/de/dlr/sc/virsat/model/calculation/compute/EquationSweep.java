@@ -0,0 +1,358 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.UnitValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+import de.dlr.sc.virsat.model.dvlm.qudv.AUnit;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * Evaluates a set of equations for many vectors of parameter values without changing the model,
+ * e.g. for trade studies. The dependency tree of the equations is trimmed to the requested outputs
+ * and evaluated once with the values of the model. Afterwards only the equations depending on the
+ * parameters are evaluated again for every vector, on a map of results of its own which starts from
+ * the results of all other nodes. The vectors are evaluated in parallel on a fork join pool.
+ * The parameter and output values are given in the units of their property instances.
+ * <p>
+ * A sweep driven by a CSV file, whose header contains the full qualified names of the parameters,
+ * reads the vectors with {@link #readParameterVectors(BufferedReader, List)}, looks up the parameters
+ * with {@link #findValuePropertyInstances(List, Collection)}, runs the sweep with {@link #run(List)}
+ * and writes the outputs with {@link #writeResults(Writer, List, double[][])}.
+ * The model must not be changed while a sweep is created or running.
+ */
+public class EquationSweep {
+
+	public static final String CSV_SEPARATOR = ",";
+
+	private ExpressionHelper exprHelper;
+	private ForkJoinPool forkJoinPool;
+	private List<ValuePropertyInstance> parameters;
+	private List<ValuePropertyInstance> outputs;
+	private List<Map<AQuantityKind, Double>> parameterQuantityKinds = new ArrayList<>();
+	private List<EquationPlan> sweptPlans = new ArrayList<>();
+	private Map<EObject, IExpressionResult> baseResults = new HashMap<>();
+
+	/**
+	 * Creates a sweep running on the common fork join pool
+	 * @param eqHelper the helper providing the dependency tree and the compiled plans of the equations
+	 * @param equations all equations which may contribute to the outputs
+	 * @param parameters the property instances whose values are given by the vectors of the sweep
+	 * @param outputs the property instances whose values are computed for each vector
+	 */
+	public EquationSweep(EquationHelper eqHelper, List<Equation> equations, List<? extends ValuePropertyInstance> parameters, List<? extends ValuePropertyInstance> outputs) {
+		this(eqHelper, equations, parameters, outputs, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a sweep. The plans of all equations contributing to the outputs are compiled and
+	 * evaluated once with the values of the model to provide the results which do not depend on the parameters.
+	 * @param eqHelper the helper providing the dependency tree and the compiled plans of the equations
+	 * @param equations all equations which may contribute to the outputs
+	 * @param parameters the property instances whose values are given by the vectors of the sweep
+	 * @param outputs the property instances whose values are computed for each vector
+	 * @param forkJoinPool the pool to evaluate the vectors on
+	 */
+	public EquationSweep(EquationHelper eqHelper, List<Equation> equations, List<? extends ValuePropertyInstance> parameters,
+			List<? extends ValuePropertyInstance> outputs, ForkJoinPool forkJoinPool) {
+		this.exprHelper = eqHelper.getExpressionHelper();
+		this.forkJoinPool = forkJoinPool;
+		this.parameters = new ArrayList<>(parameters);
+		this.outputs = new ArrayList<>(outputs);
+
+		for (ValuePropertyInstance parameter : parameters) {
+			IExpressionResult result = exprHelper.performGet(parameter);
+			Map<AQuantityKind, Double> quantityKinds = result instanceof NumberLiteralResult
+					? ((NumberLiteralResult) result).getQuantityKinds() : new HashMap<>();
+			parameterQuantityKinds.add(quantityKinds);
+		}
+
+		// Only the equations connected to the outputs are of interest
+		DependencyTree<EObject> tree = eqHelper.createDependencyTree(equations);
+		tree.trim(new ArrayList<>(outputs));
+		Set<EObject> dependents = tree.getAllDependents(new ArrayList<>(parameters));
+
+		Map<EObject, IExpressionResult> results = new HashMap<>();
+		Set<Equation> sweptEquations = new HashSet<>();
+		for (EObject object : tree.getLinearOrder()) {
+			if (object instanceof IEquationResult) {
+				Equation equation = (Equation) object.eContainer();
+				if (isComputingParameter(equation)) {
+					// The values of the parameters are given by the vectors
+					continue;
+				}
+
+				EquationPlan plan = eqHelper.getPlanCache().getPlan(equation);
+				putResult(results, equation, plan.evaluate(exprHelper, results));
+				if (dependents.contains(object)) {
+					sweptEquations.add(equation);
+					sweptPlans.add(plan);
+				}
+			}
+		}
+
+		for (ValuePropertyInstance output : outputs) {
+			results.computeIfAbsent(output, exprHelper::performGet);
+		}
+
+		// Keep the results which are the same for all vectors
+		results.forEach((object, result) -> {
+			if (!dependents.contains(object) && !sweptEquations.contains(object)) {
+				materialize(result);
+				baseResults.put(object, result);
+			}
+		});
+	}
+
+	/**
+	 * Computes the lazily evaluated parts of a result, so that the result is no longer
+	 * changed when it is read by the threads evaluating the vectors
+	 * @param result the result shared by all vectors
+	 */
+	private void materialize(IExpressionResult result) {
+		if (result instanceof NumberLiteralResult) {
+			NumberLiteralResult numberLiteralResult = (NumberLiteralResult) result;
+			numberLiteralResult.getValue();
+			numberLiteralResult.getNumberLiteral();
+		}
+	}
+
+	/**
+	 * Checks if an equation computes the value of one of the parameters
+	 * @param equation the equation
+	 * @return true iff the result of the equation is a parameter
+	 */
+	private boolean isComputingParameter(Equation equation) {
+		IEquationResult equationResult = equation.getResult();
+		return equationResult instanceof TypeInstanceResult && parameters.contains(((TypeInstanceResult) equationResult).getReference());
+	}
+
+	/**
+	 * Stores the result of an equation the same way as {@link EquationHelper#evaluate(DependencyTree, de.dlr.sc.virsat.model.dvlm.roles.IUserContext)}
+	 * does, but without assigning it to the model
+	 * @param results the results of the current evaluation
+	 * @param equation the evaluated equation
+	 * @param result the result of the equation
+	 */
+	private void putResult(Map<EObject, IExpressionResult> results, Equation equation, IExpressionResult result) {
+		IEquationResult equationResult = equation.getResult();
+		if (equationResult instanceof TypeInstanceResult) {
+			results.put(((TypeInstanceResult) equationResult).getReference(), result);
+		}
+		results.put(equation, result);
+		results.put(equation.getExpression(), result);
+	}
+
+	/**
+	 * Gets the number of equations which are evaluated for every vector
+	 * @return the number of equations depending on the parameters
+	 */
+	public int getSweptEquationCount() {
+		return sweptPlans.size();
+	}
+
+	/**
+	 * Evaluates the equations for all vectors of parameter values
+	 * @param parameterVectors the vectors with one value per parameter in the order of the parameters
+	 * @return the values of the outputs for each vector in the order of the outputs
+	 */
+	public double[][] run(List<double[]> parameterVectors) {
+		for (double[] parameterValues : parameterVectors) {
+			if (parameterValues.length != parameters.size()) {
+				throw new IllegalArgumentException("EquationSweep: Expected " + parameters.size() + " parameter values but got " + parameterValues.length);
+			}
+		}
+
+		return forkJoinPool.submit(() -> IntStream.range(0, parameterVectors.size()).parallel()
+				.mapToObj(i -> evaluate(parameterVectors.get(i)))
+				.toArray(double[][]::new)
+		).join();
+	}
+
+	/**
+	 * Evaluates the equations depending on the parameters for a single vector. Every vector
+	 * uses its own map of results when executing the shared plans.
+	 * @param parameterValues the values of the parameters
+	 * @return the values of the outputs
+	 */
+	private double[] evaluate(double[] parameterValues) {
+		Map<EObject, IExpressionResult> results = new HashMap<>(baseResults);
+		for (int i = 0; i < parameterValues.length; ++i) {
+			ValuePropertyInstance parameter = parameters.get(i);
+			double value = convertToBaseUnit(parameter, parameterValues[i]);
+			results.put(parameter, new NumberLiteralResult(value, parameterQuantityKinds.get(i)));
+		}
+
+		for (EquationPlan plan : sweptPlans) {
+			putResult(results, plan.getEquation(), plan.evaluate(exprHelper, results));
+		}
+
+		double[] outputValues = new double[outputs.size()];
+		for (int i = 0; i < outputValues.length; ++i) {
+			ValuePropertyInstance output = outputs.get(i);
+			IExpressionResult result = results.get(output);
+			double value = result instanceof NumberLiteralResult ? ((NumberLiteralResult) result).getValue() : Double.NaN;
+			outputValues[i] = convertFromBaseUnit(output, value);
+		}
+		return outputValues;
+	}
+
+	/**
+	 * Converts a value given in the unit of a property instance to the base unit
+	 * @param vpi the property instance
+	 * @param value the value in the unit of the property instance
+	 * @return the value in the base unit
+	 */
+	private double convertToBaseUnit(ValuePropertyInstance vpi, double value) {
+		AUnit unit = getUnit(vpi);
+		return unit != null ? QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, value) : value;
+	}
+
+	/**
+	 * Converts a value given in the base unit to the unit of a property instance
+	 * @param vpi the property instance
+	 * @param value the value in the base unit
+	 * @return the value in the unit of the property instance
+	 */
+	private double convertFromBaseUnit(ValuePropertyInstance vpi, double value) {
+		AUnit unit = getUnit(vpi);
+		return unit != null ? QudvUnitHelper.getInstance().convertFromBaseUnitToTargetUnit(unit, value) : value;
+	}
+
+	/**
+	 * Gets the unit of a property instance
+	 * @param vpi the property instance
+	 * @return the unit or null if the property instance has none
+	 */
+	private AUnit getUnit(ValuePropertyInstance vpi) {
+		return vpi instanceof UnitValuePropertyInstance ? ((UnitValuePropertyInstance) vpi).getUnit() : null;
+	}
+
+	/**
+	 * Reads vectors of parameter values from CSV. The first line contains the names of the
+	 * parameters, every following line one vector. Empty lines are ignored.
+	 * @param reader the reader providing the CSV
+	 * @param parameterNames list to which the names of the parameters of the header are added
+	 * @return the vectors of parameter values
+	 * @throws IOException if reading fails or a line is malformed
+	 */
+	public static List<double[]> readParameterVectors(BufferedReader reader, List<String> parameterNames) throws IOException {
+		String header = reader.readLine();
+		if (header == null) {
+			throw new IOException("EquationSweep: Missing header with the names of the parameters");
+		}
+		for (String name : header.split(CSV_SEPARATOR)) {
+			parameterNames.add(name.trim());
+		}
+
+		List<double[]> parameterVectors = new ArrayList<>();
+		int lineNumber = 1;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+
+			String[] fields = line.split(CSV_SEPARATOR);
+			if (fields.length != parameterNames.size()) {
+				throw new IOException("EquationSweep: Expected " + parameterNames.size() + " values in line " + lineNumber + " but got " + fields.length);
+			}
+
+			double[] parameterValues = new double[fields.length];
+			for (int i = 0; i < fields.length; ++i) {
+				try {
+					parameterValues[i] = Double.parseDouble(fields[i].trim());
+				} catch (NumberFormatException e) {
+					throw new IOException("EquationSweep: Invalid value \"" + fields[i] + "\" in line " + lineNumber, e);
+				}
+			}
+			parameterVectors.add(parameterValues);
+		}
+
+		return parameterVectors;
+	}
+
+	/**
+	 * Writes the results of a sweep as CSV with one column per parameter and per output
+	 * and one line per vector. The header contains the full qualified names of the property instances.
+	 * @param writer the writer to write the CSV to
+	 * @param parameterVectors the vectors of parameter values of the sweep
+	 * @param outputValues the values of the outputs as computed by {@link #run(List)}
+	 * @throws IOException if writing fails
+	 */
+	public void writeResults(Writer writer, List<double[]> parameterVectors, double[][] outputValues) throws IOException {
+		List<String> names = new ArrayList<>();
+		parameters.forEach(parameter -> names.add(parameter.getFullQualifiedInstanceName()));
+		outputs.forEach(output -> names.add(output.getFullQualifiedInstanceName()));
+		writer.write(String.join(CSV_SEPARATOR, names));
+		writer.write(System.lineSeparator());
+
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < parameterVectors.size(); ++i) {
+			line.setLength(0);
+			for (double value : parameterVectors.get(i)) {
+				line.append(value).append(CSV_SEPARATOR);
+			}
+			for (double value : outputValues[i]) {
+				line.append(value).append(CSV_SEPARATOR);
+			}
+			line.setLength(line.length() - CSV_SEPARATOR.length());
+			line.append(System.lineSeparator());
+			writer.write(line.toString());
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Looks up property instances by their full qualified names
+	 * @param names the full qualified names of the property instances
+	 * @param roots the objects to search in, e.g. the SEIs of a repository
+	 * @return the property instances in the order of the names
+	 */
+	public static List<ValuePropertyInstance> findValuePropertyInstances(List<String> names, Collection<? extends EObject> roots) {
+		Map<String, ValuePropertyInstance> vpisByName = new HashMap<>();
+		for (ValuePropertyInstance vpi : VirSatEcoreUtil.getAllContentsOfType(roots, ValuePropertyInstance.class, true)) {
+			vpisByName.putIfAbsent(vpi.getFullQualifiedInstanceName(), vpi);
+		}
+
+		List<ValuePropertyInstance> vpis = new ArrayList<>();
+		for (String name : names) {
+			ValuePropertyInstance vpi = vpisByName.get(name);
+			if (vpi == null) {
+				throw new IllegalArgumentException("EquationSweep: Could not find property instance " + name);
+			}
+			vpis.add(vpi);
+		}
+		return vpis;
+	}
+}
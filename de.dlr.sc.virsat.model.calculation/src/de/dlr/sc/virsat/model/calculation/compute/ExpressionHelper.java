@@ -15,12 +15,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -47,7 +43,6 @@ import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.calculation.Parenthesis;
 import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
 import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
-import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
 import de.dlr.sc.virsat.model.dvlm.calculation.ValueE;
 import de.dlr.sc.virsat.model.dvlm.calculation.ValuePi;
 import de.dlr.sc.virsat.model.dvlm.calculation.util.CalculationSwitch;
@@ -58,7 +53,6 @@ import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.AProperty;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ComposedPropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryAssignmentHelper;
-import de.dlr.sc.virsat.model.dvlm.general.IName;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.tree.IStructuralElementInstanceTreeTraverserMatcher;
 import de.dlr.sc.virsat.model.dvlm.tree.TreeTraverser;
@@ -119,6 +113,14 @@ public class ExpressionHelper {
 		}
 	}
 
+	/**
+	 * Gets the registered evaluators in the order of their priority
+	 * @return the registered evaluators
+	 */
+	List<IExpressionEvaluator> getEvaluators() {
+		return evaluators;
+	}
+
 	/**
 	 * Apply the getters to the passed input
 	 * @param input the input object onto which a getter will be applied
@@ -293,7 +295,6 @@ public class ExpressionHelper {
 	private List<ATypeInstance> getSetFunctionInput(SetFunction setFunction) {
 		ATypeDefinition typeDefinition = setFunction.getTypeDefinition();
 		String filterName = setFunction.getFilterName();
-		boolean filterForName = filterName != null && !filterName.equals("");
 
 		// Grab the structural element instance the set function belongs to
 		StructuralElementInstance sei = getStructuralElementInstance(setFunction);
@@ -301,11 +302,14 @@ public class ExpressionHelper {
 			return new ArrayList<>();
 		}
 
+		// Without a depth limit the inputs of the sub trees are aggregated from the index,
+		// which only recomputes the sub trees that changed since the last evaluation
+		if (setFunction.getDepth() == AAdvancedFunctionOp.DEPTH_INFINITE) {
+			return SetFunctionInputIndex.getIndex(sei).getInputs(sei, setFunction);
+		}
+
 		// Store the inputs to the set function
 		List<ATypeInstance> inputs = new ArrayList<>();
-
-		// Find all child seis that also compute the set function
-		Set<StructuralElementInstance> childrenWithSetFunction = getChildrenWithSetFunction(sei, setFunction, inputs);
 		
 		// Get the CA in which the current Set resides. All TypeInstances of this category shall not be
 		// part of the inputs to be processed by this SetFunction. Accordingly they have to be removed
@@ -318,57 +322,18 @@ public class ExpressionHelper {
 			
 			@Override
 			public boolean isMatching(StructuralElementInstance treeSei) {
-				boolean isMatching = false;
-				// Get all nested TypeInstances to the current treeSei and see if one
-				// is matching to the definition of what is referenced by the SET function
-				List<CategoryAssignment> currentCas = new LinkedList<>(treeSei.getCategoryAssignments());
-			
-				Collection<ATypeInstance> typeInstances = VirSatEcoreUtil.getAllContentsOfType(currentCas, ATypeInstance.class, true);
-				typeInstances.addAll(currentCas);
-				
-				// Remove the local type instances. This prevents the creation of cyclic input for the set function
-				// i.e. it prevents that expressions such as mass = summary{mass} create a cycle by including the local
-				// mass property in the inputs of the summary set function
-				typeInstances.remove(currentCa);
-				typeInstances.removeAll(currentCa.getPropertyInstances());
-				
-				// Loop over all identified ATypeInstances
-				for (ATypeInstance aTypeInstance : typeInstances) {
-					boolean correctType = aTypeInstance.getType() == typeDefinition;
-					boolean notComputedByChild = !childrenWithSetFunction.contains(treeSei);
-					if (correctType && notComputedByChild) {
-						// For composed property instances we have to get the category assignment
-						// to be able to work with them, thus try to decompose it
-						ATypeInstance decomposedTypeInstance = aTypeInstance;
-						if (decomposedTypeInstance instanceof ComposedPropertyInstance) {
-							decomposedTypeInstance = ((ComposedPropertyInstance) aTypeInstance).getTypeInstance();
-						}
-
-						// In case a name filter is set for the Set function make sure to apply it.
-						// If all properties are correct, remember the decomposed Type Instance as an input
-						// remember that we definitely had a match and continue with all the other items and check
-						// if they are potential inputs. Saving the match is important, so that the tree traverser
-						// can count the levels of nesting and levels of matches correctly						
-						boolean correctName = !filterForName || hasCorrectName(decomposedTypeInstance, filterName);
-						if (correctName) {
-							inputs.add(decomposedTypeInstance);
-							isMatching = true;
-						}
-					}
-				}
-				
-				// return the result to decide if the current node will be counted
-				// for the matching levels or not
-				return isMatching;
+				// Remember all matching type instances as inputs. Reporting the match is important,
+				// so that the tree traverser can count the levels of nesting and levels of matches correctly
+				List<ATypeInstance> localInputs = SetFunctionInputIndex.getLocalInputs(treeSei, typeDefinition, filterName, currentCa);
+				inputs.addAll(localInputs);
+				return !localInputs.isEmpty();
 			}
 			
 			@Override
 			public boolean continueTraverseChildren(StructuralElementInstance treeNode, boolean isMatching, int processedLevel, int matchedLevel) {
 				// Compare the depth of found matches with the depth set by the set function
 				int targetDepth = setFunction.getDepth();
-				boolean isDepthInfinite = targetDepth == AAdvancedFunctionOp.DEPTH_INFINITE;
-				boolean isDepthNotReached =  matchedLevel <= targetDepth; 
-				return isDepthInfinite || isDepthNotReached;
+				return matchedLevel <= targetDepth;
 			}
 
 			@Override
@@ -380,84 +345,6 @@ public class ExpressionHelper {
 		return inputs;
 	}
 
-	/**
-	 * Gets child seis that compute the set function for them and
-	 * their children. That sei and the corresponding sub tree can then ignored in
-	 * the further search for inputs.
-	 * @param sei the sei of the set function we want the inputs for
-	 * @param setFunction the set function
-	 * @param inputs the list of current inputs. 
-	 * Instances that compute already set function for a child are added here.
-	 * @return all child seis that compute the same set function for their sub trees
-	 */
-	private Set<StructuralElementInstance> getChildrenWithSetFunction(StructuralElementInstance sei, SetFunction setFunction, List<ATypeInstance> inputs) {
-		Set<StructuralElementInstance> childrenWithSetFunction = new HashSet<>();
-
-		if (setFunction.getDepth() == AAdvancedFunctionOp.DEPTH_INFINITE) {
-			List<StructuralElementInstance> children = sei.getChildren();
-			for (StructuralElementInstance child : children) {
-				VirSatEcoreUtil.getAllContentsOfType(child.eResource(), Equation.class, true).forEachRemaining(eObject -> {
-					Equation equation = (Equation) eObject;
-
-					// Check if the expression computes the same set function but for the child sei
-					AExpression expression = equation.getExpression();
-					if (expression instanceof SetFunction && !childrenWithSetFunction.contains(getStructuralElementInstance(expression))) {
-						boolean equals = equalSetFunctions(setFunction, (SetFunction) expression);
-						boolean isTypeInstanceResult = equation.getResult() instanceof TypeInstanceResult;
-						if (equals && isTypeInstanceResult) {
-							// Remember the set function that handles the sei & its children
-							TypeInstanceResult result = (TypeInstanceResult) equation.getResult();
-							inputs.add(result.getReference());
-							
-							// Remember that all inputs from this sei and its children are covered
-							childrenWithSetFunction.add(child);
-							childrenWithSetFunction.addAll(child.getDeepChildren());
-						}
-					}
-				});
-			}
-		}
-
-		return childrenWithSetFunction;
-	}
-
-	/**
-	 * Checks if the given input has a correct name. This can either be the typeinstance itself,
-	 * or the container type instance if the typeinstance itself is not a named object
-	 * @param aTypeInstance the typeinstance to check
-	 * @param filterName the name to filter for
-	 * @return true iff the name is correct
-	 */
-	private boolean hasCorrectName(ATypeInstance aTypeInstance, String filterName) {
-		if (aTypeInstance instanceof IName) {
-			// If we have a named type instance we need to check for its name
-			IName name = (IName) aTypeInstance;
-			return name.getName().equals(filterName);
-		} else if (aTypeInstance.eContainer() != null && aTypeInstance.eContainer() instanceof IName) {
-			// If the type instance itself doesnt have a name, we have to check its container
-			IName name = (IName) aTypeInstance.eContainer();
-			return name.getName().equals(filterName);
-		}
-
-		// This is not a named object, yet we require a specific name, therefore the name is not correct
-		return false;
-	}
-
-	/**
-	 * Compares two set functions and whether they have the same settings. That is, this comparison
-	 * ignores things such as container, uuid, etc. and only considers the parameters the user
-	 * inputs into xtext.
-	 * @param sf1 one set function
-	 * @param sf2 other set function
-	 * @return true iff the two set functions have the same settings
-	 */
-	private static boolean equalSetFunctions(SetFunction sf1, SetFunction sf2) {
-		boolean sameOperator = Objects.equals(sf1.getOperator(), sf2.getOperator());
-		boolean sameFilter = Objects.equals(sf1.getFilterName(), sf2.getFilterName());
-		boolean sameTypeDefinition = Objects.equals(sf1.getTypeDefinition(), sf2.getTypeDefinition());
-		return sameOperator && sameFilter && sameTypeDefinition;
-	}
-
 	/**
 	 * Gets the structural element instance containing this object
 	 * @param eObject the object contained by some sei
@@ -481,6 +368,18 @@ public class ExpressionHelper {
 	 * @return the resolved equation input if it exists, null otherwise
 	 */
 	public IEquationInput getReferencedDefinitionInput(ReferencedInput object) {
+		return getReferencedDefinitionInput(object, null);
+	}
+
+	/**
+	 * Resolve a referenced definition input to an instance and remember all objects
+	 * that have been inspected for resolving it. A change to any of these objects
+	 * may change the outcome of the resolution.
+	 * @param object the reference to the definition
+	 * @param inspectedObjects collection to which the inspected objects are added, may be null
+	 * @return the resolved equation input if it exists, null otherwise
+	 */
+	public IEquationInput getReferencedDefinitionInput(ReferencedInput object, Collection<EObject> inspectedObjects) {
 		IEquationDefinitionInput reference = object.getDefinition().getReference();
 
 		// Backtrack as follows:
@@ -490,6 +389,9 @@ public class ExpressionHelper {
 
 		EObject container = object.eContainer();
 		while (container != null) {
+			if (inspectedObjects != null) {
+				inspectedObjects.add(container);
+			}
 
 			// Either check the category assignment itself (if container is one) or check the category assignemnts
 			// attached to the structural element instance (if container is one)
@@ -506,8 +408,18 @@ public class ExpressionHelper {
 					EquationIntermediateResult interResult = (EquationIntermediateResult) reference;
 					// Check if the ca has the referenced equation intermediate result, if so return it
 					List<Equation> equations = ca.getEquationSection().getEquations();
+					if (inspectedObjects != null) {
+						inspectedObjects.add(ca);
+						inspectedObjects.add(ca.getEquationSection());
+					}
 					for (Equation equation : equations) {
 						IEquationResult result = equation.getResult();
+						if (inspectedObjects != null) {
+							inspectedObjects.add(equation);
+							if (result != null) {
+								inspectedObjects.add(result);
+							}
+						}
 						if (result instanceof EquationIntermediateResult) {
 							EquationIntermediateResult other = (EquationIntermediateResult) result;
 							if (other.getName().equals(interResult.getName())) {
@@ -520,8 +432,14 @@ public class ExpressionHelper {
 					AProperty property = (AProperty) reference;
 					CategoryAssignmentHelper caHelper = new CategoryAssignmentHelper(ca);
 					APropertyInstance instance = caHelper.getPropertyInstance(property);
+					if (inspectedObjects != null) {
+						inspectedObjects.add(ca);
+					}
 					if (instance != null) {
 						if (instance instanceof ComposedPropertyInstance) {
+							if (inspectedObjects != null) {
+								inspectedObjects.add(instance);
+							}
 							return ((ComposedPropertyInstance) instance).getTypeInstance();
 						} else {
 							return (IEquationInput) instance;
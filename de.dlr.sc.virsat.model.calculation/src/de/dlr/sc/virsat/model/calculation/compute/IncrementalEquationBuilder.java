@@ -26,7 +26,6 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.util.EcoreUtil;
 
 import de.dlr.sc.virsat.build.inheritance.AVirSatTransactionalBuilder;
 import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
@@ -34,7 +33,6 @@ import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
 import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelper;
 import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
 import de.dlr.sc.virsat.model.dvlm.calculation.EquationSection;
-import de.dlr.sc.virsat.model.dvlm.calculation.IEquationResult;
 import de.dlr.sc.virsat.model.dvlm.calculation.IEquationSectionContainer;
 import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
@@ -53,6 +51,7 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 
 	private ExpressionHelper exprHelper = new ExpressionHelper();
 	private EquationHelper dependencyHelper = new EquationHelper(exprHelper);
+	private EquationDependencyTracker dependencyTracker = new EquationDependencyTracker(dependencyHelper, exprHelper);
 	
 	private List<EvaluationProblem> equationProblems;
 	private List<EObject> objectsWithOldMarkers;
@@ -96,9 +95,10 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 			return;
 		}
 		
-		// Build the dependency tree
-		List<Equation> equations = getAllEquationsInProject(resourceSet);
-		DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
+		// Build the dependency tree and keep it for the following incremental builds
+		SetFunctionInputIndex.attachIndex(resourceSet);
+		initializeDependencyTracker(resourceSet);
+		DependencyTree<EObject> tree = dependencyTracker.isInitialized() ? new DependencyTree<>(dependencyTracker.getDependencyTree()) : new DependencyTree<>();
 		buildEquations(tree, monitor);
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Finished full build"));
 	}
@@ -117,8 +117,8 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 			return;
 		}
 		
-		// Set of equations we definitely have to update because they are in a changed resource
-		Set<EObject> equationResults = new HashSet<>();
+		// Set of resources whose equations we definitely have to update
+		Set<Resource> changedResources = new HashSet<>();
 		
 		try {
 			delta.accept(new IResourceDeltaVisitor() {
@@ -145,7 +145,7 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 								return true;
 							}
 
-							equationResults.addAll(getAllEquationResultsInResource(resource));
+							changedResources.add(resource);
 						}
 					}
 
@@ -157,11 +157,25 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 			return;
 		}
 		
-		// Build the dependency tree
-		List<Equation> equations = getAllEquationsInProject(resourceSet);
-		DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
-
-		tree.trim(equationResults);		
+		// Update the dependency tree of the project and build the one of the affected equations
+		SetFunctionInputIndex.attachIndex(resourceSet);
+		if (!dependencyTracker.isInitialized()) {
+			initializeDependencyTracker(resourceSet);
+		}
+		
+		Set<Equation> equations = new HashSet<>();
+		if (dependencyTracker.isInitialized()) {
+			// Resources which have been unloaded or removed since the last build
+			Set<Resource> resources = new HashSet<>(resourceSet.getResources());
+			for (Resource trackedResource : dependencyTracker.getTrackedResources()) {
+				if (!trackedResource.isLoaded() || !resources.contains(trackedResource)) {
+					changedResources.add(trackedResource);
+				}
+			}
+			
+			equations = dependencyTracker.update(changedResources);
+		}
+		DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(new ArrayList<>(equations));
 		subMonitor.worked(1);
 		
 		objectsWithOldMarkers.clear();
@@ -186,6 +200,20 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Finsihed incremental build"));
 	}
 	
+	/**
+	 * Initializes the dependency tracker with all equations of the project. In case the
+	 * resource set has errors, the tracker stays uninitialized.
+	 * @param resourceSet resource set of the project
+	 */
+	private void initializeDependencyTracker(VirSatResourceSet resourceSet) {
+		List<Equation> equations = getAllEquationsInProject(resourceSet);
+		if (resourceSet.hasError()) {
+			dependencyTracker.reset();
+		} else {
+			dependencyTracker.initialize(equations);
+		}
+	}
+	
 	/**
 	 * the method getAllEquationsInProject crawls through the whole project and gathers all Equations.
 	 * It also resolves all proxied elements in our project
@@ -249,30 +277,6 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		return status;
 	}
 
-	/**
-	 * Call this method to get all Equations from a given EMF Resource
-	 * @param resource The EMF Resource to look in for equations
-	 * @return A list with all contained SEIs
-	 */
-	private Set<IEquationResult> getAllEquationResultsInResource(Resource resource) {
-		Set<IEquationResult> equations = new HashSet<>();
-		
-		try {
-			EcoreUtil.resolveAll(resource);
-			EcoreUtil.getAllContents(resource, true).forEachRemaining((object) -> {
-				if (object instanceof Equation) {
-					Equation equation = (Equation) object;
-					equations.add(equation.getResult());
-				}
-			});
-				
-		} catch (Exception e) {
-			Activator.getDefault().getLog().log(new Status(IStatus.ERROR, Activator.getPluginId(), "Could not read active Equation from Repository", e));
-		}
-	
-		return equations;
-	};
-	
 	/**
 	 * Evaluate the equations and perform the assignments
 	 * @param tree dependency tree of the equations
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationPackage;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesPackage;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ComposedPropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.general.GeneralPackage;
+import de.dlr.sc.virsat.model.dvlm.general.IName;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritancePackage;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * This content adapter materializes the inputs of set functions such as summary{Mass.value}
+ * for every sub tree of StructuralElementInstances. It is supposed to be added to a ResourceSet.
+ * The inputs of an SEI are aggregated from the cached inputs of its children, and a change
+ * within an SEI only invalidates the cached inputs of the SEI and its parents. Changes of
+ * values, of result texts and of override flags do not affect which type instances are inputs,
+ * thus they do not invalidate anything.
+ *
+ */
+public class SetFunctionInputIndex extends EContentAdapter {
+
+	private Map<StructuralElementInstance, Map<List<Object>, List<ATypeInstance>>> subTreeInputs = new HashMap<>();
+	private Map<StructuralElementInstance, Map<List<Object>, List<ATypeInstance>>> setFunctionResults = new HashMap<>();
+	private long modificationCount;
+
+	@Override
+	protected boolean resolve() {
+		// Do not load any resources just by attaching the index
+		return false;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch()) {
+			return;
+		}
+
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof ResourceSet) {
+			invalidateAll();
+		} else if (notifier instanceof Resource) {
+			if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+				invalidateAll();
+			}
+		} else if (notifier instanceof EObject && isChangingInputs((EObject) notifier, notification)) {
+			invalidate(getStructuralElementInstance((EObject) notifier));
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof StructuralElementInstance) {
+			synchronized (this) {
+				modificationCount++;
+				subTreeInputs.remove(target);
+				setFunctionResults.remove(target);
+			}
+		}
+	}
+
+	/**
+	 * Checks if a notification may change the inputs of a set function. This is the case if the containment
+	 * tree changes, if a type instance changes its type or name, or if an equation changes. Setting the
+	 * result text or the override flag of an equation, as done on every evaluation, is not such a change.
+	 * @param notifier the changed object
+	 * @param notification the notification of the change
+	 * @return true if the cached inputs of the containing SEI have to be invalidated
+	 */
+	private boolean isChangingInputs(EObject notifier, Notification notification) {
+		Object feature = notification.getFeature();
+		boolean isContainment = feature instanceof EReference && ((EReference) feature).isContainment();
+		boolean isTypeOrName = feature == CategoriesPackage.Literals.ATYPE_INSTANCE__TYPE || feature == GeneralPackage.Literals.INAME__NAME;
+		boolean isEvaluationOutput = feature == CalculationPackage.Literals.EQUATION__RESULT_TEXT
+				|| feature == InheritancePackage.Literals.IOVERRIDABLE_INHERITANCE_LINK__OVERRIDE;
+		boolean isCalculation = notifier.eClass().getEPackage() == CalculationPackage.eINSTANCE && !isEvaluationOutput;
+		return isContainment || isTypeOrName || isCalculation;
+	}
+
+	/**
+	 * Invalidates the cached inputs of an SEI and of all its parents
+	 * @param sei the changed SEI
+	 */
+	private synchronized void invalidate(StructuralElementInstance sei) {
+		modificationCount++;
+		if (sei != null) {
+			setFunctionResults.remove(sei);
+		}
+
+		StructuralElementInstance currentSei = sei;
+		while (currentSei != null) {
+			subTreeInputs.remove(currentSei);
+			currentSei = currentSei.getParent();
+		}
+	}
+
+	/**
+	 * Drops all cached inputs e.g. because resources have been loaded or unloaded
+	 */
+	private synchronized void invalidateAll() {
+		modificationCount++;
+		subTreeInputs.clear();
+		setFunctionResults.clear();
+	}
+
+	/**
+	 * Gets the inputs of a set function with infinite depth. A child SEI which computes the same set function
+	 * on its own contributes the result of its equation, all other children contribute their whole sub tree.
+	 * @param sei the SEI of the set function
+	 * @param setFunction the set function
+	 * @return a list of all type instances the set function will use for its computation
+	 */
+	public List<ATypeInstance> getInputs(StructuralElementInstance sei, SetFunction setFunction) {
+		ATypeDefinition typeDefinition = setFunction.getTypeDefinition();
+		String filterName = setFunction.getFilterName();
+		CategoryAssignment currentCa = VirSatEcoreUtil.getEContainerOfClass(setFunction, CategoryAssignment.class);
+
+		List<ATypeInstance> inputs = new ArrayList<>();
+		List<StructuralElementInstance> childrenWithoutSetFunction = new ArrayList<>();
+		for (StructuralElementInstance child : sei.getChildren()) {
+			List<ATypeInstance> results = getSetFunctionResults(child, setFunction);
+			if (results.isEmpty()) {
+				childrenWithoutSetFunction.add(child);
+			} else {
+				inputs.addAll(results);
+			}
+		}
+
+		inputs.addAll(getLocalInputs(sei, typeDefinition, filterName, currentCa));
+		for (StructuralElementInstance child : childrenWithoutSetFunction) {
+			inputs.addAll(getSubTreeInputs(child, typeDefinition, filterName));
+		}
+
+		return inputs;
+	}
+
+	/**
+	 * Gets all matching type instances within an SEI and all its children
+	 * @param sei the root of the sub tree
+	 * @param typeDefinition the type of the inputs
+	 * @param filterName the name to filter for or null
+	 * @return the matching type instances of the sub tree
+	 */
+	private List<ATypeInstance> getSubTreeInputs(StructuralElementInstance sei, ATypeDefinition typeDefinition, String filterName) {
+		List<Object> key = Arrays.asList(typeDefinition, filterName);
+		long count;
+		synchronized (this) {
+			List<ATypeInstance> cachedInputs = subTreeInputs.getOrDefault(sei, Collections.emptyMap()).get(key);
+			if (cachedInputs != null) {
+				return cachedInputs;
+			}
+			count = modificationCount;
+		}
+
+		List<ATypeInstance> inputs = getLocalInputs(sei, typeDefinition, filterName, null);
+		for (StructuralElementInstance child : sei.getChildren()) {
+			inputs.addAll(getSubTreeInputs(child, typeDefinition, filterName));
+		}
+
+		cache(subTreeInputs, sei, key, inputs, count);
+		return inputs;
+	}
+
+	/**
+	 * Gets the results of the equations of an SEI which compute the same set function for the SEI
+	 * @param sei the SEI to look for equations
+	 * @param setFunction the set function
+	 * @return a list containing the result of the first equation computing the same set function or an empty list
+	 */
+	private List<ATypeInstance> getSetFunctionResults(StructuralElementInstance sei, SetFunction setFunction) {
+		List<Object> key = Arrays.asList(setFunction.getOperator(), setFunction.getFilterName(), setFunction.getTypeDefinition());
+		long count;
+		synchronized (this) {
+			List<ATypeInstance> cachedResults = setFunctionResults.getOrDefault(sei, Collections.emptyMap()).get(key);
+			if (cachedResults != null) {
+				return cachedResults;
+			}
+			count = modificationCount;
+		}
+
+		List<ATypeInstance> results = new ArrayList<>();
+		for (Equation equation : VirSatEcoreUtil.getAllContentsOfType(sei.getCategoryAssignments(), Equation.class, true)) {
+			AExpression expression = equation.getExpression();
+			boolean isSameSetFunction = expression instanceof SetFunction && equalSetFunctions(setFunction, (SetFunction) expression);
+			if (isSameSetFunction && equation.getResult() instanceof TypeInstanceResult) {
+				results.add(((TypeInstanceResult) equation.getResult()).getReference());
+				break;
+			}
+		}
+
+		cache(setFunctionResults, sei, key, results, count);
+		return results;
+	}
+
+	/**
+	 * Stores a computed value unless the model has changed while computing it
+	 * @param cache the cache to store the value in
+	 * @param sei the SEI the value has been computed for
+	 * @param key the key of the value
+	 * @param value the computed value
+	 * @param count the modification count when the computation started
+	 */
+	private synchronized void cache(Map<StructuralElementInstance, Map<List<Object>, List<ATypeInstance>>> cache,
+			StructuralElementInstance sei, List<Object> key, List<ATypeInstance> value, long count) {
+		if (count == modificationCount) {
+			cache.computeIfAbsent(sei, k -> new HashMap<>()).put(key, Collections.unmodifiableList(value));
+		}
+	}
+
+	/**
+	 * Gets the type instances of an SEI which match the type and name filter of a set function
+	 * @param sei the SEI to get the inputs from without its children
+	 * @param typeDefinition the type of the inputs
+	 * @param filterName the name to filter for or null
+	 * @param excludedCa the category assignment containing the set function or null. It is excluded to prevent
+	 * that expressions such as mass = summary{mass} create a cycle by including the local mass property in the inputs
+	 * @return the matching type instances of the SEI
+	 */
+	static List<ATypeInstance> getLocalInputs(StructuralElementInstance sei, ATypeDefinition typeDefinition, String filterName, CategoryAssignment excludedCa) {
+		boolean filterForName = filterName != null && !filterName.equals("");
+
+		List<CategoryAssignment> currentCas = new LinkedList<>(sei.getCategoryAssignments());
+		Collection<ATypeInstance> typeInstances = VirSatEcoreUtil.getAllContentsOfType(currentCas, ATypeInstance.class, true);
+		typeInstances.addAll(currentCas);
+
+		if (excludedCa != null) {
+			typeInstances.remove(excludedCa);
+			typeInstances.removeAll(excludedCa.getPropertyInstances());
+		}
+
+		List<ATypeInstance> inputs = new ArrayList<>();
+		for (ATypeInstance aTypeInstance : typeInstances) {
+			if (aTypeInstance.getType() == typeDefinition) {
+				// For composed property instances we have to get the category assignment
+				// to be able to work with them, thus try to decompose it
+				ATypeInstance decomposedTypeInstance = aTypeInstance;
+				if (decomposedTypeInstance instanceof ComposedPropertyInstance) {
+					decomposedTypeInstance = ((ComposedPropertyInstance) aTypeInstance).getTypeInstance();
+				}
+
+				boolean correctName = !filterForName || hasCorrectName(decomposedTypeInstance, filterName);
+				if (correctName) {
+					inputs.add(decomposedTypeInstance);
+				}
+			}
+		}
+
+		return inputs;
+	}
+
+	/**
+	 * Checks if the given input has a correct name. This can either be the typeinstance itself,
+	 * or the container type instance if the typeinstance itself is not a named object
+	 * @param aTypeInstance the typeinstance to check
+	 * @param filterName the name to filter for
+	 * @return true iff the name is correct
+	 */
+	private static boolean hasCorrectName(ATypeInstance aTypeInstance, String filterName) {
+		if (aTypeInstance instanceof IName) {
+			// If we have a named type instance we need to check for its name
+			IName name = (IName) aTypeInstance;
+			return name.getName().equals(filterName);
+		} else if (aTypeInstance.eContainer() != null && aTypeInstance.eContainer() instanceof IName) {
+			// If the type instance itself doesnt have a name, we have to check its container
+			IName name = (IName) aTypeInstance.eContainer();
+			return name.getName().equals(filterName);
+		}
+
+		// This is not a named object, yet we require a specific name, therefore the name is not correct
+		return false;
+	}
+
+	/**
+	 * Compares two set functions and whether they have the same settings. That is, this comparison
+	 * ignores things such as container, uuid, etc. and only considers the parameters the user
+	 * inputs into xtext.
+	 * @param sf1 one set function
+	 * @param sf2 other set function
+	 * @return true iff the two set functions have the same settings
+	 */
+	private static boolean equalSetFunctions(SetFunction sf1, SetFunction sf2) {
+		boolean sameOperator = Objects.equals(sf1.getOperator(), sf2.getOperator());
+		boolean sameFilter = Objects.equals(sf1.getFilterName(), sf2.getFilterName());
+		boolean sameTypeDefinition = Objects.equals(sf1.getTypeDefinition(), sf2.getTypeDefinition());
+		return sameOperator && sameFilter && sameTypeDefinition;
+	}
+
+	/**
+	 * Gets the SEI an object belongs to
+	 * @param eObject the SEI itself or an object contained by some SEI
+	 * @return the SEI or null if the object is not contained by an SEI
+	 */
+	private static StructuralElementInstance getStructuralElementInstance(EObject eObject) {
+		if (eObject instanceof StructuralElementInstance) {
+			return (StructuralElementInstance) eObject;
+		}
+		return VirSatEcoreUtil.getEContainerOfClass(eObject, StructuralElementInstance.class);
+	}
+
+	/**
+	 * Call this method to get the set function input index of the ResourceSet that contains the given SEI.
+	 * Objects which are not contained in a ResourceSet with an attached index get an index of their own,
+	 * which is not updated and thus should not be kept.
+	 * @param sei an SEI within the ResourceSet
+	 * @return the set function input index
+	 */
+	public static SetFunctionInputIndex getIndex(StructuralElementInstance sei) {
+		Resource resource = sei.eResource();
+		SetFunctionInputIndex index = null;
+		if (resource != null && resource.getResourceSet() != null) {
+			index = findIndex(resource.getResourceSet());
+		}
+		return index != null ? index : new SetFunctionInputIndex();
+	}
+
+	/**
+	 * Attaches a set function input index to the given ResourceSet unless it already has one.
+	 * Call this method from the thread setting up the evaluation, before any equation is evaluated,
+	 * since evaluations only read the adapters of the ResourceSet.
+	 * @param resourceSet the ResourceSet to attach the index to
+	 * @return the index of the ResourceSet
+	 */
+	public static SetFunctionInputIndex attachIndex(ResourceSet resourceSet) {
+		SetFunctionInputIndex index = findIndex(resourceSet);
+		if (index == null) {
+			index = new SetFunctionInputIndex();
+			resourceSet.eAdapters().add(index);
+		}
+		return index;
+	}
+
+	/**
+	 * Searches the set function input index within the adapters of a ResourceSet
+	 * @param resourceSet the ResourceSet
+	 * @return the attached index or null if there is none
+	 */
+	private static SetFunctionInputIndex findIndex(ResourceSet resourceSet) {
+		for (Adapter adapter : resourceSet.eAdapters()) {
+			if (adapter instanceof SetFunctionInputIndex) {
+				return (SetFunctionInputIndex) adapter;
+			}
+		}
+		return null;
+	}
+}
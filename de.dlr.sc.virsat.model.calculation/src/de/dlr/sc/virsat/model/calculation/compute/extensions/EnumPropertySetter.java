@@ -19,8 +19,6 @@ import de.dlr.sc.virsat.model.calculation.compute.IResultSetter;
 import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
 import de.dlr.sc.virsat.model.calculation.compute.problem.IncompatibleQuantityKindsProblem;
 import de.dlr.sc.virsat.model.calculation.compute.problem.UnknownExpressionProblem;
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
-import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.EnumProperty;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.EnumValueDefinition;
@@ -70,14 +68,11 @@ public class EnumPropertySetter implements IResultSetter {
 				setProblems.add(incompatibleQuantityKindsProblem);
 			}
 			
-			NumberLiteralHelper nlh = new NumberLiteralHelper(result.getNumberLiteral());
-			double value = QudvUnitHelper.getInstance().convertFromBaseUnitToTargetUnit(targetUnit, nlh.getValue());
-			NumberLiteral numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-			numberLiteral.setValue(String.valueOf(value));
-			result = new NumberLiteralResult(numberLiteral);
+			double value = QudvUnitHelper.getInstance().convertFromBaseUnitToTargetUnit(targetUnit, result.getValue());
+			result = new NumberLiteralResult(value);
 		}
 	
-		double resultValue = Double.valueOf(result.getNumberLiteral().getValue());
+		double resultValue = result.getValue();
 		
 		EnumProperty enumProperty = (EnumProperty) instance.getType();
 		for (EnumValueDefinition evd : enumProperty.getValues()) {
@@ -13,7 +13,6 @@ import org.eclipse.emf.ecore.EObject;
 
 import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
 import de.dlr.sc.virsat.model.calculation.compute.IInputGetter;
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
 import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.calculation.ValueE;
 import de.dlr.sc.virsat.model.dvlm.calculation.ValuePi;
@@ -35,17 +34,11 @@ public class NumberLiteralGetter implements IInputGetter {
 			}
 			
 			public IExpressionResult caseValuePi(ValuePi object) {
-				String pi = Double.toString(Math.PI);
-				NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-				resultLiteral.setValue(pi);
-				return new NumberLiteralResult(resultLiteral);
+				return new NumberLiteralResult(Math.PI);
 			}
 			
 			public IExpressionResult caseValueE(ValueE object) {
-				String e = Double.toString(Math.E);
-				NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-				resultLiteral.setValue(e);
-				return new NumberLiteralResult(resultLiteral);
+				return new NumberLiteralResult(Math.E);
 			}
 		};
 		return calcSwitch.doSwitch(input);
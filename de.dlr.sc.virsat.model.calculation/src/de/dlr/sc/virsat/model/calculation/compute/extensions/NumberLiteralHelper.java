@@ -35,11 +35,23 @@ public class NumberLiteralHelper {
 	 * @return value of the literal
 	 */
 	public double getValue() {
-		try {
-			double doubleValue = Double.parseDouble(getNumberLiteral().getValue());
-			return doubleValue;
-		} catch (NullPointerException e) {
+		if (getNumberLiteral() == null) {
 			return Double.NaN;
+		}
+		return parseValue(getNumberLiteral().getValue());
+	}
+	
+	/**
+	 * Parses the value of a literal, while respecting the case of being not a number
+	 * @param literalValue the string representation of the value
+	 * @return the value or NaN in case the string does not represent a number
+	 */
+	public static double parseValue(String literalValue) {
+		if (literalValue == null) {
+			return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(literalValue);
 		} catch (NumberFormatException e) {
 			return Double.NaN;
 		}
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
 import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
@@ -25,7 +26,9 @@ import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
  */
 
 public class NumberLiteralResult implements IExpressionResult {
-	private final NumberLiteral numberLiteral;
+	private NumberLiteral numberLiteral;
+	private double value;
+	private boolean isValueParsed;
 	private final Map<AQuantityKind, Double> baseQuantityKinds;
 	
 	/**
@@ -33,8 +36,7 @@ public class NumberLiteralResult implements IExpressionResult {
 	 * @param numberLiteral The resulting number literal
 	 */
 	public NumberLiteralResult(NumberLiteral numberLiteral) {
-		this.numberLiteral = numberLiteral;
-		this.baseQuantityKinds = new HashMap<>();
+		this(numberLiteral, new HashMap<>());
 	}
 	
 	/**
@@ -47,14 +49,50 @@ public class NumberLiteralResult implements IExpressionResult {
 		this.baseQuantityKinds = quantityKinds;
 	}
 	
+	/**
+	 * A computed number result with no specified quantity kinds
+	 * @param value The resulting value
+	 */
+	public NumberLiteralResult(double value) {
+		this(value, new HashMap<>());
+	}
+	
+	/**
+	 * A computed number result. Intermediate results of an evaluation are kept as plain double values,
+	 * the number literal is only created once it is actually requested.
+	 * @param value The resulting value
+	 * @param quantityKinds The quantity kinds of the value
+	 */
+	public NumberLiteralResult(double value, Map<AQuantityKind, Double> quantityKinds) {
+		this.value = value;
+		this.isValueParsed = true;
+		this.baseQuantityKinds = quantityKinds;
+	}
+	
 	/**
 	 * Get the number literal associated with this result
 	 * @return The number literal associated with this result
 	 */
 	public NumberLiteral getNumberLiteral() {
+		if (numberLiteral == null) {
+			numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+			numberLiteral.setValue(Double.toString(value));
+		}
 		return numberLiteral;
 	}
 	
+	/**
+	 * Get the value of the result, while respecting the case of being not a number
+	 * @return The value of the result
+	 */
+	public double getValue() {
+		if (!isValueParsed) {
+			value = new NumberLiteralHelper(numberLiteral).getValue();
+			isValueParsed = true;
+		}
+		return value;
+	}
+	
 	/**
 	 * Get the quantity kinds associated with the result
 	 * @return The quantity kinds associated with this result
@@ -65,15 +103,15 @@ public class NumberLiteralResult implements IExpressionResult {
 	
 	@Override
 	public String toString() {
-		return String.valueOf(new NumberLiteralHelper(numberLiteral).getValue());
+		return String.valueOf(getValue());
 	}
 	
 	@Override
 	public boolean equals(IExpressionResult obj, double eps) {
 		if (obj instanceof NumberLiteralResult) {
 			NumberLiteralResult nlr = (NumberLiteralResult) obj;
-			double value1 = new NumberLiteralHelper(numberLiteral).getValue();
-			double value2 = new NumberLiteralHelper(nlr.getNumberLiteral()).getValue();
+			double value1 = getValue();
+			double value2 = nlr.getValue();
 			
 			boolean equalValue = Math.abs(value1 - value2) <= eps * Math.max(Math.abs(value1), Math.abs(value2));
 			boolean equalQuantityKinds = QudvUnitHelper.getInstance().haveSameQuantityKind(getQuantityKinds(), nlr.getQuantityKinds());
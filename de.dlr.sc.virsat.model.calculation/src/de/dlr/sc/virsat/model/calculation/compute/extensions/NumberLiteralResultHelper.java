@@ -12,40 +12,26 @@ package de.dlr.sc.virsat.model.calculation.compute.extensions;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.commons.math3.analysis.UnivariateFunction;
-import org.apache.commons.math3.analysis.function.Acos;
-import org.apache.commons.math3.analysis.function.Asin;
-import org.apache.commons.math3.analysis.function.Atan;
-import org.apache.commons.math3.analysis.function.Cos;
-import org.apache.commons.math3.analysis.function.Divide;
-import org.apache.commons.math3.analysis.function.Exp;
-import org.apache.commons.math3.analysis.function.Identity;
-import org.apache.commons.math3.analysis.function.Log;
-import org.apache.commons.math3.analysis.function.Log10;
-import org.apache.commons.math3.analysis.function.Minus;
-import org.apache.commons.math3.analysis.function.Power;
-import org.apache.commons.math3.analysis.function.Sin;
-import org.apache.commons.math3.analysis.function.Sqrt;
-import org.apache.commons.math3.analysis.function.Subtract;
-import org.apache.commons.math3.analysis.function.Tan;
-import org.apache.commons.math3.stat.descriptive.summary.Product;
-import org.apache.commons.math3.stat.descriptive.summary.Sum;
+import org.apache.commons.math3.util.FastMath;
 
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
 import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
-import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper.QudvCalcMethod;
 
 /**
- * Helper class for applying operations to number literals
+ * Helper class for applying operations to number literals.
+ * The operations work on the plain double values of the results and do not
+ * create any number literals. The quantity kinds of an operand are passed on
+ * as they are, in case the operation does not change them.
  * @author muel_s8
  *
  */
 
 public class NumberLiteralResultHelper {
 
+	private static final double LOG10_OF_2 = FastMath.log10(2);
+	
 	private NumberLiteralResult numberLiteralResult;
 	
 	/**
@@ -62,14 +48,7 @@ public class NumberLiteralResultHelper {
 	 * @return value of the literal
 	 */
 	public double getValue() {
-		try {
-			double doubleValue = Double.parseDouble(numberLiteralResult.getNumberLiteral().getValue());
-			return doubleValue;
-		} catch (NullPointerException e) {
-			return Double.NaN;
-		} catch (NumberFormatException e) {
-			return Double.NaN;
-		}
+		return numberLiteralResult.getValue();
 	}
 	
 	/**
@@ -79,46 +58,36 @@ public class NumberLiteralResultHelper {
 	 * @return the result of the calculation
 	 */
 	public NumberLiteralResult applyMathOperator(MathOperator operator, NumberLiteralResult rhsResult) {
-		NumberLiteralResultHelper rhsHelper = new NumberLiteralResultHelper(rhsResult);
-		
 		double doubleResult = 0;
 		Map<AQuantityKind, Double> resultBaseQuantityKinds = numberLiteralResult.getQuantityKinds();
 		
-		double [] values = new double[2];
-		values [0] = this.getValue();
-		values [1] = rhsHelper.getValue();
+		double lhsValue = this.getValue();
+		double rhsValue = rhsResult.getValue();
 		
 		Map<AQuantityKind, Double> lhsBaseQuantityKinds = numberLiteralResult.getQuantityKinds();
 		Map<AQuantityKind, Double> rhsBaseQuantityKinds = rhsResult.getQuantityKinds();
 		
 		if (operator.equals(MathOperator.PLUS)) {
-			Sum sum = new Sum();
-			doubleResult = sum.evaluate(values);
+			doubleResult = lhsValue + rhsValue;
 			if (!QudvUnitHelper.getInstance().haveSameQuantityKind(lhsBaseQuantityKinds, rhsBaseQuantityKinds)) {
 				resultBaseQuantityKinds = QudvUnitHelper.getInstance().createUndefinedQKMap();
 			}
 		} else if (operator.equals(MathOperator.MINUS)) {
-			Subtract subtract = new Subtract();
-			doubleResult = subtract.value(values[0], values[1]);
+			doubleResult = lhsValue - rhsValue;
 			if (!QudvUnitHelper.getInstance().haveSameQuantityKind(lhsBaseQuantityKinds, rhsBaseQuantityKinds)) {
 				resultBaseQuantityKinds = QudvUnitHelper.getInstance().createUndefinedQKMap();
 			}
 		} else if (operator.equals(MathOperator.MULTIPLY)) {
-			Product multiply = new Product();
-			doubleResult = multiply.evaluate(values);
+			doubleResult = lhsValue * rhsValue;
 			resultBaseQuantityKinds = QudvUnitHelper.getInstance().mergeMaps(lhsBaseQuantityKinds, rhsBaseQuantityKinds, QudvCalcMethod.ADD);
 		} else if (operator.equals(MathOperator.DIVIDE)) {
-			Divide divide = new Divide();
-			doubleResult = divide.value(values[0], values[1]);
+			doubleResult = lhsValue / rhsValue;
 			resultBaseQuantityKinds = QudvUnitHelper.getInstance().mergeMaps(lhsBaseQuantityKinds, rhsBaseQuantityKinds, QudvCalcMethod.SUBTRACT);
 		} else if (operator.equals(MathOperator.POWER)) {
-			Power power = new Power(values[1]);
-			doubleResult = power.value(values[0]);
+			doubleResult = FastMath.pow(lhsValue, rhsValue);
 		} 
 		
-		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-		resultLiteral.setValue(Double.toString(doubleResult));
-		return new NumberLiteralResult(resultLiteral, resultBaseQuantityKinds);
+		return new NumberLiteralResult(doubleResult, resultBaseQuantityKinds);
 	}
 
 	/***
@@ -128,13 +97,12 @@ public class NumberLiteralResultHelper {
 	 */
 	public NumberLiteralResult applyMathOperator(MathOperator operator) {
 		double doubleResult = 0;
-		Map<AQuantityKind, Double> resultBaseQuantityKinds = new HashMap<>();
-		resultBaseQuantityKinds.putAll(numberLiteralResult.getQuantityKinds());
+		Map<AQuantityKind, Double> resultBaseQuantityKinds = numberLiteralResult.getQuantityKinds();
 		
-		boolean inRange = inRange(operator);
+		double value = this.getValue();
+		boolean inRange = inRange(operator, value);
 		if (inRange) {
-			UnivariateFunction function = getFunction(operator);
-			doubleResult = function.value(this.getValue());
+			doubleResult = applyFunction(operator, value);
 		} else {
 			doubleResult = Double.NaN;
 		}
@@ -142,77 +110,72 @@ public class NumberLiteralResultHelper {
 		// Compute the updated quantity kinds
 		switch (operator) {
 			case SQRT:
+				resultBaseQuantityKinds = new HashMap<>(resultBaseQuantityKinds);
 				resultBaseQuantityKinds.replaceAll((qk, factor) -> factor / 2);
 				break;
 			default:
 				break;
 		}
 
-		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-		resultLiteral.setValue(Double.toString(doubleResult));
-		return new NumberLiteralResult(resultLiteral, resultBaseQuantityKinds);	
+		return new NumberLiteralResult(doubleResult, resultBaseQuantityKinds);	
 	}
 	
 	/**
 	 * Checks if the value is in the range of the operator
 	 * @param operator the operator
+	 * @param value the value to be checked
 	 * @return true iff the range is in the range of the operator
 	 */
-	private boolean inRange(MathOperator operator) {
+	private boolean inRange(MathOperator operator, double value) {
 		switch (operator) {
 			case ACOS:
 			case ASIN:
-				return this.getValue() >= -1 && this.getValue() <= 1;
+				return value >= -1 && value <= 1;
 			case SQRT:
-				return this.getValue() >= 0;
+				return value >= 0;
 			case LOG:
 			case LD:
 			case LN:
-				return this.getValue() > 0;
+				return value > 0;
 			default:
 				return true;
 		}
 	}
 	
 	/**
-	 * Converts a given math operator to the respective computation routine
+	 * Applies the computation routine of the given math operator
 	 * @param operator the math operator
-	 * @return the computation to evaluate the operator
+	 * @param value the value to apply the operator to
+	 * @return the result of the computation
 	 */
-	private UnivariateFunction getFunction(MathOperator operator) {
+	private double applyFunction(MathOperator operator, double value) {
 		switch (operator) {
 			case COS:
-				return new Cos();
+				return FastMath.cos(value);
 			case SIN:
-				return new Sin();
+				return FastMath.sin(value);
 			case TAN:
-				return new Tan();
+				return FastMath.tan(value);
 			case ATAN:
-				return new Atan();
+				return FastMath.atan(value);
 			case ACOS:
-				return new Acos();
+				return FastMath.acos(value);
 			case ASIN:
-				return new Asin();
+				return FastMath.asin(value);
 			case SQRT:
-				return new Sqrt();
+				return FastMath.sqrt(value);
 			case LOG:
-				return new Log10();
+				return FastMath.log10(value);
 			case LD:
-				return new UnivariateFunction() {
-					@Override
-					public double value(double input) {
-						Log10 log = new Log10();
-						return log.value(input) / log.value(2);
-					}
-				};
+				return FastMath.log10(value) / LOG10_OF_2;
 			case LN:
-				return new Log();
+				return FastMath.log(value);
 			case EXP:
-				return new Exp();
+				return FastMath.exp(value);
 			case PLUS:
-				return new Identity();
+				return value;
 			case MINUS:
-				return new Minus();
+				return -value;
 			default:
 				throw new RuntimeException("Cannot convert Math Operator: " +  operator + " to univariate function!");
 		}
@@ -224,8 +187,6 @@ public class NumberLiteralResultHelper {
 	 * @return The number literal after applying the operation (operator n1)
 	 */
 	public NumberLiteralResult applyMathOperator(String operator) {
-		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-
 		double doubleResult = 0;
 		Map<AQuantityKind, Double> resultBaseQuantityKinds = numberLiteralResult.getQuantityKinds();
 		
@@ -233,7 +194,6 @@ public class NumberLiteralResultHelper {
 			doubleResult = -1 * this.getValue();
 		}
 
-		resultLiteral.setValue(Double.toString(doubleResult));
-		return new NumberLiteralResult(resultLiteral, resultBaseQuantityKinds);	
+		return new NumberLiteralResult(doubleResult, resultBaseQuantityKinds);	
 	}
 }
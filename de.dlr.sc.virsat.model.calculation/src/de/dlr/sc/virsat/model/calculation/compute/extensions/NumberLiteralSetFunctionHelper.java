@@ -15,8 +15,6 @@ import java.util.Map;
 
 import de.dlr.sc.virsat.model.calculation.compute.AAdvancedFunctionOp;
 import de.dlr.sc.virsat.model.dvlm.calculation.AAdvancedFunction;
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
-import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
 
 /**
@@ -50,7 +48,7 @@ public class NumberLiteralSetFunctionHelper {
 		
 		for (int i = 0; i < numberLiteralResults.size(); ++i) {
 			NumberLiteralResult input = numberLiteralResults.get(i);
-			inputs[i] = new NumberLiteralHelper(input.getNumberLiteral()).getValue();
+			inputs[i] = input.getValue();
 			inputQuantityKinds[i] = input.getQuantityKinds();
 		}
 		
@@ -59,9 +57,6 @@ public class NumberLiteralSetFunctionHelper {
 		double doubleResult = op.apply(inputs);
 		Map<AQuantityKind, Double> quantityKindResults = op.applyOnQuantityKinds(advancedFunction, inputQuantityKinds);
 		
-		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-		resultLiteral.setValue(Double.toString(doubleResult));
-		
-		return new NumberLiteralResult(resultLiteral, quantityKindResults);
+		return new NumberLiteralResult(doubleResult, quantityKindResults);
 	}
 }
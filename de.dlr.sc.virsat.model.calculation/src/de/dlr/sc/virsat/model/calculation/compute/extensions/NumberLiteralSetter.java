@@ -20,8 +20,6 @@ import de.dlr.sc.virsat.model.calculation.compute.IResultSetter;
 import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
 import de.dlr.sc.virsat.model.calculation.compute.problem.IncompatibleQuantityKindsProblem;
 import de.dlr.sc.virsat.model.calculation.compute.problem.UnknownExpressionProblem;
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
-import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.IntProperty;
@@ -73,19 +71,15 @@ public class NumberLiteralSetter implements IResultSetter {
 					setProblems.add(incompatibleQuantityKindsProblem);
 				}
 				
-				NumberLiteralHelper nlh = new NumberLiteralHelper(result.getNumberLiteral());
-				double value = QudvUnitHelper.getInstance().convertFromBaseUnitToTargetUnit(targetUnit, nlh.getValue());
-				NumberLiteral numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-				numberLiteral.setValue(String.valueOf(value));
-				result = new NumberLiteralResult(numberLiteral);
+				double value = QudvUnitHelper.getInstance().convertFromBaseUnitToTargetUnit(targetUnit, result.getValue());
+				result = new NumberLiteralResult(value);
 			}
 		}
 		
 		ATypeDefinition type = instance.getType();
 		if (type instanceof IntProperty) {
 			// Check if the target instance is a integer property and if so, cut off the fractionals
-			NumberLiteralHelper nlh = new NumberLiteralHelper(result.getNumberLiteral());
-			int integerValue = (int) nlh.getValue();
+			int integerValue = (int) result.getValue();
 			instance.setValue(String.valueOf(integerValue));
 		} else {
 			// Otherwise we can directly set the value
@@ -16,8 +16,6 @@ import org.eclipse.emf.ecore.EObject;
 
 import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
 import de.dlr.sc.virsat.model.calculation.compute.IInputGetter;
-import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
-import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.EnumValueDefinition;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.EnumUnitPropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.UnitValuePropertyInstance;
@@ -40,8 +38,7 @@ public class ValuePropertyGetter implements IInputGetter {
 		return new PropertyinstancesSwitch<IExpressionResult>() {
 			@Override
 			public IExpressionResult caseValuePropertyInstance(ValuePropertyInstance vpi) {
-				NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-				resultLiteral.setValue(vpi.getValue());
+				double value = NumberLiteralHelper.parseValue(vpi.getValue());
 				
 				// Now check if this is not just a ValuePropertyInstance but also
 				// a UnitValuePropertyInstance with an assigned unit. If so we need
@@ -52,40 +49,31 @@ public class ValuePropertyGetter implements IInputGetter {
 				if (vpi instanceof UnitValuePropertyInstance) {
 					AUnit unit = ((UnitValuePropertyInstance) vpi).getUnit();
 					if (unit != null) {
-						NumberLiteralHelper nlh = new NumberLiteralHelper(resultLiteral);
-						double baseValue = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, nlh.getValue());
-						resultLiteral.setValue(String.valueOf(baseValue));
-						
+						value = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, value);
 						baseQuantityKinds = QudvUnitHelper.getInstance().getBaseQuantityKinds(unit.getQuantityKind());
 					}
 				}
 				
-				return new NumberLiteralResult(resultLiteral, baseQuantityKinds);
+				return new NumberLiteralResult(value, baseQuantityKinds);
 			};
 			
 			public IExpressionResult caseEnumUnitPropertyInstance(EnumUnitPropertyInstance epi) {
-				NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+				double value = Double.NaN;
 				EnumValueDefinition evd = epi.getValue();
 				
 				Map<AQuantityKind, Double> baseQuantityKinds = new HashMap<>();
 				
 				if (evd != null) {
-					resultLiteral.setValue(epi.getValue().getValue());
+					value = NumberLiteralHelper.parseValue(evd.getValue());
 					
 					AUnit unit = epi.getUnit();
 					if (unit != null) {
-						NumberLiteralHelper nlh = new NumberLiteralHelper(resultLiteral);
-						double baseValue = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, nlh.getValue());
-						resultLiteral.setValue(String.valueOf(baseValue));
-						
+						value = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, value);
 						baseQuantityKinds = QudvUnitHelper.getInstance().getBaseQuantityKinds(unit.getQuantityKind());
 					}
-					
-				} else {
-					resultLiteral.setValue(String.valueOf(Double.NaN));
 				}
 				
-				return new NumberLiteralResult(resultLiteral, baseQuantityKinds);
+				return new NumberLiteralResult(value, baseQuantityKinds);
 			};
 		}.doSwitch(input);
 	}
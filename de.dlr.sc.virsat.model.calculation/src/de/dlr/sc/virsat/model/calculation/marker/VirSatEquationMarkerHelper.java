@@ -60,6 +60,17 @@ public class VirSatEquationMarkerHelper extends VirSatProblemMarkerHelper implem
 		return super.isAssociatedWith(marker, eObject);
 	}
 	
+	@Override
+	protected Set<String> getIdentifierValues(EObject eObject) {
+		// Markers of equations and their inputs are attached to the referenced objects
+		Set<String> identifierValues = super.getIdentifierValues(eObject);
+		EObject resolvedObject = resolveReferences(eObject);
+		if (resolvedObject != null && resolvedObject != eObject) {
+			identifierValues.addAll(super.getIdentifierValues(resolvedObject));
+		}
+		return identifierValues;
+	}
+	
 	/**
 	 * Method to get all the markers which are related to evaluation problems
 	 * @param eObject The object whose markers shall be deleted
@@ -16,12 +16,9 @@ import de.dlr.sc.virsat.model.dvlm.calculation.Import
 import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition
 import de.dlr.sc.virsat.model.dvlm.general.IInstance
-import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.EReference
 import org.eclipse.xtext.naming.IQualifiedNameProvider
-import org.eclipse.xtext.scoping.IScope
-import org.eclipse.xtext.scoping.Scopes
 import org.eclipse.xtext.scoping.impl.AbstractDeclarativeScopeProvider
 
 /**
@@ -30,7 +27,8 @@ import org.eclipse.xtext.scoping.impl.AbstractDeclarativeScopeProvider
  * but it is also important for linking the names back to the actual objects once the 
  * textual representation of the equations is deserialized back into the DVLM model.
  * This class makes use of the EquationSeciton Resource and ResourceSet which allow 
- * the cross linking across other ResourceSets.
+ * the cross linking across other ResourceSets. The scopes are served from the
+ * EquationSectionScopeIndex of these ResourceSets.
  */
 class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
 
@@ -45,8 +43,7 @@ class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
 				val equationSectionContainerVirSatAwareResourceSet = equationSectionXtextResource.resourceSet as EquationSectionVirSatAwareXtextResourceSet;
 				val virSatResourceSet = equationSectionContainerVirSatAwareResourceSet.referencedResourceSets;
 				
-				val listOfLocalValueProeprtyInstances = VirSatEcoreUtil.getAllContentsOfTypefromResourceSets(virSatResourceSet, equationSectionXtextResource, IInstance, true);
-				return Scopes.scopeFor(listOfLocalValueProeprtyInstances, qualifiedNameProvider, IScope.NULLSCOPE);
+				return EquationSectionScopeIndex.createScope(virSatResourceSet, equationSectionXtextResource, IInstance, qualifiedNameProvider);
 			}
 		} else if (context instanceof SetFunction) {
 			val resource = context.eResource;
@@ -55,8 +52,7 @@ class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
 				val equationSectionContainerVirSatAwareResourceSet = equationSectionXtextResource.resourceSet as EquationSectionVirSatAwareXtextResourceSet;
 				val virSatResourceSet = equationSectionContainerVirSatAwareResourceSet.referencedResourceSets;
 				
-				val listOfTypeDefinitions = VirSatEcoreUtil.getAllContentsOfTypefromResourceSets(virSatResourceSet, equationSectionXtextResource, ATypeDefinition, true);
-				val scopes = Scopes.scopeFor(listOfTypeDefinitions, qualifiedNameProvider, IScope.NULLSCOPE);
+				val scopes = EquationSectionScopeIndex.createScope(virSatResourceSet, equationSectionXtextResource, ATypeDefinition, qualifiedNameProvider);
 				
 				return scopes;
 			}
@@ -13,17 +13,13 @@ import com.google.common.base.Predicate
 import com.google.inject.Inject
 import de.dlr.sc.virsat.model.dvlm.calculation.IEquationInput
 import de.dlr.sc.virsat.model.calculation.resource.EquationSectionVirSatAwareXtextResourceSet
-import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil
 import org.eclipse.emf.ecore.EReference
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtext.naming.IQualifiedNameProvider
 import org.eclipse.xtext.resource.IEObjectDescription
-import org.eclipse.xtext.scoping.IScope
-import org.eclipse.xtext.scoping.Scopes
 import org.eclipse.xtext.scoping.impl.DefaultGlobalScopeProvider
 import de.dlr.sc.virsat.model.calculation.resource.EquationSectionXtextResource
 import de.dlr.sc.virsat.model.dvlm.general.IInstance
-import org.eclipse.emf.ecore.EObject
 
 class EquationSectionGlobalScopeProvider extends DefaultGlobalScopeProvider {
 
@@ -42,8 +38,7 @@ class EquationSectionGlobalScopeProvider extends DefaultGlobalScopeProvider {
 				val equationSectionXtextResourceSet = resource.resourceSet as EquationSectionVirSatAwareXtextResourceSet;
 				val virSatResourceSets = equationSectionXtextResourceSet.referencedResourceSets
 				
-	            val listOfGlobalScopes = VirSatEcoreUtil.getAllContentsOfTypefromResourceSets(virSatResourceSets, equationSectionVirSatResource, referenceType.instanceClass as Class<EObject>, true);
-				val scopes = Scopes.scopeFor(listOfGlobalScopes, qualifiedNameProvider, IScope.NULLSCOPE);
+				val scopes = EquationSectionScopeIndex.createScope(virSatResourceSets, equationSectionVirSatResource, eObjectClazz, qualifiedNameProvider);
 				return scopes;
 			}
 		}
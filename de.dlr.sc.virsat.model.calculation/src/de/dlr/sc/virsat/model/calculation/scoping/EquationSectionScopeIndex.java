@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.scoping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.impl.AbstractScope;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationInput;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesPackage;
+import de.dlr.sc.virsat.model.dvlm.general.GeneralPackage;
+import de.dlr.sc.virsat.model.dvlm.general.IInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralPackage;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * This content adapter indexes all objects of a ResourceSet which can be referenced from the
+ * equations by their qualified names. These are the instances, the type definitions and the inputs
+ * of equations. It is supposed to be added to a ResourceSet and serves the scopes of the equation DSL
+ * instead of walking all contents of the ResourceSet for every scope request. The entries are kept per
+ * Resource, so a change within a Resource only causes this Resource to be indexed again. Since the qualified
+ * name of an instance contains the names of its parents, changing a name or moving an SEI in the tree
+ * causes all Resources to be indexed again. Changes of values do not affect the index at all.
+ *
+ */
+public class EquationSectionScopeIndex extends EContentAdapter {
+
+	private ResourceSet resourceSet;
+	private IQualifiedNameProvider qualifiedNameProvider;
+
+	private Map<Resource, List<IEObjectDescription>> resourceEntries = new HashMap<>();
+	private List<IEObjectDescription> allEntries;
+	private Map<QualifiedName, List<IEObjectDescription>> entriesByName;
+	private long modificationCount;
+
+	/**
+	 * Constructor of the index
+	 * @param resourceSet the ResourceSet to be indexed
+	 * @param qualifiedNameProvider the provider for the names of the indexed objects
+	 */
+	EquationSectionScopeIndex(ResourceSet resourceSet, IQualifiedNameProvider qualifiedNameProvider) {
+		this.resourceSet = resourceSet;
+		this.qualifiedNameProvider = qualifiedNameProvider;
+	}
+
+	@Override
+	protected boolean resolve() {
+		// Do not load any resources just by attaching the index
+		return false;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch()) {
+			return;
+		}
+
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof ResourceSet) {
+			if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+				getResources(notification.getOldValue()).forEach(this::invalidate);
+				getResources(notification.getNewValue()).forEach(this::invalidate);
+			}
+		} else if (notifier instanceof Resource) {
+			int featureId = notification.getFeatureID(Resource.class);
+			if (featureId == Resource.RESOURCE__CONTENTS || featureId == Resource.RESOURCE__IS_LOADED) {
+				invalidate((Resource) notifier);
+			}
+		} else if (notifier instanceof EObject) {
+			Object feature = notification.getFeature();
+			if (isChangingNamesOfOtherResources(feature)) {
+				invalidateAll();
+			} else if (isChangingEntries(feature)) {
+				invalidate(((EObject) notifier).eResource());
+			}
+		}
+	}
+
+	/**
+	 * Checks if a change may alter the qualified names of objects in other Resources. This is the case if
+	 * an object is renamed or if an SEI is moved within the tree, since SEIs and their children are
+	 * usually stored in Resources of their own.
+	 * @param feature the changed feature
+	 * @return true if all Resources have to be indexed again
+	 */
+	private boolean isChangingNamesOfOtherResources(Object feature) {
+		return feature == GeneralPackage.Literals.INAME__NAME
+			|| feature == StructuralPackage.Literals.STRUCTURAL_ELEMENT_INSTANCE__PARENT
+			|| feature == StructuralPackage.Literals.STRUCTURAL_ELEMENT_INSTANCE__CHILDREN;
+	}
+
+	/**
+	 * Checks if a change may alter the entries of the changed Resource. This is the case if the containment
+	 * tree changes or if a type instance changes its type, which provides the name of property instances.
+	 * @param feature the changed feature
+	 * @return true if the Resource of the changed object has to be indexed again
+	 */
+	private boolean isChangingEntries(Object feature) {
+		boolean isContainment = feature instanceof EReference && ((EReference) feature).isContainment();
+		return isContainment || feature == CategoriesPackage.Literals.ATYPE_INSTANCE__TYPE;
+	}
+
+	/**
+	 * Gets the Resources from the old or new value of a notification of a ResourceSet
+	 * @param value the old or new value of the notification
+	 * @return the Resources within the value
+	 */
+	private List<Resource> getResources(Object value) {
+		List<Resource> resources = new ArrayList<>();
+		if (value instanceof Resource) {
+			resources.add((Resource) value);
+		} else if (value instanceof Collection) {
+			for (Object object : (Collection<?>) value) {
+				if (object instanceof Resource) {
+					resources.add((Resource) object);
+				}
+			}
+		}
+		return resources;
+	}
+
+	/**
+	 * Drops the entries of a Resource
+	 * @param resource the changed Resource
+	 */
+	private synchronized void invalidate(Resource resource) {
+		modificationCount++;
+		resourceEntries.remove(resource);
+		allEntries = null;
+		entriesByName = null;
+	}
+
+	/**
+	 * Drops the entries of all Resources
+	 */
+	private synchronized void invalidateAll() {
+		modificationCount++;
+		resourceEntries.clear();
+		allEntries = null;
+		entriesByName = null;
+	}
+
+	/**
+	 * Checks if an object can be referenced from an equation and thus has to be indexed
+	 * @param eObject the object to check
+	 * @return true if the object is an instance, a type definition or an input of equations
+	 */
+	private static boolean isIndexed(EObject eObject) {
+		return eObject instanceof IInstance || eObject instanceof ATypeDefinition || eObject instanceof IEquationInput;
+	}
+
+	/**
+	 * Gets the entries of a Resource and indexes the Resource if necessary
+	 * @param resource the Resource
+	 * @return the descriptions of all indexed objects contained by the Resource in the order of their containment
+	 */
+	private List<IEObjectDescription> getEntries(Resource resource) {
+		long count;
+		synchronized (this) {
+			List<IEObjectDescription> cachedEntries = resourceEntries.get(resource);
+			if (cachedEntries != null) {
+				return cachedEntries;
+			}
+			count = modificationCount;
+		}
+
+		// Only index the proper contents. Child SEIs stored in Resources of their own
+		// are indexed with their Resources, thus a change only invalidates one Resource.
+		List<IEObjectDescription> entries = new ArrayList<>();
+		TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(resource, false);
+		while (iterator.hasNext()) {
+			EObject eObject = iterator.next();
+			if (isIndexed(eObject)) {
+				QualifiedName qualifiedName = qualifiedNameProvider.getFullyQualifiedName(eObject);
+				if (qualifiedName != null) {
+					entries.add(EObjectDescription.create(qualifiedName, eObject));
+				}
+			}
+		}
+
+		synchronized (this) {
+			if (count == modificationCount) {
+				resourceEntries.put(resource, entries);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Creates a scope of the objects of the given type within the indexed ResourceSet. The entries of
+	 * all changed Resources are updated before, all other Resources are served from the index.
+	 * @param parent the parent scope, which is shadowed by the elements of this scope
+	 * @param type the type of the objects in the scope
+	 * @param skipResource a resource whose objects should not be part of the scope. Can be set to null.
+	 * @return the scope
+	 */
+	public IScope createScope(IScope parent, Class<?> type, Resource skipResource) {
+		long count;
+		synchronized (this) {
+			if (entriesByName != null) {
+				return new IndexScope(parent, allEntries, entriesByName, type, skipResource);
+			}
+			count = modificationCount;
+		}
+
+		List<IEObjectDescription> entries = new ArrayList<>();
+		for (Resource resource : new ArrayList<>(resourceSet.getResources())) {
+			entries.addAll(getEntries(resource));
+		}
+
+		Map<QualifiedName, List<IEObjectDescription>> byName = new HashMap<>();
+		for (IEObjectDescription entry : entries) {
+			byName.computeIfAbsent(entry.getName(), k -> new ArrayList<>(1)).add(entry);
+		}
+
+		synchronized (this) {
+			// Keep the lookup unless the model has changed while building it
+			if (count == modificationCount) {
+				allEntries = entries;
+				entriesByName = byName;
+			}
+		}
+		return new IndexScope(parent, entries, byName, type, skipResource);
+	}
+
+	/**
+	 * Scope looking up its elements by name in the index
+	 */
+	private static class IndexScope extends AbstractScope {
+		private List<IEObjectDescription> entries;
+		private Map<QualifiedName, List<IEObjectDescription>> entriesByName;
+		private Class<?> type;
+		private Resource skipResource;
+
+		/**
+		 * Constructor of the scope
+		 * @param parent the parent scope
+		 * @param entries all entries of the index
+		 * @param entriesByName the entries of the index by their names
+		 * @param type the type of the elements of this scope
+		 * @param skipResource the resource whose objects are excluded or null
+		 */
+		IndexScope(IScope parent, List<IEObjectDescription> entries, Map<QualifiedName, List<IEObjectDescription>> entriesByName,
+				Class<?> type, Resource skipResource) {
+			super(parent, false);
+			this.entries = entries;
+			this.entriesByName = entriesByName;
+			this.type = type;
+			this.skipResource = skipResource;
+		}
+
+		@Override
+		protected Iterable<IEObjectDescription> getAllLocalElements() {
+			return filter(entries);
+		}
+
+		@Override
+		protected Iterable<IEObjectDescription> getLocalElementsByName(QualifiedName name) {
+			return filter(entriesByName.getOrDefault(name, Collections.emptyList()));
+		}
+
+		/**
+		 * Filters entries by the type and the skipped resource of this scope
+		 * @param candidates the entries to filter
+		 * @return the entries which are elements of this scope
+		 */
+		private List<IEObjectDescription> filter(List<IEObjectDescription> candidates) {
+			List<IEObjectDescription> elements = new ArrayList<>();
+			for (IEObjectDescription candidate : candidates) {
+				EObject eObject = candidate.getEObjectOrProxy();
+				if (type.isInstance(eObject) && (skipResource == null || eObject.eResource() != skipResource)) {
+					elements.add(candidate);
+				}
+			}
+			return elements;
+		}
+	}
+
+	/**
+	 * Call this method to get the scope index of a ResourceSet. The index is attached to the ResourceSet
+	 * on the first call. Before attaching it all proxies of the ResourceSet are resolved, thus all objects
+	 * that can be referenced are loaded.
+	 * @param resourceSet the ResourceSet
+	 * @param qualifiedNameProvider the provider for the names of the indexed objects
+	 * @return the scope index
+	 */
+	public static EquationSectionScopeIndex getIndex(ResourceSet resourceSet, IQualifiedNameProvider qualifiedNameProvider) {
+		synchronized (resourceSet) {
+			for (Adapter adapter : resourceSet.eAdapters()) {
+				if (adapter instanceof EquationSectionScopeIndex) {
+					return (EquationSectionScopeIndex) adapter;
+				}
+			}
+
+			VirSatEcoreUtil.resolveAll(resourceSet);
+			EquationSectionScopeIndex index = new EquationSectionScopeIndex(resourceSet, qualifiedNameProvider);
+			resourceSet.eAdapters().add(index);
+			return index;
+		}
+	}
+
+	/**
+	 * Call this method to create a scope of all objects of a given type within a set of ResourceSets.
+	 * Objects of the first ResourceSets shadow objects of the following ResourceSets with the same name.
+	 * @param resourceSets the ResourceSets in which to look up the objects
+	 * @param skipResource a resource whose objects should not be part of the scope. Can be set to null.
+	 * @param type the type of the objects in the scope
+	 * @param qualifiedNameProvider the provider for the names of the objects
+	 * @return the scope
+	 */
+	public static IScope createScope(List<ResourceSet> resourceSets, Resource skipResource, Class<?> type, IQualifiedNameProvider qualifiedNameProvider) {
+		IScope scope = IScope.NULLSCOPE;
+		ListIterator<ResourceSet> iterator = resourceSets.listIterator(resourceSets.size());
+		while (iterator.hasPrevious()) {
+			scope = getIndex(iterator.previous(), qualifiedNameProvider).createScope(scope, type, skipResource);
+		}
+		return scope;
+	}
+}
@@ -16,7 +16,6 @@ import de.dlr.sc.virsat.model.dvlm.calculation.Import;
 import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
 import de.dlr.sc.virsat.model.dvlm.general.IInstance;
-import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
 import java.util.List;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
@@ -24,7 +23,6 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.scoping.IScope;
-import org.eclipse.xtext.scoping.Scopes;
 import org.eclipse.xtext.scoping.impl.AbstractDeclarativeScopeProvider;
 
 /**
@@ -33,7 +31,8 @@ import org.eclipse.xtext.scoping.impl.AbstractDeclarativeScopeProvider;
  * but it is also important for linking the names back to the actual objects once the
  * textual representation of the equations is deserialized back into the DVLM model.
  * This class makes use of the EquationSeciton Resource and ResourceSet which allow
- * the cross linking across other ResourceSets.
+ * the cross linking across other ResourceSets. The scopes are served from the
+ * EquationSectionScopeIndex of these ResourceSets.
  */
 @SuppressWarnings("all")
 public class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
@@ -49,8 +48,7 @@ public class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
         ResourceSet _resourceSet = equationSectionXtextResource.getResourceSet();
         final EquationSectionVirSatAwareXtextResourceSet equationSectionContainerVirSatAwareResourceSet = ((EquationSectionVirSatAwareXtextResourceSet) _resourceSet);
         final List<ResourceSet> virSatResourceSet = equationSectionContainerVirSatAwareResourceSet.getReferencedResourceSets();
-        final List<IInstance> listOfLocalValueProeprtyInstances = VirSatEcoreUtil.<IInstance>getAllContentsOfTypefromResourceSets(virSatResourceSet, equationSectionXtextResource, IInstance.class, true);
-        return Scopes.<EObject>scopeFor(listOfLocalValueProeprtyInstances, this.qualifiedNameProvider, IScope.NULLSCOPE);
+        return EquationSectionScopeIndex.createScope(virSatResourceSet, equationSectionXtextResource, IInstance.class, this.qualifiedNameProvider);
       }
     } else {
       if ((context instanceof SetFunction)) {
@@ -60,8 +58,7 @@ public class EquationDSLScopeProvider extends AbstractDeclarativeScopeProvider {
           ResourceSet _resourceSet_1 = equationSectionXtextResource_1.getResourceSet();
           final EquationSectionVirSatAwareXtextResourceSet equationSectionContainerVirSatAwareResourceSet_1 = ((EquationSectionVirSatAwareXtextResourceSet) _resourceSet_1);
           final List<ResourceSet> virSatResourceSet_1 = equationSectionContainerVirSatAwareResourceSet_1.getReferencedResourceSets();
-          final List<ATypeDefinition> listOfTypeDefinitions = VirSatEcoreUtil.<ATypeDefinition>getAllContentsOfTypefromResourceSets(virSatResourceSet_1, equationSectionXtextResource_1, ATypeDefinition.class, true);
-          final IScope scopes = Scopes.<EObject>scopeFor(listOfTypeDefinitions, this.qualifiedNameProvider, IScope.NULLSCOPE);
+          final IScope scopes = EquationSectionScopeIndex.createScope(virSatResourceSet_1, equationSectionXtextResource_1, ATypeDefinition.class, this.qualifiedNameProvider);
           return scopes;
         }
       }
@@ -15,17 +15,14 @@ import de.dlr.sc.virsat.model.calculation.resource.EquationSectionVirSatAwareXte
 import de.dlr.sc.virsat.model.calculation.resource.EquationSectionXtextResource;
 import de.dlr.sc.virsat.model.dvlm.calculation.IEquationInput;
 import de.dlr.sc.virsat.model.dvlm.general.IInstance;
-import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
 import java.util.List;
 import org.eclipse.emf.ecore.EClass;
-import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
-import org.eclipse.xtext.scoping.Scopes;
 import org.eclipse.xtext.scoping.impl.DefaultGlobalScopeProvider;
 
 @SuppressWarnings("all")
@@ -44,9 +41,7 @@ public class EquationSectionGlobalScopeProvider extends DefaultGlobalScopeProvid
         ResourceSet _resourceSet = ((EquationSectionXtextResource)resource).getResourceSet();
         final EquationSectionVirSatAwareXtextResourceSet equationSectionXtextResourceSet = ((EquationSectionVirSatAwareXtextResourceSet) _resourceSet);
         final List<ResourceSet> virSatResourceSets = equationSectionXtextResourceSet.getReferencedResourceSets();
-        Class<?> _instanceClass = referenceType.getInstanceClass();
-        final List<EObject> listOfGlobalScopes = VirSatEcoreUtil.<EObject>getAllContentsOfTypefromResourceSets(virSatResourceSets, equationSectionVirSatResource, ((Class<EObject>) _instanceClass), true);
-        final IScope scopes = Scopes.<EObject>scopeFor(listOfGlobalScopes, this.qualifiedNameProvider, IScope.NULLSCOPE);
+        final IScope scopes = EquationSectionScopeIndex.createScope(virSatResourceSets, equationSectionVirSatResource, eObjectClazz, this.qualifiedNameProvider);
         return scopes;
       }
     }
@@ -28,6 +28,8 @@ import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.AProperty;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.FloatProperty;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.PropertyinstancesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ReferencePropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelper;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 
@@ -131,6 +133,64 @@ public class ConceptMigrationHelperTest extends AConceptMigratorTest {
 		assertFalse("Category Assignments have been cleaned up", seiA.getCategoryAssignments().contains(caA));
 	}
 	
+	@Test
+	public void testMigrationSession() {
+		ReferencePropertyInstance rpi = PropertyinstancesFactory.eINSTANCE.createReferencePropertyInstance();
+		rpi.setReference(vpi);
+		caB.getPropertyInstances().add(rpi);
+		
+		cmHelper.startMigrationSession();
+		assertTrue("Migration session has been started", cmHelper.isMigrationSessionActive());
+		
+		cmHelper.removeProperty((AProperty) vpi.getType());
+		assertFalse("Property instance has been removed right away", caA.getPropertyInstances().contains(vpi));
+		assertEquals("References are not yet cleaned up", vpi, rpi.getReference());
+		
+		AProperty property = PropertydefinitionsFactory.eINSTANCE.createIntProperty();
+		property.setName("x");
+		cmHelper.addProperty(property, categoryA);
+		
+		cmHelper.finishMigrationSession();
+		assertFalse("Migration session has been finished", cmHelper.isMigrationSessionActive());
+		assertNull("References to the removed property instance have been cleaned up", rpi.getReference());
+		assertEquals("Property instance correctly added to categoryAssignments", "x", caA.getPropertyInstances().get(0).getType().getName());
+	}
+	
+	@Test
+	public void testMovePropertyInMigrationSession() {
+		AProperty property = (AProperty) vpi.getType();
+		
+		cmHelper.startMigrationSession();
+		cmHelper.moveProperty(property, categoryB);
+		cmHelper.finishMigrationSession();
+		
+		assertTrue("Property instance has been removed from the old category", caA.getPropertyInstances().isEmpty());
+		assertEquals("Property instance has been added to the new category", property, caB.getPropertyInstances().get(0).getType());
+	}
+	
+	@Test
+	public void testMovePropertyAfterDeletionInMigrationSession() {
+		AProperty property = (AProperty) vpi.getType();
+		ReferencePropertyInstance rpi = PropertyinstancesFactory.eINSTANCE.createReferencePropertyInstance();
+		rpi.setReference(vpi);
+		caA.getPropertyInstances().add(rpi);
+		
+		cmHelper.startMigrationSession();
+		cmHelper.removeStructuralElement((StructuralElement) seiB.getType());
+		cmHelper.moveProperty(property, categoryB);
+		assertEquals("References to deleted objects are only cleaned up at the end", vpi, rpi.getReference());
+		
+		AProperty newProperty = PropertydefinitionsFactory.eINSTANCE.createIntProperty();
+		newProperty.setName("x");
+		cmHelper.addProperty(newProperty, categoryB);
+		assertTrue("Category assignments of deleted objects are not migrated", caB.getPropertyInstances().isEmpty());
+		
+		cmHelper.finishMigrationSession();
+		assertNull("References to deleted objects have been cleaned up", rpi.getReference());
+		assertEquals("Property has been moved to the new category", categoryB, property.eContainer());
+		assertFalse("Property instance has been removed from the old category", caA.getPropertyInstances().contains(vpi));
+	}
+	
 	@Test
 	public void compareVersionsTest() {
 		String v1 = "1.0";
@@ -298,10 +298,30 @@ public abstract class AMigrator implements IMigrator {
 	
 	/**
 	 * In the second migration step the data model is updated
-	 * using the differences model from the concept comparison
+	 * using the differences model from the concept comparison.
+	 * All differences are applied within one migration session of the {@link ConceptMigrationHelper}.
 	 * @param differences the differences to the next concept version
 	 */
 	public void dataModelMigration(List<Diff> differences) {
+		if (cmHelper == null) {
+			// No concept has been set up for the migration, so there is no model to index
+			migrateDataModel(differences);
+			return;
+		}
+		
+		cmHelper.startMigrationSession();
+		try {
+			migrateDataModel(differences);
+		} finally {
+			cmHelper.finishMigrationSession();
+		}
+	}
+	
+	/**
+	 * Applies the differences to the next concept version to the data model
+	 * @param differences the differences to the next concept version
+	 */
+	private void migrateDataModel(List<Diff> differences) {
 		Set<EquationDefinition> modifiedEquations = new HashSet<>();
 		
 		for (Diff diff : differences) {
@@ -10,10 +10,23 @@
 package de.dlr.sc.virsat.model.concept.migrator;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.EcoreUtil.UsageCrossReferencer;
 
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
@@ -29,7 +42,10 @@ import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 
 /**
- * Class containing utility functions for performing migration
+ * Class containing utility functions for performing migration.
+ * All operations can be run within a migration session, in which the model is searched
+ * only once for the instances of the concept and the references to deleted objects
+ * are cleaned up together at the end of the session.
  * @author muel_s8
  *
  */
@@ -39,6 +55,13 @@ public class ConceptMigrationHelper {
 	private Concept concept;
 	private Repository repository;
 	
+	private Map<AProperty, Set<APropertyInstance>> propertyInstances;
+	private Map<Category, Set<CategoryAssignment>> categoryAssignments;
+	private Map<StructuralElement, Set<StructuralElementInstance>> structuralElementInstances;
+	private Map<EquationDefinition, Set<Equation>> equations;
+	private Map<Notifier, List<EObject>> pendingDeletions;
+	private Set<EObject> deletedObjects;
+	
 	/**
 	 * Default constructor
 	 * @param concept the concept to migrate
@@ -85,49 +108,253 @@ public class ConceptMigrationHelper {
 		return ActiveConceptHelper.getProperty(category, propertyName);
 	}
 	
+	/**
+	 * Starts a migration session. The instances of the model are indexed by their types once,
+	 * all following operations of this helper are applied to the index instead of searching
+	 * the whole model again, and the references to deleted objects are cleaned up in a single
+	 * pass over the model when the session is finished. Instances which are created without
+	 * this helper while the session is active are not known to the session.
+	 */
+	public void startMigrationSession() {
+		if (isMigrationSessionActive()) {
+			return;
+		}
+		
+		propertyInstances = new HashMap<>();
+		categoryAssignments = new HashMap<>();
+		structuralElementInstances = new HashMap<>();
+		equations = new HashMap<>();
+		pendingDeletions = new LinkedHashMap<>();
+		deletedObjects = new HashSet<>();
+		
+		if (repository != null) {
+			EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining(this::indexObject);
+		}
+	}
+	
+	/**
+	 * Finishes the current migration session and removes all references to the objects
+	 * deleted within the session from the model
+	 */
+	public void finishMigrationSession() {
+		if (!isMigrationSessionActive()) {
+			return;
+		}
+		
+		flushDeletions();
+		
+		propertyInstances = null;
+		categoryAssignments = null;
+		structuralElementInstances = null;
+		equations = null;
+		pendingDeletions = null;
+		deletedObjects = null;
+	}
+	
+	/**
+	 * Checks if a migration session has been started and not yet been finished
+	 * @return true iff a migration session is active
+	 */
+	public boolean isMigrationSessionActive() {
+		return pendingDeletions != null;
+	}
+	
+	/**
+	 * Runs an operation within the current migration session. If no session is active,
+	 * a session is started for the operation only.
+	 * @param operation the operation to run
+	 */
+	private void runInSession(Runnable operation) {
+		if (isMigrationSessionActive()) {
+			operation.run();
+			return;
+		}
+		
+		startMigrationSession();
+		try {
+			operation.run();
+		} finally {
+			finishMigrationSession();
+		}
+	}
+	
+	/**
+	 * Adds an object of the model to the index of the session
+	 * @param object the object to index
+	 */
+	private void indexObject(Object object) {
+		if (object instanceof CategoryAssignment) {
+			CategoryAssignment ca = (CategoryAssignment) object;
+			addToIndex(categoryAssignments, (Category) ca.getType(), ca);
+		} else if (object instanceof APropertyInstance) {
+			// Only the property instances directly contained in a category assignment are
+			// affected by the migration, the elements of array instances are not.
+			APropertyInstance pi = (APropertyInstance) object;
+			if (pi.eContainer() instanceof CategoryAssignment) {
+				addToIndex(propertyInstances, (AProperty) pi.getType(), pi);
+			}
+		} else if (object instanceof StructuralElementInstance) {
+			StructuralElementInstance sei = (StructuralElementInstance) object;
+			addToIndex(structuralElementInstances, sei.getType(), sei);
+		} else if (object instanceof Equation) {
+			Equation eq = (Equation) object;
+			addToIndex(equations, eq.getDefinition(), eq);
+		}
+	}
+	
+	/**
+	 * Adds an object and all its contents to the index of the session
+	 * @param object the root object of the contents to index
+	 */
+	private void indexTree(EObject object) {
+		indexObject(object);
+		object.eAllContents().forEachRemaining(this::indexObject);
+	}
+	
+	/**
+	 * Adds an instance to one of the indices of the session
+	 * @param index the index
+	 * @param type the type of the instance
+	 * @param instance the instance
+	 * @param <T> the type of the index keys
+	 * @param <I> the type of the instances
+	 */
+	private static <T, I> void addToIndex(Map<T, Set<I>> index, T type, I instance) {
+		if (type != null) {
+			index.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(instance);
+		}
+	}
+	
+	/**
+	 * Gets the indexed instances of a type which have not been deleted in the meantime.
+	 * The returned list is a copy, so the model can safely be changed while iterating it.
+	 * @param index the index
+	 * @param type the type
+	 * @param <T> the type of the index keys
+	 * @param <I> the type of the instances
+	 * @return the instances of the type
+	 */
+	private <T, I extends EObject> List<I> getInstances(Map<T, Set<I>> index, T type) {
+		List<I> instances = new ArrayList<>();
+		for (I instance : index.getOrDefault(type, Collections.emptySet())) {
+			if (!isDeleted(instance)) {
+				instances.add(instance);
+			}
+		}
+		return instances;
+	}
+	
+	/**
+	 * Checks if an object or one of its containers has been deleted within the session
+	 * @param object the object
+	 * @return true iff the object is part of deleted contents
+	 */
+	private boolean isDeleted(EObject object) {
+		for (EObject current = object; current != null; current = current.eContainer()) {
+			if (deletedObjects.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Deletes an object from the model. The object is removed from its container right away,
+	 * the references to it are removed when the deletions of the session are flushed.
+	 * Just as {@link EcoreUtil#delete(EObject)} this does not remove references to the
+	 * contents of the object.
+	 * @param eObject the object to delete
+	 */
+	private void delete(EObject eObject) {
+		EObject rootEObject = EcoreUtil.getRootContainer(eObject);
+		Resource resource = rootEObject.eResource();
+		Notifier scope = rootEObject;
+		if (resource != null) {
+			scope = resource.getResourceSet() != null ? resource.getResourceSet() : resource;
+		}
+		
+		pendingDeletions.computeIfAbsent(scope, key -> new ArrayList<>()).add(eObject);
+		deletedObjects.add(eObject);
+		EcoreUtil.remove(eObject);
+	}
+	
+	/**
+	 * Removes the references to all objects deleted within the session with one search
+	 * for their usages per resource set
+	 */
+	private void flushDeletions() {
+		for (Entry<Notifier, List<EObject>> entry : pendingDeletions.entrySet()) {
+			Map<EObject, Collection<Setting>> usages = UsageCrossReferencer.findAll(entry.getValue(), Collections.singleton(entry.getKey()));
+			for (Entry<EObject, Collection<Setting>> usage : usages.entrySet()) {
+				for (Setting setting : usage.getValue()) {
+					if (setting.getEStructuralFeature().isChangeable()) {
+						EcoreUtil.remove(setting, usage.getKey());
+					}
+				}
+			}
+		}
+		pendingDeletions.clear();
+	}
+	
+	/**
+	 * Makes sure an object which is added to the concept again is no longer pending
+	 * for deletion, so that the references to it are kept. The other pending deletions
+	 * are still flushed when the session is finished.
+	 * @param eObject the object that is added to the concept
+	 */
+	private void cancelDeletion(EObject eObject) {
+		if (deletedObjects.remove(eObject)) {
+			for (List<EObject> objects : pendingDeletions.values()) {
+				objects.removeIf(pendingObject -> pendingObject == eObject);
+			}
+		}
+	}
+	
 	/**
 	 * Adds a new equation definition to a category
 	 * @param eqDefinition the equation definition
 	 * @param category the category
 	 */
 	public void addEquationDefinition(EquationDefinition eqDefinition, Category category) {
-		category.getEquationDefinitions().add(eqDefinition);
-		CategoryInstantiator categoryInstantiator = new CategoryInstantiator();
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				Category cat = (Category) ca.getType();
-				if (cat.isExtensionOf(category)) {
-					categoryInstantiator.addEquationForEquationDefinitionIntoCategoryAssignment(ca, eqDefinition);
-				}
+		runInSession(() -> {
+			cancelDeletion(eqDefinition);
+			category.getEquationDefinitions().add(eqDefinition);
+			CategoryInstantiator categoryInstantiator = new CategoryInstantiator();
+			for (CategoryAssignment ca : getExtendingCategoryAssignments(category)) {
+				categoryInstantiator.addEquationForEquationDefinitionIntoCategoryAssignment(ca, eqDefinition);
+				List<Equation> caEquations = ca.getEquationSection().getEquations();
+				indexTree(caEquations.get(caEquations.size() - 1));
 			}
 		});
 	}
 	
+	/**
+	 * Gets all category assignments of categories extending a given category
+	 * @param category the category
+	 * @return the category assignments
+	 */
+	private List<CategoryAssignment> getExtendingCategoryAssignments(Category category) {
+		List<CategoryAssignment> cas = new ArrayList<>();
+		for (Category cat : new ArrayList<>(categoryAssignments.keySet())) {
+			if (cat.isExtensionOf(category)) {
+				cas.addAll(getInstances(categoryAssignments, cat));
+			}
+		}
+		return cas;
+	}
+	
 	/**
 	 * Removes a equation definition from a category and removes the equations
 	 * to the required instances in the model
 	 * @param eqDefinition the equation definition
 	 */
 	public void removeEquationDefinition(EquationDefinition eqDefinition) {
-		List<Equation> toRemove = new ArrayList<>();
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				if (ca.getEquationSection() != null) {
-					for (Equation eq : ca.getEquationSection().getEquations()) {
-						if (eq.getDefinition() != null && eqDefinition.equals(eq.getDefinition())) {
-							toRemove.add(eq);
-						}
-					}
-				}
+		runInSession(() -> {
+			for (Equation eq : getInstances(equations, eqDefinition)) {
+				delete(eq);
 			}
+			equations.remove(eqDefinition);
 		});
-		
-		for (Equation eq : toRemove) {
-			EcoreUtil.delete(eq);
-		}
 	}
 	
 	/**
@@ -137,37 +364,26 @@ public class ConceptMigrationHelper {
 	 * @param newEqDefinition the equation definition
 	 */
 	public void changeEquationDefinition(EquationDefinition oldEqDefinition, EquationDefinition newEqDefinition) {
-		Category category = (Category) oldEqDefinition.eContainer();
-		
-		// Remove the equations defined by the old equation definition
-		List<Equation> toRemove = new ArrayList<>();
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				if (ca.getEquationSection() != null) {
-					for (Equation eq : ca.getEquationSection().getEquations()) {
-						EquationDefinition eqDefinition = eq.getDefinition();
-						if (eqDefinition != null && eqDefinition.equals(oldEqDefinition)) {
-							if (eq.isOverride()) {
-								// If the equation has been overriden
-								// we dont remove it under the users ass
-								// but instead remove the link to the equation definition
-								eq.setDefinition(null);
-							} else {
-								// If the equation is not set to override then 
-								// remove it
-								toRemove.add(eq);
-							}
-						}
-					}
+		runInSession(() -> {
+			Category category = (Category) oldEqDefinition.eContainer();
+			
+			// Remove the equations defined by the old equation definition
+			for (Equation eq : getInstances(equations, oldEqDefinition)) {
+				if (eq.isOverride()) {
+					// If the equation has been overriden
+					// we dont remove it under the users ass
+					// but instead remove the link to the equation definition
+					eq.setDefinition(null);
+				} else {
+					// If the equation is not set to override then 
+					// remove it
+					delete(eq);
 				}
 			}
+			equations.remove(oldEqDefinition);
+			
+			addEquationDefinition(newEqDefinition, category);
 		});
-		for (Equation eq : toRemove) {
-			EcoreUtil.delete(eq);
-		}
-		
-		addEquationDefinition(newEqDefinition, category);
 	}
 	
 	/**
@@ -177,16 +393,14 @@ public class ConceptMigrationHelper {
 	 * @param category the category
 	 */
 	public void addProperty(AProperty property, Category category) {
-		category.getProperties().add(property);
-		CategoryInstantiator categoryInstantiator = new CategoryInstantiator();
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				Category cat = (Category) ca.getType();
-				if (cat.isExtensionOf(category)) {
-					categoryInstantiator.addPropertyInstancesForPropertyIntoCategoryAssignment(ca, property);
-				}
+		runInSession(() -> {
+			cancelDeletion(property);
+			category.getProperties().add(property);
+			CategoryInstantiator categoryInstantiator = new CategoryInstantiator();
+			for (CategoryAssignment ca : getExtendingCategoryAssignments(category)) {
+				categoryInstantiator.addPropertyInstancesForPropertyIntoCategoryAssignment(ca, property);
+				List<APropertyInstance> caPropertyInstances = ca.getPropertyInstances();
+				indexTree(caPropertyInstances.get(caPropertyInstances.size() - 1));
 			}
 		});
 	}
@@ -196,24 +410,14 @@ public class ConceptMigrationHelper {
 	 * @param property the property to remove
 	 */
 	public void removeProperty(AProperty property) {
-		List<APropertyInstance> toRemove = new ArrayList<>();
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				for (APropertyInstance pi : ca.getPropertyInstances()) {
-					if (pi.getType().equals(property)) {
-						toRemove.add(pi);
-					}
-				}
+		runInSession(() -> {
+			for (APropertyInstance pi : getInstances(propertyInstances, property)) {
+				delete(pi);
 			}
+			propertyInstances.remove(property);
+			
+			delete(property);
 		});
-		
-		for (APropertyInstance pi : toRemove) {
-			EcoreUtil.delete(pi);
-		}
-		
-		EcoreUtil.delete(property);
 	}
 	
 	/**
@@ -224,8 +428,10 @@ public class ConceptMigrationHelper {
 	 * @param newCategory the new category
 	 */
 	public void moveProperty(AProperty property, Category newCategory) {
-		removeProperty(property);
-		addProperty(property, newCategory);
+		runInSession(() -> {
+			removeProperty(property);
+			addProperty(property, newCategory);
+		});
 	}
 	
 	/**
@@ -234,19 +440,16 @@ public class ConceptMigrationHelper {
 	 * @param newProperty the new property type
 	 */
 	public void changePropertyType(AProperty oldProperty, AProperty newProperty) {
-		Category category = (Category) oldProperty.eContainer();
-		category.getProperties().remove(oldProperty);
-		category.getProperties().add(newProperty);
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				for (APropertyInstance pi : ca.getPropertyInstances()) {
-					if (pi.getType().equals(oldProperty)) {
-						pi.setType(newProperty);
-					}
-				}
+		runInSession(() -> {
+			Category category = (Category) oldProperty.eContainer();
+			category.getProperties().remove(oldProperty);
+			category.getProperties().add(newProperty);
+			
+			for (APropertyInstance pi : getInstances(propertyInstances, oldProperty)) {
+				pi.setType(newProperty);
+				addToIndex(propertyInstances, newProperty, pi);
 			}
+			propertyInstances.remove(oldProperty);
 		});
 	}
 	
@@ -263,22 +466,14 @@ public class ConceptMigrationHelper {
 	 * @param category the category to remove
 	 */
 	public void removeCategory(Category category) {
-		List<CategoryAssignment> toRemove = new ArrayList<>();
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof CategoryAssignment) {
-				CategoryAssignment ca = (CategoryAssignment) object;
-				if (ca.getType().equals(category)) {
-					toRemove.add(ca);
-				}
+		runInSession(() -> {
+			for (CategoryAssignment ca : getInstances(categoryAssignments, category)) {
+				delete(ca);
 			}
+			categoryAssignments.remove(category);
+			
+			delete(category);
 		});
-		
-		for (CategoryAssignment ca : toRemove) {
-			EcoreUtil.delete(ca);
-		}
-		
-		EcoreUtil.delete(category);
 	}
 	
 	/**
@@ -294,29 +489,21 @@ public class ConceptMigrationHelper {
 	 * @param structuralElement the structural element to be removed
 	 */
 	public void removeStructuralElement(StructuralElement structuralElement) {
-		List<StructuralElementInstance> toRemove = new ArrayList<>();
-		
-		EcoreUtil.getAllContents(repository.getRootEntities(), true).forEachRemaining((object) -> {
-			if (object instanceof StructuralElementInstance) {
-				StructuralElementInstance sei = (StructuralElementInstance) object;
-				if (sei.getType().equals(structuralElement)) {
-					toRemove.add(sei);
+		runInSession(() -> {
+			for (StructuralElementInstance sei : getInstances(structuralElementInstances, structuralElement)) {
+				EObject parent = sei.eContainer();
+				if (parent == null) {
+					repository.getRootEntities().remove(sei);
+				} else if (parent instanceof StructuralElementInstance) {
+					StructuralElementInstance parentSei = (StructuralElementInstance) parent;
+					parentSei.getChildren().remove(sei);
 				}
+				delete(sei);
 			}
+			structuralElementInstances.remove(structuralElement);
+			
+			delete(structuralElement);
 		});
-		
-		for (StructuralElementInstance sei : toRemove) {
-			EObject parent = sei.eContainer();
-			if (parent == null) {
-				repository.getRootEntities().remove(sei);
-			} else if (parent instanceof StructuralElementInstance) {
-				StructuralElementInstance parentSei = (StructuralElementInstance) parent;
-				parentSei.getChildren().remove(sei);
-			}
-			EcoreUtil.delete(sei);
-		}
-		
-		EcoreUtil.delete(structuralElement);
 	}
 	
 	/**
@@ -9,15 +9,12 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.dvlm.json;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.util.EcoreUtil;
 
 import de.dlr.sc.virsat.model.dvlm.general.IUuid;
+import de.dlr.sc.virsat.model.dvlm.general.UuidIndexAdapter;
 
 /**
  * Adapter for a IUuid from/to a UUID
@@ -25,7 +22,6 @@ import de.dlr.sc.virsat.model.dvlm.general.IUuid;
 public class IUuidAdapter extends XmlAdapter<String, IUuid> {
 
 	private ResourceSet resourceSet;
-	private Map<String, IUuid> objectMap = new HashMap<String, IUuid>();
 	
 	public IUuidAdapter() {
 		
@@ -49,17 +45,8 @@ public class IUuidAdapter extends XmlAdapter<String, IUuid> {
 			throw new NullPointerException("No uuid provided");
 		}
 		
-		// Search for the type instance with the same uuid
-		EcoreUtil.getAllContents(resourceSet, true).forEachRemaining(object -> {
-			if (object instanceof IUuid) {
-				IUuid iuuid = (IUuid) object;
-				if (iuuid.getUuid().toString().equals(uuid)) {
-					objectMap.put(uuid, iuuid);
-				}
-			}
-		});
-		
-		IUuid iuuid = objectMap.get(uuid);
+		// Look up the type instance with the same uuid in the index of the resource set
+		IUuid iuuid = UuidIndexAdapter.getUuidIndex(resourceSet).getObject(uuid);
 		
 		if (iuuid == null) {
 			throw new IllegalArgumentException("IUuid with uuid " + uuid + " not found");
@@ -9,6 +9,9 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.extension.funcelectrical.marker;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -68,6 +71,17 @@ public class VirSatFuncelectricalMarkerHelper extends VirSatValidationMarkerHelp
 		}
 		return super.isAssociatedWith(marker, eObject);
 	}
+	
+	@Override
+	protected Set<String> getIdentifierValues(IMarker marker) {
+		// The marker is also associated with the object of the second uuid
+		Set<String> identifierValues = super.getIdentifierValues(marker);
+		String markerSecondIUuid = marker.getAttribute(ATTRIBUTE_SECONDIUUID, SECONDIUUID_EMPTY);
+		if (!SECONDIUUID_EMPTY.equals(markerSecondIUuid)) {
+			identifierValues.add(markerSecondIUuid);
+		}
+		return identifierValues;
+	}
 
 	/**
 	 * Method to attach a FEAValidationProblemMarker to the Resource of the given object
@@ -101,13 +115,8 @@ public class VirSatFuncelectricalMarkerHelper extends VirSatValidationMarkerHelp
 			return null;
 		}
 		
-		IMarker marker = createMarker(ID_FEA_VALIDATION_PROBLEM_MARKER, severity, message, iUuid);
-		try {
-			marker.setAttribute(ATTRIBUTE_SECONDIUUID, (secondIUuid != null) ? secondIUuid.getUuid().toString() : SECONDIUUID_EMPTY);
-		} catch (CoreException e) {
-			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Could not create marker"));
-			return null;
-		}
+		String secondIUuidValue = (secondIUuid != null) ? secondIUuid.getUuid().toString() : SECONDIUUID_EMPTY;
+		IMarker marker = createMarker(ID_FEA_VALIDATION_PROBLEM_MARKER, severity, message, iUuid, Collections.singletonMap(ATTRIBUTE_SECONDIUUID, secondIUuidValue));
 		return marker;
 	}
 	
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.general;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+import de.dlr.sc.virsat.model.dvlm.types.impl.VirSatUuid;
+
+/**
+ * Test cases for the index of UUIDs maintained on a ResourceSet
+ */
+public class UuidIndexAdapterTest {
+
+	private ResourceSet resourceSet;
+	private Resource resource;
+	private UuidIndexAdapter uuidIndex;
+	private StructuralElementInstance sei;
+	private CategoryAssignment ca;
+
+	@Before
+	public void setUp() {
+		sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		ca = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		sei.getCategoryAssignments().add(ca);
+
+		resourceSet = new ResourceSetImpl();
+		resource = new XMIResourceImpl(URI.createURI("test.dvlm"));
+		resourceSet.getResources().add(resource);
+		resource.getContents().add(sei);
+
+		uuidIndex = UuidIndexAdapter.getUuidIndex(resourceSet);
+	}
+
+	@Test
+	public void testGetUuidIndex() {
+		assertTrue("Index is attached to the resource set", resourceSet.eAdapters().contains(uuidIndex));
+		assertSame("Index is shared within the resource set", uuidIndex, UuidIndexAdapter.getUuidIndex(ca));
+
+		StructuralElementInstance seiWithoutResource = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		assertNull("Object without resource set has no index", UuidIndexAdapter.getUuidIndex(seiWithoutResource));
+	}
+
+	@Test
+	public void testGetObject() {
+		assertSame("Found the existing SEI", sei, uuidIndex.getObject(sei.getUuid().toString()));
+		assertSame("Found the contained CA", ca, uuidIndex.getObject(ca.getUuid().toString(), CategoryAssignment.class));
+		assertNull("CA is not an SEI", uuidIndex.getObject(ca.getUuid().toString(), StructuralElementInstance.class));
+		assertNull("Unknown UUID", uuidIndex.getObject(new VirSatUuid().toString()));
+		assertNull("No UUID", uuidIndex.getObject(null));
+	}
+
+	@Test
+	public void testGetObjectAfterModelChange() {
+		CategoryAssignment newCa = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		sei.getCategoryAssignments().add(newCa);
+		assertSame("Added object is indexed", newCa, uuidIndex.getObject(newCa.getUuid().toString()));
+
+		String oldUuid = ca.getUuid().toString();
+		ca.setUuid(new VirSatUuid());
+		assertNull("Old UUID is removed", uuidIndex.getObject(oldUuid));
+		assertSame("New UUID is indexed", ca, uuidIndex.getObject(ca.getUuid().toString()));
+
+		resource.getContents().remove(sei);
+		assertNull("Removed SEI is not indexed anymore", uuidIndex.getObject(sei.getUuid().toString()));
+		assertNull("Contents of removed SEI are not indexed anymore", uuidIndex.getObject(newCa.getUuid().toString()));
+	}
+}
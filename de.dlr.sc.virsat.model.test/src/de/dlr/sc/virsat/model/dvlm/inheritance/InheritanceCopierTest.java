@@ -22,9 +22,12 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -47,6 +50,7 @@ import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.ComposedProper
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.IntProperty;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ArrayInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ComposedPropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ReferencePropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
@@ -1153,6 +1157,113 @@ public class InheritanceCopierTest extends AInheritanceCopierTest {
 		assertTrue("The now invalid CA has been correctly removed", seiEo1RwI.getCategoryAssignments().isEmpty());
 	}
 	
+	@Test
+	public void testUpdateAllInOrderParallel() {
+		final String TEST_VAL_1 = "1234";
+		final String TEST_VAL_2 = "2345";
+		
+		CategoryAssignment ca = attachInterfaceEnd(seiEdRw, "RwIe");
+		setInterfaceEndSn(ca, TEST_VAL_1);
+		
+		InheritanceCopier ic = new InheritanceCopier();
+		ic.setForkJoinPool(new ForkJoinPool(2));
+		
+		ic.updateAllInOrder(repo, new NullProgressMonitor());
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEcRwI));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEcRwII));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEo1RwI));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEo1RwII));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEo2RwI));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEo2RwII));
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiErRwA));
+		assertEquals("Element has correct number of CAs", 1, seiEo1RwI.getCategoryAssignments().size());
+		
+		setInterfaceEndSn(ca, TEST_VAL_2);
+		assertTrue("Now Update is again neccessary", ic.needsUpdateInOrder(seiEo1RwI));
+		
+		Set<CategoryAssignment> updatedCas = ic.updateAllInOrder(repo, new NullProgressMonitor());
+		assertFalse("Update is done", ic.needsUpdateInOrder(seiEo1RwI));
+		assertThat("Updated CAs are handed back", updatedCas, hasItem(seiEo1RwI.getCategoryAssignments().get(0)));
+		assertEquals("Value has been inherited", TEST_VAL_2, getInterfaceEndSn(seiEo1RwI.getCategoryAssignments().get(0)));
+	}
+	
+	@Test
+	public void testUpdateDeleteRootCaInDiamondInheritanceParallel() {
+		CategoryAssignment rootIfe = attachInterfaceEnd(seiEdRw, "IfeRoot");
+		
+		InheritanceCopier ic = new InheritanceCopier();
+		ic.setForkJoinPool(new ForkJoinPool(2));
+		ic.updateAllInOrder(repo, new NullProgressMonitor());
+		
+		assertEquals("Element has correct number of CAs", 1, seiEo1RwI.getCategoryAssignments().size());
+		
+		// Deleting the root CA does not require an update but a cleaning of the inheriting SEIs
+		EcoreUtil.delete(rootIfe);
+		ic.updateAllInOrder(repo, new NullProgressMonitor());
+		
+		assertTrue("Inherited CA has been cleaned", seiEcRwI.getCategoryAssignments().isEmpty());
+		assertTrue("The now invalid CA has been correctly removed", seiEo1RwI.getCategoryAssignments().isEmpty());
+	}
+	
+	/**
+	 * Attaches a CA with a dynamic array of composed properties and a composed property to the definition
+	 * of the reaction wheel and inherits it. Afterwards it adds an array element and replaces the nested CA
+	 * of the composed property in the definition and updates the inheritance again.
+	 * @param forkJoinPool the pool for the parallel mode or null for the serial mode
+	 * @return the number of type instances in each of the inheriting SEIs
+	 */
+	private List<Integer> updateNewNestedTypeInstances(ForkJoinPool forkJoinPool) {
+		Category catNested = CategoriesFactory.eINSTANCE.createCategory();
+		catNested.getProperties().add(PropertydefinitionsFactory.eINSTANCE.createIntProperty());
+		
+		ComposedProperty cpArray = PropertydefinitionsFactory.eINSTANCE.createComposedProperty();
+		cpArray.setType(catNested);
+		cpArray.setArrayModifier(PropertydefinitionsFactory.eINSTANCE.createDynamicArrayModifier());
+		ComposedProperty cpNested = PropertydefinitionsFactory.eINSTANCE.createComposedProperty();
+		cpNested.setType(catNested);
+		
+		Category cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setIsApplicableForAll(true);
+		cat.getProperties().add(cpArray);
+		cat.getProperties().add(cpNested);
+		
+		CategoryInstantiator instantiator = new CategoryInstantiator();
+		CategoryAssignment ca = instantiator.generateInstance(cat, "CaNested");
+		seiEdRw.getCategoryAssignments().add(ca);
+		
+		InheritanceCopier ic = new InheritanceCopier();
+		ic.setForkJoinPool(forkJoinPool);
+		ic.updateAllInOrder(repo, new NullProgressMonitor());
+		
+		ArrayInstance arrayInstance = (ArrayInstance) ca.getPropertyInstances().get(0);
+		arrayInstance.getArrayInstances().add(instantiator.generateInstance(arrayInstance));
+		ComposedPropertyInstance cpi = (ComposedPropertyInstance) ca.getPropertyInstances().get(1);
+		cpi.setTypeInstance(instantiator.generateInstance(catNested, "NewNestedCa"));
+		ic.updateAllInOrder(repo, new NullProgressMonitor());
+		
+		List<Integer> tiCounts = new ArrayList<>();
+		for (StructuralElementInstance sei : Arrays.asList(seiEcRwI, seiEcRwII, seiErRwA, seiEo1RwI, seiEo1RwII, seiEo2RwI, seiEo2RwII)) {
+			tiCounts.add(InheritanceCopier.getAllTypeInstances(sei).size());
+		}
+		return tiCounts;
+	}
+	
+	@Test
+	public void testUpdateAllInOrderParallelEqualsSerial() throws Exception {
+		List<Integer> serialTiCounts = updateNewNestedTypeInstances(null);
+		
+		setUp();
+		List<Integer> parallelTiCounts = updateNewNestedTypeInstances(new ForkJoinPool(2));
+		
+		assertEquals("Both modes inherit the same type instances", serialTiCounts, parallelTiCounts);
+		
+		CategoryAssignment caInherited = seiEo1RwI.getCategoryAssignments().get(0);
+		ArrayInstance arrayInstance = (ArrayInstance) caInherited.getPropertyInstances().get(0);
+		assertEquals("New array element has been inherited", 1, arrayInstance.getArrayInstances().size());
+		ComposedPropertyInstance cpi = (ComposedPropertyInstance) caInherited.getPropertyInstances().get(1);
+		assertEquals("New nested CA has been inherited", "NewNestedCa", cpi.getTypeInstance().getName());
+	}
+	
 	/**
 	 * Test if a type instance link is removed, if there is no
 	 * is no inheritance link between the seis
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.inheritance;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.exception.DVLMInheritanceCycleException;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the graph which orders SEIs by their inheritance
+ */
+public class InheritanceGraphTest {
+
+	private StructuralElementInstance seiEd;
+	private StructuralElementInstance seiEc;
+	private StructuralElementInstance seiEr;
+	private StructuralElementInstance seiEo;
+	private StructuralElementInstance seiOther;
+	private StructuralElement se;
+
+	/**
+	 * Creates an SEI with the given name
+	 * @param name the name of the SEI
+	 * @return the new SEI
+	 */
+	private StructuralElementInstance createSei(String name) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName(name);
+		sei.setType(se);
+		return sei;
+	}
+
+	@Before
+	public void setUp() {
+		se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsCanInheritFromAll(true);
+
+		seiEd = createSei("Ed");
+		seiEc = createSei("Ec");
+		seiEr = createSei("Er");
+		seiEo = createSei("Eo");
+		seiOther = createSei("Other");
+
+		seiEc.getSuperSeis().add(seiEd);
+		seiEr.getSuperSeis().add(seiEd);
+		seiEo.getSuperSeis().add(seiEr);
+		seiEo.getSuperSeis().add(seiEc);
+	}
+
+	@Test
+	public void testGetSuperAndSubSeis() {
+		InheritanceGraph graph = new InheritanceGraph(Arrays.asList(seiEo, seiEc, seiEd));
+
+		assertEquals("Er is not part of the graph", 1, graph.getSuperSeis(seiEo).size());
+		assertThat("Ec is a super SEI of Eo", graph.getSuperSeis(seiEo), hasItems(seiEc));
+		assertThat("Ec is a sub SEI of Ed", graph.getSubSeis(seiEd), hasItems(seiEc));
+		assertTrue("SEIs outside of the graph have no super SEIs", graph.getSuperSeis(seiEr).isEmpty());
+		assertTrue("SEIs outside of the graph have no sub SEIs", graph.getSubSeis(seiEr).isEmpty());
+	}
+
+	@Test
+	public void testGetInheritanceOrder() {
+		InheritanceGraph graph = new InheritanceGraph(Arrays.asList(seiEo, seiOther, seiEc, seiEr, seiEd));
+		List<StructuralElementInstance> ordered = graph.getInheritanceOrder();
+
+		assertEquals("All SEIs are ordered", graph.getSeis().size(), ordered.size());
+		assertThat("All SEIs are ordered", ordered, hasItems(seiEd, seiEc, seiEr, seiEo, seiOther));
+		assertTrue("Definition needs to be updated before Configuration", ordered.indexOf(seiEd) < ordered.indexOf(seiEc));
+		assertTrue("Definition needs to be updated before Realization", ordered.indexOf(seiEd) < ordered.indexOf(seiEr));
+		assertTrue("Configuration needs to be updated before Occurence", ordered.indexOf(seiEc) < ordered.indexOf(seiEo));
+		assertTrue("Realization needs to be updated before Occurence", ordered.indexOf(seiEr) < ordered.indexOf(seiEo));
+	}
+
+	@Test
+	public void testGetInheritanceWaves() {
+		InheritanceGraph graph = new InheritanceGraph(Arrays.asList(seiEo, seiOther, seiEc, seiEr, seiEd));
+		List<List<StructuralElementInstance>> waves = graph.getInheritanceWaves();
+
+		final int EXPECTED_WAVES = 3;
+		assertEquals("SEIs are split by their inheritance depth", EXPECTED_WAVES, waves.size());
+		assertThat("SEIs without super SEIs come first", waves.get(0), hasItems(seiEd, seiOther));
+		assertEquals("SEIs without super SEIs come first", 2, waves.get(0).size());
+		assertThat("Configuration and Realization are independent", waves.get(1), hasItems(seiEc, seiEr));
+		assertEquals("Configuration and Realization are independent", 2, waves.get(1).size());
+		assertThat("Occurence depends on Configuration and Realization", waves.get(2), hasItems(seiEo));
+		assertEquals("Occurence depends on Configuration and Realization", 1, waves.get(2).size());
+	}
+
+	@Test
+	public void testGetInheritanceOrderWithCycle() {
+		seiEd.getSuperSeis().add(seiEc);
+
+		InheritanceGraph graph = new InheritanceGraph(Arrays.asList(seiEo, seiOther, seiEc, seiEr, seiEd));
+		try {
+			graph.getInheritanceOrder();
+			fail("Cyclic inheritance cannot be ordered");
+		} catch (DVLMInheritanceCycleException e) {
+			List<StructuralElementInstance> cycle = e.getCycle();
+			assertEquals("Cycle is closed by its first SEI", 3, cycle.size());
+			assertEquals("Cycle is closed by its first SEI", cycle.get(0), cycle.get(2));
+			assertThat("Only the SEIs forming the cycle are reported", cycle, hasItems(seiEd, seiEc));
+			assertTrue("Message names the cycle", e.getMessage().contains("Ed") && e.getMessage().contains("Ec"));
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.inheritance;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the index of sub SEIs maintained on a ResourceSet
+ */
+public class InheritanceIndexAdapterTest {
+
+	private ResourceSet resourceSet;
+	private Resource resource;
+	private InheritanceIndexAdapter inheritanceIndex;
+	private StructuralElement se;
+
+	private StructuralElementInstance seiEd;
+	private StructuralElementInstance seiEc;
+	private StructuralElementInstance seiEo;
+
+	/**
+	 * Creates an SEI with the given name
+	 * @param name the name of the SEI
+	 * @return the new SEI
+	 */
+	private StructuralElementInstance createSei(String name) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName(name);
+		sei.setType(se);
+		return sei;
+	}
+
+	@Before
+	public void setUp() {
+		se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsCanInheritFromAll(true);
+
+		seiEd = createSei("Ed");
+		seiEc = createSei("Ec");
+		seiEo = createSei("Eo");
+
+		seiEc.getSuperSeis().add(seiEd);
+		seiEo.getSuperSeis().add(seiEc);
+
+		resourceSet = new ResourceSetImpl();
+		inheritanceIndex = new InheritanceIndexAdapter();
+		resourceSet.eAdapters().add(inheritanceIndex);
+
+		resource = new XMIResourceImpl(URI.createURI("test.dvlm"));
+		resourceSet.getResources().add(resource);
+		resource.getContents().add(seiEd);
+		resource.getContents().add(seiEc);
+		resource.getContents().add(seiEo);
+	}
+
+	@Test
+	public void testGetExistingInheritanceIndex() {
+		assertSame("Found the index of the resource set", inheritanceIndex, InheritanceIndexAdapter.getExistingInheritanceIndex(seiEc));
+		assertNull("There is no index for uncontained objects", InheritanceIndexAdapter.getExistingInheritanceIndex(createSei("Uncontained")));
+	}
+
+	@Test
+	public void testGetSubSeis() {
+		assertThat("Ec inherits from Ed", inheritanceIndex.getSubSeis(seiEd), hasItems(seiEc));
+		assertEquals("Ec inherits from Ed", 1, inheritanceIndex.getSubSeis(seiEd).size());
+		assertThat("Eo inherits from Ec", inheritanceIndex.getSubSeis(seiEc), hasItems(seiEo));
+		assertTrue("Nothing inherits from Eo", inheritanceIndex.getSubSeis(seiEo).isEmpty());
+	}
+
+	@Test
+	public void testGetSubSeisAfterChanges() {
+		StructuralElementInstance seiEr = createSei("Er");
+		seiEr.getSuperSeis().add(seiEd);
+		resource.getContents().add(seiEr);
+
+		assertThat("Newly contained SEIs are indexed", inheritanceIndex.getSubSeis(seiEd), hasItems(seiEc, seiEr));
+
+		seiEo.getSuperSeis().add(seiEr);
+		assertThat("Added inheritance links are indexed", inheritanceIndex.getSubSeis(seiEr), hasItems(seiEo));
+
+		seiEo.getSuperSeis().remove(seiEc);
+		assertTrue("Removed inheritance links are removed from the index", inheritanceIndex.getSubSeis(seiEc).isEmpty());
+
+		resource.getContents().remove(seiEc);
+		assertThat("Removed SEIs are removed from the index", inheritanceIndex.getSubSeis(seiEd), hasItems(seiEr));
+		assertEquals("Removed SEIs are removed from the index", 1, inheritanceIndex.getSubSeis(seiEd).size());
+	}
+
+	@Test
+	public void testGetSubSeisInheritanceOrderFromIndex() {
+		InheritanceCopier ic = new InheritanceCopier();
+
+		// The repository is not needed when the sub SEIs are taken from the index
+		List<StructuralElementInstance> subSeis = ic.getSubSeisInheritanceOrder(seiEd, null);
+
+		assertEquals("Found all sub SEIs", 2, subSeis.size());
+		assertTrue("Configuration needs to be updated before Occurence", subSeis.indexOf(seiEc) < subSeis.indexOf(seiEo));
+	}
+}
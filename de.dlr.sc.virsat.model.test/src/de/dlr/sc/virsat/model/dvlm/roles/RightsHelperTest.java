@@ -192,4 +192,25 @@ public class RightsHelperTest {
 		assertFalse("No we cannot write to the object", RightsHelper.hasWritePermission(ca, null));
 		assertFalse("No we cannot write to the object", RightsHelper.hasWritePermission(vpi, null));
 	}
+	
+	@Test
+	public void testHasWritePermissionWithoutDisciplineContainer() {
+		final int TWO_HUNDRED = 200;
+		
+		UserRegistry.getInstance().setUser("TestUser", TWO_HUNDRED);
+		
+		// Objects without a container that can have a discipline are not subject to rights management
+		ValuePropertyInstance vpi = PropertyinstancesFactory.eINSTANCE.createValuePropertyInstance();
+		assertNull("There is no discipline", RightsHelper.getDiscipline(vpi));
+		assertTrue("Yes we can write to the object", RightsHelper.hasSystemUserWritePermission(vpi));
+		
+		// A container without an assigned discipline can only be written by the super user
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		assertNull("There is no discipline", RightsHelper.getDiscipline(sei));
+		assertFalse("No we cannot write to the object", RightsHelper.hasSystemUserWritePermission(sei));
+		
+		UserRegistry.getInstance().setSuperUser(true);
+		assertTrue("Super user can write to the object", RightsHelper.hasSystemUserWritePermission(sei));
+		UserRegistry.getInstance().setSuperUser(false);
+	}
 }
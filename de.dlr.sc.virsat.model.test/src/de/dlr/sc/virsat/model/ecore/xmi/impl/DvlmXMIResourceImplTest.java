@@ -154,6 +154,21 @@ public class DvlmXMIResourceImplTest {
 		assertEquals("Found the correct concept", dynConcept, dynConceptById);
 		assertEquals("Found the correct category", dynCategory, dynCategoryById);
 		assertNull("No Object found", dynNothingById);
+		
+		// Changing the content of the resource has to be reflected by the index of the IDs
+		dynCategory.eSet(nameAttribute, "TCRenamed");
+		EObject dynCategoryByOldId = resource.getEObjectByID("de.dlr.sc.virsat.test.concept.TC"); 
+		EObject dynCategoryByNewId = resource.getEObjectByID("de.dlr.sc.virsat.test.concept.TCRenamed"); 
+		
+		assertNull("Renamed category is not found by its old id", dynCategoryByOldId);
+		assertEquals("Found the renamed category", dynCategory, dynCategoryByNewId);
+		assertEquals("Fragment reflects the new name", "de.dlr.sc.virsat.test.concept.TCRenamed", resource.getURIFragment(dynCategory));
+		
+		EObject dynOtherCategory = categoriesPackage.getEFactoryInstance().create(categoryClass);
+		dynOtherCategory.eSet(nameAttribute, "TCOther");
+		((List<EObject>) dynConcept.eGet(categoriesReference)).add(dynOtherCategory);
+		
+		assertEquals("Found the added category", dynOtherCategory, resource.getEObjectByID("de.dlr.sc.virsat.test.concept.TCOther"));
 	}
 
 	@SuppressWarnings("unchecked")
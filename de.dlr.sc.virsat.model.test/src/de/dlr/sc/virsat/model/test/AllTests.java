@@ -27,8 +27,11 @@ import de.dlr.sc.virsat.model.dvlm.concepts.ConceptTest;
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelperTest;
 import de.dlr.sc.virsat.model.dvlm.exception.DVLMMissingTypeExceptionTest;
 import de.dlr.sc.virsat.model.dvlm.general.IInstanceTest;
+import de.dlr.sc.virsat.model.dvlm.general.UuidIndexAdapterTest;
 import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceCopierIntegrationTest;
 import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceCopierTest;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceGraphTest;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceIndexAdapterTest;
 import de.dlr.sc.virsat.model.dvlm.list.DVLMFilteredContainingResolvingEListTest;
 import de.dlr.sc.virsat.model.dvlm.list.DVLMFilteredResolvingEListTest;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelperTest;
@@ -82,10 +85,13 @@ import junit.framework.JUnit4TestAdapter;
 				DVLMApplicableForCardinalityRuleTest.class,
 				DVLMCopierTest.class,
 				IInstanceTest.class,
+				UuidIndexAdapterTest.class,
 				ResourcePropertyInstanceTest.class,
 				UnitValuePropertyInstanceTest.class,
 				InheritanceCopierTest.class,
 				InheritanceCopierIntegrationTest.class,
+				InheritanceGraphTest.class,
+				InheritanceIndexAdapterTest.class,
 				ATypeInstanceTest.class,
 				UserRegistryTest.class,
 				RightsHelperTest.class,
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+
+/**
+ * This class of errors is thrown in case the inheritance links between
+ * StructuralElementInstances form a cycle. In such a case no valid order
+ * for updating the inheritance can be computed.
+ *
+ */
+public class DVLMInheritanceCycleException extends ADVLMModelException {
+
+	private static final long serialVersionUID = -3218675312487612094L;
+
+	private static final String CYCLIC_INHERITANCE = "Cyclic Dependencies in Inheritance: %s";
+	private static final String CYCLE_SEPARATOR = " -> ";
+
+	private final transient List<StructuralElementInstance> cycle;
+
+	/**
+	 * Constructor to create an exception for the given cycle
+	 * @param cycle the SEIs forming the cycle in inheritance order. The first SEI is repeated at the end of the list.
+	 */
+	public DVLMInheritanceCycleException(List<StructuralElementInstance> cycle) {
+		super(String.format(CYCLIC_INHERITANCE, cycle.stream()
+				.map(StructuralElementInstance::getFullQualifiedInstanceName)
+				.collect(Collectors.joining(CYCLE_SEPARATOR))));
+		this.cycle = Collections.unmodifiableList(new ArrayList<>(cycle));
+	}
+
+	/**
+	 * Call this method to get the SEIs which are involved in the cycle
+	 * @return the SEIs forming the cycle in inheritance order. The first SEI is repeated at the end of the list.
+	 */
+	public List<StructuralElementInstance> getCycle() {
+		return cycle;
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.general;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * This content adapter maintains an index from the UUIDs to all IUuid objects it is attached to.
+ * It is supposed to be added to a ResourceSet. The index is updated from the notifications of the model,
+ * thus finding an object by its UUID does not need to search the whole repository anymore.
+ * The index can be queried from other threads while the model is changed, e.g. by a REST request.
+ */
+public class UuidIndexAdapter extends EContentAdapter {
+
+	private Map<String, IUuid> objects = new ConcurrentHashMap<>();
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.getFeature() == GeneralPackage.Literals.IUUID__UUID && !notification.isTouch()) {
+			IUuid iuuid = (IUuid) notification.getNotifier();
+			Object oldUuid = notification.getOldValue();
+			if (oldUuid != null) {
+				objects.remove(oldUuid.toString(), iuuid);
+			}
+			index(iuuid);
+		}
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target instanceof IUuid) {
+			index((IUuid) target);
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof IUuid) {
+			IUuid iuuid = (IUuid) target;
+			if (iuuid.getUuid() != null) {
+				objects.remove(iuuid.getUuid().toString(), iuuid);
+			}
+		}
+	}
+
+	@Override
+	protected boolean resolve() {
+		// Attaching the index should not load any resources. Objects of
+		// resources which are loaded later on are indexed once they get added.
+		return false;
+	}
+
+	/**
+	 * Adds the given object with its current UUID to the index
+	 * @param iuuid the object to be indexed
+	 */
+	private void index(IUuid iuuid) {
+		if (iuuid.getUuid() != null) {
+			objects.put(iuuid.getUuid().toString(), iuuid);
+		}
+	}
+
+	/**
+	 * Call this method to find the object with the given UUID
+	 * @param uuid the UUID as string
+	 * @return the object with the given UUID or null in case there is none
+	 */
+	public IUuid getObject(String uuid) {
+		if (uuid == null) {
+			return null;
+		}
+		return objects.get(uuid);
+	}
+
+	/**
+	 * Call this method to find the object with the given UUID and type
+	 * @param uuid the UUID as string
+	 * @param type the expected type of the object
+	 * @param <T> the expected type of the object
+	 * @return the object with the given UUID or null in case there is none or it is of another type
+	 */
+	public <T> T getObject(String uuid, Class<T> type) {
+		IUuid iuuid = getObject(uuid);
+		if (type.isInstance(iuuid)) {
+			return type.cast(iuuid);
+		}
+		return null;
+	}
+
+	/**
+	 * Call this method to get the UUID index of a ResourceSet. In case the ResourceSet
+	 * does not have an index yet, a new one is created and attached to it.
+	 * @param resourceSet the ResourceSet of which to get the index
+	 * @return the UUID index of the ResourceSet
+	 */
+	public static UuidIndexAdapter getUuidIndex(ResourceSet resourceSet) {
+		synchronized (resourceSet) {
+			for (Adapter adapter : resourceSet.eAdapters()) {
+				if (adapter instanceof UuidIndexAdapter) {
+					return (UuidIndexAdapter) adapter;
+				}
+			}
+
+			UuidIndexAdapter uuidIndex = new UuidIndexAdapter();
+			resourceSet.eAdapters().add(uuidIndex);
+			return uuidIndex;
+		}
+	}
+
+	/**
+	 * Call this method to get the UUID index of the ResourceSet that contains the given object
+	 * @param eObject an object within the ResourceSet
+	 * @return the UUID index or null in case the object is not contained in a ResourceSet
+	 */
+	public static UuidIndexAdapter getUuidIndex(EObject eObject) {
+		Resource resource = eObject.eResource();
+		if (resource == null || resource.getResourceSet() == null) {
+			return null;
+		}
+		return getUuidIndex(resource.getResourceSet());
+	}
+}
@@ -15,7 +15,11 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
@@ -70,6 +74,19 @@ public class InheritanceCopier implements IInheritanceCopier {
 	
 	private IUserContext userContext;
 	
+	private ForkJoinPool forkJoinPool;
+	
+	/**
+	 * Call this method to enable the parallel mode of {@link #updateAllInOrder(Repository, IProgressMonitor)}.
+	 * In this mode the SEIs are processed in waves of independent SEIs. The read only search for the SEIs
+	 * of the current tree, which may be referenced by the copies of a SEI, is executed on the given pool,
+	 * while the model itself is only changed on the calling thread, thus within its transaction.
+	 * @param forkJoinPool the pool to run the analysis on, or null to process all SEIs one after the other
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
 
 	/**
 	 * Use this method to decide if a the SubSEI needs to be changed because of changes of the superSEI it inherits from
@@ -182,8 +199,19 @@ public class InheritanceCopier implements IInheritanceCopier {
 	 * @param subSei The SEI that should be Updated with its SuperSEIs
 	 * @return a HashSet containing all copied CAs with updated references into the current tree.
 	 */
-	@SuppressWarnings("unchecked")
 	public Set<CategoryAssignment> updateStep(StructuralElementInstance subSei) {
+		return updateStep(subSei, getReferencesInTree(subSei));
+	}
+	
+	/**
+	 * Updates the given SEI as {@link #updateStep(StructuralElementInstance)} does, but with the SEIs
+	 * of the current tree, which may be referenced by the copies, already being known.
+	 * @param subSei The SEI that should be Updated with its SuperSEIs
+	 * @param referencedTreeSeis The SEIs as provided by {@link #getReferencesInTree(StructuralElementInstance)}
+	 * @return a HashSet containing all copied CAs with updated references into the current tree.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Set<CategoryAssignment> updateStep(StructuralElementInstance subSei, Set<StructuralElementInstance> referencedTreeSeis) {
 		boolean hasWritePermission = RightsHelper.hasWritePermission(subSei, userContext);
 	
 		if (hasWritePermission) {
@@ -204,7 +232,7 @@ public class InheritanceCopier implements IInheritanceCopier {
 			// have a link to a superTi, therefore there is nothing to be loaded to the cache.
 			// These objects have to placed into the cache once they are created. This is a an internal
 			// functionality of the ecore copier.
-			Set<StructuralElementInstance> potentiallyReferencedTreeSeis = getReferencesInTree(subSei);
+			Set<StructuralElementInstance> potentiallyReferencedTreeSeis = new HashSet<>(referencedTreeSeis);
 			potentiallyReferencedTreeSeis.add(subSei);
 			
 			EcoreUtil.getAllContents(potentiallyReferencedTreeSeis, true).forEachRemaining((subTreeObj) -> {
@@ -427,24 +455,20 @@ public class InheritanceCopier implements IInheritanceCopier {
 
 		// Put first element to processing list
 		processingList.add(updateSei);
+		inheritanceUnordered.add(updateSei);
 	
 		// Process the current list of nodes until it is empty
 		while (!processingList.isEmpty()) {
 			// get the first element from the processing list and remove it
-			// put it in the unordered list
 			StructuralElementInstance processingSei = processingList.removeFirst();
-			if (!inheritanceUnordered.contains(processingSei)) {
-				inheritanceUnordered.add(processingSei);
-			}
+			
 			// now loop over all elements that the current node inherits from
 			// add them as next nodes to the processing list, but don't add them
-			// if they have already been processed, which means that they are already 
+			// if they have already been found, which means that they are already 
 			// in the list of unordered inheritance nodes
 			processingSei.getSuperSeis().forEach((superSei) -> {
-				if (!inheritanceUnordered.contains(superSei)) {
-					if (!processingList.contains(superSei)) {
-						processingList.add(superSei);
-					}
+				if (inheritanceUnordered.add(superSei)) {
+					processingList.add(superSei);
 				}
 			}); 
 		}
@@ -484,57 +508,34 @@ public class InheritanceCopier implements IInheritanceCopier {
 	 * @return the List of Seis which have to be updated first
 	 */
 	protected List<StructuralElementInstance> orderByInheritance(Set<StructuralElementInstance> unorderedSeis) {
-		
-		List<StructuralElementInstance> orderedList = new ArrayList<>(unorderedSeis.size());
-		LinkedList<StructuralElementInstance> processingList = new LinkedList<>(unorderedSeis);
-		LinkedList<StructuralElementInstance> notUpdatableList = new LinkedList<>();
-		
-		while (!processingList.isEmpty()) {
-			StructuralElementInstance processingSei = processingList.removeFirst();
-			
-			// a sei can be updated once all super seis that are also in unorderedSeis have been updated
-			// i.e. are in orderedList
-			Set<StructuralElementInstance> superSeisOfProcessingSeiInGivenSet = new HashSet<>(processingSei.getSuperSeis());
-			superSeisOfProcessingSeiInGivenSet.retainAll(unorderedSeis);
-			boolean seiCanUpdate = orderedList.containsAll(superSeisOfProcessingSeiInGivenSet);
-			
-			// if it can be updated, the processing SEI is removed from the processing List 
-			// and is added to the end of the orderedList
-			// the List of until now not updatable elements can now be checked again
-			if (seiCanUpdate) {
-				orderedList.add(processingSei);
-				processingList.addAll(notUpdatableList);
-				notUpdatableList.clear();
-			} else {
-				notUpdatableList.add(processingSei);
-			}
-		}
-		
-		// check if the notUpdatableList has Elements which could not be updated at all, 
-		// therefore they are involved in cyclic dependencies or inherit from such elements
-		if (!notUpdatableList.isEmpty()) {
-			throw new RuntimeException("Cyclic Dependencies in Inheritance");
-		}
-		
-		return orderedList;
+		// a sei can be updated once all super seis that are also in unorderedSeis have been updated.
+		// The graph indexes these super seis and orders all seis accordingly. In case of
+		// cyclic dependencies it throws an exception naming the seis which form the cycle.
+		InheritanceGraph inheritanceGraph = new InheritanceGraph(unorderedSeis);
+		return inheritanceGraph.getInheritanceOrder();
 	}
 	
 	/**
 	 * Use this method to find the SEIs which are the sub SEIs of the given one. This method will be needed
 	 * to detect by the Eclipse Builder which SEI needs to be updated depending on which one was currently altered
-	 * and saved by the user.
+	 * and saved by the user. In case the ResourceSet of the given SEI maintains an {@link InheritanceIndexAdapter}
+	 * the sub SEIs are taken from that index, otherwise they are searched in the given repository.
 	 * @param superSei The Super SEI for which to find the SubSeis
 	 * @param repo The Study repository which will be used to look for containments. This parameter may be null.
 	 * @return A List of SEIs representing the Subs
 	 */
 	protected List<StructuralElementInstance> getSubSeisInheritanceOrder(StructuralElementInstance superSei, Repository repo) {
 		List<StructuralElementInstance> subSeis = new LinkedList<>();
+		Set<StructuralElementInstance> foundSeis = new HashSet<>();
 
 		// Put the first SEI to the processing list.
 		LinkedList<StructuralElementInstance> processingList = new LinkedList<>();
 		processingList.add(superSei);
+		foundSeis.add(superSei);
 		
-		Set<StructuralElementInstance> allRepoSeis = getAllRepoSeis(repo);
+		// Only search the repository in case there is no index which knows the sub SEIs
+		InheritanceIndexAdapter inheritanceIndex = InheritanceIndexAdapter.getExistingInheritanceIndex(superSei);
+		Set<StructuralElementInstance> allRepoSeis = (inheritanceIndex == null) ? getAllRepoSeis(repo) : null;
 		
 		// An empty processing list tells us we ware finished with searching
 		while (!processingList.isEmpty()) {
@@ -546,24 +547,15 @@ public class InheritanceCopier implements IInheritanceCopier {
 			// Now check by which one the current SEI is directly referenced. And add these ones
 			// to the processing list. Thus they will be checked for being a super SEI for someone 
 			// else in the next iteration
-			Collection<EStructuralFeature.Setting> usages;
-			// In case we know the Repo search in all SEI containment trees
-			usages = UsageCrossReferencer.find(processingSei, allRepoSeis);
-			
-			// Now find the structural Feature which indicates the InheritsFrom list
-			for (EStructuralFeature.Setting setting : usages) {
-				EStructuralFeature eStructuralFeature = setting.getEStructuralFeature();
-				if (eStructuralFeature == InheritancePackage.Literals.IINHERITS_FROM__SUPER_SEIS) {
-					// Pick the object from where the inheritance comes from
-					EObject eObject = setting.getEObject();
-					// and place it into the processing list, but only if it is not yet in our list of
-					// returned elements. because this will indicate, that we have analyzed it already
-					// additionally it should not be in processing list more than once
-					if (!subSeis.contains(eObject)) {
-						if (!processingList.contains((StructuralElementInstance) eObject)) {
-							processingList.add((StructuralElementInstance) eObject);
-						}
-					}
+			List<StructuralElementInstance> directSubSeis = (inheritanceIndex != null)
+					? inheritanceIndex.getSubSeis(processingSei) : findDirectSubSeis(processingSei, allRepoSeis);
+
+			// and place them into the processing list, but only if they have not been found yet.
+			// because this will indicate, that we have analyzed them already or they are
+			// already waiting in the processing list
+			for (StructuralElementInstance directSubSei : directSubSeis) {
+				if (foundSeis.add(directSubSei)) {
+					processingList.add(directSubSei);
 				}
 			}
 		}
@@ -574,6 +566,31 @@ public class InheritanceCopier implements IInheritanceCopier {
 		
 		return subSeis;
 	}
+	
+	/**
+	 * Use this method to find the SEIs which directly inherit from the given one by searching
+	 * the containment trees of the given SEIs for references to it.
+	 * @param superSei The Super SEI for which to find the direct SubSeis
+	 * @param allRepoSeis The SEIs in which to search for references to the super SEI
+	 * @return A List of SEIs which have the given one as super SEI
+	 */
+	protected List<StructuralElementInstance> findDirectSubSeis(StructuralElementInstance superSei, Set<StructuralElementInstance> allRepoSeis) {
+		List<StructuralElementInstance> directSubSeis = new ArrayList<>();
+		
+		// In case we know the Repo search in all SEI containment trees
+		Collection<EStructuralFeature.Setting> usages = UsageCrossReferencer.find(superSei, allRepoSeis);
+		
+		// Now find the structural Feature which indicates the InheritsFrom list
+		for (EStructuralFeature.Setting setting : usages) {
+			EStructuralFeature eStructuralFeature = setting.getEStructuralFeature();
+			if (eStructuralFeature == InheritancePackage.Literals.IINHERITS_FROM__SUPER_SEIS) {
+				// Pick the object from where the inheritance comes from
+				directSubSeis.add((StructuralElementInstance) setting.getEObject());
+			}
+		}
+		
+		return directSubSeis;
+	}
 
 	
 	/**
@@ -741,6 +758,14 @@ public class InheritanceCopier implements IInheritanceCopier {
 		Set<StructuralElementInstance> allSeis = getAllRepoSeis(repo);
 		subMonitor.worked(1);
 		
+		if (forkJoinPool != null) {
+			// Now split all SEIs into independent waves and update them accordingly
+			List<List<StructuralElementInstance>> inheritanceWaves = new InheritanceGraph(allSeis).getInheritanceWaves();
+			subMonitor.worked(1);
+			
+			return updateAllInWaves(inheritanceWaves, subMonitor.newChild(1));
+		}
+		
 		// Now order all SEIs and update them accordingly
 		List<StructuralElementInstance> inheritanceOrder = orderByInheritance(allSeis);
 		Set<CategoryAssignment> collectedCas = new HashSet<>();
@@ -756,6 +781,45 @@ public class InheritanceCopier implements IInheritanceCopier {
 		return collectedCas;
 	}
 	
+	/**
+	 * Updates the given waves of SEIs one after the other. The SEIs of one wave only depend on SEIs
+	 * of previous waves, which have already been updated. Therefore the read only search for the SEIs
+	 * of the current tree, which may be referenced by the copies, runs in parallel on the fork join pool.
+	 * Every SEI of the wave is then updated on the calling thread with the full update step, exactly
+	 * as in the serial mode.
+	 * @param inheritanceWaves The waves of SEIs as provided by {@link InheritanceGraph#getInheritanceWaves()}
+	 * @param monitor A ProgressMonitor
+	 * @return All Category Assignments which have been copied and or adjusted due to the inheritance
+	 */
+	protected Set<CategoryAssignment> updateAllInWaves(List<List<StructuralElementInstance>> inheritanceWaves, IProgressMonitor monitor) {
+		int seiCount = inheritanceWaves.stream().mapToInt(List::size).sum();
+		SubMonitor loopMonitor = SubMonitor.convert(monitor, seiCount);
+		loopMonitor.beginTask("Inheriting from SEI...", seiCount);
+		
+		// The search reads the RPIs within the trees of the super SEIs. Resolving their
+		// proxies would change the model from within the parallel search. Therefore resolve
+		// the references of the CAs up front, but only of the SEIs which are updated.
+		for (List<StructuralElementInstance> inheritanceWave : inheritanceWaves) {
+			for (StructuralElementInstance sei : inheritanceWave) {
+				sei.getCategoryAssignments().forEach(EcoreUtil::resolveAll);
+			}
+		}
+		
+		Set<CategoryAssignment> collectedCas = new HashSet<>();
+		for (List<StructuralElementInstance> inheritanceWave : inheritanceWaves) {
+			Map<StructuralElementInstance, Set<StructuralElementInstance>> referencedTreeSeis = forkJoinPool.submit(() -> inheritanceWave.parallelStream()
+					.collect(Collectors.toMap(Function.identity(), this::getReferencesInTree))
+			).join();
+			
+			for (StructuralElementInstance processingSei : inheritanceWave) {
+				Set<CategoryAssignment> copiedCas = updateStep(processingSei, referencedTreeSeis.get(processingSei));
+				collectedCas.addAll(copiedCas);
+				loopMonitor.worked(1);
+			}
+		}
+		return collectedCas;
+	}
+	
 	/* (non-Javadoc)
 	 * @see de.dlr.sc.virsat.model.dvlm.inheritance.IInheritanceCopier#updateInOrder(de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance, de.dlr.sc.virsat.model.dvlm.Repository, org.eclipse.core.runtime.IProgressMonitor)
 	 */
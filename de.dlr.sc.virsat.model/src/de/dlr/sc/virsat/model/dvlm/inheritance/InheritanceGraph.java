@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.inheritance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.dlr.sc.virsat.model.dvlm.exception.DVLMInheritanceCycleException;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+
+/**
+ * This class indexes the inheritance relations between a given set of StructuralElementInstances.
+ * The super and sub SEIs of every SEI are stored in an adjacency index which only considers
+ * SEIs of the given set. Based on this index the SEIs can be brought into inheritance order
+ * in linear time with respect to the number of SEIs and inheritance links.
+ *
+ */
+public class InheritanceGraph {
+
+	private final Set<StructuralElementInstance> seis;
+	private final Map<StructuralElementInstance, List<StructuralElementInstance>> superSeis;
+	private final Map<StructuralElementInstance, List<StructuralElementInstance>> subSeis;
+
+	/**
+	 * Constructor of the graph which builds the super/sub adjacency index
+	 * for the given SEIs. Inheritance links to SEIs outside of the given collection are ignored.
+	 * @param seis the SEIs to be indexed
+	 */
+	public InheritanceGraph(Collection<StructuralElementInstance> seis) {
+		this.seis = new LinkedHashSet<>(seis);
+		this.superSeis = new HashMap<>(this.seis.size());
+		this.subSeis = new HashMap<>(this.seis.size());
+
+		for (StructuralElementInstance sei : this.seis) {
+			superSeis.put(sei, new ArrayList<>());
+			subSeis.put(sei, new ArrayList<>());
+		}
+
+		for (StructuralElementInstance sei : this.seis) {
+			for (StructuralElementInstance superSei : sei.getSuperSeis()) {
+				if (this.seis.contains(superSei)) {
+					superSeis.get(sei).add(superSei);
+					subSeis.get(superSei).add(sei);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Call this method to get all SEIs which are part of the graph
+	 * @return an unmodifiable set of the indexed SEIs
+	 */
+	public Set<StructuralElementInstance> getSeis() {
+		return Collections.unmodifiableSet(seis);
+	}
+
+	/**
+	 * Call this method to get the direct super SEIs of the given SEI which are part of the graph
+	 * @param sei the SEI of which to get the super SEIs
+	 * @return an unmodifiable list of the super SEIs or an empty list if the SEI is not part of the graph
+	 */
+	public List<StructuralElementInstance> getSuperSeis(StructuralElementInstance sei) {
+		return Collections.unmodifiableList(superSeis.getOrDefault(sei, Collections.emptyList()));
+	}
+
+	/**
+	 * Call this method to get the direct sub SEIs of the given SEI which are part of the graph
+	 * @param sei the SEI of which to get the sub SEIs
+	 * @return an unmodifiable list of the sub SEIs or an empty list if the SEI is not part of the graph
+	 */
+	public List<StructuralElementInstance> getSubSeis(StructuralElementInstance sei) {
+		return Collections.unmodifiableList(subSeis.getOrDefault(sei, Collections.emptyList()));
+	}
+
+	/**
+	 * Call this method to order all SEIs of the graph in terms of inheritance. Every SEI is placed
+	 * behind all of its super SEIs. The order is computed with Kahn's algorithm.
+	 * @return the list of SEIs in the order they have to be updated
+	 * @throws DVLMInheritanceCycleException in case the inheritance links form a cycle
+	 */
+	public List<StructuralElementInstance> getInheritanceOrder() {
+		List<StructuralElementInstance> orderedSeis = new ArrayList<>(seis.size());
+		Map<StructuralElementInstance, Integer> remainingSuperSeis = new HashMap<>(seis.size());
+		ArrayDeque<StructuralElementInstance> updatableSeis = new ArrayDeque<>();
+
+		// Every SEI without a super SEI in the graph can be updated right away
+		for (StructuralElementInstance sei : seis) {
+			int superSeiCount = superSeis.get(sei).size();
+			remainingSuperSeis.put(sei, superSeiCount);
+			if (superSeiCount == 0) {
+				updatableSeis.add(sei);
+			}
+		}
+
+		// Once an SEI is placed into the order, its sub SEIs have one super SEI less to wait for.
+		// As soon as no super SEI is remaining, the sub SEI can be updated as well.
+		while (!updatableSeis.isEmpty()) {
+			StructuralElementInstance sei = updatableSeis.removeFirst();
+			orderedSeis.add(sei);
+			for (StructuralElementInstance subSei : subSeis.get(sei)) {
+				int superSeiCount = remainingSuperSeis.merge(subSei, -1, Integer::sum);
+				if (superSeiCount == 0) {
+					updatableSeis.add(subSei);
+				}
+			}
+		}
+
+		if (orderedSeis.size() != seis.size()) {
+			throw new DVLMInheritanceCycleException(findCycle(remainingSuperSeis));
+		}
+
+		return orderedSeis;
+	}
+
+	/**
+	 * Call this method to split the SEIs of the graph into waves of SEIs that can be updated
+	 * independently of each other. All super SEIs of an SEI are placed in one of the previous waves.
+	 * Therefore once all previous waves are updated, the SEIs of a wave do not depend on each other.
+	 * @return the list of waves in the order they have to be updated
+	 * @throws DVLMInheritanceCycleException in case the inheritance links form a cycle
+	 */
+	public List<List<StructuralElementInstance>> getInheritanceWaves() {
+		List<List<StructuralElementInstance>> waves = new ArrayList<>();
+		Map<StructuralElementInstance, Integer> waveIndices = new HashMap<>(seis.size());
+		
+		// The inheritance order guarantees that all super SEIs already got their wave assigned
+		for (StructuralElementInstance sei : getInheritanceOrder()) {
+			int waveIndex = 0;
+			for (StructuralElementInstance superSei : superSeis.get(sei)) {
+				waveIndex = Math.max(waveIndex, waveIndices.get(superSei) + 1);
+			}
+			waveIndices.put(sei, waveIndex);
+			
+			if (waveIndex == waves.size()) {
+				waves.add(new ArrayList<>());
+			}
+			waves.get(waveIndex).add(sei);
+		}
+		
+		return waves;
+	}
+
+	/**
+	 * This method identifies one cycle among the SEIs that could not be ordered. Each of these SEIs
+	 * still waits for at least one super SEI which could not be ordered either. Therefore following
+	 * such super SEIs will eventually end up on an SEI which has already been visited.
+	 * @param remainingSuperSeis the number of super SEIs each SEI is still waiting for
+	 * @return the SEIs forming the cycle in inheritance order, the first SEI is repeated at the end
+	 */
+	private List<StructuralElementInstance> findCycle(Map<StructuralElementInstance, Integer> remainingSuperSeis) {
+		StructuralElementInstance sei = null;
+		for (StructuralElementInstance candidate : seis) {
+			if (remainingSuperSeis.get(candidate) > 0) {
+				sei = candidate;
+				break;
+			}
+		}
+
+		Set<StructuralElementInstance> visitedSeis = new LinkedHashSet<>();
+		while (visitedSeis.add(sei)) {
+			for (StructuralElementInstance superSei : superSeis.get(sei)) {
+				if (remainingSuperSeis.get(superSei) > 0) {
+					sei = superSei;
+					break;
+				}
+			}
+		}
+
+		// The visited SEIs are a path against the inheritance direction, which ends up
+		// in the cycle. Cut off the part leading to the cycle and reverse it.
+		LinkedList<StructuralElementInstance> cycle = new LinkedList<>();
+		boolean isInCycle = false;
+		for (StructuralElementInstance visitedSei : visitedSeis) {
+			isInCycle |= visitedSei == sei;
+			if (isInCycle) {
+				cycle.addFirst(visitedSei);
+			}
+		}
+		cycle.addLast(cycle.getFirst());
+
+		return cycle;
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.dvlm.inheritance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+
+/**
+ * This content adapter maintains the inverse of the super SEI references of all
+ * StructuralElementInstances it is attached to. It is supposed to be added to a ResourceSet.
+ * The index is updated from the notifications of the model, thus asking for the direct
+ * sub SEIs of an SEI does not need to search the whole repository anymore.
+ *
+ */
+public class InheritanceIndexAdapter extends EContentAdapter {
+
+	private Map<EObject, Set<StructuralElementInstance>> subSeis = new HashMap<>();
+	private Map<StructuralElementInstance, List<EObject>> indexedSuperSeis = new HashMap<>();
+	private Set<EObject> proxySuperSeis = new HashSet<>();
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		// Any change to the super SEIs, including the resolving of proxies, requires to update the index
+		if (notification.getFeature() == InheritancePackage.Literals.IINHERITS_FROM__SUPER_SEIS) {
+			Object notifier = notification.getNotifier();
+			if (notifier instanceof StructuralElementInstance) {
+				index((StructuralElementInstance) notifier);
+			}
+		}
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target instanceof StructuralElementInstance) {
+			index((StructuralElementInstance) target);
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof StructuralElementInstance) {
+			unindex((StructuralElementInstance) target);
+			
+			// An SEI which is removed from the model, e.g. by unloading its resource, may
+			// still be referenced as super SEI. It has to be resolved again on the next query.
+			if (subSeis.containsKey(target)) {
+				proxySuperSeis.add(target);
+			}
+		}
+	}
+
+	/**
+	 * Updates the index with the current super SEIs of the given SEI. The super SEIs are
+	 * taken from the unresolved list to not trigger any loading of resources. Proxies are
+	 * resolved lazily once the index is queried.
+	 * @param sei the SEI of which to index the super SEIs
+	 */
+	private void index(StructuralElementInstance sei) {
+		unindex(sei);
+
+		List<EObject> superSeis = new ArrayList<>();
+		for (Object superSei : ((InternalEList<?>) sei.getSuperSeis()).basicList()) {
+			EObject superSeiObject = (EObject) superSei;
+			superSeis.add(superSeiObject);
+			subSeis.computeIfAbsent(superSeiObject, key -> new LinkedHashSet<>()).add(sei);
+			if (superSeiObject.eIsProxy()) {
+				proxySuperSeis.add(superSeiObject);
+			}
+		}
+		indexedSuperSeis.put(sei, superSeis);
+	}
+
+	/**
+	 * Removes all entries of the given SEI from the index
+	 * @param sei the SEI of which to remove the super SEIs
+	 */
+	private void unindex(StructuralElementInstance sei) {
+		List<EObject> superSeis = indexedSuperSeis.remove(sei);
+		if (superSeis != null) {
+			for (EObject superSei : superSeis) {
+				Set<StructuralElementInstance> subSeisOfSuperSei = subSeis.get(superSei);
+				if (subSeisOfSuperSei != null) {
+					subSeisOfSuperSei.remove(sei);
+					if (subSeisOfSuperSei.isEmpty()) {
+						subSeis.remove(superSei);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves all super SEIs which are still indexed as proxies. Resolving them on the
+	 * sub SEI triggers a notification which updates the index with the resolved object.
+	 */
+	private void resolveProxies() {
+		if (proxySuperSeis.isEmpty()) {
+			return;
+		}
+		
+		List<StructuralElementInstance> seisWithProxies = new ArrayList<>();
+		for (EObject proxySuperSei : proxySuperSeis) {
+			seisWithProxies.addAll(subSeis.getOrDefault(proxySuperSei, Collections.emptySet()));
+		}
+
+		for (StructuralElementInstance sei : seisWithProxies) {
+			// Accessing the elements of the resolving list resolves them
+			List<StructuralElementInstance> superSeis = sei.getSuperSeis();
+			for (int i = 0; i < superSeis.size(); i++) {
+				superSeis.get(i);
+			}
+		}
+		
+		// Only keep the proxies which could not be resolved and are still referenced
+		proxySuperSeis.removeIf(superSei -> !superSei.eIsProxy() || !subSeis.containsKey(superSei));
+	}
+
+	/**
+	 * Call this method to get all SEIs which directly inherit from the given SEI
+	 * @param superSei the SEI of which to get the sub SEIs
+	 * @return a list of the SEIs which have the given SEI as one of their super SEIs
+	 */
+	public List<StructuralElementInstance> getSubSeis(StructuralElementInstance superSei) {
+		resolveProxies();
+		Set<StructuralElementInstance> subSeisOfSuperSei = subSeis.get(superSei);
+		if (subSeisOfSuperSei == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(subSeisOfSuperSei);
+	}
+
+	/**
+	 * Call this method to get the inheritance index of the ResourceSet that contains the given object
+	 * @param eObject an object within the ResourceSet
+	 * @return the inheritance index or null in case the ResourceSet has no index attached
+	 */
+	public static InheritanceIndexAdapter getExistingInheritanceIndex(EObject eObject) {
+		Resource resource = eObject.eResource();
+		if (resource == null) {
+			return null;
+		}
+
+		ResourceSet resourceSet = resource.getResourceSet();
+		if (resourceSet == null) {
+			return null;
+		}
+
+		for (Adapter adapter : resourceSet.eAdapters()) {
+			if (adapter instanceof InheritanceIndexAdapter) {
+				return (InheritanceIndexAdapter) adapter;
+			}
+		}
+
+		return null;
+	}
+}
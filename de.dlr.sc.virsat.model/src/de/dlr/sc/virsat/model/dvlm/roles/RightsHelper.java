@@ -10,7 +10,6 @@
 package de.dlr.sc.virsat.model.dvlm.roles;
 
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.resource.Resource;
 
 import de.dlr.sc.virsat.model.dvlm.general.IAssignedDiscipline;
 
@@ -30,35 +29,32 @@ public class RightsHelper {
 	 * @param eObj the object which has an discipline 
 	 * @return the discipline of the object
 	 */
-	public static synchronized Discipline getDiscipline(EObject eObj) {
-		EObject currentObject = eObj;
-		while (!(currentObject instanceof IAssignedDiscipline)) {
-			currentObject = currentObject.eContainer();
-			
-			if ((currentObject == null) || (currentObject instanceof Resource)) {
-				return null;
-			}
+	public static Discipline getDiscipline(EObject eObj) {
+		IAssignedDiscipline disciplineContainer = getDisciplineContainer(eObj);
+		if (disciplineContainer == null) {
+			return null;
 		}
 		
-		return ((IAssignedDiscipline) currentObject).getAssignedDiscipline();
+		return disciplineContainer.getAssignedDiscipline();
 	}
 	
 	/**
-	 * This method checks if there exists a parent of eObj that can have a discipline.
-	 * If no such parent exists, we dont need to do any rights management.
+	 * This method finds the closest object in the container hierarchy of eObj that can have a discipline.
+	 * If no such object exists, we dont need to do any rights management. The method only reads the
+	 * containment hierarchy and does not keep any state, thus it can be called concurrently without locking.
 	 * @param eObj the object we check
-	 * @return true iff a parent (or grandparent, etc.) that is an IAssignableDiscipline exists
+	 * @return eObj itself or its closest (grand)parent that is an IAssignedDiscipline, null if there is none
 	 */
-	private static synchronized boolean hasParentThatCanHaveDiscipline(EObject eObj) {
+	private static IAssignedDiscipline getDisciplineContainer(EObject eObj) {
 		EObject currentObject = eObj;
 		while (currentObject != null) {
 			if (currentObject instanceof IAssignedDiscipline) {
-				return true;
+				return (IAssignedDiscipline) currentObject;
 			}
 			currentObject = currentObject.eContainer();
 		}
 		
-		return false;
+		return null;
 	}
 	
 	/**
@@ -69,9 +65,10 @@ public class RightsHelper {
 	 * @param userContext The User Context to be used when checking if the object is writable
 	 * @return true if the object allows writing, else false. Returns false in case userContext is null
 	 */
-	public static synchronized boolean hasWritePermission(EObject eObject, IUserContext userContext) {
+	public static boolean hasWritePermission(EObject eObject, IUserContext userContext) {
 		if (userContext != null) {
-			if (!hasParentThatCanHaveDiscipline(eObject)) {
+			IAssignedDiscipline disciplineContainer = getDisciplineContainer(eObject);
+			if (disciplineContainer == null) {
 				// If in the container hierarchy there exists no object with an assignable discipline
 				// We can skip any further checks to the write permission since we cannot obtain a discipline
 				// Note that this may be different than having an assignable discipline parent but no discipline assigned
@@ -82,7 +79,7 @@ public class RightsHelper {
 			String registeredUserInApplication = userContext.getUserName();
 			
 			// the owner of the command is our object we work on
-			Discipline disc = getDiscipline(eObject);
+			Discipline disc = disciplineContainer.getAssignedDiscipline();
 			if (disc != null) {
 				String userAssignedToDispline = disc.getUser();
 				if (!userAssignedToDispline.isEmpty()) {
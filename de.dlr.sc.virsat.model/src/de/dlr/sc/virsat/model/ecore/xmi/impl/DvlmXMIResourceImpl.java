@@ -9,6 +9,11 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.ecore.xmi.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EAttribute;
@@ -16,6 +21,7 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelper;
@@ -27,7 +33,8 @@ import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
  * the FullQualifiedName of the Concepts which is a derived feature but an ID as well. 
  * The EDAPT Migrator is loading the model using dynamic EMF which does not understand
  * the code behind the FullQualifiedName. accordingly the Resource has to deal with it.
- * to resolve the IDs
+ * to resolve the IDs. The dynamic EObjects are indexed by their FullQualifiedName so that
+ * resolving all IDs of a resource does not need to search the whole resource for each of them.
  * @author fisc_ph
  *
  */
@@ -42,34 +49,87 @@ public class DvlmXMIResourceImpl extends XMIResourceImpl implements Resource {
 		super(uri);
 	}
 
-	@Override
-	protected EObject getEObjectByID(String id) {
+	private Map<String, EObject> fqnToEObjectIndex;
+	private Map<EObject, String> eObjectToFqnIndex;
+	private FqnIndexInvalidator fqnIndexInvalidator;
+
+	/**
+	 * This adapter drops the index of full qualified names as soon as the content of the resource changes.
+	 * It only follows the containment of dynamic EObjects, since only these are part of the index.
+	 * Resources with static EMF content thus only carry the adapter on the resource itself.
+	 */
+	private class FqnIndexInvalidator extends EContentAdapter {
+		
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			if (!notification.isTouch()) {
+				fqnToEObjectIndex = null;
+				eObjectToFqnIndex = null;
+			}
+		}
+		
+		@Override
+		protected void addAdapter(Notifier notifier) {
+			if (notifier instanceof Resource || notifier instanceof DynamicEObjectImpl) {
+				super.addAdapter(notifier);
+			}
+		}
+		
+		@Override
+		protected boolean resolve() {
+			return false;
+		}
+	}
+	
+	/**
+	 * This method builds the index of all dynamic EObjects of type IQualifiedName by their full qualified id.
+	 * The index is only built on demand and it is dropped whenever the content of the resource changes.
+	 */
+	private void buildFqnIndex() {
+		if (fqnIndexInvalidator == null) {
+			fqnIndexInvalidator = new FqnIndexInvalidator();
+			eAdapters().add(fqnIndexInvalidator);
+		}
+		
+		fqnToEObjectIndex = new HashMap<>();
+		eObjectToFqnIndex = new HashMap<>();
+		
 		final EAttribute eAttributeFqn = GeneralPackage.Literals.IQUALIFIED_NAME__FULL_QUALIFIED_NAME;
 		final String fqnEAttributeFqn = VirSatEcoreUtil.getFullQualifiedAttributeName(eAttributeFqn);
+		Map<EClass, Boolean> isQualifiedNameClass = new HashMap<>();
 		
-		for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext();) {			
+		for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext();) {
 			EObject eObject = i.next();
 			// Only handle dynamic EObjects. Static EMF is handled as usual.
 			if (eObject instanceof DynamicEObjectImpl) {
-			    EClass eClass = eObject.eClass();
-			    EAttribute eIDAttribute = eClass.getEIDAttribute();
-		
-			    // if there is no ID attribute nothing more needs to be done
-			    if (eIDAttribute != null) {
-				    String fqnEAttributeCurrent = VirSatEcoreUtil.getFullQualifiedAttributeName(eIDAttribute);
-				    boolean isFqnEattributeFqn = fqnEAttributeCurrent.equals(fqnEAttributeFqn);
-		
-				    // In case the object is of type IQualifedName then we have to act as if we 
-				    // try to get the FQN using the static EMF model
-				    if (isFqnEattributeFqn) {
-				    	String eObjectId = ActiveConceptHelper.getFullQualifiedId(eObject);
-				    	if (id.equals(eObjectId)) {
-				    		return eObject;
-				    	}
-				    }
-			    }
+				// In case the object is of type IQualifedName then we have to act as if we 
+				// try to get the FQN using the static EMF model
+				boolean isFqnEattributeFqn = isQualifiedNameClass.computeIfAbsent(eObject.eClass(), eClass -> {
+					EAttribute eIDAttribute = eClass.getEIDAttribute();
+					return eIDAttribute != null && VirSatEcoreUtil.getFullQualifiedAttributeName(eIDAttribute).equals(fqnEAttributeFqn);
+				});
+				
+				if (isFqnEattributeFqn) {
+					String eObjectId = ActiveConceptHelper.getFullQualifiedId(eObject);
+					// Keep the first object in tree order for duplicated ids as the linear search did
+					fqnToEObjectIndex.putIfAbsent(eObjectId, eObject);
+					eObjectToFqnIndex.put(eObject, eObjectId);
+				}
 			}
 		}
+	}
+
+	@Override
+	protected EObject getEObjectByID(String id) {
+		if (fqnToEObjectIndex == null) {
+			buildFqnIndex();
+		}
+		
+		EObject eObject = fqnToEObjectIndex.get(id);
+		if (eObject != null) {
+			return eObject;
+		}
 		
 		// All other calls are forwarded to the standard XMIResource functionality
 		return super.getEObjectByID(id);
@@ -78,10 +138,19 @@ public class DvlmXMIResourceImpl extends XMIResourceImpl implements Resource {
 	@Override
 	public String getURIFragment(EObject eObject) {
 		if (eObject instanceof DynamicEObjectImpl) {
-		    if (ActiveConceptHelper.isSafeAssignableFrom(GeneralPackage.Literals.IQUALIFIED_NAME, eObject)) {
-		    	String eObjectFqnId = ActiveConceptHelper.getFullQualifiedId(eObject);
-		    	return eObjectFqnId;
-		    }
+			if (ActiveConceptHelper.isSafeAssignableFrom(GeneralPackage.Literals.IQUALIFIED_NAME, eObject)) {
+				if (eObject.eResource() == this) {
+					if (eObjectToFqnIndex == null) {
+						buildFqnIndex();
+					}
+					String eObjectFqnId = eObjectToFqnIndex.get(eObject);
+					if (eObjectFqnId != null) {
+						return eObjectFqnId;
+					}
+				}
+				String eObjectFqnId = ActiveConceptHelper.getFullQualifiedId(eObject);
+				return eObjectFqnId;
+			}
 		}
 	
 		return super.getURIFragment(eObject);
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.dlr.sc.virsat.model.concept.types.util.BeanCategoryAssignmentHelper;
+import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBase;
+import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
+
+/**
+ * Benchmarks wrapping the category assignments of all elements of a study into beans
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BeanCategoryAssignmentHelperBenchmark {
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithReferences(studySize);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Wraps the category assignments of all elements into typed beans
+	 * @param blackhole consumes the beans
+	 */
+	@Benchmark
+	public void getAllBeanCategories(Blackhole blackhole) {
+		BeanCategoryAssignmentHelper helper = new BeanCategoryAssignmentHelper();
+		for (TestStructuralElement element : study.getElements()) {
+			blackhole.consume(helper.getAllBeanCategories(element.getStructuralElementInstance(), TestCategoryBase.class));
+		}
+	}
+
+	/**
+	 * Wraps the category assignments of all elements including the nested ones into typed beans
+	 * @param blackhole consumes the beans
+	 */
+	@Benchmark
+	public void getAllNestedBeanCategories(Blackhole blackhole) {
+		BeanCategoryAssignmentHelper helper = new BeanCategoryAssignmentHelper();
+		for (TestStructuralElement element : study.getElements()) {
+			blackhole.consume(helper.getAllNestedBeanCategories(element.getStructuralElementInstance(), TestCategoryBase.class));
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Entry point for running the JMH benchmarks headless within the OSGi test runtime,
+ * e.g. by the tycho surefire plugin of the benchmark profile. Each benchmark is executed
+ * in a forked VM, so that the JIT profiles of the benchmarks do not pollute each other.
+ * The benchmarks need the workspace and the concept registry of a running platform.
+ * Therefore the forked VMs start the platform with the configuration of the running one
+ * and execute the {@link ForkedBenchmarkApplication}. The run can be adjusted by the
+ * following system properties:
+ * <ul>
+ * <li>virsat.benchmark.include: regular expression of the benchmarks to run</li>
+ * <li>virsat.benchmark.studySizes: comma separated study sizes overriding the default ones</li>
+ * <li>virsat.benchmark.result: the file to which the results are written in JSON format</li>
+ * <li>virsat.benchmark.debug: if true the benchmarks are executed within the running VM
+ * for debugging them. The measured numbers of such a run are not reliable.</li>
+ * </ul>
+ *
+ */
+public class BenchmarkRunner {
+
+	public static final String PROPERTY_INCLUDE = "virsat.benchmark.include";
+	public static final String PROPERTY_STUDY_SIZES = "virsat.benchmark.studySizes";
+	public static final String PROPERTY_RESULT = "virsat.benchmark.result";
+	public static final String PROPERTY_DEBUG = "virsat.benchmark.debug";
+
+	public static final String DEFAULT_INCLUDE = BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+	public static final String DEFAULT_RESULT = "jmh-result.json";
+
+	private static final int WARMUP_ITERATIONS = 5;
+	private static final int MEASUREMENT_ITERATIONS = 10;
+	private static final int ITERATION_SECONDS = 2;
+	private static final int FORKS = 1;
+
+	private static final String OSGI_CONFIGURATION_AREA = "osgi.configuration.area";
+	private static final String OSGI_INSTALL_AREA = "osgi.install.area";
+
+	@Test
+	public void runBenchmarks() throws RunnerException, IOException {
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.include(System.getProperty(PROPERTY_INCLUDE, DEFAULT_INCLUDE))
+				.warmupIterations(WARMUP_ITERATIONS)
+				.warmupTime(TimeValue.seconds(ITERATION_SECONDS))
+				.measurementIterations(MEASUREMENT_ITERATIONS)
+				.measurementTime(TimeValue.seconds(ITERATION_SECONDS))
+				.addProfiler(GCProfiler.class)
+				.shouldFailOnError(true)
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty(PROPERTY_RESULT, DEFAULT_RESULT));
+
+		if (Boolean.getBoolean(PROPERTY_DEBUG)) {
+			options.forks(0);
+		} else {
+			options.forks(FORKS).jvmArgsAppend(getForkedPlatformArgs());
+		}
+
+		String studySizes = System.getProperty(PROPERTY_STUDY_SIZES);
+		if (studySizes != null) {
+			options.param("studySize", studySizes.split(","));
+		}
+
+		Collection<RunResult> results = new Runner(options.build()).run();
+		assertFalse("Benchmarks have been executed", results.isEmpty());
+	}
+
+	/**
+	 * Creates the arguments which start the forked VMs as a platform running the
+	 * {@link ForkedBenchmarkApplication}. JMH appends its own class path and main class
+	 * to these arguments, which end up as arguments of the application. The forked platform
+	 * cascades to the configuration of the running one, so it starts the same bundles, but
+	 * it uses its own configuration and workspace area.
+	 * @return the arguments to be appended to the ones of the forked VM
+	 * @throws IOException if the areas of the forked platform cannot be created
+	 */
+	private static String[] getForkedPlatformArgs() throws IOException {
+		Path forkArea = Files.createTempDirectory("virsat-benchmark");
+		String launcher = System.getProperty("java.class.path");
+
+		List<String> args = new ArrayList<>();
+		args.add("-D" + OSGI_INSTALL_AREA + "=" + System.getProperty(OSGI_INSTALL_AREA));
+		args.add("-Dosgi.sharedConfiguration.area=" + System.getProperty(OSGI_CONFIGURATION_AREA));
+		args.add("-Dosgi.configuration.cascaded=true");
+		args.add("-D" + OSGI_CONFIGURATION_AREA + "=" + forkArea.resolve("configuration").toUri());
+		args.add("-Dosgi.instance.area=" + forkArea.resolve("data").toUri());
+		args.add("-jar");
+		args.add(launcher);
+		args.add("-application");
+		args.add(ForkedBenchmarkApplication.ID);
+		return args.toArray(new String[0]);
+	}
+}
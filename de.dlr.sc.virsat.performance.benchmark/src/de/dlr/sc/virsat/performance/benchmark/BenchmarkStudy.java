@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import de.dlr.sc.virsat.apps.api.external.ModelAPI;
+import de.dlr.sc.virsat.concept.unittest.util.ConceptXmiLoader;
+import de.dlr.sc.virsat.model.dvlm.DVLMFactory;
+import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
+import de.dlr.sc.virsat.model.dvlm.roles.RoleManagement;
+import de.dlr.sc.virsat.model.dvlm.roles.RolesFactory;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBase;
+import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
+import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
+
+/**
+ * This class sets up a project with a synthetic study for the benchmarks. The studies are
+ * generated the same way as in the PerformanceTest, but with a seeded random generator, so
+ * that every run of a benchmark works on the same study.
+ *
+ */
+public class BenchmarkStudy {
+
+	public static final String ID_CONCEPT_TEST = "de.dlr.sc.virsat.model.extension.tests";
+	public static final long DEFAULT_SEED = 42;
+
+	private IProject project;
+	private Concept testConcept;
+	private Repository repository;
+	private VirSatResourceSet resourceSet;
+	private ModelAPI modelAPI;
+	private Random random;
+	private List<TestStructuralElement> elements = new ArrayList<>();
+
+	/**
+	 * Constructor creating a fresh project with an empty repository
+	 * @param projectName the name of the project to be created
+	 * @param seed the seed of the random generator used for generating the study
+	 * @throws CoreException in case the project could not be created
+	 * @throws IOException in case the repository could not be saved
+	 */
+	public BenchmarkStudy(String projectName, long seed) throws CoreException, IOException {
+		random = new Random(seed);
+		UserRegistry.getInstance().setSuperUser(true);
+
+		IWorkspaceRoot wsRoot = ResourcesPlugin.getWorkspace().getRoot();
+		project = wsRoot.getProject(projectName);
+		if (project.exists()) {
+			project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT, null);
+		}
+		project.create(null);
+		project.open(null);
+
+		VirSatProjectCommons projectCommons = new VirSatProjectCommons(project);
+		projectCommons.createProjectStructure(null);
+
+		String conceptXmiPluginPath = ID_CONCEPT_TEST + "/concept/concept.xmi";
+		testConcept = ConceptXmiLoader.loadConceptFromPlugin(conceptXmiPluginPath);
+
+		repository = DVLMFactory.eINSTANCE.createRepository();
+		repository.getActiveConcepts().add(testConcept);
+
+		RoleManagement roleManagement = RolesFactory.eINSTANCE.createRoleManagement();
+		repository.setRoleManagement(roleManagement);
+		resourceSet = VirSatResourceSet.createUnmanagedResourceSet(project);
+		resourceSet.getResources().clear();
+
+		Resource repoResource = resourceSet.getRepositoryResource();
+		repoResource.getContents().clear();
+		repoResource.getContents().add(repository);
+		repoResource.save(Collections.EMPTY_MAP);
+
+		Resource rmResource = resourceSet.getRoleManagementResource();
+		rmResource.getContents().clear();
+		rmResource.getContents().add(roleManagement);
+		rmResource.save(Collections.EMPTY_MAP);
+
+		modelAPI = new ModelAPI() {
+			@Override
+			protected void initialize() {
+				resourceSet = BenchmarkStudy.this.resourceSet;
+			}
+
+			@Override
+			public Repository getRepository() {
+				return repository;
+			}
+
+			@Override
+			public String getCurrentProjectAbsolutePath() {
+				return Paths.get(wsRoot.getLocation().toString(), project.getFullPath().toString()).toString();
+			}
+		};
+	}
+
+	/**
+	 * Creates a new structural element instance including its storage in the project
+	 * @param name the name of the structural element instance
+	 * @return the new structural element instance
+	 * @throws IOException in case the storage could not be created
+	 */
+	public TestStructuralElement createSE(String name) throws IOException {
+		TestStructuralElement se = new TestStructuralElement(testConcept);
+		se.setName(name);
+		modelAPI.createSeiStorage(se);
+		return se;
+	}
+
+	/**
+	 * Creates the root of a random tree having a category assignment with a random value
+	 * @return the root of the tree
+	 * @throws IOException in case the storage could not be created
+	 */
+	private TestStructuralElement createRoot() throws IOException {
+		TestStructuralElement root = createSE("root");
+		TestCategoryBase cat = new TestCategoryBase(testConcept);
+		cat.setTestBaseProperty(random.nextInt());
+		root.add(cat);
+		modelAPI.addRootSei(root);
+		elements.add(root);
+		return root;
+	}
+
+	/**
+	 * Creates a random tree in which every element has a category assignment
+	 * referencing the category assignment of another random element
+	 * @param n size of the tree
+	 * @return all elements of the tree, starting with the root
+	 * @throws IOException in case the storage could not be created
+	 */
+	public List<TestStructuralElement> generateRandomTreeWithReferences(int n) throws IOException {
+		createRoot();
+		for (int i = 0; i < n - 1; i++) {
+			TestStructuralElement newElement = createSE("element_" + (i + 1));
+			TestStructuralElement parent = getRandomElement();
+			parent.add(newElement);
+
+			TestStructuralElement referenceTo = getRandomElement();
+			TestCategoryBase referencedCa = referenceTo.getAll(TestCategoryBase.class).get(0);
+			TestCategoryBase cat = new TestCategoryBase(testConcept);
+			cat.setTestBaseProperty(random.nextInt());
+			cat.setTestReference(referencedCa);
+			newElement.add(cat);
+
+			elements.add(newElement);
+		}
+		return elements;
+	}
+
+	/**
+	 * Creates a random tree in which every element inherits from another random element
+	 * @param n size of the tree
+	 * @return all elements of the tree, starting with the root
+	 * @throws IOException in case the storage could not be created
+	 */
+	public List<TestStructuralElement> generateRandomTreeWithInheritance(int n) throws IOException {
+		createRoot();
+		for (int i = 0; i < n - 1; i++) {
+			TestStructuralElement newElement = createSE("element_" + (i + 1));
+			TestStructuralElement parent = getRandomElement();
+			parent.add(newElement);
+
+			TestStructuralElement inheritsFrom = getRandomElement();
+			newElement.addSuperSei(inheritsFrom);
+
+			elements.add(newElement);
+		}
+		return elements;
+	}
+
+	/**
+	 * Changes the value of the root of the study, which has to be propagated by the inheritance
+	 */
+	public void changeValueInInheritanceRoot() {
+		TestCategoryBase rootCat = elements.get(0).getAll(TestCategoryBase.class).get(0);
+		rootCat.setTestBaseProperty(rootCat.getTestBaseProperty() + 1);
+	}
+
+	/**
+	 * Picks an element of the study using the seeded random generator
+	 * @return a random element of the study
+	 */
+	public TestStructuralElement getRandomElement() {
+		return elements.get(random.nextInt(elements.size()));
+	}
+
+	/**
+	 * Deletes the project of the study
+	 * @throws CoreException in case the project could not be deleted
+	 */
+	public void dispose() throws CoreException {
+		resourceSet.getResources().clear();
+		project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT, null);
+	}
+
+	public IProject getProject() {
+		return project;
+	}
+
+	public Concept getTestConcept() {
+		return testConcept;
+	}
+
+	public Repository getRepository() {
+		return repository;
+	}
+
+	public VirSatResourceSet getResourceSet() {
+		return resourceSet;
+	}
+
+	public ModelAPI getModelAPI() {
+		return modelAPI;
+	}
+
+	public List<TestStructuralElement> getElements() {
+		return elements;
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.EObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
+import de.dlr.sc.virsat.model.calculation.compute.EquationHelper;
+import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.AdditionAndSubtraction;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationIntermediateResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationSection;
+import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
+import de.dlr.sc.virsat.model.dvlm.calculation.MultiplicationAndDivision;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBase;
+import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
+
+/**
+ * Benchmarks building the dependency tree of the equations of a study and evaluating it.
+ * Every element of the study gets an equation which depends on the result of the equation
+ * of its parent element, e.g.: x_child = x_parent * 1.0001 + 1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EquationHelperBenchmark {
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+	private List<Equation> equations;
+	private DependencyTree<EObject> tree;
+	private EquationHelper cachingHelper;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithReferences(studySize);
+
+		equations = new ArrayList<>();
+		Map<StructuralElementInstance, EquationIntermediateResult> results = new HashMap<>();
+		for (TestStructuralElement element : study.getElements()) {
+			StructuralElementInstance sei = element.getStructuralElementInstance();
+			EquationIntermediateResult parentResult = results.get(sei.getParent());
+
+			EquationIntermediateResult result = CalculationFactory.eINSTANCE.createEquationIntermediateResult();
+			result.setName("x_" + equations.size());
+			results.put(sei, result);
+
+			Equation equation = CalculationFactory.eINSTANCE.createEquation();
+			equation.setResult(result);
+			equation.setExpression(parentResult == null ? createNumberLiteral("1") : createExpression(parentResult));
+
+			EquationSection equationSection = CalculationFactory.eINSTANCE.createEquationSection();
+			equationSection.getEquations().add(equation);
+			CategoryAssignment ca = element.getAll(TestCategoryBase.class).get(0).getTypeInstance();
+			ca.setEquationSection(equationSection);
+
+			equations.add(equation);
+		}
+
+		tree = new EquationHelper().createDependencyTree(equations);
+		cachingHelper = new EquationHelper();
+	}
+
+	/**
+	 * Creates the expression: parentResult * 1.0001 + 1
+	 * @param parentResult the result of the equation of the parent
+	 * @return the expression
+	 */
+	private AExpression createExpression(EquationIntermediateResult parentResult) {
+		ReferencedInput input = CalculationFactory.eINSTANCE.createReferencedInput();
+		input.setReference(parentResult);
+
+		MultiplicationAndDivision multiplication = CalculationFactory.eINSTANCE.createMultiplicationAndDivision();
+		multiplication.setLeft(input);
+		multiplication.setOperator(MathOperator.MULTIPLY);
+		multiplication.setRight(createNumberLiteral("1.0001"));
+
+		AdditionAndSubtraction addition = CalculationFactory.eINSTANCE.createAdditionAndSubtraction();
+		addition.setLeft(multiplication);
+		addition.setOperator(MathOperator.PLUS);
+		addition.setRight(createNumberLiteral("1"));
+		return addition;
+	}
+
+	/**
+	 * Creates a number literal
+	 * @param value the value of the literal
+	 * @return the number literal
+	 */
+	private NumberLiteral createNumberLiteral(String value) {
+		NumberLiteral literal = CalculationFactory.eINSTANCE.createNumberLiteral();
+		literal.setValue(value);
+		return literal;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Builds the dependency tree of all equations of the study
+	 * @return the dependency tree
+	 */
+	@Benchmark
+	public DependencyTree<EObject> createDependencyTree() {
+		return new EquationHelper().createDependencyTree(equations);
+	}
+
+	/**
+	 * Evaluates the prebuilt dependency tree of all equations of the study
+	 * @return the problems of the evaluation
+	 */
+	@Benchmark
+	public List<EvaluationProblem> evaluate() {
+		return new EquationHelper().evaluate(tree, UserRegistry.getInstance());
+	}
+
+	/**
+	 * Evaluates the prebuilt dependency tree repeatedly with the same helper,
+	 * which reuses the compiled plans of the equations
+	 * @return the problems of the evaluation
+	 */
+	@Benchmark
+	public List<EvaluationProblem> evaluateWithCompiledPlans() {
+		return cachingHelper.evaluate(tree, UserRegistry.getInstance());
+	}
+}
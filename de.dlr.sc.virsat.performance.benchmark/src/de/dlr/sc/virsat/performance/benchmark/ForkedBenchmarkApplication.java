@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Application started within the VMs forked by the {@link BenchmarkRunner}. JMH launches
+ * its forked main class with the address of the host VM as the last two arguments. This
+ * application hands them to the forked main of JMH, so that the benchmarks are executed
+ * within a fresh platform providing the workspace and the concept registry.
+ *
+ */
+public class ForkedBenchmarkApplication implements IApplication {
+
+	public static final String ID = "de.dlr.sc.virsat.performance.benchmark.forkedMain";
+
+	private static final String JMH_FORKED_MAIN = "org.openjdk.jmh.runner.ForkedMain";
+	private static final int HOST_ARGUMENTS = 2;
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		String[] hostArgs = Arrays.copyOfRange(args, args.length - HOST_ARGUMENTS, args.length);
+
+		// The forked main of JMH is not public API, hence it is called reflectively
+		Method forkedMain = Class.forName(JMH_FORKED_MAIN).getDeclaredMethod("main", String[].class);
+		forkedMain.setAccessible(true);
+		forkedMain.invoke(null, (Object) hostArgs);
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceCopier;
+
+/**
+ * Benchmarks propagating the inheritance through a study with random inheritance links
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InheritanceCopierBenchmark {
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithInheritance(studySize);
+
+		// The initial propagation creates all inherited category assignments
+		new InheritanceCopier().updateAllInOrder(study.getRepository(), new NullProgressMonitor());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Propagates the inheritance through a study which is already up to date
+	 * @return the updated category assignments
+	 */
+	@Benchmark
+	public Set<CategoryAssignment> updateAllInOrder() {
+		return new InheritanceCopier().updateAllInOrder(study.getRepository(), new NullProgressMonitor());
+	}
+
+	/**
+	 * Propagates a changed value of the inheritance root through the whole study
+	 * @return the updated category assignments
+	 */
+	@Benchmark
+	public Set<CategoryAssignment> updateAllInOrderAfterChange() {
+		study.changeValueInInheritanceRoot();
+		return new InheritanceCopier().updateAllInOrder(study.getRepository(), new NullProgressMonitor());
+	}
+}
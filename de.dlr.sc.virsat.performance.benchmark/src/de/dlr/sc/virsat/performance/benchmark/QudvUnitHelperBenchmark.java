@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.dlr.sc.virsat.model.dvlm.qudv.AUnit;
+import de.dlr.sc.virsat.model.dvlm.qudv.SystemOfUnits;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBase;
+import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
+
+/**
+ * Benchmarks converting the values of a study between units of the default system of units
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QudvUnitHelperBenchmark {
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+	private double[] values;
+	private AUnit meterPerSecond;
+	private AUnit kilometerPerHour;
+	private AUnit percent;
+	private AUnit noUnit;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithReferences(studySize);
+
+		List<Double> studyValues = new ArrayList<>();
+		for (TestStructuralElement element : study.getElements()) {
+			studyValues.add((double) element.getAll(TestCategoryBase.class).get(0).getTestBaseProperty());
+		}
+		values = studyValues.stream().mapToDouble(Double::doubleValue).toArray();
+
+		QudvUnitHelper qudvHelper = QudvUnitHelper.getInstance();
+		SystemOfUnits sou = qudvHelper.initializeSystemOfUnits("SystemOfUnits", "SoU", "System of units for benchmarking", "N/A");
+		meterPerSecond = qudvHelper.getUnitByName(sou, "Meter Per Second");
+		kilometerPerHour = qudvHelper.getUnitByName(sou, "Kilometer Per Hour");
+		percent = qudvHelper.getUnitByName(sou, "Percent");
+		noUnit = qudvHelper.getUnitByName(sou, "No Unit");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Converts all values of the study between two derived units
+	 * @return the sum of the converted values
+	 */
+	@Benchmark
+	public double convertDerivedUnits() {
+		QudvUnitHelper qudvHelper = QudvUnitHelper.getInstance();
+		double sum = 0;
+		for (double value : values) {
+			sum += qudvHelper.convertFromSourceToTargetUnit(meterPerSecond, value, kilometerPerHour);
+		}
+		return sum;
+	}
+
+	/**
+	 * Converts all values of the study from percent to no unit
+	 * @return the sum of the converted values
+	 */
+	@Benchmark
+	public double convertDimensionlessUnits() {
+		QudvUnitHelper qudvHelper = QudvUnitHelper.getInstance();
+		double sum = 0;
+		for (double value : values) {
+			sum += qudvHelper.convertFromSourceToTargetUnit(percent, value, noUnit);
+		}
+		return sum;
+	}
+}
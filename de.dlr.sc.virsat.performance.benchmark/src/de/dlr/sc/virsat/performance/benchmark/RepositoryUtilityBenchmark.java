@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.server.dataaccess.RepositoryUtility;
+
+/**
+ * Benchmarks looking up the structural element instances of a study by their UUID
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryUtilityBenchmark {
+
+	private static final int LOOKUP_COUNT = 1000;
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+	private String[] uuids;
+	private int nextUuid;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithReferences(studySize);
+
+		// Look up random SEIs, so that SEIs deep in the tree are hit as well
+		uuids = new String[LOOKUP_COUNT];
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			uuids[i] = study.getRandomElement().getStructuralElementInstance().getUuid().toString();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Finds the next SEI of the prepared lookups
+	 * @return the found SEI
+	 * @throws CoreException in case the lookup fails
+	 */
+	@Benchmark
+	public StructuralElementInstance findSei() throws CoreException {
+		String uuid = uuids[nextUuid];
+		nextUuid = (nextUuid + 1) % LOOKUP_COUNT;
+		return RepositoryUtility.findSei(uuid, study.getRepository());
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
+
+/**
+ * Benchmarks saving and loading all resources of a study in a VirSatResourceSet
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResourceSetBenchmark {
+
+	//CHECKSTYLE:OFF
+	// JMH injects the parameters into public fields
+	@Param({"200", "1000", "5000"})
+	public int studySize;
+	//CHECKSTYLE:ON
+
+	private BenchmarkStudy study;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException, IOException {
+		study = new BenchmarkStudy(getClass().getSimpleName(), BenchmarkStudy.DEFAULT_SEED);
+		study.generateRandomTreeWithReferences(studySize);
+		study.getModelAPI().saveAll();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		study.dispose();
+	}
+
+	/**
+	 * Saves all resources of the study, which includes checking them for changes
+	 * @return the resource set which has been saved
+	 */
+	@Benchmark
+	public VirSatResourceSet saveAllResources() {
+		VirSatResourceSet resourceSet = study.getResourceSet();
+		resourceSet.saveAllResources(new NullProgressMonitor(), UserRegistry.getInstance());
+		return resourceSet;
+	}
+
+	/**
+	 * Loads all resources of the study into a fresh resource set
+	 * @return the number of loaded resources
+	 */
+	@Benchmark
+	public int loadAllDvlmResources() {
+		VirSatResourceSet resourceSet = VirSatResourceSet.createUnmanagedResourceSet(study.getProject());
+		resourceSet.getRepository();
+		resourceSet.loadAllDvlmResources();
+		int loadedResources = resourceSet.getResources().size();
+		resourceSet.getResources().clear();
+		return loadedResources;
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stores the performance results of a reference run as JSON file, so that later
+ * runs can be compared against it.
+ *
+ */
+public class PerformanceBaselineStore {
+
+	private Path path;
+
+	/**
+	 * Constructor
+	 * @param path the path of the JSON file holding the baseline
+	 */
+	public PerformanceBaselineStore(Path path) {
+		this.path = path;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Checks if a baseline has been stored
+	 * @return true if the baseline file exists
+	 */
+	public boolean hasBaseline() {
+		return Files.isRegularFile(path);
+	}
+
+	/**
+	 * Loads the baseline
+	 * @return the results of the baseline
+	 * @throws IOException in case the baseline could not be read
+	 */
+	public PerformanceResults load() throws IOException {
+		return PerformanceResults.read(path);
+	}
+
+	/**
+	 * Replaces the baseline with the given results
+	 * @param results the results to become the new baseline
+	 * @throws IOException in case the baseline could not be written
+	 */
+	public void store(PerformanceResults results) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		results.write(path);
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Compares performance results against a baseline. For every metric contained in both
+ * results the scaling curve is fitted and two kinds of regressions are detected:
+ * <ul>
+ * <li>the growth exponent exceeds the one of the baseline by more than the exponent tolerance,
+ * e.g. a metric which used to scale linearly became super-linear</li>
+ * <li>the time predicted at the reference study size exceeds the one of the baseline
+ * by more than the relative time tolerance</li>
+ * </ul>
+ * Absolute times are only meaningful on the same machine. Therefore the times of the baseline
+ * are scaled by the ratio of the {@link ReferenceBenchmark} times of both runs. If one of the
+ * runs lacks the reference time, the times are only compared if both runs have been measured
+ * in the same machine environment. Otherwise only the growth exponents are compared.
+ * Metrics which have been measured for less than two study sizes cannot be fitted and are skipped.
+ *
+ */
+public class PerformanceComparator {
+
+	public static final double DEFAULT_EXPONENT_TOLERANCE = 0.2;
+	public static final double DEFAULT_TIME_TOLERANCE = 0.5;
+
+	private double exponentTolerance;
+	private double timeTolerance;
+	private int referenceSize;
+
+	/**
+	 * Constructor
+	 * @param exponentTolerance the absolute increase of the growth exponent which is still accepted
+	 * @param timeTolerance the relative increase of the time at the reference size which is still accepted, e.g. 0.5 for 50%
+	 * @param referenceSize the study size at which the absolute times are compared
+	 */
+	public PerformanceComparator(double exponentTolerance, double timeTolerance, int referenceSize) {
+		this.exponentTolerance = exponentTolerance;
+		this.timeTolerance = timeTolerance;
+		this.referenceSize = referenceSize;
+	}
+
+	/**
+	 * Compares the current results against the baseline
+	 * @param baseline the results of the baseline
+	 * @param current the results of the current run
+	 * @return a description of every detected regression, empty if there is none
+	 */
+	public List<String> compare(PerformanceResults baseline, PerformanceResults current) {
+		List<String> regressions = new ArrayList<>();
+		double speedFactor = getSpeedFactor(baseline, current);
+
+		for (String metric : current.getMetrics().keySet()) {
+			SortedMap<Integer, Long> baselineSamples = baseline.getSamples(metric);
+			SortedMap<Integer, Long> currentSamples = current.getSamples(metric);
+			if (baselineSamples.size() < 2 || currentSamples.size() < 2) {
+				continue;
+			}
+
+			ScalingCurve baselineCurve = ScalingCurve.fit(baselineSamples);
+			ScalingCurve currentCurve = ScalingCurve.fit(currentSamples);
+
+			if (currentCurve.getExponent() > baselineCurve.getExponent() + exponentTolerance) {
+				regressions.add(String.format("%s: growth exponent increased from %.3f to %.3f (tolerance %.3f)",
+						metric, baselineCurve.getExponent(), currentCurve.getExponent(), exponentTolerance));
+			}
+
+			if (Double.isNaN(speedFactor)) {
+				continue;
+			}
+
+			double baselineTime = baselineCurve.getTimeAt(referenceSize) * speedFactor;
+			double currentTime = currentCurve.getTimeAt(referenceSize);
+			if (currentTime > baselineTime * (1 + timeTolerance)) {
+				regressions.add(String.format("%s: time at study size %d increased from %.0f ms to %.0f ms (baseline scaled by %.2f, tolerance %.0f%%)",
+						metric, referenceSize, baselineTime, currentTime, speedFactor, timeTolerance * 100));
+			}
+		}
+
+		return regressions;
+	}
+
+	/**
+	 * Gets the factor by which the machine of the current run is slower than the machine of the baseline
+	 * @param baseline the results of the baseline
+	 * @param current the results of the current run
+	 * @return the ratio of the reference times, 1 if both runs lack it but share the same machine environment,
+	 * or NaN if the absolute times of both runs cannot be compared
+	 */
+	public static double getSpeedFactor(PerformanceResults baseline, PerformanceResults current) {
+		double baselineReferenceTime = baseline.getReferenceTime();
+		double currentReferenceTime = current.getReferenceTime();
+		if (baselineReferenceTime > 0 && currentReferenceTime > 0) {
+			return currentReferenceTime / baselineReferenceTime;
+		} else if (current.hasSameMachineEnvironment(baseline)) {
+			return 1;
+		}
+		return Double.NaN;
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for fitting scaling curves and comparing performance results against a baseline
+ */
+public class PerformanceComparatorTest {
+
+	private static final double EPSILON = 0.0001;
+	private static final int[] STUDY_SIZES = {200, 400, 800, 1600};
+	private static final int REFERENCE_SIZE = 1600;
+	private static final double REFERENCE_TIME = 100;
+
+	private static final String METRIC_LINEAR = "linear";
+	private static final String METRIC_QUADRATIC = "quadratic";
+
+	private PerformanceResults baseline;
+	private PerformanceComparator comparator;
+
+	@Before
+	public void setUp() {
+		baseline = new PerformanceResults();
+		baseline.setReferenceTime(REFERENCE_TIME);
+		addSamples(baseline, METRIC_LINEAR, 1, 1);
+		addSamples(baseline, METRIC_QUADRATIC, 2, 1);
+
+		comparator = new PerformanceComparator(PerformanceComparator.DEFAULT_EXPONENT_TOLERANCE, PerformanceComparator.DEFAULT_TIME_TOLERANCE, REFERENCE_SIZE);
+	}
+
+	/**
+	 * Creates the results of a run which measured the given time for the reference benchmark
+	 * @param referenceTime the time of the reference benchmark
+	 * @return the results
+	 */
+	private PerformanceResults createCurrent(double referenceTime) {
+		PerformanceResults current = new PerformanceResults();
+		current.setReferenceTime(referenceTime);
+		return current;
+	}
+
+	/**
+	 * Adds samples following time = coefficient * studySize ^ exponent to the results
+	 * @param results the results to add the samples to
+	 * @param metric the name of the metric
+	 * @param exponent the growth exponent of the samples
+	 * @param coefficient the coefficient of the samples
+	 */
+	private void addSamples(PerformanceResults results, String metric, double exponent, double coefficient) {
+		for (int studySize : STUDY_SIZES) {
+			results.addSample(metric, studySize, Math.round(coefficient * Math.pow(studySize, exponent)));
+		}
+	}
+
+	@Test
+	public void testFitScalingCurve() {
+		ScalingCurve linear = ScalingCurve.fit(baseline.getSamples(METRIC_LINEAR));
+		assertEquals("Linear metric has an exponent of one", 1, linear.getExponent(), EPSILON);
+		assertEquals("Coefficient is the time of a study of size one", 1, linear.getCoefficient(), EPSILON);
+
+		ScalingCurve quadratic = ScalingCurve.fit(baseline.getSamples(METRIC_QUADRATIC));
+		assertEquals("Quadratic metric has an exponent of two", 2, quadratic.getExponent(), EPSILON);
+		assertEquals("Time is predicted for sizes which have not been measured", 3200 * 3200, quadratic.getTimeAt(3200), 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFitScalingCurveWithSingleSample() {
+		PerformanceResults results = new PerformanceResults();
+		results.addSample(METRIC_LINEAR, REFERENCE_SIZE, REFERENCE_SIZE);
+		ScalingCurve.fit(results.getSamples(METRIC_LINEAR));
+	}
+
+	@Test
+	public void testCompareWithoutRegression() {
+		PerformanceResults current = createCurrent(REFERENCE_TIME);
+		addSamples(current, METRIC_LINEAR, 1, 1.2);
+		addSamples(current, METRIC_QUADRATIC, 1, 1);
+
+		assertTrue("Slower within the tolerance and faster metrics are no regression", comparator.compare(baseline, current).isEmpty());
+	}
+
+	@Test
+	public void testCompareWithRegressedExponent() {
+		PerformanceResults current = createCurrent(REFERENCE_TIME);
+		addSamples(current, METRIC_LINEAR, 2, 1.0 / REFERENCE_SIZE);
+
+		List<String> regressions = comparator.compare(baseline, current);
+		assertEquals("Only the growth exponent regressed since the time at the reference size is equal", 1, regressions.size());
+		assertTrue("Regression names the metric", regressions.get(0).startsWith(METRIC_LINEAR + ": growth exponent"));
+	}
+
+	@Test
+	public void testCompareWithRegressedTime() {
+		PerformanceResults current = createCurrent(REFERENCE_TIME);
+		addSamples(current, METRIC_LINEAR, 1, 2);
+
+		List<String> regressions = comparator.compare(baseline, current);
+		assertEquals("Only the time regressed since the growth exponent is equal", 1, regressions.size());
+		assertTrue("Regression names the metric", regressions.get(0).startsWith(METRIC_LINEAR + ": time at study size"));
+	}
+
+	@Test
+	public void testCompareOnSlowerMachine() {
+		PerformanceResults current = createCurrent(2 * REFERENCE_TIME);
+		addSamples(current, METRIC_LINEAR, 1, 2);
+
+		assertEquals("Baseline is scaled by the reference times", 2, PerformanceComparator.getSpeedFactor(baseline, current), EPSILON);
+		assertTrue("Slower times on a slower machine are no regression", comparator.compare(baseline, current).isEmpty());
+	}
+
+	@Test
+	public void testCompareWithoutReferenceTime() {
+		PerformanceResults baselineWithoutReference = PerformanceResults.createForCurrentEnvironment();
+		addSamples(baselineWithoutReference, METRIC_LINEAR, 1, 1);
+
+		PerformanceResults otherMachine = new PerformanceResults();
+		addSamples(otherMachine, METRIC_LINEAR, 1, 2);
+		assertTrue("Times of another machine are not comparable", Double.isNaN(PerformanceComparator.getSpeedFactor(baselineWithoutReference, otherMachine)));
+		assertTrue("Only the growth exponents are compared", comparator.compare(baselineWithoutReference, otherMachine).isEmpty());
+
+		PerformanceResults sameMachine = PerformanceResults.createForCurrentEnvironment();
+		addSamples(sameMachine, METRIC_LINEAR, 1, 2);
+		List<String> regressions = comparator.compare(baselineWithoutReference, sameMachine);
+		assertEquals("Times of the same machine are compared", 1, regressions.size());
+		assertTrue("Regression names the metric", regressions.get(0).startsWith(METRIC_LINEAR + ": time at study size"));
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		Path path = Files.createTempFile("performanceBaseline", ".json");
+		try {
+			PerformanceResults results = PerformanceResults.createForCurrentEnvironment();
+			results.setReferenceTime(REFERENCE_TIME);
+			addSamples(results, METRIC_LINEAR, 1, 1);
+
+			PerformanceBaselineStore store = new PerformanceBaselineStore(path);
+			store.store(results);
+			assertTrue("Baseline has been stored", store.hasBaseline());
+
+			PerformanceResults loaded = store.load();
+			assertEquals("Environment is persisted", results.getEnvironment(), loaded.getEnvironment());
+			assertEquals("Reference time is persisted", REFERENCE_TIME, loaded.getReferenceTime(), EPSILON);
+			assertEquals("Samples are persisted", results.getMetrics(), loaded.getMetrics());
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
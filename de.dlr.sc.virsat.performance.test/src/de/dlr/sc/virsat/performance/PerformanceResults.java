@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonException;
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+/**
+ * Results of a run of the performance tests. For every metric the measured time in
+ * milliseconds is stored per study size. The results also keep the environment they
+ * have been measured in, including the time of the {@link ReferenceBenchmark} measured
+ * in the same session, so that times of different machines can be compared.
+ *
+ */
+public class PerformanceResults {
+
+	public static final String ENVIRONMENT_JAVA_VERSION = "javaVersion";
+	public static final String ENVIRONMENT_JAVA_VENDOR = "javaVendor";
+	public static final String ENVIRONMENT_JAVA_VM_NAME = "javaVmName";
+	public static final String ENVIRONMENT_OS_NAME = "osName";
+	public static final String ENVIRONMENT_OS_ARCH = "osArch";
+	public static final String ENVIRONMENT_OS_VERSION = "osVersion";
+	public static final String ENVIRONMENT_PROCESSORS = "processors";
+	public static final String ENVIRONMENT_MAX_MEMORY = "maxMemory";
+	public static final String ENVIRONMENT_TIMESTAMP = "timestamp";
+	public static final String ENVIRONMENT_REFERENCE_TIME = "referenceTime";
+
+	/**
+	 * The properties of the environment which describe the machine and the JVM
+	 */
+	public static final List<String> MACHINE_ENVIRONMENT = Collections.unmodifiableList(Arrays.asList(
+			ENVIRONMENT_JAVA_VERSION, ENVIRONMENT_JAVA_VENDOR, ENVIRONMENT_JAVA_VM_NAME, ENVIRONMENT_OS_NAME,
+			ENVIRONMENT_OS_ARCH, ENVIRONMENT_OS_VERSION, ENVIRONMENT_PROCESSORS, ENVIRONMENT_MAX_MEMORY));
+
+	private Map<String, String> environment = new TreeMap<>();
+	private Map<String, SortedMap<Integer, Long>> metrics = new TreeMap<>();
+
+	/**
+	 * Creates empty results for the environment of the running VM
+	 * @return the new results
+	 */
+	public static PerformanceResults createForCurrentEnvironment() {
+		PerformanceResults results = new PerformanceResults();
+		results.putEnvironment(ENVIRONMENT_JAVA_VERSION, System.getProperty("java.version"));
+		results.putEnvironment(ENVIRONMENT_JAVA_VENDOR, System.getProperty("java.vendor"));
+		results.putEnvironment(ENVIRONMENT_JAVA_VM_NAME, System.getProperty("java.vm.name"));
+		results.putEnvironment(ENVIRONMENT_OS_NAME, System.getProperty("os.name"));
+		results.putEnvironment(ENVIRONMENT_OS_ARCH, System.getProperty("os.arch"));
+		results.putEnvironment(ENVIRONMENT_OS_VERSION, System.getProperty("os.version"));
+		results.putEnvironment(ENVIRONMENT_PROCESSORS, String.valueOf(Runtime.getRuntime().availableProcessors()));
+		results.putEnvironment(ENVIRONMENT_MAX_MEMORY, String.valueOf(Runtime.getRuntime().maxMemory()));
+		results.putEnvironment(ENVIRONMENT_TIMESTAMP, Instant.now().toString());
+		return results;
+	}
+
+	/**
+	 * Sets a property of the environment the results have been measured in
+	 * @param key the key of the property
+	 * @param value the value of the property
+	 */
+	public void putEnvironment(String key, String value) {
+		environment.put(key, value);
+	}
+
+	public Map<String, String> getEnvironment() {
+		return Collections.unmodifiableMap(environment);
+	}
+
+	/**
+	 * Stores the time of the {@link ReferenceBenchmark} measured in the same session
+	 * @param referenceTime the time of the reference benchmark in milliseconds
+	 */
+	public void setReferenceTime(double referenceTime) {
+		putEnvironment(ENVIRONMENT_REFERENCE_TIME, String.valueOf(referenceTime));
+	}
+
+	/**
+	 * Gets the time of the {@link ReferenceBenchmark} measured in the same session
+	 * @return the time of the reference benchmark in milliseconds or NaN if it has not been measured
+	 */
+	public double getReferenceTime() {
+		String referenceTime = environment.get(ENVIRONMENT_REFERENCE_TIME);
+		return referenceTime == null ? Double.NaN : Double.parseDouble(referenceTime);
+	}
+
+	/**
+	 * Checks if the results have been measured on the same machine and JVM as other results
+	 * @param other the other results
+	 * @return true iff all properties describing the machine and the JVM are known and equal
+	 */
+	public boolean hasSameMachineEnvironment(PerformanceResults other) {
+		for (String key : MACHINE_ENVIRONMENT) {
+			String value = environment.get(key);
+			if (value == null || !value.equals(other.environment.get(key))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a measured time to a metric
+	 * @param metric the name of the metric
+	 * @param studySize the size of the study the time has been measured for
+	 * @param time the measured time in milliseconds
+	 */
+	public synchronized void addSample(String metric, int studySize, long time) {
+		metrics.computeIfAbsent(metric, key -> new TreeMap<>()).put(studySize, time);
+	}
+
+	/**
+	 * Gets the measured times of a metric
+	 * @param metric the name of the metric
+	 * @return the measured times in milliseconds ordered by the study size
+	 */
+	public SortedMap<Integer, Long> getSamples(String metric) {
+		SortedMap<Integer, Long> samples = metrics.get(metric);
+		return samples == null ? Collections.emptySortedMap() : Collections.unmodifiableSortedMap(samples);
+	}
+
+	public Map<String, SortedMap<Integer, Long>> getMetrics() {
+		return Collections.unmodifiableMap(metrics);
+	}
+
+	/**
+	 * Transforms the results into their JSON representation
+	 * @return the results as JSON object
+	 */
+	public JsonObject toJson() {
+		JsonObject jsonEnvironment = new JsonObject();
+		jsonEnvironment.putAll(environment);
+
+		JsonObject jsonMetrics = new JsonObject();
+		for (Entry<String, SortedMap<Integer, Long>> metric : metrics.entrySet()) {
+			JsonArray jsonSamples = new JsonArray();
+			for (Entry<Integer, Long> sample : metric.getValue().entrySet()) {
+				JsonObject jsonSample = new JsonObject();
+				jsonSample.put(PerformanceResultsProperties.STUDY_SIZE.getKey(), sample.getKey());
+				jsonSample.put(PerformanceResultsProperties.TIME.getKey(), sample.getValue());
+				jsonSamples.add(jsonSample);
+			}
+			jsonMetrics.put(metric.getKey(), jsonSamples);
+		}
+
+		JsonObject jsonResults = new JsonObject();
+		jsonResults.put(PerformanceResultsProperties.ENVIRONMENT.getKey(), jsonEnvironment);
+		jsonResults.put(PerformanceResultsProperties.METRICS.getKey(), jsonMetrics);
+		return jsonResults;
+	}
+
+	/**
+	 * Creates results from their JSON representation
+	 * @param jsonResults the results as JSON object
+	 * @return the results
+	 */
+	public static PerformanceResults fromJson(JsonObject jsonResults) {
+		PerformanceResults results = new PerformanceResults();
+
+		JsonObject jsonEnvironment = jsonResults.getMap(PerformanceResultsProperties.ENVIRONMENT);
+		if (jsonEnvironment != null) {
+			for (Entry<String, Object> property : jsonEnvironment.entrySet()) {
+				results.putEnvironment(property.getKey(), String.valueOf(property.getValue()));
+			}
+		}
+
+		JsonObject jsonMetrics = jsonResults.getMap(PerformanceResultsProperties.METRICS);
+		if (jsonMetrics != null) {
+			for (String metric : jsonMetrics.keySet()) {
+				JsonArray jsonSamples = (JsonArray) jsonMetrics.get(metric);
+				for (int i = 0; i < jsonSamples.size(); i++) {
+					JsonObject jsonSample = jsonSamples.getMap(i);
+					int studySize = jsonSample.getInteger(PerformanceResultsProperties.STUDY_SIZE);
+					long time = jsonSample.getLong(PerformanceResultsProperties.TIME);
+					results.addSample(metric, studySize, time);
+				}
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Writes the results as JSON file
+	 * @param path the path of the file to be written
+	 * @throws IOException in case the file could not be written
+	 */
+	public void write(Path path) throws IOException {
+		String json = Jsoner.prettyPrint(toJson().toJson());
+		Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads results from a JSON file
+	 * @param path the path of the file to be read
+	 * @return the results stored in the file
+	 * @throws IOException in case the file could not be read or does not contain results
+	 */
+	public static PerformanceResults read(Path path) throws IOException {
+		String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+		try {
+			Object jsonResults = Jsoner.deserialize(json);
+			if (!(jsonResults instanceof JsonObject)) {
+				throw new IOException("File does not contain performance results: " + path);
+			}
+			return fromJson((JsonObject) jsonResults);
+		} catch (JsonException e) {
+			throw new IOException("Could not parse performance results: " + path, e);
+		}
+	}
+}
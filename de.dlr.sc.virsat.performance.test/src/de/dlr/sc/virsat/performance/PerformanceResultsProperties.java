@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import com.github.cliftonlabs.json_simple.JsonKey;
+
+/**
+ * Defines the keys to access the properties of persisted performance results
+ *
+ */
+public enum PerformanceResultsProperties implements JsonKey {
+	ENVIRONMENT("environment"),
+	METRICS("metrics"),
+
+	STUDY_SIZE("studySize"),
+	TIME("time");
+
+	private final String property;
+
+	/**
+	 * Standard constructor
+	 * @param property the property
+	 */
+	PerformanceResultsProperties(String property) {
+		this.property = property;
+	}
+
+	@Override
+	public String getKey() {
+		return property;
+	}
+
+	@Override
+	public Object getValue() {
+		return null;
+	}
+}
@@ -84,8 +84,28 @@ public class PerformanceTest {
 
 	public static final String ID_CONCEPT_TEST = "de.dlr.sc.virsat.model.extension.tests";
 
+	public static final String METRIC_CREATE = "references.create";
+	public static final String METRIC_INHERITANCE = "references.inheritance";
+	public static final String METRIC_SAVE = "references.save";
+	public static final String METRIC_LOAD = "references.load";
+	public static final String METRIC_INHERITANCE_CREATE = "inheritance.create";
+	public static final String METRIC_INHERITANCE_INITIAL = "inheritance.initialInheritance";
+	public static final String METRIC_INHERITANCE_SECOND = "inheritance.secondInheritance";
+	public static final String METRIC_INHERITANCE_SAVE = "inheritance.save";
+	public static final String METRIC_INHERITANCE_LOAD = "inheritance.load";
+
+	public static final String PROPERTY_BASELINE = "virsat.performance.baseline";
+	public static final String PROPERTY_UPDATE_BASELINE = "virsat.performance.updateBaseline";
+	public static final String PROPERTY_EXPONENT_TOLERANCE = "virsat.performance.exponentTolerance";
+	public static final String PROPERTY_TIME_TOLERANCE = "virsat.performance.timeTolerance";
+	public static final String PROPERTY_REFERENCE_SIZE = "virsat.performance.referenceSize";
+
+	public static final String REPORT_JSON = "performanceTestReport.json";
+	public static final String DEFAULT_BASELINE = "performanceBaseline.json";
+
 	private static List<String> performanceMeasuresNoInheritance;
 	private static List<String> performanceMeasuresInheritance;
+	private static PerformanceResults performanceResults;
 	
 	private ModelAPI modelAPI;
 	private Concept testConcept;
@@ -179,16 +199,56 @@ public class PerformanceTest {
 
 		performanceMeasuresInheritance = new ArrayList<>();
 		performanceMeasuresInheritance.add("Number of elements\tCreate time\tInitial inheritance propagation\tSecond inheritance\tSave time\tLoad time");
+
+		performanceResults = PerformanceResults.createForCurrentEnvironment();
+		performanceResults.setReferenceTime(ReferenceBenchmark.measure());
 	}
 
 	/**
-	 * After the tests are executed write the test timings into a file
+	 * After the tests are executed write the test timings into a file and compare them
+	 * against the baseline. The baseline is taken from the file given by the system property
+	 * virsat.performance.baseline. If the property virsat.performance.updateBaseline is set
+	 * to true, the current timings become the new baseline instead. Absolute times are only
+	 * compared if they can be related to the machine of the baseline, see {@link PerformanceComparator}.
 	 * @throws IOException 
 	 */
 	@AfterClass
 	public static void end() throws IOException {
 		Files.write(Paths.get("performanceTestReport.tsv"), performanceMeasuresNoInheritance);
 		Files.write(Paths.get("performanceTestReportInheritance.tsv"), performanceMeasuresInheritance);
+		performanceResults.write(Paths.get(REPORT_JSON));
+
+		PerformanceBaselineStore baselineStore = new PerformanceBaselineStore(Paths.get(System.getProperty(PROPERTY_BASELINE, DEFAULT_BASELINE)));
+		if (Boolean.getBoolean(PROPERTY_UPDATE_BASELINE)) {
+			baselineStore.store(performanceResults);
+		} else if (baselineStore.hasBaseline()) {
+			PerformanceResults baseline = baselineStore.load();
+			PerformanceComparator comparator = new PerformanceComparator(
+					Double.parseDouble(System.getProperty(PROPERTY_EXPONENT_TOLERANCE, String.valueOf(PerformanceComparator.DEFAULT_EXPONENT_TOLERANCE))),
+					Double.parseDouble(System.getProperty(PROPERTY_TIME_TOLERANCE, String.valueOf(PerformanceComparator.DEFAULT_TIME_TOLERANCE))),
+					Integer.getInteger(PROPERTY_REFERENCE_SIZE, MAX_STUDY_SIZE));
+
+			if (Double.isNaN(PerformanceComparator.getSpeedFactor(baseline, performanceResults))) {
+				System.out.println("Baseline has been measured on another machine without reference time, only growth exponents are compared");
+			}
+			List<String> regressions = comparator.compare(baseline, performanceResults);
+			assertTrue(getRegressionReport(baseline, regressions), regressions.isEmpty());
+		}
+	}
+
+	/**
+	 * Creates a report of the detected regressions naming the environment of the baseline
+	 * @param baseline the results of the baseline
+	 * @param regressions the detected regressions
+	 * @return the report
+	 */
+	private static String getRegressionReport(PerformanceResults baseline, List<String> regressions) {
+		StringBuilder report = new StringBuilder("Performance regressed against the baseline measured on ");
+		report.append(baseline.getEnvironment());
+		for (String regression : regressions) {
+			report.append(System.lineSeparator()).append(regression);
+		}
+		return report.toString();
 	}
 	
 	@Test
@@ -213,6 +273,10 @@ public class PerformanceTest {
 		long timeToSave = timestampAllSaved - timestampInheritance;
 		long timeToLoad = timestampAllLoaded - timestampAllSaved;
 		performanceMeasuresNoInheritance.add(testNumberOfElements + "\t" + timeToCreate + "\t" + timeToDoInheritance + "\t" + timeToSave + "\t" + timeToLoad);
+		performanceResults.addSample(METRIC_CREATE, testNumberOfElements, timeToCreate);
+		performanceResults.addSample(METRIC_INHERITANCE, testNumberOfElements, timeToDoInheritance);
+		performanceResults.addSample(METRIC_SAVE, testNumberOfElements, timeToSave);
+		performanceResults.addSample(METRIC_LOAD, testNumberOfElements, timeToLoad);
 	}
 
 	@Test
@@ -244,6 +308,11 @@ public class PerformanceTest {
 		long timeToSave = timestampAllSaved - timestampBeforeSave;
 		long timeToLoad = timestampAllLoaded - timestampAllSaved;
 		performanceMeasuresInheritance.add(testNumberOfElements + "\t" + timeToCreate + "\t" + timeToDoInitialInheritance + "\t" + timeToDoSecondInheritance + "\t" + timeToSave + "\t" + timeToLoad);
+		performanceResults.addSample(METRIC_INHERITANCE_CREATE, testNumberOfElements, timeToCreate);
+		performanceResults.addSample(METRIC_INHERITANCE_INITIAL, testNumberOfElements, timeToDoInitialInheritance);
+		performanceResults.addSample(METRIC_INHERITANCE_SECOND, testNumberOfElements, timeToDoSecondInheritance);
+		performanceResults.addSample(METRIC_INHERITANCE_SAVE, testNumberOfElements, timeToSave);
+		performanceResults.addSample(METRIC_INHERITANCE_LOAD, testNumberOfElements, timeToLoad);
 	}
 	
 	/**
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Fixed workload which is measured in the same session as the performance tests. It only
+ * uses plain EMF and does not depend on any code of VirSat, so its time only depends on the
+ * machine and the JVM. Dividing the time of the current run by the time stored with the
+ * baseline gives the factor by which the machine of the current run is slower.
+ *
+ */
+public class ReferenceBenchmark {
+
+	private static final int NUMBER_OF_CLASSES = 2000;
+	private static final int NUMBER_OF_ATTRIBUTES = 10;
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASUREMENT_ITERATIONS = 5;
+	private static final double NANOS_PER_MILLI = 1_000_000d;
+
+	/**
+	 * Private constructor
+	 */
+	private ReferenceBenchmark() {
+	}
+
+	/**
+	 * Runs the workload a few times to warm up the JVM and measures it afterwards
+	 * @return the fastest measured time of the workload in milliseconds
+	 */
+	public static double measure() {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			runWorkload();
+		}
+
+		long fastestTime = Long.MAX_VALUE;
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			runWorkload();
+			fastestTime = Math.min(fastestTime, System.nanoTime() - start);
+		}
+		return fastestTime / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Creates a model, copies it and compares the copy with the original
+	 */
+	private static void runWorkload() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("reference");
+		for (int i = 0; i < NUMBER_OF_CLASSES; i++) {
+			EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			eClass.setName("Class" + i);
+			for (int j = 0; j < NUMBER_OF_ATTRIBUTES; j++) {
+				EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+				eAttribute.setName("attribute" + j);
+				eAttribute.setEType(EcorePackage.Literals.EINT);
+				eClass.getEStructuralFeatures().add(eAttribute);
+			}
+			ePackage.getEClassifiers().add(eClass);
+		}
+
+		EPackage copy = EcoreUtil.copy(ePackage);
+		if (!EcoreUtil.equals(ePackage, copy)) {
+			throw new IllegalStateException("Copy of the reference model differs from the original");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.performance;
+
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+/**
+ * Scaling curve of a metric in the form time = coefficient * studySize ^ exponent.
+ * The curve is fitted by a least squares regression in log-log space. An exponent
+ * of about 1 means that the metric scales linearly with the size of the study,
+ * an exponent of about 2 means that it scales quadratically.
+ *
+ */
+public class ScalingCurve {
+
+	private final double exponent;
+	private final double coefficient;
+
+	/**
+	 * Constructor for a known scaling curve
+	 * @param exponent the growth exponent of the curve
+	 * @param coefficient the time of a study of size one
+	 */
+	public ScalingCurve(double exponent, double coefficient) {
+		this.exponent = exponent;
+		this.coefficient = coefficient;
+	}
+
+	/**
+	 * Fits the scaling curve to the measured times of a metric. Times below one
+	 * millisecond are treated as one millisecond, since they cannot be represented
+	 * in log space and are below the resolution of the measurement anyways.
+	 * @param samples the measured times in milliseconds by study size
+	 * @return the fitted curve
+	 * @throws IllegalArgumentException if less than two different study sizes have been measured
+	 */
+	public static ScalingCurve fit(SortedMap<Integer, Long> samples) {
+		if (samples.size() < 2) {
+			throw new IllegalArgumentException("Fitting a scaling curve needs at least two study sizes but got " + samples.size());
+		}
+
+		int n = samples.size();
+		double sumX = 0;
+		double sumY = 0;
+		double sumXX = 0;
+		double sumXY = 0;
+		for (Entry<Integer, Long> sample : samples.entrySet()) {
+			double x = Math.log(sample.getKey());
+			double y = Math.log(Math.max(1, sample.getValue()));
+			sumX += x;
+			sumY += y;
+			sumXX += x * x;
+			sumXY += x * y;
+		}
+
+		double exponent = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+		double logCoefficient = (sumY - exponent * sumX) / n;
+		return new ScalingCurve(exponent, Math.exp(logCoefficient));
+	}
+
+	public double getExponent() {
+		return exponent;
+	}
+
+	public double getCoefficient() {
+		return coefficient;
+	}
+
+	/**
+	 * Gets the time predicted by the curve for a given study size
+	 * @param studySize the size of the study
+	 * @return the predicted time in milliseconds
+	 */
+	public double getTimeAt(int studySize) {
+		return coefficient * Math.pow(studySize, exponent);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.3g * n^%.3f", coefficient, exponent);
+	}
+}
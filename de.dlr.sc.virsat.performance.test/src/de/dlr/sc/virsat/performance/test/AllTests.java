@@ -13,6 +13,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import de.dlr.sc.virsat.performance.PerformanceComparatorTest;
 import de.dlr.sc.virsat.performance.PerformanceTest;
 import junit.framework.JUnit4TestAdapter;
 /**
@@ -22,7 +23,8 @@ import junit.framework.JUnit4TestAdapter;
  */
 @RunWith(Suite.class)
 
-@SuiteClasses({PerformanceTest.class })
+@SuiteClasses({PerformanceComparatorTest.class,
+				PerformanceTest.class })
 
 public class AllTests {
 
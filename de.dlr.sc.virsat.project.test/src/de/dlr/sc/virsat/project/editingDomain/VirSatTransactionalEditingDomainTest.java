@@ -34,10 +34,12 @@ import java.util.Set;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.edit.command.AddCommand;
 import org.eclipse.emf.edit.command.CopyToClipboardCommand;
 import org.eclipse.emf.edit.command.CutToClipboardCommand;
@@ -45,6 +47,7 @@ import org.eclipse.emf.edit.command.DeleteCommand;
 import org.eclipse.emf.edit.command.PasteFromClipboardCommand;
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.RunnableWithResult;
+import org.eclipse.emf.workspace.util.WorkspaceSynchronizer;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -154,6 +157,37 @@ public class VirSatTransactionalEditingDomainTest extends AProjectTestCase {
 		assertEquals("Event has been fired as often as expected", EXPECTED_4_CHANGES, eventCounter.counter);
 	}
 	
+	@Test
+	public void testSaveAllPipelined() {
+		Resource rmResource = rs.getRoleManagementResource();
+		Resource umResource = rs.getUnitManagementResource();
+		RoleManagement rm = rs.getRoleManagement();
+		long umModificationStamp = WorkspaceSynchronizer.getFile(umResource).getModificationStamp();
+		
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		Command cmd = AddCommand.create(editingDomain, rm, RolesPackage.Literals.ROLE_MANAGEMENT__DISCIPLINES, discipline);
+		editingDomain.getCommandStack().execute(cmd);
+		VirSatTransactionalEditingDomain.waitForFiringOfAccumulatedResourceChangeEvents();
+		
+		ResourceEventCounter eventCounter = new ResourceEventCounter();
+		VirSatTransactionalEditingDomain.addResourceEventListener(eventCounter);
+		
+		editingDomain.saveAll();
+		VirSatTransactionalEditingDomain.waitForFiringOfAccumulatedResourceChangeEvents();
+		
+		assertEquals("Saved resources are notified at once", 1, eventCounter.counter);
+		assertThat("The modified resource has been saved", eventCounter.triggeredResources, hasItem(rmResource));
+		assertFalse("The unmodified resource has not been saved", eventCounter.triggeredResources.contains(umResource));
+		assertFalse("The resource is stored, therefore it is not dirty", editingDomain.isDirty(rmResource));
+		assertEquals("The unmodified resource has not been written", umModificationStamp, WorkspaceSynchronizer.getFile(umResource).getModificationStamp());
+		
+		Resource rmResourceOnDisk = new ResourceSetImpl().getResource(rmResource.getURI(), true);
+		RoleManagement rmOnDisk = (RoleManagement) rmResourceOnDisk.getContents().get(0);
+		assertEquals("The new discipline has been written", rm.getDisciplines().size(), rmOnDisk.getDisciplines().size());
+		
+		VirSatTransactionalEditingDomain.removeResourceEventListener(eventCounter);
+	}
+	
 	@Test
 	public void testSaveResource() {
 		Resource rmResource = rs.getRoleManagementResource();
@@ -495,6 +529,21 @@ public class VirSatTransactionalEditingDomainTest extends AProjectTestCase {
 		assertNull("Result is null", resultNull);
 	}
 	
+	@Test
+	public void testRunExclusiveInProject() throws InterruptedException {
+		Object expectedObject = new Object();
+		
+		Object result = editingDomain.runExclusiveInProject(new RunnableWithResult.Impl<Object>() {
+			@Override
+			public void run() {
+				assertEquals("Only the project is locked", testProject, Job.getJobManager().currentRule());
+				setResult(expectedObject);
+			}
+		});
+	
+		assertEquals("Got correct object", expectedObject, result);
+	}
+	
 	@Test
 	public void testGetUserName() {
 		// Usually the current SystemUser should be handed back
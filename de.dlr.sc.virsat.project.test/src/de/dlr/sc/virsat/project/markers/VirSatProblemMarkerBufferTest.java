@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.markers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerBuffer.MarkerRequest;
+import de.dlr.sc.virsat.project.test.ATestCase;
+
+/**
+ * Test class for the VirSatProblemMarkerBuffer
+ */
+public class VirSatProblemMarkerBufferTest extends ATestCase {
+
+	private VirSatProblemMarkerHelper vpmh;
+
+	@Override
+	public void setUp() {
+		vpmh = new VirSatProblemMarkerHelper();
+		super.setUp();
+	}
+
+	@Test
+	public void testBuffering() {
+		assertFalse("Buffering is not started", VirSatProblemMarkerBuffer.isBuffering());
+
+		VirSatProblemMarkerBuffer.startBuffering();
+		assertTrue("Buffering is started", VirSatProblemMarkerBuffer.isBuffering());
+		IMarker marker = vpmh.createVirSatMarker(IMarker.SEVERITY_WARNING, "This is a marker on the SeiContained", seiContained);
+		List<MarkerRequest> markerRequests = VirSatProblemMarkerBuffer.stopBuffering();
+
+		assertFalse("Buffering is stopped", VirSatProblemMarkerBuffer.isBuffering());
+		assertNull("Marker got recorded instead of created", marker);
+		assertTrue("Marker did not get created yet", vpmh.getAllMarkers(seiContained).isEmpty());
+		assertEquals("Marker got recorded", 1, markerRequests.size());
+		assertEquals("Marker is recorded for the resource of the SEI", fileSeiContained, markerRequests.get(0).getResource());
+
+		VirSatProblemMarkerBuffer.createMarkers(markerRequests, null);
+
+		Set<IMarker> markers = vpmh.getAllMarkers(seiContained);
+		assertEquals("Marker got created", 1, markers.size());
+		IMarker createdMarker = markers.iterator().next();
+		assertEquals("Marker has the message", "This is a marker on the SeiContained", createdMarker.getAttribute(IMarker.MESSAGE, ""));
+		assertEquals("Marker has the severity", IMarker.SEVERITY_WARNING, createdMarker.getAttribute(IMarker.SEVERITY, -1));
+	}
+
+	@Test
+	public void testStopBufferingWithoutStart() {
+		assertTrue("Nothing got recorded", VirSatProblemMarkerBuffer.stopBuffering().isEmpty());
+
+		IMarker marker = vpmh.createVirSatMarker(IMarker.SEVERITY_WARNING, "This is a marker on the SeiContained", seiContained);
+		assertTrue("Marker got created directly", marker.exists());
+	}
+}
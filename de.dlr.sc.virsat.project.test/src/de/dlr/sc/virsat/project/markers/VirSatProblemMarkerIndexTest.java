@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.markers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.project.test.ATestCase;
+
+/**
+ * Test class for the index of the VirSatProblemMarkers
+ */
+public class VirSatProblemMarkerIndexTest extends ATestCase {
+
+	private VirSatProblemMarkerHelper vpmh = new VirSatProblemMarkerHelper();
+
+	@Test
+	public void testGetMarkers() throws CoreException {
+		VirSatProblemMarkerIndex markerIndex = VirSatProblemMarkerIndex.getInstance();
+		String seiUuid = seiContained.getUuid().toString();
+		assertTrue("No markers yet", markerIndex.getMarkers(fileSeiContained, seiUuid).isEmpty());
+
+		// Markers created after the resource has been indexed are added from the marker deltas
+		IMarker markerSei = vpmh.createVirSatMarker(IMarker.SEVERITY_WARNING, "This is a marker on the SeiContained", seiContained);
+		IMarker markerCa = vpmh.createVirSatMarker(IMarker.SEVERITY_WARNING, "This is a marker on the Ca1OfContainedSei", ca1OfContainedSei);
+		assertEquals("Marker got indexed", Collections.singleton(markerSei), markerIndex.getMarkers(fileSeiContained, seiUuid));
+		assertEquals("Marker got indexed", Collections.singleton(markerCa), markerIndex.getMarkers(fileSeiContained, ca1OfContainedSei.getUuid().toString()));
+
+		markerSei.delete();
+		assertTrue("Marker got removed from the index", markerIndex.getMarkers(fileSeiContained, seiUuid).isEmpty());
+		assertEquals("Other marker is still indexed", Collections.singleton(markerCa), vpmh.getAllMarkers(ca1OfContainedSei));
+	}
+
+	@Test
+	public void testGetMarkersWithinWorkspaceOperation() throws CoreException {
+		// Warm up the index for the resource
+		assertTrue("No markers yet", vpmh.getAllMarkers(seiContained).isEmpty());
+
+		AtomicReference<IMarker> markerSei = new AtomicReference<>();
+		AtomicReference<Set<IMarker>> markers = new AtomicReference<>();
+		project.getWorkspace().run(monitor -> {
+			markerSei.set(vpmh.createVirSatMarker(IMarker.SEVERITY_WARNING, "This is a marker on the SeiContained", seiContained));
+			assertFalse("Marker deltas are not broadcast yet", VirSatProblemMarkerIndex.isUpToDate());
+			markers.set(vpmh.getAllMarkers(seiContained));
+		}, project, 0, null);
+
+		assertEquals("Marker created in the operation is found", Collections.singleton(markerSei.get()), markers.get());
+		assertEquals("Marker is found after the operation", Collections.singleton(markerSei.get()), vpmh.getAllMarkers(seiContained));
+	}
+
+	@Test
+	public void testIsUpToDateDuringBuild() {
+		assertTrue("No build is running", VirSatProblemMarkerIndex.isUpToDate());
+
+		VirSatProblemMarkerIndex.buildStarted();
+		try {
+			assertFalse("Markers changed by the build are not broadcast yet", VirSatProblemMarkerIndex.isUpToDate());
+		} finally {
+			VirSatProblemMarkerIndex.buildFinished();
+		}
+
+		assertTrue("Build has finished", VirSatProblemMarkerIndex.isUpToDate());
+	}
+}
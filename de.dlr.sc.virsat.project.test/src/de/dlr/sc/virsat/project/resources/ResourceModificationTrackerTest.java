@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.workspace.util.WorkspaceSynchronizer;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.roles.Discipline;
+import de.dlr.sc.virsat.model.dvlm.roles.RoleManagement;
+import de.dlr.sc.virsat.model.dvlm.roles.RolesFactory;
+import de.dlr.sc.virsat.project.test.AProjectTestCase;
+
+/**
+ * Test Cases for tracking the modifications of the resources of a VirSatResourceSet
+ */
+public class ResourceModificationTrackerTest extends AProjectTestCase {
+
+	private ResourceModificationTracker tracker;
+	private Resource rmResource;
+	private RoleManagement rm;
+
+	@Before
+	public void setUp() throws CoreException {
+		super.setUp();
+		addEditingDomainAndRepository();
+
+		tracker = rs.getModificationTracker();
+		rmResource = rs.getRoleManagementResource();
+		rm = rs.getRoleManagement();
+	}
+
+	@Test
+	public void testGetModificationTracker() {
+		assertNotNull("Managed resource sets track modifications", tracker);
+		assertNull("Unmanaged resource sets do not track modifications", VirSatResourceSet.createUnmanagedResourceSet(testProject).getModificationTracker());
+	}
+
+	@Test
+	public void testIsUnmodified() {
+		assertTrue("Resource has just been saved", tracker.isUnmodified(rmResource));
+		assertFalse("Resource has just been saved", rs.isChanged(rmResource));
+
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		executeAsCommand(() -> rm.getDisciplines().add(discipline));
+
+		assertFalse("Resource has been modified", tracker.isUnmodified(rmResource));
+		assertTrue("Resource has been modified", rs.isChanged(rmResource));
+
+		editingDomain.saveResource(rmResource);
+
+		assertTrue("Resource has just been saved", tracker.isUnmodified(rmResource));
+		assertFalse("Resource has just been saved", rs.isChanged(rmResource));
+	}
+
+	@Test
+	public void testSaveClearsModifiedFlag() {
+		rmResource.setTrackingModification(true);
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		executeAsCommand(() -> rm.getDisciplines().add(discipline));
+		assertTrue("Resource tracks its modification", rmResource.isModified());
+
+		editingDomain.saveResource(rmResource);
+		assertFalse("Writing the resource clears its modification", rmResource.isModified());
+	}
+
+	@Test
+	public void testReorderingModifiesAllResources() {
+		Resource repositoryResource = rs.getRepositoryResource();
+		assertTrue("Resource has just been saved", tracker.isUnmodified(repositoryResource));
+
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		executeAsCommand(() -> rm.getDisciplines().add(discipline));
+		assertTrue("Appending keeps the references of other resources", tracker.isUnmodified(repositoryResource));
+
+		executeAsCommand(() -> rm.getDisciplines().move(0, discipline));
+		assertFalse("Moving changes the references of other resources", tracker.isUnmodified(repositoryResource));
+	}
+
+	@Test
+	public void testGetModificationCount() {
+		long modificationCount = tracker.getModificationCount();
+
+		executeAsCommand(() -> rm.getDisciplines().get(0).setName("Changed"));
+		assertTrue("Modification has been counted", tracker.getModificationCount() > modificationCount);
+	}
+
+	@Test
+	public void testIsChangedAfterRevertingModification() {
+		String name = rm.getDisciplines().get(0).getName();
+		executeAsCommand(() -> rm.getDisciplines().get(0).setName("Changed"));
+		assertFalse("Resource has been modified", tracker.isUnmodified(rmResource));
+
+		executeAsCommand(() -> rm.getDisciplines().get(0).setName(name));
+		assertFalse("Content is equal to the saved one", rs.isChanged(rmResource));
+		assertTrue("Comparing the content marks the resource as unmodified", tracker.isUnmodified(rmResource));
+		assertFalse("Resource is not dirty anymore", editingDomain.isDirty(rmResource));
+	}
+
+	@Test
+	public void testSaveWritesContentHash() throws CoreException, IOException {
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		executeAsCommand(() -> rm.getDisciplines().add(discipline));
+		editingDomain.saveResource(rmResource);
+
+		String contentHash = tracker.getContentHash(rmResource);
+		assertNotNull("Hash of saved content is known", contentHash);
+
+		IFile rmFile = WorkspaceSynchronizer.getFile(rmResource);
+		String persistedContentHash = rmFile.getPersistentProperty(ResourceModificationTracker.PROPERTY_CONTENT_HASH);
+		assertEquals("Hash is persisted along with the modification stamp of the file", rmFile.getModificationStamp() + ":" + contentHash, persistedContentHash);
+
+		String expectedContentHash = ResourceModificationTracker.computeContentHash(VirSatResourceSetUtil.serialize(rmResource, rs.saveOptions));
+		assertEquals("Hash matches the content of the resource", expectedContentHash, contentHash);
+	}
+
+	@Test
+	public void testGetContentHashAfterReload() {
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		executeAsCommand(() -> rm.getDisciplines().add(discipline));
+		editingDomain.saveResource(rmResource);
+		String contentHash = tracker.getContentHash(rmResource);
+
+		Resource reloadedResource = rs.reloadResource(rmResource);
+		assertSame("Resource is reloaded in place", rmResource, reloadedResource);
+		assertTrue("Reloaded resource is equal to its file", tracker.isUnmodified(rmResource));
+		assertEquals("Hash is taken from the file after reloading", contentHash, tracker.getContentHash(rmResource));
+	}
+}
@@ -659,6 +659,43 @@ public class VirSatResourceSetTest extends AProjectTestCase {
 		assertFalse("Non DVLM resource in resource set should not be loaded", nonDvlmResourceReload.isLoaded());
 	}
 	
+	@Test
+	public void testLoadAllDvlmResourcesPrefetchesFiles() {
+		VirSatResourceSet resSet = VirSatResourceSet.createUnmanagedResourceSet(testProject);
+		resSet.initializeModelsAndResourceSet();
+		
+		StructuralElement se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsApplicableForAll(true);
+		
+		StructuralInstantiator instantiator = new StructuralInstantiator();
+		StructuralElementInstance sei = instantiator.generateInstance(se, null);
+		StructuralElementInstance seiChild = instantiator.generateInstance(se, null);
+		StructuralElementInstance seiOrphan = instantiator.generateInstance(se, null);
+		sei.getChildren().add(seiChild);
+		
+		resSet.getAndAddStructuralElementInstanceResource(sei);
+		resSet.getAndAddStructuralElementInstanceResource(seiChild);
+		resSet.getAndAddStructuralElementInstanceResource(seiOrphan);
+		resSet.getRepository().getRootEntities().add(sei);
+		resSet.saveAllResources(new NullProgressMonitor(), UserRegistry.getInstance());
+		
+		// A fresh resource set only knows about the repository
+		VirSatResourceSet freshResSet = VirSatResourceSet.createUnmanagedResourceSet(testProject);
+		freshResSet.getRepository();
+		freshResSet.loadAllDvlmResources();
+		
+		for (Resource resource : freshResSet.getDvlmResources()) {
+			assertTrue("Resource got deserialized from persistant storage", resource.isLoaded());
+		}
+		URI orphanUri = resSet.getStructuralElementInstanceResource(seiOrphan).getURI();
+		assertNull("SEI which is not part of the repository is not loaded", freshResSet.getResource(orphanUri, false));
+		
+		Resource seiResource = freshResSet.getResource(resSet.getStructuralElementInstanceResource(sei).getURI(), false);
+		StructuralElementInstance loadedSei = (StructuralElementInstance) seiResource.getContents().get(0);
+		assertEquals("Child got resolved", seiChild.getUuid().toString(), loadedSei.getChildren().get(0).getUuid().toString());
+		assertFalse("Child got resolved", loadedSei.getChildren().get(0).eIsProxy());
+	}
+	
 	@Test
 	public void testGetDvlmResources() throws IOException, CoreException {
 		VirSatResourceSet resSet = VirSatResourceSet.createUnmanagedResourceSet(testProject);
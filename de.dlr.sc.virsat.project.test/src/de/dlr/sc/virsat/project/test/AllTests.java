@@ -23,7 +23,10 @@ import de.dlr.sc.virsat.project.editingDomain.commands.VirSatCutToClipboardComma
 import de.dlr.sc.virsat.project.editingDomain.commands.VirSatEditingDomainClipBoardTest;
 import de.dlr.sc.virsat.project.editingDomain.commands.VirSatPasteFromClipboardCommandTest;
 import de.dlr.sc.virsat.project.editingDomain.commands.dnd.VirSatDragAndDropInheritanceCommandHelperTest;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerBufferTest;
 import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerHelperTest;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerIndexTest;
+import de.dlr.sc.virsat.project.resources.ResourceModificationTrackerTest;
 import de.dlr.sc.virsat.project.resources.VirSatDanglingReferencesTest;
 import de.dlr.sc.virsat.project.resources.VirSatProjectResourceTest;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSetTest;
@@ -55,6 +58,7 @@ import junit.framework.JUnit4TestAdapter;
 	VirSatResourceSetUtilTest2.class,
 	VirSatDanglingReferencesTest.class,
 	VirSatResourceSetUtilTest.class,
+	ResourceModificationTrackerTest.class,
 	CreateSeiResourceAndFileCommandTest.class,
 	VirSatWorkspaceCommandStackTest.class,
 	VirSatClipboardCommandHelperTest.class,
@@ -68,6 +72,8 @@ import junit.framework.JUnit4TestAdapter;
 	NoUndoDeleteResourceOperationTest.class,
 	AssignDisciplineCommandTest.class,
 	VirSatProblemMarkerHelperTest.class,
+	VirSatProblemMarkerIndexTest.class,
+	VirSatProblemMarkerBufferTest.class,
 	VirSatEditingDomainClipBoardTest.class,
 	DmfResourceSaveCommandTest.class,
 	VirSatProjectResourceChangeListenerTest.class,
@@ -15,12 +15,19 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.commands.operations.IOperationHistoryListener;
@@ -380,16 +387,27 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		// First lock the workspace then lock the transaction
 		try {
 			this.writeExclusive(() -> {
+				// DVLM resources are independent of each other, thus they can be saved in a pipeline
+				// as long as the ResourceSet tracks which of them have been modified.
+				boolean pipelineDvlmResources = virSatResourceSet.getModificationTracker() != null;
+				List<Resource> pipelinedResources = new ArrayList<>();
+				
 				List<Resource> resources = new ArrayList<Resource>(virSatResourceSet.getResources());
 				for (Resource resource : resources) {
 					boolean fileIsDVLMResource = VirSatProjectCommons.FILENAME_EXTENSION.equalsIgnoreCase(resource.getURI().fileExtension());
-					if (fileIsDVLMResource || !dvlmResourcesOnly) {
+					if (fileIsDVLMResource && pipelineDvlmResources) {
+						pipelinedResources.add(resource);
+					} else if (fileIsDVLMResource || !dvlmResourcesOnly) {
 						saveResource(resource, supressRemoveDanglingReferences);
 						virSatResourceSet.updateDiagnostic(resource);
 						virSatResourceSet.notifyDiagnosticListeners(resource);
 					}
 				}
 				
+				if (!pipelinedResources.isEmpty()) {
+					saveResourcesPipelined(pipelinedResources, supressRemoveDanglingReferences);
+				}
+				
 				maintainDirtyResources();
 			});
 		} catch (InterruptedException e) {
@@ -403,6 +421,107 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Finished try saving all resources"));
 	}
 	
+	/**
+	 * Saves the given DVLM resources in a pipeline. Removing dangling references modifies the model,
+	 * thus it stays on the transaction thread. The diagnostics are recomputed on the transaction thread
+	 * as well before any serialization starts, since they may resolve proxies and load further resources
+	 * into the ResourceSet, which must not happen while other threads read it. Afterwards the resources
+	 * are serialized and compared to their files concurrently on a bounded executor. Changed resources
+	 * are written as soon as their serialization is finished. The writes stay on this thread, since
+	 * it holds the lock on the workspace. Listeners are notified about all saved resources at once.
+	 * @param resources the DVLM resources to be saved
+	 * @param supressRemoveDanglingReferences set to true in case the resources should not be cleared of dangling references before the save
+	 */
+	protected void saveResourcesPipelined(List<Resource> resources, boolean supressRemoveDanglingReferences) {
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Started pipelined saving of (" + resources.size() + ") resources"));
+		
+		// First remove the dangling references of all resources that can be saved
+		List<Resource> savableResources = new ArrayList<>();
+		List<Resource> writableResources = new ArrayList<>();
+		for (Resource resource : resources) {
+			if (!resource.isLoaded() || resource.getContents().isEmpty()) {
+				continue;
+			}
+			
+			savableResources.add(resource);
+			if (virSatResourceSet.hasWritePermission(resource, this)) {
+				if (!supressRemoveDanglingReferences) {
+					removeDanglingReferences(resource);
+				}
+				writableResources.add(resource);
+			}
+		}
+		
+		// Update the diagnostics before serializing, since they may load resources into the ResourceSet
+		for (Resource resource : savableResources) {
+			virSatResourceSet.updateDiagnostic(resource);
+		}
+		
+		// Now serialize and compare all writable resources concurrently
+		CompletionService<byte[]> completionService = new ExecutorCompletionService<>(getSaveExecutor());
+		Map<Future<byte[]>, Resource> serializingResources = new HashMap<>();
+		for (Resource resource : writableResources) {
+			serializingResources.put(completionService.submit(() -> virSatResourceSet.getChangedContent(resource)), resource);
+		}
+		
+		// Write the changed resources in the order their serialization finishes
+		Set<Resource> savedResources = new HashSet<>();
+		try {
+			for (int i = 0; i < serializingResources.size(); i++) {
+				Future<byte[]> serialization = completionService.take();
+				Resource resource = serializingResources.get(serialization);
+				try {
+					byte[] content = serialization.get();
+					if (content != null) {
+						synchronized (recentlyChangedResource) {
+							recentlyChangedResource.add(resource.getURI());
+						}
+						virSatResourceSet.saveResourceContent(resource, content);
+						savedResources.add(resource);
+					}
+				} catch (ExecutionException e) {
+					Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Failed to serialize (" + resource.getURI().toPlatformString(true) + ") thus saving it directly", e.getCause()));
+					internallySaveResource(resource, false);
+					savedResources.add(resource);
+				}
+			}
+		} catch (InterruptedException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Pipelined saving got interrupted"));
+			Thread.currentThread().interrupt();
+		}
+		
+		// Finally all resources are marked as not dirty and listeners are notified
+		for (Resource resource : savableResources) {
+			isResourceDirty.put(resource, false);
+			virSatResourceSet.notifyDiagnosticListeners(resource);
+		}
+		
+		if (!savedResources.isEmpty()) {
+			fireNotifyResourceEvent(savedResources, VirSatTransactionalEditingDomain.EVENT_CHANGED);
+		}
+		
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Finished pipelined saving, wrote (" + savedResources.size() + ") resources"));
+	}
+	
+	private ExecutorService saveExecutor;
+	
+	/**
+	 * Access the bounded executor which serializes resources while saving all of them.
+	 * The executor is created on first use and shut down once the editing domain is disposed.
+	 * @return the executor for serializing resources
+	 */
+	protected synchronized ExecutorService getSaveExecutor() {
+		if (saveExecutor == null) {
+			int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			saveExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "VirSatTransactionalEditingDomain: Save Pipeline");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return saveExecutor;
+	}
+	
 	/**
 	 * Method to remove a resource through this editing domain
 	 * it takes care of setting the dirty state correctly and removing the resource from the resourceset
@@ -497,25 +616,7 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 			
 			// for dangling references call the Utils to remove them before actually saving them
 			if (writeRemovedDanglingReferences) {
-				Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Saving resource (" + resource.getURI().toPlatformString(true) + ") removing dangling references"));
-				
-				RecordingCommand recCmd = new RecordingCommand(this) {
-					@Override
-					protected void doExecute() {
-						VirSatResourceSetUtil.removeDanglingReferences(resource);						
-					}
-					
-					@Override
-					public boolean canUndo() {
-						return false;
-					}
-					
-					@Override
-					public boolean canRedo() {
-						return false;
-					}
-				};
-				this.getVirSatCommandStack().executeNoUndo(recCmd);
+				removeDanglingReferences(resource);
 			}
 			
 			// Check the state of the resource an only save it, if it actually has been modified. 
@@ -538,6 +639,32 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		}
 	}
 	
+	/**
+	 * Removes the dangling references of the given resource by a command which cannot be undone
+	 * @param resource the resource of which to remove the dangling references
+	 */
+	private void removeDanglingReferences(Resource resource) {
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Saving resource (" + resource.getURI().toPlatformString(true) + ") removing dangling references"));
+		
+		RecordingCommand recCmd = new RecordingCommand(this) {
+			@Override
+			protected void doExecute() {
+				VirSatResourceSetUtil.removeDanglingReferences(resource);						
+			}
+			
+			@Override
+			public boolean canUndo() {
+				return false;
+			}
+			
+			@Override
+			public boolean canRedo() {
+				return false;
+			}
+		};
+		this.getVirSatCommandStack().executeNoUndo(recCmd);
+	}
+	
 	/**
 	 * Special method to save a resource without obeying write permissions
 	 * @param resource the resource to be saved
@@ -976,6 +1103,13 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 				isResourceDirty.remove(res);
 			});
 			
+			synchronized (this) {
+				if (saveExecutor != null) {
+					saveExecutor.shutdown();
+					saveExecutor = null;
+				}
+			}
+			
 			isDisposed = true;
 		}
 		
@@ -1079,6 +1213,37 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		return runExclusiveInWorkspace(read, false);
 	}
 	
+	/**
+	 * Method to run a read only transaction like {@link #runExclusive(Runnable)}, but only the project
+	 * of this editing domain is locked in the workspace instead of the whole workspace. Thus read
+	 * transactions on the editing domains of different projects can run concurrently. The code executed
+	 * in the transaction must neither execute commands nor modify the workspace.
+	 * @param read the Code to be executed in the transaction
+	 * @return the result of the code executed in the transaction
+	 * @throws InterruptedException
+	 */
+	public Object runExclusiveInProject(Runnable read) throws InterruptedException {
+		AtomicReference<Object> atomicResult = new AtomicReference<>();
+		AtomicExceptionReference<InterruptedException> atomicException = new AtomicExceptionReference<>();
+		
+		IProject project = getResourceSet().getProject();
+		try {
+			project.getWorkspace().run((monitor -> {
+				try {
+					Object result = super.runExclusive(read);
+					atomicResult.set(result);
+				} catch (InterruptedException e) {
+					atomicException.set(e);
+				}
+			}), project, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			throw new RuntimeException(e);
+		}
+		
+		atomicException.throwIfSet();
+		return atomicResult.get();
+	}
+	
 	/**
 	 * Method to wrap calls to run or writeExclsuive into a workspace operation.
 	 * This ensures that the workspace is locked before the transaction and avoids
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.markers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Status;
+
+import de.dlr.sc.virsat.project.Activator;
+
+/**
+ * Buffer for the creation of VirSatProblemMarkers. Creating a marker is a workspace operation, which
+ * blocks as long as another thread, such as the thread running a build, holds the workspace. While
+ * buffering is started on a thread, the VirSatProblemMarkerHelpers therefore only record the markers
+ * to be created on this thread. The recorded markers can then be created at once by the thread
+ * holding the workspace.
+ */
+public class VirSatProblemMarkerBuffer {
+
+	private static final ThreadLocal<List<MarkerRequest>> BUFFER = new ThreadLocal<>();
+
+	/**
+	 * A marker recorded to be created later on
+	 */
+	public static class MarkerRequest {
+		private IResource resource;
+		private String markerId;
+		private Map<String, Object> attributes;
+
+		/**
+		 * Constructor for a recorded marker
+		 * @param resource the resource to be marked
+		 * @param markerId the type of the marker
+		 * @param attributes all attributes of the marker
+		 */
+		public MarkerRequest(IResource resource, String markerId, Map<String, Object> attributes) {
+			this.resource = resource;
+			this.markerId = markerId;
+			this.attributes = attributes;
+		}
+
+		public IResource getResource() {
+			return resource;
+		}
+
+		public String getMarkerId() {
+			return markerId;
+		}
+
+		public Map<String, Object> getAttributes() {
+			return attributes;
+		}
+	}
+
+	/**
+	 * Hidden constructor of utility class
+	 */
+	private VirSatProblemMarkerBuffer() {
+	}
+
+	/**
+	 * Call this method to start recording the markers created on the current thread
+	 * instead of creating them directly
+	 */
+	public static void startBuffering() {
+		BUFFER.set(new ArrayList<>());
+	}
+
+	/**
+	 * Call this method to stop recording the markers created on the current thread
+	 * @return the markers recorded on the current thread since buffering was started
+	 */
+	public static List<MarkerRequest> stopBuffering() {
+		List<MarkerRequest> markerRequests = BUFFER.get();
+		BUFFER.remove();
+		if (markerRequests == null) {
+			return Collections.emptyList();
+		}
+		return markerRequests;
+	}
+
+	/**
+	 * Call this method to find out if the markers of the current thread are recorded
+	 * @return true in case buffering has been started on the current thread
+	 */
+	public static boolean isBuffering() {
+		return BUFFER.get() != null;
+	}
+
+	/**
+	 * Records a marker to be created later on in case buffering is started on the current thread
+	 * @param resource the resource to be marked
+	 * @param markerId the type of the marker
+	 * @param attributes all attributes of the marker
+	 * @return true in case the marker got recorded, false in case it has to be created directly
+	 */
+	static boolean add(IResource resource, String markerId, Map<String, Object> attributes) {
+		List<MarkerRequest> markerRequests = BUFFER.get();
+		if (markerRequests == null) {
+			return false;
+		}
+		markerRequests.add(new MarkerRequest(resource, markerId, attributes));
+		return true;
+	}
+
+	/**
+	 * Creates the given markers in one workspace operation, thus they are
+	 * reported in a single resource change event
+	 * @param markerRequests the markers to be created
+	 * @param monitor the monitor for progress reporting
+	 */
+	public static void createMarkers(List<MarkerRequest> markerRequests, IProgressMonitor monitor) {
+		if (markerRequests.isEmpty()) {
+			return;
+		}
+
+		try {
+			ResourcesPlugin.getWorkspace().run(runMonitor -> {
+				for (MarkerRequest markerRequest : markerRequests) {
+					createMarker(markerRequest);
+				}
+			}, null, IWorkspace.AVOID_UPDATE, monitor);
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatProblemMarkerBuffer: Could not create buffered markers", e));
+		}
+	}
+
+	/**
+	 * Creates a single recorded marker
+	 * @param markerRequest the marker to be created
+	 */
+	private static void createMarker(MarkerRequest markerRequest) {
+		IResource resource = markerRequest.getResource();
+		if (!resource.exists()) {
+			return;
+		}
+
+		try {
+			IMarker marker = resource.createMarker(markerRequest.getMarkerId());
+			// Here only markers should be created which are subtypes of our virsat problem markers
+			if (!marker.isSubtypeOf(VirSatProblemMarkerHelper.ID_VIRSAT_PROBLEM_MARKER)) {
+				marker.delete();
+				return;
+			}
+			marker.setAttributes(markerRequest.getAttributes());
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatProblemMarkerBuffer: Could not create marker on resource: " + resource));
+		}
+	}
+}
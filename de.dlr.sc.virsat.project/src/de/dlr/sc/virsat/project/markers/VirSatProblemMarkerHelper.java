@@ -81,15 +81,7 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 	 */
 	public static IMarkerHelper createMarkerHelper(IMarker marker) {
 		try {
-			// Fill an empty marker helper map with the ones that we get from the registered concepts
-			if (registeredMarkerHelper.isEmpty()) {
-				IConfigurationElement[] configElementsMarkerHelper = Platform.getExtensionRegistry().getConfigurationElementsFor(ID_EXTENSIONPOINT_MARKERHELPER);
-				for (IConfigurationElement configElementMarkerHelper : configElementsMarkerHelper) {
-					String type = configElementMarkerHelper.getAttribute(ID_EXTENSIONPOINT_MARKERHELPER_ATTR_TYPE);
-					IMarkerHelper iMarkerHelper = (IMarkerHelper) configElementMarkerHelper.createExecutableExtension(ID_EXTENSIONPOINT_MARKERHELPER_ATTR_HELPER);
-					registeredMarkerHelper.put(type, iMarkerHelper);
-				}
-			}
+			initRegisteredMarkerHelpers();
 			if (marker != null && marker.exists()) {
 				String markerType = marker.getType();		
 				return registeredMarkerHelper.get(markerType);
@@ -100,6 +92,21 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 		return new VirSatProblemMarkerHelper();
 	}
 	
+	/**
+	 * Fills an empty marker helper map with the ones that we get from the registered concepts
+	 * @throws CoreException in case a helper cannot be created
+	 */
+	private static void initRegisteredMarkerHelpers() throws CoreException {
+		if (registeredMarkerHelper.isEmpty()) {
+			IConfigurationElement[] configElementsMarkerHelper = Platform.getExtensionRegistry().getConfigurationElementsFor(ID_EXTENSIONPOINT_MARKERHELPER);
+			for (IConfigurationElement configElementMarkerHelper : configElementsMarkerHelper) {
+				String type = configElementMarkerHelper.getAttribute(ID_EXTENSIONPOINT_MARKERHELPER_ATTR_TYPE);
+				IMarkerHelper iMarkerHelper = (IMarkerHelper) configElementMarkerHelper.createExecutableExtension(ID_EXTENSIONPOINT_MARKERHELPER_ATTR_HELPER);
+				registeredMarkerHelper.put(type, iMarkerHelper);
+			}
+		}
+	}
+	
 	/**
 	 * Method to check whether there are some markers in the Set which have been deleted in the meantime and 
 	 * therefore do not exist anymore 
@@ -149,6 +156,76 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 		return ID_TYPE_NOT_VALID;
 	}
 
+	/**
+	 * Markers are indexed by the identifier values of the objects they may be associated with.
+	 * This method hands back these values for a marker created by this helper.
+	 * It should be overridden if the helper associates markers with further objects, e.g. by additional attributes.
+	 * @param marker The marker to get the identifier values from
+	 * @return The identifier values of the objects the marker may be associated with
+	 */
+	protected Set<String> getIdentifierValues(IMarker marker) {
+		Set<String> identifierValues = new HashSet<>();
+		String identifierValue = marker.getAttribute(ATTRIBUTE_ID_VALUE, null);
+		if (identifierValue != null) {
+			identifierValues.add(identifierValue);
+		}
+		return identifierValues;
+	}
+	
+	/**
+	 * This method hands back the identifier values under which markers associated with the given object
+	 * may be indexed. It should be overridden if the helper associates markers with an object
+	 * via other objects, e.g. by resolving references of the object.
+	 * @param eObject The object (usually a DVLMObject) to get the identifier values for
+	 * @return The identifier values under which markers of the object may be indexed
+	 */
+	protected Set<String> getIdentifierValues(EObject eObject) {
+		Set<String> identifierValues = new HashSet<>();
+		String identifierValue = getIdentifierValue(eObject);
+		if (!ID_VALUE_NOT_VALID.equals(identifierValue)) {
+			identifierValues.add(identifierValue);
+		}
+		return identifierValues;
+	}
+	
+	/**
+	 * Gets the identifier values under which markers of the given object may be indexed
+	 * by this helper or any other registered helper, since markers are always checked with all helpers
+	 * @param eObject The object to get the identifier values for
+	 * @return The identifier values of all helpers
+	 */
+	private Set<String> getIdentifierValuesOfAllHelpers(EObject eObject) {
+		Set<String> identifierValues = getIdentifierValues(eObject);
+		try {
+			initRegisteredMarkerHelpers();
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), Status.OK, "VirSatProblemMarkerHelper: Could not initialize Helpers", e));
+		}
+		
+		synchronized (registeredMarkerHelper) {
+			for (IMarkerHelper markerHelper : registeredMarkerHelper.values()) {
+				if (markerHelper instanceof VirSatProblemMarkerHelper) {
+					identifierValues.addAll(((VirSatProblemMarkerHelper) markerHelper).getIdentifierValues(eObject));
+				}
+			}
+		}
+		return identifierValues;
+	}
+	
+	/**
+	 * Method to check if a marker is of the given type or one of its subtypes
+	 * @param marker The marker to be checked
+	 * @param markerId The type of the marker
+	 * @return true if the marker still exists and is of the type
+	 */
+	private boolean isOfType(IMarker marker, String markerId) {
+		try {
+			return marker.exists() && marker.isSubtypeOf(markerId);
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Method which creates a VirSatProblemMarker attached to the resource, 
 	 * since we do not validate resources themselves, this method is not intended to be used outside of this class. 
@@ -200,9 +277,24 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 	 * @param severity The severity of the VirSatProblemMarker
 	 * @param message The message the VirSatProblemMarker should show
 	 * @param eObject The DVLMObject whose resource is marked
-	 * @return The created VirSatProblemMarker
+	 * @return The created VirSatProblemMarker or null in case it got recorded by the {@link VirSatProblemMarkerBuffer}
 	 */
 	protected IMarker createMarker(String markerId, int severity, String message, EObject eObject) {
+		return createMarker(markerId, severity, message, eObject, Collections.emptyMap());
+	}
+	
+	/**
+	 * Method which creates a VirSatProblemMarker with additional attributes attached to the resource of the given DVLMObject.
+	 * In case the {@link VirSatProblemMarkerBuffer} is buffering on the current thread, the marker is only recorded
+	 * and created once the buffered markers get created.
+	 * @param markerId The type of the VirSatProblemMarker (needs to be defined as an extension point of the org.eclipse.core.resources.problemmarker in plugin.xml)
+	 * @param severity The severity of the VirSatProblemMarker
+	 * @param message The message the VirSatProblemMarker should show
+	 * @param eObject The DVLMObject whose resource is marked
+	 * @param attributes Additional attributes of the VirSatProblemMarker
+	 * @return The created VirSatProblemMarker or null in case it got recorded by the {@link VirSatProblemMarkerBuffer}
+	 */
+	protected IMarker createMarker(String markerId, int severity, String message, EObject eObject, Map<String, Object> attributes) {
 		IResource resource = VirSatProjectCommons.getWorkspaceResource(eObject);
 		
 		String idType = getIdentifierType(eObject);
@@ -213,6 +305,21 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 			return null;
 		}
 		
+		if (VirSatProblemMarkerBuffer.isBuffering()) {
+			if (resource == null) {
+				Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatProblemMarkerHelper: Could not create marker because resource is null"));
+				return null;
+			}
+			
+			Map<String, Object> allAttributes = new HashMap<>(attributes);
+			allAttributes.put(IMarker.SEVERITY, severity);
+			allAttributes.put(IMarker.MESSAGE, message);
+			allAttributes.put(ATTRIBUTE_ID_TYPE, idType);
+			allAttributes.put(ATTRIBUTE_ID_VALUE, idValue);
+			VirSatProblemMarkerBuffer.add(resource, markerId, allAttributes);
+			return null;
+		}
+		
 		IMarker marker = createMarker(markerId, severity, message, resource);
 		if (marker == null) {
 			return null;
@@ -221,6 +328,9 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 		try {
 			marker.setAttribute(ATTRIBUTE_ID_TYPE, idType);
 			marker.setAttribute(ATTRIBUTE_ID_VALUE, idValue);
+			for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+				marker.setAttribute(attribute.getKey(), attribute.getValue());
+			}
 		} catch (CoreException e) {
 			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatProblemMarkerHelper: Could not set marker attributes for eObject: " + eObject));
 			return null;
@@ -328,8 +438,26 @@ public class VirSatProblemMarkerHelper implements IMarkerHelper {
 	 */
 	protected Set<IMarker> getMarkers(EObject eObject, String markerId) {
 		Set<IMarker> filteredProblemMarkers = new HashSet<>();
-		Set<IMarker> markers = getMarkersOfResource(eObject, markerId);
 		
+		if (VirSatProblemMarkerIndex.isUpToDate()) {
+			// Only check the markers which are indexed for the identifiers of the object
+			IResource resource = VirSatProjectCommons.getWorkspaceResource(eObject);
+			if (resource == null || !resource.exists()) {
+				return filteredProblemMarkers;
+			}
+			
+			VirSatProblemMarkerIndex markerIndex = VirSatProblemMarkerIndex.getInstance();
+			for (String identifierValue : getIdentifierValuesOfAllHelpers(eObject)) {
+				for (IMarker marker : markerIndex.getMarkers(resource, identifierValue)) {
+					if (isOfType(marker, markerId) && isAssociatedWithCheckAllHelpers(marker, eObject)) {
+						filteredProblemMarkers.add(marker);
+					}
+				}
+			}
+			return filteredProblemMarkers;
+		}
+		
+		Set<IMarker> markers = getMarkersOfResource(eObject, markerId);
 		for (IMarker marker : markers) {
 			if (isAssociatedWithCheckAllHelpers(marker, eObject)) {
 				filteredProblemMarkers.add(marker);
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.markers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import de.dlr.sc.virsat.project.Activator;
+
+/**
+ * Index of the VirSatProblemMarkers of the workspace resources by the identifiers of the objects they are
+ * associated with. The markers of a resource are read once when they are queried for the first time.
+ * Afterwards the index is kept up to date from the marker deltas of the resource change events, thus
+ * finding the markers of an object does not need to read the attributes of all markers of its resource.
+ */
+public class VirSatProblemMarkerIndex implements IResourceChangeListener {
+
+	private static VirSatProblemMarkerIndex instance;
+	private static final AtomicInteger RUNNING_BUILDS = new AtomicInteger();
+
+	private Map<IResource, Map<String, Set<IMarker>>> markersByResource = new HashMap<>();
+	private Map<IMarker, Set<String>> indexedIdentifierValues = new HashMap<>();
+
+	/**
+	 * Call this method to get the index of the workspace. It gets registered
+	 * as resource change listener when it is accessed for the first time.
+	 * @return the marker index of the workspace
+	 */
+	public static synchronized VirSatProblemMarkerIndex getInstance() {
+		if (instance == null) {
+			instance = new VirSatProblemMarkerIndex();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	/**
+	 * Marker changes are only broadcast once the workspace operation changing them has finished.
+	 * Within an operation, such as a build, the index may therefore miss markers created by the
+	 * operation itself. In that case the markers have to be read from the resource directly.
+	 * Builders do not necessarily hold a scheduling rule, thus running builds are tracked
+	 * separately by {@link #buildStarted()} and {@link #buildFinished()}.
+	 * @return true in case the index reflects the markers seen by the current thread
+	 */
+	public static boolean isUpToDate() {
+		if (RUNNING_BUILDS.get() > 0 || ResourcesPlugin.getWorkspace().isTreeLocked()) {
+			return false;
+		}
+		return Job.getJobManager().currentRule() == null;
+	}
+
+	/**
+	 * Builders call this method before they start changing markers. Until the matching
+	 * call of {@link #buildFinished()} the index is not considered to be up to date.
+	 */
+	public static void buildStarted() {
+		RUNNING_BUILDS.incrementAndGet();
+	}
+
+	/**
+	 * Builders call this method once they finished changing markers
+	 */
+	public static void buildFinished() {
+		RUNNING_BUILDS.decrementAndGet();
+	}
+
+	@Override
+	public synchronized void resourceChanged(IResourceChangeEvent event) {
+		for (IMarkerDelta markerDelta : event.findMarkerDeltas(VirSatProblemMarkerHelper.ID_VIRSAT_PROBLEM_MARKER, true)) {
+			IResource resource = markerDelta.getResource();
+			Map<String, Set<IMarker>> markersByIdentifier = markersByResource.get(resource);
+			if (markersByIdentifier == null) {
+				// Markers of resources which have not been queried yet are read on the first query
+				continue;
+			}
+
+			if (!resource.exists()) {
+				// Forget about all markers of resources which have been removed
+				markersByIdentifier.values().forEach(markers -> markers.forEach(indexedIdentifierValues::remove));
+				markersByResource.remove(resource);
+				continue;
+			}
+
+			IMarker marker = markerDelta.getMarker();
+			unindex(markersByIdentifier, marker);
+			if (markerDelta.getKind() != IResourceDelta.REMOVED && marker.exists()) {
+				index(markersByIdentifier, marker);
+			}
+		}
+	}
+
+	/**
+	 * Call this method to get the VirSatProblemMarkers of a resource which may be
+	 * associated with an object with the given identifier value
+	 * @param resource the resource of the object
+	 * @param identifierValue the identifier value of the object
+	 * @return the markers indexed for the identifier value
+	 */
+	public synchronized Set<IMarker> getMarkers(IResource resource, String identifierValue) {
+		Map<String, Set<IMarker>> markersByIdentifier = markersByResource.get(resource);
+		if (markersByIdentifier == null) {
+			markersByIdentifier = readMarkers(resource);
+		}
+
+		Set<IMarker> markers = markersByIdentifier.get(identifierValue);
+		if (markers == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(markers);
+	}
+
+	/**
+	 * Reads all VirSatProblemMarkers of the resource and adds them to the index
+	 * @param resource the resource to read the markers from
+	 * @return the index of the markers of the resource
+	 */
+	private Map<String, Set<IMarker>> readMarkers(IResource resource) {
+		Map<String, Set<IMarker>> markersByIdentifier = new HashMap<>();
+		try {
+			IMarker[] markers = resource.findMarkers(VirSatProblemMarkerHelper.ID_VIRSAT_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+			for (IMarker marker : markers) {
+				index(markersByIdentifier, marker);
+			}
+		} catch (CoreException e) {
+			// Do not remember the resource, so that its markers get read again on the next query
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "VirSatProblemMarkerIndex: Could not retrieve markers of resource: " + resource));
+			return markersByIdentifier;
+		}
+
+		markersByResource.put(resource, markersByIdentifier);
+		return markersByIdentifier;
+	}
+
+	/**
+	 * Adds a marker for all identifier values it may be associated with
+	 * @param markersByIdentifier the index of the markers of the resource of the marker
+	 * @param marker the marker to be indexed
+	 */
+	private void index(Map<String, Set<IMarker>> markersByIdentifier, IMarker marker) {
+		IMarkerHelper markerHelper = VirSatProblemMarkerHelper.createMarkerHelper(marker);
+		Set<String> identifierValues = (markerHelper instanceof VirSatProblemMarkerHelper)
+				? ((VirSatProblemMarkerHelper) markerHelper).getIdentifierValues(marker)
+				: new VirSatProblemMarkerHelper().getIdentifierValues(marker);
+
+		for (String identifierValue : identifierValues) {
+			markersByIdentifier.computeIfAbsent(identifierValue, key -> new HashSet<>()).add(marker);
+		}
+		indexedIdentifierValues.put(marker, identifierValues);
+	}
+
+	/**
+	 * Removes a marker from the index
+	 * @param markersByIdentifier the index of the markers of the resource of the marker
+	 * @param marker the marker to be removed
+	 */
+	private void unindex(Map<String, Set<IMarker>> markersByIdentifier, IMarker marker) {
+		Set<String> identifierValues = indexedIdentifierValues.remove(marker);
+		if (identifierValues == null) {
+			return;
+		}
+
+		for (String identifierValue : identifierValues) {
+			Set<IMarker> markers = markersByIdentifier.get(identifierValue);
+			if (markers != null) {
+				markers.remove(marker);
+				if (markers.isEmpty()) {
+					markersByIdentifier.remove(identifierValue);
+				}
+			}
+		}
+	}
+}
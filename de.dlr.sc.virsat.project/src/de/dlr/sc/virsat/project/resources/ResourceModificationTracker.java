@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.project.resources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.workspace.util.WorkspaceSynchronizer;
+
+import de.dlr.sc.virsat.model.dvlm.general.GeneralPackage;
+import de.dlr.sc.virsat.project.Activator;
+
+/**
+ * This content adapter tracks which resources of a ResourceSet have been modified since they have
+ * been loaded or saved. Resources which have not been modified are known to be equal to their file
+ * and therefore neither need to be compared nor saved. For modified resources the hash of the last
+ * written content is used to decide if they actually changed. The hash is persisted as a property of
+ * the workspace file, so it is still available after the resource got reloaded.
+ * <p>
+ * Other resources store references to the objects of a resource by their IDs or by their position
+ * within their containers. Changes which alter these references, such as removing, moving or inserting
+ * contained objects or changing an identifying attribute, therefore mark all resources as modified.
+ *
+ */
+public class ResourceModificationTracker extends EContentAdapter {
+
+	public static final QualifiedName PROPERTY_CONTENT_HASH = new QualifiedName(Activator.getPluginId(), "contentHash");
+	public static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+	private static final String CONTENT_HASH_SEPARATOR = ":";
+
+	private Set<Resource> unmodifiedResources = ConcurrentHashMap.newKeySet();
+	private Map<Resource, String> contentHashes = new ConcurrentHashMap<>();
+	private AtomicLong modificationCount = new AtomicLong();
+
+	// The content of the last modified resource which has been serialized. It is kept
+	// so that a check for changes directly followed by a save only serializes once.
+	private Resource serializedResource;
+	private byte[] serializedContent;
+	private long serializedModificationCount;
+
+	@Override
+	protected boolean resolve() {
+		// Tracking modifications should never trigger loading resources
+		return false;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch()) {
+			return;
+		}
+
+		Object notifier = notification.getNotifier();
+		if (notifier instanceof Resource) {
+			Resource resource = (Resource) notifier;
+			switch (notification.getFeatureID(Resource.class)) {
+				case Resource.RESOURCE__IS_LOADED:
+					// A freshly loaded resource is equal to its file, an unloaded one is not tracked anymore.
+					// Still the content of the resource set has changed.
+					modificationCount.incrementAndGet();
+					if (resource.isLoaded()) {
+						setUnmodified(resource);
+					} else {
+						forget(resource);
+					}
+					break;
+				case Resource.RESOURCE__CONTENTS:
+					setModified(resource, isRemoval(notification) || isShift(notification, resource.getContents()));
+					break;
+				case Resource.RESOURCE__URI:
+					// References from other resources point to the new URI now
+					forget(resource);
+					setModified(resource, true);
+					break;
+				default:
+					break;
+			}
+		} else if (notifier instanceof EObject) {
+			Object feature = notification.getFeature();
+			if (feature instanceof EStructuralFeature && ((EStructuralFeature) feature).isTransient()) {
+				return;
+			}
+
+			EObject eObject = (EObject) notifier;
+			Resource resource = eObject.eResource();
+			if (resource != null) {
+				setModified(resource, changesReferences(notification, eObject, (EStructuralFeature) feature));
+			}
+		}
+	}
+
+	/**
+	 * Checks if a change of an object alters the references other resources store to it or to its contents
+	 * @param notification the notification of the change
+	 * @param eObject the changed object
+	 * @param feature the changed feature
+	 * @return true iff references in other resources may be written differently after the change
+	 */
+	private boolean changesReferences(Notification notification, EObject eObject, EStructuralFeature feature) {
+		if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+			if (isRemoval(notification)) {
+				return true;
+			}
+			return feature.isMany() && isShift(notification, (List<?>) eObject.eGet(feature, false));
+		}
+		if (notification.getEventType() == Notification.MOVE) {
+			return true;
+		}
+		return isIdentifying(feature);
+	}
+
+	/**
+	 * Checks if the notification changes the positions of already contained objects within a list,
+	 * which happens when objects are moved or inserted anywhere but at the end of the list
+	 * @param notification the notification to check
+	 * @param list the changed list
+	 * @return true in case objects already in the list have a different position now
+	 */
+	private boolean isShift(Notification notification, List<?> list) {
+		int position = notification.getPosition();
+		switch (notification.getEventType()) {
+			case Notification.MOVE:
+				return true;
+			case Notification.ADD:
+				return position != Notification.NO_INDEX && position < list.size() - 1;
+			case Notification.ADD_MANY:
+				return position != Notification.NO_INDEX && position + ((Collection<?>) notification.getNewValue()).size() < list.size();
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Checks if the feature is used for identifying objects in references from other resources
+	 * @param feature the feature to check
+	 * @return true in case the feature is an ID, such as the result text of equations, or the name of a qualified name
+	 */
+	private boolean isIdentifying(EStructuralFeature feature) {
+		if (feature instanceof EAttribute && ((EAttribute) feature).isID()) {
+			return true;
+		}
+		// The derived full qualified name used as ID is not notified, it changes along with the name
+		return feature == GeneralPackage.Literals.IQUALIFIED_NAME__NAME;
+	}
+
+	@Override
+	protected void unsetTarget(Resource target) {
+		super.unsetTarget(target);
+		forget(target);
+	}
+
+	/**
+	 * Checks if the notification removes an object from a list or reference
+	 * @param notification the notification to check
+	 * @return true in case an object got removed
+	 */
+	private boolean isRemoval(Notification notification) {
+		switch (notification.getEventType()) {
+			case Notification.REMOVE:
+			case Notification.REMOVE_MANY:
+			case Notification.UNSET:
+				return true;
+			case Notification.SET:
+				return notification.getOldValue() != null;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Marks the resource as being modified
+	 * @param resource the resource which has been modified
+	 * @param changesReferences true in case the references from other resources to the objects of the resource change,
+	 * e.g. because objects have been removed or renamed. Then all resources are considered to be modified.
+	 */
+	private void setModified(Resource resource, boolean changesReferences) {
+		modificationCount.incrementAndGet();
+		if (changesReferences) {
+			unmodifiedResources.clear();
+		} else {
+			unmodifiedResources.remove(resource);
+		}
+	}
+
+	/**
+	 * Marks the resource as being equal to its file
+	 * @param resource the resource which has been loaded or saved
+	 */
+	private void setUnmodified(Resource resource) {
+		unmodifiedResources.add(resource);
+	}
+
+	/**
+	 * Call this method for resources which have been loaded before they got added to the
+	 * resource set. Their loading could not be observed, but they are equal to their file.
+	 * @param resource the resource which has been loaded outside of the resource set
+	 */
+	public void setLoaded(Resource resource) {
+		if (resource.isLoaded()) {
+			setUnmodified(resource);
+		}
+	}
+
+	/**
+	 * Removes all information about the given resource
+	 * @param resource the resource which is not tracked anymore
+	 */
+	private void forget(Resource resource) {
+		unmodifiedResources.remove(resource);
+		contentHashes.remove(resource);
+		synchronized (this) {
+			if (serializedResource == resource) {
+				serializedResource = null;
+				serializedContent = null;
+			}
+		}
+	}
+
+	/**
+	 * Use this method to find out if a resource has not been modified since it has been
+	 * loaded or saved. Resources which are not tracked are considered to be modified.
+	 * @param resource the resource to check
+	 * @return true in case the resource is known to be equal to its file
+	 */
+	public boolean isUnmodified(Resource resource) {
+		return unmodifiedResources.contains(resource);
+	}
+
+	/**
+	 * Use this method to find out if anything in the resource set changed in between two calls.
+	 * The count is increased with every modification, loading or unloading of a resource.
+	 * @return the number of modifications observed by this tracker
+	 */
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	/**
+	 * Checks if a resource is different to its file. Unmodified resources are not serialized at all.
+	 * Modified resources are serialized once and compared by the hash of the last written content.
+	 * Only if no such hash is known the content is compared to the file itself.
+	 * @param resource the resource to check
+	 * @param saveOptions EMF save options to be used
+	 * @param loadOptions EMF load options to be used
+	 * @return true iff the resource on the file system is different than the in memory resource
+	 */
+	@SuppressWarnings("rawtypes")
+	public boolean isChanged(Resource resource, Map saveOptions, Map loadOptions) {
+		try {
+			return getChangedContent(resource, saveOptions, loadOptions) != null;
+		} catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "Failed to check if Resource has changed " + e.getMessage()));
+		}
+
+		return true;
+	}
+
+	/**
+	 * Serializes the resource in case it has been modified and compares the content to its file.
+	 * A resource which turns out to be equal to its file is marked as unmodified. This method only
+	 * reads the resource and the file system, therefore it can be called for several resources concurrently.
+	 * @param resource the resource to check
+	 * @param saveOptions EMF save options to be used
+	 * @param loadOptions EMF load options to be used
+	 * @return the serialized content in case the resource is different to its file, otherwise null
+	 * @throws IOException in case the resource could not be serialized
+	 */
+	@SuppressWarnings("rawtypes")
+	public byte[] getChangedContent(Resource resource, Map saveOptions, Map loadOptions) throws IOException {
+		if (isUnmodified(resource) || resource.getResourceSet() == null) {
+			return null;
+		}
+
+		byte[] content = getSerializedContent(resource, saveOptions);
+		String contentHash = computeContentHash(content);
+		if (isChanged(resource, content, contentHash, loadOptions)) {
+			return content;
+		}
+
+		contentHashes.put(resource, contentHash);
+		setUnmodified(resource);
+		return null;
+	}
+
+	/**
+	 * Saves the resource in case it has been changed. The resource is serialized only once
+	 * and the serialized content is written to the file directly. Afterwards the hash of the
+	 * written content is stored as sidecar of the file.
+	 * @param resource the resource to be saved
+	 * @param saveOptions EMF save options to be used
+	 * @param loadOptions EMF load options to be used
+	 * @throws IOException in case the resource could not be saved
+	 */
+	@SuppressWarnings("rawtypes")
+	public void save(Resource resource, Map saveOptions, Map loadOptions) throws IOException {
+		if (resource.getResourceSet() == null) {
+			resource.save(saveOptions);
+			return;
+		}
+
+		byte[] content = getChangedContent(resource, saveOptions, loadOptions);
+		if (content != null) {
+			write(resource, content, saveOptions);
+		} else {
+			// The resource equals its file, so it is saved just as well
+			resource.setModified(false);
+		}
+	}
+
+	/**
+	 * Writes the already serialized content of a resource to its file. Afterwards the resource
+	 * is marked as unmodified, just as {@link Resource#save(Map)} does, and the hash of the written
+	 * content is stored as sidecar of the file.
+	 * This method has to be called by the thread which is allowed to modify the workspace.
+	 * @param resource the resource to be written
+	 * @param content the serialized content of the resource
+	 * @param saveOptions EMF save options to be used
+	 * @throws IOException in case the content could not be written
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void write(Resource resource, byte[] content, Map saveOptions) throws IOException {
+		URIConverter uriConverter = resource.getResourceSet().getURIConverter();
+		Map<Object, Object> response = new HashMap<>();
+		Map<Object, Object> outputOptions = new HashMap<>(saveOptions);
+		outputOptions.put(URIConverter.OPTION_RESPONSE, response);
+
+		try (OutputStream outputStream = uriConverter.createOutputStream(resource.getURI(), outputOptions)) {
+			outputStream.write(content);
+		}
+
+		Object timeStamp = response.get(URIConverter.RESPONSE_TIME_STAMP_PROPERTY);
+		if (timeStamp instanceof Long) {
+			resource.setTimeStamp((Long) timeStamp);
+		}
+		resource.setModified(false);
+
+		String contentHash = computeContentHash(content);
+		persistContentHash(resource, contentHash);
+		contentHashes.put(resource, contentHash);
+		setUnmodified(resource);
+	}
+
+	/**
+	 * Compares the serialized content of a resource to its file. In case the hash of the last written
+	 * content is known, only the hashes are compared. Otherwise the content is compared to the file itself.
+	 * @param resource the resource to check
+	 * @param content the serialized content of the resource
+	 * @param contentHash the hash of the serialized content
+	 * @param loadOptions EMF load options to be used
+	 * @return true iff the resource on the file system is different than the serialized content
+	 */
+	@SuppressWarnings("rawtypes")
+	private boolean isChanged(Resource resource, byte[] content, String contentHash, Map loadOptions) {
+		String savedContentHash = getContentHash(resource);
+		if (savedContentHash != null) {
+			return !savedContentHash.equals(contentHash);
+		}
+		return VirSatResourceSetUtil.isChanged(resource, content, loadOptions);
+	}
+
+	/**
+	 * Serializes the given resource or hands back the content of the previous serialization
+	 * in case nothing has been modified since then.
+	 * @param resource the resource to serialize
+	 * @param saveOptions EMF save options to be used
+	 * @return the serialized content
+	 * @throws IOException in case the resource could not be serialized
+	 */
+	@SuppressWarnings("rawtypes")
+	private byte[] getSerializedContent(Resource resource, Map saveOptions) throws IOException {
+		long currentModificationCount = modificationCount.get();
+		synchronized (this) {
+			if (serializedResource == resource && serializedModificationCount == currentModificationCount) {
+				return serializedContent;
+			}
+		}
+
+		// Serialize outside of the lock, so that several resources can be serialized concurrently
+		byte[] content = VirSatResourceSetUtil.serialize(resource, saveOptions);
+		synchronized (this) {
+			serializedResource = resource;
+			serializedContent = content;
+			serializedModificationCount = currentModificationCount;
+		}
+		return content;
+	}
+
+	/**
+	 * Get the hash of the content which has last been written to the file of the resource.
+	 * In case the hash is not known in memory, it is read from the sidecar of the file. The
+	 * sidecar is only valid if the file has not been modified since the hash was written.
+	 * @param resource the resource of which to get the content hash
+	 * @return the content hash or null in case it is not known
+	 */
+	public String getContentHash(Resource resource) {
+		String contentHash = contentHashes.get(resource);
+		if (contentHash != null) {
+			return contentHash;
+		}
+
+		IFile file = WorkspaceSynchronizer.getFile(resource);
+		if (file == null || !file.exists()) {
+			return null;
+		}
+
+		try {
+			String persistedContentHash = file.getPersistentProperty(PROPERTY_CONTENT_HASH);
+			String fileStamp = file.getModificationStamp() + CONTENT_HASH_SEPARATOR;
+			if (persistedContentHash != null && persistedContentHash.startsWith(fileStamp)) {
+				contentHash = persistedContentHash.substring(fileStamp.length());
+				contentHashes.put(resource, contentHash);
+				return contentHash;
+			}
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Failed to read content hash of Resource " + e.getMessage()));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Writes the content hash to the sidecar of the file of the resource. The modification stamp
+	 * of the file is stored along with it to detect changes of the file by other editors.
+	 * @param resource the resource which has just been saved
+	 * @param contentHash the hash of the content which has been written
+	 */
+	private void persistContentHash(Resource resource, String contentHash) {
+		IFile file = WorkspaceSynchronizer.getFile(resource);
+		if (file == null || !file.exists()) {
+			return;
+		}
+
+		try {
+			file.setPersistentProperty(PROPERTY_CONTENT_HASH, file.getModificationStamp() + CONTENT_HASH_SEPARATOR + contentHash);
+		} catch (CoreException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Failed to persist content hash of Resource " + e.getMessage()));
+		}
+	}
+
+	/**
+	 * Computes the hash of the given serialized content
+	 * @param content the serialized content of a resource
+	 * @return the hash as hex string
+	 */
+	public static String computeContentHash(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(content);
+			StringBuilder contentHash = new StringBuilder(digest.length * 2);
+			for (byte digestByte : digest) {
+				contentHash.append(String.format("%02x", digestByte));
+			}
+			return contentHash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
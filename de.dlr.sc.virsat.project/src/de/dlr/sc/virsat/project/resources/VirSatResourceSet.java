@@ -15,10 +15,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -40,13 +42,16 @@ import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emf.ecore.xmi.XMIResource;
 import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.emf.edapt.migration.MigrationException;
@@ -60,6 +65,8 @@ import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import de.dlr.sc.virsat.model.dvlm.DVLMFactory;
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.general.IAssignedDiscipline;
+import de.dlr.sc.virsat.model.dvlm.general.UuidIndexAdapter;
+import de.dlr.sc.virsat.model.dvlm.inheritance.InheritanceIndexAdapter;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
 import de.dlr.sc.virsat.model.dvlm.roles.Discipline;
 import de.dlr.sc.virsat.model.dvlm.roles.IUserContext;
@@ -226,6 +233,69 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 		eAdapters().add(problemIndicationAdapter);
 		eAdapters().add(resourceNullContentAdapter);
 	}
+	
+	/**
+	 * This content adapter maintains the inverse of the inheritance links between
+	 * the StructuralElementInstances of this resource set. It is used to find the sub SEIs
+	 * of a given SEI without searching the whole repository.
+	 */
+	protected InheritanceIndexAdapter inheritanceIndexAdapter = new InheritanceIndexAdapter();
+	
+	/**
+	 * Add the inheritance index adapter, enabling this resource set to answer
+	 * which SEIs inherit from a given SEI without searching the whole repository.
+	 */
+	public void addInheritanceIndexAdapter() {
+		eAdapters().add(inheritanceIndexAdapter);
+	}
+	
+	/**
+	 * Access the index of the inheritance links between the SEIs of this resource set
+	 * 
+	 * @return the inheritance index adapter of this resource set
+	 */
+	public InheritanceIndexAdapter getInheritanceIndex() {
+		return inheritanceIndexAdapter;
+	}
+	
+	/**
+	 * This content adapter maintains an index from the UUIDs to the objects
+	 * of this resource set. It is used to find an object by its UUID without
+	 * searching the whole repository.
+	 */
+	protected UuidIndexAdapter uuidIndexAdapter = new UuidIndexAdapter();
+	
+	/**
+	 * Add the UUID index adapter, enabling this resource set to find
+	 * objects by their UUID without searching the whole repository.
+	 */
+	public void addUuidIndexAdapter() {
+		eAdapters().add(uuidIndexAdapter);
+	}
+	
+	/**
+	 * This content adapter tracks which resources have been modified since they have
+	 * been loaded or saved. It allows to skip unmodified resources when checking for
+	 * changes and when saving without serializing them.
+	 */
+	protected ResourceModificationTracker modificationTracker = new ResourceModificationTracker();
+	
+	/**
+	 * Add the modification tracker, enabling this resource set to skip
+	 * unmodified resources when checking for changes and when saving.
+	 */
+	public void addModificationTracker() {
+		eAdapters().add(modificationTracker);
+	}
+	
+	/**
+	 * Access the tracker of modified resources of this resource set
+	 * 
+	 * @return the modification tracker or null in case it is not attached to this resource set
+	 */
+	public ResourceModificationTracker getModificationTracker() {
+		return eAdapters().contains(modificationTracker) ? modificationTracker : null;
+	}
 
 	/**
 	 * Add a diagnostic listener
@@ -373,6 +443,9 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 		if (ed == null) {
 			resourceSet = new VirSatResourceSet(project);
 			resourceSet.addProblemIndicationAdapter();
+			resourceSet.addInheritanceIndexAdapter();
+			resourceSet.addUuidIndexAdapter();
+			resourceSet.addModificationTracker();
 
 			ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceSet.projectClosedListener);
 
@@ -999,7 +1072,13 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 		try {
 			// Only save the resource if we actually have the right to do this.
 			if (overrideWritePermissions || hasWritePermission(resource, userContext)) {
-				resource.save(saveOptions);
+				// The modification tracker skips unmodified resources and serializes modified ones only once
+				ResourceModificationTracker tracker = getModificationTracker();
+				if (tracker != null) {
+					tracker.save(resource, saveOptions, loadOptions);
+				} else {
+					resource.save(saveOptions);
+				}
 			}
 		} catch (IOException e) {
 			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), Status.ERROR,
@@ -1009,6 +1088,53 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 				"VirSatResourceSet: Finished saving Resource (" + resource.getURI().toPlatformString(true) + ") for Project (" + project.getName() + ")"));
 	}
 
+	/**
+	 * Use this method to serialize a resource in case it differs from its file. The method only reads
+	 * the resource and the file system, thus it may be called concurrently for several resources.
+	 * 
+	 * @param resource the resource to be serialized
+	 * @return the serialized content of the resource or null in case it equals its file
+	 * @throws IOException in case the resource could not be serialized
+	 */
+	public byte[] getChangedContent(Resource resource) throws IOException {
+		if (resource instanceof DmfResource) {
+			return null;
+		}
+		
+		ResourceModificationTracker tracker = getModificationTracker();
+		if (tracker != null) {
+			return tracker.getChangedContent(resource, saveOptions, loadOptions);
+		}
+		
+		byte[] content = VirSatResourceSetUtil.serialize(resource, saveOptions);
+		return VirSatResourceSetUtil.isChanged(resource, content, loadOptions) ? content : null;
+	}
+	
+	/**
+	 * Use this method to write the content of a resource which has been serialized by
+	 * {@link #getChangedContent(Resource)}. Write permissions have to be checked beforehand.
+	 * 
+	 * @param resource the resource to be saved
+	 * @param content the serialized content of the resource
+	 */
+	public void saveResourceContent(Resource resource, byte[] content) {
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(),
+				"VirSatResourceSet: Started writing Resource (" + resource.getURI().toPlatformString(true) + ") for Project (" + project.getName() + ")"));
+		try {
+			ResourceModificationTracker tracker = getModificationTracker();
+			if (tracker != null) {
+				tracker.write(resource, content, saveOptions);
+			} else {
+				resource.save(saveOptions);
+			}
+		} catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), Status.ERROR,
+					"Failed to save Resource " + e.getMessage(), e));
+		}
+		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(),
+				"VirSatResourceSet: Finished writing Resource (" + resource.getURI().toPlatformString(true) + ") for Project (" + project.getName() + ")"));
+	}
+
 	/**
 	 * Use this method to assign a new discipline to a resource / eObject. The
 	 * method will force a save on the resource to persist the newly assigned
@@ -1086,7 +1212,9 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 	 * Checks if a resource has been changed by performing a byte-by-byte
 	 * comparison. Method copied from: ResourceImpl in the EMF library. NOTE:
 	 * Support for compression using ZIP streams has been removed since carrying
-	 * this over would be a pain and we dont use it right now.
+	 * this over would be a pain and we dont use it right now. In case the modification
+	 * tracker is attached, unmodified resources are not compared at all and modified
+	 * ones are compared by the hash of their last saved content.
 	 * 
 	 * @param resource
 	 *            the resource which will be checked if it is different than the
@@ -1098,6 +1226,10 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 		if (resource instanceof DmfResource) {
 			return false;
 		} else {
+			ResourceModificationTracker tracker = getModificationTracker();
+			if (tracker != null) {
+				return tracker.isChanged(resource, saveOptions, loadOptions);
+			}
 			boolean isChanged = VirSatResourceSetUtil.isChanged(resource, saveOptions, loadOptions);
 			return isChanged;
 		}
@@ -1129,6 +1261,8 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 	 */
 	public void dispose() {
 		eAdapters().remove(problemIndicationAdapter);
+		eAdapters().remove(inheritanceIndexAdapter);
+		eAdapters().remove(modificationTracker);
 		VirSatEditingDomainRegistry.INSTANCE.removeEd(project);
 	}
 
@@ -1305,13 +1439,105 @@ public class VirSatResourceSet extends ResourceSetImpl implements ResourceSet {
 	}
 	
 	/**
-	 * Load and resolve all DVLM resources in this resource set
+	 * Load and resolve all DVLM resources in this resource set. The DVLM resources referenced
+	 * from the resources of this resource set are prefetched in parallel beforehand.
 	 */
 	public void loadAllDvlmResources() {
+		prefetchDvlmResources();
 		for (Resource resource : getResources()) {
 			if (VirSatProjectCommons.isDvlmFile(resource)) {
 				EcoreUtil.resolveAll(resource);
 			}
 		}
 	}
+	
+	/**
+	 * Loads the DVLM resources which are referenced from the loaded resources of this resource set,
+	 * but which are not yet part of it. These are exactly the resources resolving all proxies would load,
+	 * e.g. the SEIs below the root entities of the repository, but not any other DVLM file of the project.
+	 * The referenced resources are found level by level. The files of one level are parsed in parallel
+	 * into resources which are not yet attached to this resource set. References to other resources
+	 * remain proxies during parsing. Afterwards the loaded resources are attached to this resource set
+	 * on the calling thread, so that the adapters of the resource set are only ever notified by one thread.
+	 * Resources which have already been created in this resource set are left untouched, they are
+	 * loaded on demand when resolving them.
+	 */
+	protected void prefetchDvlmResources() {
+		Set<URI> createdUris = new HashSet<>();
+		List<Resource> reachedResources = new ArrayList<>();
+		for (Resource resource : getResources()) {
+			createdUris.add(resource.getURI());
+			if (resource.isLoaded() && VirSatProjectCommons.isDvlmFile(resource)) {
+				reachedResources.add(resource);
+			}
+		}
+
+		Map<Object, Object> options = getLoadOptions();
+		ResourceModificationTracker tracker = getModificationTracker();
+		while (!reachedResources.isEmpty()) {
+			List<Resource> detachedResources = new ArrayList<>();
+			for (Resource reachedResource : reachedResources) {
+				for (URI uri : getReferencedResourceUris(reachedResource)) {
+					Resource.Factory resourceFactory = getResourceFactoryRegistry().getFactory(uri);
+					if (resourceFactory != null && getURIConverter().exists(uri, null) && createdUris.add(uri)) {
+						Resource resource = resourceFactory.createResource(uri);
+						if (VirSatProjectCommons.isDvlmFile(resource)) {
+							detachedResources.add(resource);
+						}
+					}
+				}
+			}
+
+			List<Resource> loadedResources = detachedResources.parallelStream().filter(resource -> {
+				try {
+					resource.load(options);
+					return true;
+				} catch (IOException | RuntimeException e) {
+					// Leave the resource to the regular loading on demand, which reports the problem as usual
+					Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), Status.WARNING,
+							"VirSatResourceSet: Failed to prefetch resource " + resource.getURI() + ": " + e.getMessage(), e));
+					return false;
+				}
+			}).collect(Collectors.toList());
+
+			getResources().addAll(loadedResources);
+			for (Resource resource : loadedResources) {
+				if (tracker != null) {
+					tracker.setLoaded(resource);
+				}
+				updateDiagnostic(resource);
+			}
+			reachedResources = loadedResources;
+		}
+	}
+	
+	/**
+	 * Gets the URIs of the resources referenced by proxies within a resource without resolving them.
+	 * These are the proxies of contained objects stored in resources of their own, such as child SEIs,
+	 * and the proxies of cross references.
+	 * @param resource the resource to search for proxies
+	 * @return the URIs of the referenced resources
+	 */
+	@SuppressWarnings("unchecked")
+	private Set<URI> getReferencedResourceUris(Resource resource) {
+		Set<URI> uris = new HashSet<>();
+		TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(resource, false);
+		while (iterator.hasNext()) {
+			EObject eObject = iterator.next();
+			if (eObject.eIsProxy()) {
+				uris.add(((InternalEObject) eObject).eProxyURI().trimFragment());
+				iterator.prune();
+				continue;
+			}
+			
+			Iterator<EObject> crossReferences = ((InternalEList<EObject>) eObject.eCrossReferences()).basicIterator();
+			while (crossReferences.hasNext()) {
+				EObject referencedObject = crossReferences.next();
+				if (referencedObject.eIsProxy()) {
+					uris.add(((InternalEObject) referencedObject).eProxyURI().trimFragment());
+				}
+			}
+		}
+		return uris;
+	}
 }
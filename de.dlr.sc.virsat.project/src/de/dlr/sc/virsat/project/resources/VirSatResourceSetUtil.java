@@ -42,6 +42,28 @@ public class VirSatResourceSetUtil {
 	private VirSatResourceSetUtil() {
 	}
 	
+	/**
+	 * Serializes the given resource into memory. The resource does not send
+	 * any notifications while it is serialized.
+	 * @param resource the resource to be serialized
+	 * @param saveOptions EMF save options to be used
+	 * @return the serialized content of the resource
+	 * @throws IOException in case the resource could not be serialized
+	 */
+	@SuppressWarnings("rawtypes")
+	public static byte[] serialize(Resource resource, Map saveOptions) throws IOException {
+		ByteArrayOutputStream inMemoryBuffer = new ByteArrayOutputStream();
+		try {
+			boolean resourceSendsNotifications = resource.eDeliver();
+			resource.eSetDeliver(false);
+			resource.save(inMemoryBuffer, saveOptions);
+			resource.eSetDeliver(resourceSendsNotifications);
+		} finally {
+			inMemoryBuffer.close();
+		}
+		return inMemoryBuffer.toByteArray();
+	}
+	
 	/**
 	 * Checks if a resource has been changed by performing a byte-by-byte comparison.
 	 * Method copied from: ResourceImpl in the EMF library.
@@ -61,44 +83,34 @@ public class VirSatResourceSetUtil {
 				return false;
 			}
 			
-			URIConverter uriConverter = rs.getURIConverter();
-			
-			/**
-			 * Internal class
-			 * @author muel_s8
-			 *
-			 */
-			class InMemoryByteArrayOutputStream extends ByteArrayOutputStream {
-				/**
-				 * Get the buffer
-				 * @return internal buffer
-				 */
-				public byte[] buffer() {
-					return buf;
-				}
+			// First try to store the current Resource into Memory
+			byte [] inMemoryContentBuffer = serialize(resource, saveOptions);
+			return isChanged(resource, inMemoryContentBuffer, loadOptions);
+		} catch (Exception e) {
+			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "Failed to check if Resource has changed " + e.getMessage()));				
+		}
+		
+		return true;
+	}
 	
-				/**
-				 * Get the buffer length
-				 * @return buffer length
-				 */
-				public int length() {
-					return count;
-				}
+	/**
+	 * Checks if the already serialized content of a resource is different to the one
+	 * currently saved on the file system by performing a byte-by-byte comparison.
+	 * @param resource the resource of which to compare the content with the file system
+	 * @param inMemoryContentBuffer the serialized content of the resource
+	 * @param loadOptions EMF load options to be used
+	 * @return true iff the resource on the file system is different than the passed in memory content
+	 */
+	@SuppressWarnings("rawtypes")
+	public static boolean isChanged(Resource resource, byte[] inMemoryContentBuffer, Map loadOptions) {
+		try {
+			ResourceSet rs = resource.getResourceSet();
+			if (rs == null) {
+				return false;
 			}
 			
-			// First try to store the current Resource into Memory
-			InMemoryByteArrayOutputStream inMemoryBuffer = new InMemoryByteArrayOutputStream();
-			try {
-				boolean resourceSendsNotifications = resource.eDeliver();
-				resource.eSetDeliver(false);
-				resource.save(inMemoryBuffer, saveOptions);
-				resource.eSetDeliver(resourceSendsNotifications);
-			} finally {
-				inMemoryBuffer.close();
-			}
-	
-			byte [] inMemoryContentBuffer = inMemoryBuffer.buffer();
-			int inMemoryContentBufferLength = inMemoryBuffer.length();
+			URIConverter uriConverter = rs.getURIConverter();
+			int inMemoryContentBufferLength = inMemoryContentBuffer.length;
 	
 			// Now load the resource from disk
 			InputStream resourceContentInputStream = null;
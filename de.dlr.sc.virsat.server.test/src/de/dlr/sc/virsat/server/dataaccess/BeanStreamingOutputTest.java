@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.server.dataaccess;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BeanStreamingOutputTest {
+
+	@Test
+	public void testGetPage() {
+		List<String> list = Arrays.asList("a", "b", "c");
+		
+		assertEquals(Arrays.asList("a", "b"), BeanStreamingOutput.getPage(list, 0, 2));
+		assertEquals(Collections.singletonList("c"), BeanStreamingOutput.getPage(list, 2, 2));
+		assertEquals(Collections.emptyList(), BeanStreamingOutput.getPage(list, 5, 2));
+		assertEquals(list, BeanStreamingOutput.getPage(list, 0, Integer.MAX_VALUE));
+	}
+}
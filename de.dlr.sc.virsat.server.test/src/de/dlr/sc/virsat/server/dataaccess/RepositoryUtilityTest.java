@@ -99,6 +99,16 @@ public class RepositoryUtilityTest extends AProjectTestCase {
 		assertEquals(testCa, ca);
 	}
 
+	@Test
+	public void testFindCaAfterModelChange() {
+		CategoryAssignment newCa = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		testSei.getCategoryAssignments().add(newCa);
+		assertEquals(newCa, RepositoryUtility.findCa(newCa.getUuid().toString(), repository));
+		
+		testSei.getCategoryAssignments().remove(newCa);
+		assertNull(RepositoryUtility.findCa(newCa.getUuid().toString(), repository));
+	}
+
 	@Test
 	public void testFindProperty() {
 		APropertyInstance property = RepositoryUtility.findProperty("", repository);
@@ -133,6 +143,8 @@ public class RepositoryUtilityTest extends AProjectTestCase {
 		
 		property = (APropertyInstance) RepositoryUtility.findObjectById(testPropertyInstance.getUuid().toString(), repository);
 		assertEquals(testPropertyInstance, property);
+		
+		assertNull("Objects outside of the sei resources are not found", RepositoryUtility.findObjectById(testDiscipline.getUuid().toString(), repository));
 	}
 
 }
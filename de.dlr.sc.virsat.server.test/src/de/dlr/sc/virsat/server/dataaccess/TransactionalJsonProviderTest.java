@@ -12,6 +12,7 @@ package de.dlr.sc.virsat.server.dataaccess;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -44,11 +45,14 @@ import org.junit.Test;
 import de.dlr.sc.virsat.model.concept.types.property.BeanPropertyInt;
 import de.dlr.sc.virsat.model.concept.types.structural.BeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.DVLMPackage;
+import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
+import de.dlr.sc.virsat.model.dvlm.concepts.ConceptsFactory;
 import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
 import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
+import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
 import de.dlr.sc.virsat.project.resources.command.CreateSeiResourceAndFileCommand;
 import de.dlr.sc.virsat.server.test.AServerRepositoryTest;
 
@@ -179,6 +183,14 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 		assertEquals("One new commit", initialCommits + 1, countCommits());
 	}
 
+	@Test
+	public void testGetServerRepository() {
+		assertSame("Outside of a request the set repository is used", testServerRepository, provider.getServerRepository());
+		
+		TransactionalJsonProvider otherProvider = new TransactionalJsonProvider();
+		assertNull("No repository without a request", otherProvider.getServerRepository());
+	}
+
 	@Test
 	public void testGetJAXBContext() throws JAXBException {
 		JAXBContext context = provider.getJAXBContext(beanClass, null, mediaType, null);
@@ -192,4 +204,23 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 		assertNotSame("New context because the classes to register changed", context, context3);
 	}
 
+	@Test
+	public void testGetClassesToRegisterIsCached() throws JAXBException {
+		VirSatResourceSet resourceSet = testServerRepository.getResourceSet();
+		Set<Class<?>> classes = TransactionalJsonProvider.getClassesToRegister(resourceSet);
+		assertSame("Classes got cached for the active concepts", classes, TransactionalJsonProvider.getClassesToRegister(resourceSet));
+		
+		JAXBContext context = TransactionalJsonProvider.getJsonContext(resourceSet);
+		assertSame("Context got cached for the active concepts", context, TransactionalJsonProvider.getJsonContext(resourceSet));
+		
+		Concept concept = ConceptsFactory.eINSTANCE.createConcept();
+		concept.setName("testConcept");
+		concept.setVersion("1.0");
+		testServerRepository.getEd().getCommandStack().execute(
+				AddCommand.create(testServerRepository.getEd(), resourceSet.getRepository(), DVLMPackage.eINSTANCE.getRepository_ActiveConcepts(), concept));
+		
+		assertNotSame("Activating a concept invalidates the classes", classes, TransactionalJsonProvider.getClassesToRegister(resourceSet));
+		assertNotSame("Activating a concept invalidates the context", context, TransactionalJsonProvider.getJsonContext(resourceSet));
+	}
+
 }
@@ -10,12 +10,16 @@
 package de.dlr.sc.virsat.server.resources;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.StringWriter;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.xml.bind.JAXBException;
@@ -192,6 +196,90 @@ public class ModelAccessResourceTest extends AServerRepositoryTest {
 		assertTrue("Right Sei found", entity.contains(tSei.getUuid()));
 	}
 	
+	@Test
+	public void testRootSeisPagedGet() {
+		Response response = webTarget
+				.path(ModelAccessResource.ROOT_SEIS)
+				.path(ModelAccessResource.PAGED)
+				.request()
+				.get();
+		
+		assertEquals(HttpStatus.OK_200, response.getStatus());
+		assertTrue("Right Sei found", response.readEntity(String.class).contains(tSei.getUuid()));
+		
+		EntityTag entityTag = response.getEntityTag();
+		assertNotNull("Response is tagged", entityTag);
+		
+		Response notModifiedResponse = webTarget
+				.path(ModelAccessResource.ROOT_SEIS)
+				.path(ModelAccessResource.PAGED)
+				.request()
+				.header(HttpHeaders.IF_NONE_MATCH, entityTag.toString())
+				.get();
+		assertEquals("Unchanged repository is not sent again", HttpStatus.NOT_MODIFIED_304, notModifiedResponse.getStatus());
+		
+		String entity = webTarget
+				.path(ModelAccessResource.ROOT_SEIS)
+				.path(ModelAccessResource.PAGED)
+				.queryParam(ModelAccessResource.QUERY_OFFSET, 1)
+				.request()
+				.get(String.class);
+		assertEquals("No Sei after the only root sei", "[]", entity);
+		
+		Response badResponse = webTarget
+				.path(ModelAccessResource.ROOT_SEIS)
+				.path(ModelAccessResource.PAGED)
+				.queryParam(ModelAccessResource.QUERY_LIMIT, -1)
+				.request()
+				.get();
+		assertEquals(HttpStatus.BAD_REQUEST_400, badResponse.getStatus());
+	}
+	
+	@Test
+	public void testCasPagedGet() {
+		String entity = webTarget
+				.path(ModelAccessResource.SEI)
+				.path(tSei.getUuid())
+				.path(ModelAccessResource.CAS)
+				.queryParam(ModelAccessResource.QUERY_LIMIT, 1)
+				.request()
+				.get(String.class);
+		
+		assertTrue("First Ca found", entity.contains(tcAllProperty.getUuid()));
+		assertFalse("Second Ca is not on the first page", entity.contains(tcBeanA.getUuid()));
+		
+		entity = webTarget
+				.path(ModelAccessResource.SEI)
+				.path(tSei.getUuid())
+				.path(ModelAccessResource.CAS)
+				.queryParam(ModelAccessResource.QUERY_OFFSET, 1)
+				.queryParam(ModelAccessResource.QUERY_LIMIT, 1)
+				.request()
+				.get(String.class);
+		
+		assertTrue("Second Ca found", entity.contains(tcBeanA.getUuid()));
+	}
+	
+	@Test
+	public void testChildrenPagedGet() {
+		String entity = webTarget
+				.path(ModelAccessResource.SEI)
+				.path(tSei.getUuid())
+				.path(ModelAccessResource.CHILDREN)
+				.request()
+				.get(String.class);
+		
+		assertEquals("Sei has no children", "[]", entity);
+		
+		Response response = webTarget
+				.path(ModelAccessResource.SEI)
+				.path("unknownUuid")
+				.path(ModelAccessResource.CHILDREN)
+				.request()
+				.get();
+		assertEquals(HttpStatus.NOT_FOUND_404, response.getStatus());
+	}
+	
 	/**
 	 * Get a testSubject at a path from the server
 	 * Then marshall it manually via the JAXBUtility using the classes
@@ -17,6 +17,7 @@ import de.dlr.sc.virsat.server.auth.LoginServiceFactoryTest;
 import de.dlr.sc.virsat.server.configuration.RepositoryConfigurationTest;
 import de.dlr.sc.virsat.server.configuration.ServerConfigurationTest;
 import de.dlr.sc.virsat.server.controller.RepoManagementControllerTest;
+import de.dlr.sc.virsat.server.dataaccess.BeanStreamingOutputTest;
 import de.dlr.sc.virsat.server.dataaccess.RepositoryUtilityTest;
 import de.dlr.sc.virsat.server.dataaccess.TransactionalJsonProviderTest;
 import de.dlr.sc.virsat.server.repository.ServerRepoHelperTest;
@@ -43,7 +44,8 @@ import junit.framework.JUnit4TestAdapter;
 	LoginServiceFactoryTest.class,
 	ModelAccessResourceTest.class,
 	TransactionalJsonProviderTest.class,
-	RepositoryUtilityTest.class
+	RepositoryUtilityTest.class,
+	BeanStreamingOutputTest.class
 })
 
 public class AllTests {
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.server.dataaccess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.helpers.DefaultValidationEventHandler;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.commons.exception.AtomicExceptionReference;
+import de.dlr.sc.virsat.model.concept.types.factory.BeanCategoryAssignmentFactory;
+import de.dlr.sc.virsat.model.concept.types.factory.BeanStructuralElementInstanceFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.server.repository.ServerRepository;
+
+/**
+ * Writes a page of SEIs or CAs as a JSON array of their beans. The beans are created and
+ * marshalled one after the other in compact JSON, so that the beans of the page do not have
+ * to be held in memory at once. The elements are read in a read only transaction on the project
+ * of the repository. The page is marshalled into a buffer within the transaction, so that a slow
+ * client does not keep the project locked while receiving it.
+ */
+public class BeanStreamingOutput implements StreamingOutput {
+
+	private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+	private ServerRepository repo;
+	private Supplier<List<? extends EObject>> elements;
+	private int offset;
+	private int limit;
+
+	/**
+	 * Constructor for a page of elements
+	 * @param repo the repository containing the elements
+	 * @param elements supplies the list of SEIs or CAs to be paged. It is called within the transaction.
+	 * @param offset the index of the first element of the page
+	 * @param limit the maximum number of elements of the page
+	 */
+	public BeanStreamingOutput(ServerRepository repo, Supplier<List<? extends EObject>> elements, int offset, int limit) {
+		this.repo = repo;
+		this.elements = elements;
+		this.offset = offset;
+		this.limit = limit;
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException, WebApplicationException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		AtomicExceptionReference<IOException> atomicIoException = new AtomicExceptionReference<>();
+		try {
+			repo.getEd().runExclusiveInProject(() -> {
+				try {
+					writePage(buffer);
+				} catch (IOException e) {
+					atomicIoException.set(e);
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebApplicationException(e);
+		}
+
+		atomicIoException.throwIfSet();
+		
+		buffer.writeTo(output);
+	}
+
+	/**
+	 * Writes the beans of the page as JSON array
+	 * @param output the stream to write to
+	 * @throws IOException in case a bean cannot be created or written
+	 */
+	private void writePage(OutputStream output) throws IOException {
+		List<? extends EObject> page = getPage(elements.get(), offset, limit);
+
+		try {
+			Marshaller marshaller = createMarshaller();
+			output.write(ARRAY_START);
+			for (int i = 0; i < page.size(); i++) {
+				if (i > 0) {
+					output.write(ARRAY_SEPARATOR);
+				}
+				marshaller.marshal(createBean(page.get(i)), output);
+			}
+			output.write(ARRAY_END);
+		} catch (JAXBException | CoreException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Creates a marshaller for compact JSON knowing all beans of the active concepts
+	 * @return the marshaller
+	 * @throws JAXBException in case the context cannot be created
+	 */
+	private Marshaller createMarshaller() throws JAXBException {
+		Marshaller marshaller = TransactionalJsonProvider.getJsonContext(repo.getResourceSet()).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+		marshaller.setEventHandler(new DefaultValidationEventHandler());
+		return marshaller;
+	}
+
+	/**
+	 * Creates the bean of an SEI or a CA
+	 * @param eObject the SEI or CA
+	 * @return the bean
+	 * @throws CoreException in case no bean is available for the type of the element
+	 */
+	private Object createBean(EObject eObject) throws CoreException {
+		if (eObject instanceof StructuralElementInstance) {
+			return new BeanStructuralElementInstanceFactory().getInstanceFor((StructuralElementInstance) eObject);
+		} else if (eObject instanceof CategoryAssignment) {
+			return new BeanCategoryAssignmentFactory().getInstanceFor((CategoryAssignment) eObject);
+		}
+		throw new IllegalArgumentException("No bean available for " + eObject.eClass().getName());
+	}
+
+	/**
+	 * Gets the elements of a page from a list
+	 * @param list the list of all elements
+	 * @param offset the index of the first element of the page
+	 * @param limit the maximum number of elements of the page
+	 * @param <T> the type of the elements
+	 * @return a view of the elements of the page, which is empty in case the offset is behind the list
+	 */
+	public static <T> List<T> getPage(List<T> list, int offset, int limit) {
+		int fromIndex = Math.min(offset, list.size());
+		int toIndex = (int) Math.min((long) fromIndex + limit, list.size());
+		return list.subList(fromIndex, toIndex);
+	}
+}
@@ -16,12 +16,14 @@ import java.util.List;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.general.IUuid;
+import de.dlr.sc.virsat.model.dvlm.general.UuidIndexAdapter;
 import de.dlr.sc.virsat.model.dvlm.roles.Discipline;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
@@ -61,6 +63,10 @@ public class RepositoryUtility {
 	 * @throws CoreException
 	 */
 	public static StructuralElementInstance findSei(String uuid, Repository repository) throws CoreException {
+		UuidIndexAdapter uuidIndex = UuidIndexAdapter.getUuidIndex(repository);
+		if (uuidIndex != null) {
+			return uuidIndex.getObject(uuid, StructuralElementInstance.class);
+		}
 		
 		List<StructuralElementInstance> match = new ArrayList<StructuralElementInstance>(); 
 		
@@ -86,12 +92,21 @@ public class RepositoryUtility {
 	}
 	
 	/**
-	 * Iterates over all seis in the repository and matches the uuid on eobject level
+	 * Finds any object within the resources of the seis of the repository by its uuid.
+	 * Looks it up in the uuid index of the resource set, or iterates over all seis in the
+	 * repository and matches the uuid on eobject level in case the repository is not contained
+	 * in a resource set. Objects of other resources such as concepts or disciplines are not found.
 	 * @param uuid
 	 * @param repository
 	 * @return
 	 */
 	public static IUuid findObjectById(String uuid, Repository repository) {
+		UuidIndexAdapter uuidIndex = UuidIndexAdapter.getUuidIndex(repository);
+		if (uuidIndex != null) {
+			IUuid obj = uuidIndex.getObject(uuid);
+			return isInSeiResource(obj) ? obj : null;
+		}
+		
 		List<IUuid> match = new ArrayList<IUuid>(); 
 		
 		TreeTraverser<IUuid> traverser = new TreeTraverser<IUuid>();
@@ -119,6 +134,16 @@ public class RepositoryUtility {
 		}
 	}
 	
+	/**
+	 * Checks if an object is contained in the resource of a sei
+	 * @param obj the object or null
+	 * @return true iff the first root object of the resource of the object is a sei
+	 */
+	private static boolean isInSeiResource(IUuid obj) {
+		Resource resource = obj != null ? obj.eResource() : null;
+		return resource != null && !resource.getContents().isEmpty() && resource.getContents().get(0) instanceof StructuralElementInstance;
+	}
+	
 	/**
 	 * Finds a ca instance by it's uuid
 	 * @param uuid the cas uuid
@@ -156,6 +181,11 @@ public class RepositoryUtility {
 	 * @throws CoreException
 	 */
 	public static Discipline findDiscipline(String uuid, Repository repository) {
+		UuidIndexAdapter uuidIndex = UuidIndexAdapter.getUuidIndex(repository);
+		if (uuidIndex != null) {
+			return uuidIndex.getObject(uuid, Discipline.class);
+		}
+		
 		EList<Discipline> disciplines = repository.getRoleManagement().getDisciplines();
 		for (Discipline discipline : disciplines) {
 			if (discipline.getUuid().toString().equals(uuid)) {
@@ -9,6 +9,7 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.server.dataaccess;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -17,15 +18,20 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -37,7 +43,6 @@ import javax.xml.bind.helpers.DefaultValidationEventHandler;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.transaction.RecordingCommand;
-import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
 
 import de.dlr.sc.virsat.commons.exception.AtomicExceptionReference;
@@ -50,10 +55,12 @@ import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.json.ABeanObjectAdapter;
 import de.dlr.sc.virsat.model.dvlm.json.ABeanStructuralElementInstanceAdapter;
 import de.dlr.sc.virsat.model.dvlm.json.IUuidAdapter;
+import de.dlr.sc.virsat.model.dvlm.json.JAXBUtility;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
-import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
+import de.dlr.sc.virsat.server.repository.RepoRegistry;
 import de.dlr.sc.virsat.server.repository.ServerRepository;
+import de.dlr.sc.virsat.server.resources.ModelAccessResource;
 
 @Provider
 @Produces(MediaType.APPLICATION_JSON)
@@ -62,9 +69,9 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 	
 	private ValidationEventHandler eventHandler;
 	
-	private ServerRepository repo;
-	private VirSatTransactionalEditingDomain ed;
-	private VirSatResourceSet resourceSet;
+	@Context
+	private UriInfo uriInfo;
+	private ServerRepository defaultRepository;
 	
 	private static final Set<Class<?>> LIST_CLASSES = new HashSet<Class<?>>(
 			Arrays.asList(
@@ -72,22 +79,89 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 				ABeanStructuralElementInstanceAdapter.class
 	));
 	
+	// The bean classes and contexts only depend on the versions of the active concepts. Activating
+	// or migrating a concept changes the key, so the classes are collected again for the new concepts.
+	private static final Map<List<String>, Set<Class<?>>> CONCEPT_CLASSES = new ConcurrentHashMap<>();
+	private static final Map<List<String>, JAXBContext> CONCEPT_JSON_CONTEXTS = new ConcurrentHashMap<>();
+	
 	public TransactionalJsonProvider() {
 		setFormattedOutput(true);
 		eventHandler = new DefaultValidationEventHandler();
 	}
 	
+	/**
+	 * Sets the repository to be used when the provider is called outside of a request,
+	 * e.g. when it is used directly without the REST server
+	 * @param repo the repository to read from and write to
+	 */
 	public void setServerRepository(ServerRepository repo) {
-		this.repo = repo;
-		this.ed = repo.getEd();
-		this.resourceSet = repo.getResourceSet();
+		this.defaultRepository = repo;
+	}
+	
+	/**
+	 * Gets the repository of the current request. The repository is taken from the path of the request,
+	 * thus concurrent requests to different repositories do not interfere with each other.
+	 * Outside of a request the repository set by {@link #setServerRepository(ServerRepository)} is used.
+	 * @return the repository of the current request or null if there is none
+	 */
+	protected ServerRepository getServerRepository() {
+		if (uriInfo != null) {
+			String repoName = uriInfo.getPathParameters().getFirst(ModelAccessResource.REPO_NAME);
+			if (repoName != null) {
+				return RepoRegistry.getInstance().getRepository(repoName);
+			}
+		}
+		return defaultRepository;
 	}
 
 	/**
-	 * Get all category assignment classes that are present in the current concepts
+	 * Get the full qualified names and versions of the active concepts of a repository
+	 * @param resourceSet the resource set of the repository
+	 * @return List<String> the concept versions
+	 */
+	static List<String> getActiveConceptVersions(VirSatResourceSet resourceSet) {
+		List<String> conceptVersions = new ArrayList<>();
+		for (Concept concept : resourceSet.getRepository().getActiveConcepts()) {
+			conceptVersions.add(concept.getFullQualifiedName() + ":" + concept.getVersion());
+		}
+		return conceptVersions;
+	}
+	
+	/**
+	 * Get all category assignment classes that are present in the current concepts.
+	 * The classes are cached for the versions of the active concepts.
+	 * @param resourceSet the resource set of the repository
+	 * @return Set<Class<?>> the classes
+	 */
+	static Set<Class<?>> getClassesToRegister(VirSatResourceSet resourceSet) {
+		return CONCEPT_CLASSES.computeIfAbsent(getActiveConceptVersions(resourceSet),
+			conceptVersions -> Collections.unmodifiableSet(collectClassesToRegister(resourceSet)));
+	}
+	
+	/**
+	 * Get a JSON context knowing all category assignment classes that are present in the current concepts.
+	 * The context is cached for the versions of the active concepts.
+	 * @param resourceSet the resource set of the repository
+	 * @return JAXBContext the context
+	 * @throws JAXBException
+	 */
+	static JAXBContext getJsonContext(VirSatResourceSet resourceSet) throws JAXBException {
+		List<String> conceptVersions = getActiveConceptVersions(resourceSet);
+		JAXBContext context = CONCEPT_JSON_CONTEXTS.get(conceptVersions);
+		if (context == null) {
+			Set<Class<?>> classes = getClassesToRegister(resourceSet);
+			context = new JAXBUtility(classes.toArray(new Class[0])).getContext();
+			CONCEPT_JSON_CONTEXTS.put(conceptVersions, context);
+		}
+		return context;
+	}
+	
+	/**
+	 * Collect all category assignment classes that are present in the current concepts
+	 * @param resourceSet the resource set of the repository
 	 * @return Set<Class<?>> the classes
 	 */
-	private Set<Class<?>> getClassesToRegister() {
+	private static Set<Class<?>> collectClassesToRegister(VirSatResourceSet resourceSet) {
 		Set<Class<?>> allCaClasses = new HashSet<>();
 		BeanCategoryAssignmentFactory beanCaFactory = new BeanCategoryAssignmentFactory();
 		BeanStructuralElementInstanceFactory beanSeiFactory = new BeanStructuralElementInstanceFactory();
@@ -126,8 +200,38 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 	public void writeTo(Object object, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
 			MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
 			throws IOException, WebApplicationException {
-		// Useful for debugging
-		super.writeTo(object, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+		ServerRepository repo = getServerRepository();
+		if (repo == null || repo.getEd() == null) {
+			super.writeTo(object, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+			return;
+		}
+		
+		// Marshalling the beans reads the model, so it has to happen in a read only transaction.
+		// The transaction only locks the project of the repository, thus requests reading
+		// from different repositories are not serialized. The beans are marshalled into a
+		// buffer, so that a slow client does not keep the project locked while receiving them.
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		AtomicExceptionReference<WebApplicationException> atomicWebAppException = new AtomicExceptionReference<>();
+		AtomicExceptionReference<IOException> atomicIoException = new AtomicExceptionReference<>();
+		try {
+			repo.getEd().runExclusiveInProject(() -> {
+				try {
+					super.writeTo(object, type, genericType, annotations, mediaType, httpHeaders, buffer);
+				} catch (WebApplicationException e) {
+					atomicWebAppException.set(e);
+				} catch (IOException e) {
+					atomicIoException.set(e);
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebApplicationException(e);
+		}
+		
+		atomicWebAppException.throwIfSet();
+		atomicIoException.throwIfSet();
+		
+		buffer.writeTo(entityStream);
 	}
 	
 	@Override
@@ -143,6 +247,7 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 			Unmarshaller unmarshaller) throws JAXBException {
 		super.preReadFrom(type, genericType, annotations, mediaType, httpHeaders, unmarshaller);
 		unmarshaller.setEventHandler(eventHandler);
+		VirSatResourceSet resourceSet = getServerRepository().getResourceSet();
 		unmarshaller.setAdapter(new IUuidAdapter(resourceSet));
 		unmarshaller.setAdapter(new ABeanObjectAdapter(resourceSet));
 	}
@@ -154,9 +259,12 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 		
 		ReadFromArguments arguments = new ReadFromArguments(
 				type, genericType, annotations, mediaType, httpHeaders, entityStream);
-		ReadFromCommand readFromCommand = new ReadFromCommand(ed, arguments);
 		
-		ed.getCommandStack().execute(readFromCommand);
+		// Writing is only serialized by the editing domain of the requested repository
+		ServerRepository repo = getServerRepository();
+		ReadFromCommand readFromCommand = new ReadFromCommand(repo, arguments);
+		
+		repo.getEd().getCommandStack().execute(readFromCommand);
 		
 		readFromCommand.throwExceptionsIfSet();
 		
@@ -222,6 +330,7 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 	private class ReadFromCommand extends RecordingCommand {
 		
 		private Collection<Object> results = new ArrayList<>();
+		private ServerRepository repo;
 		private ReadFromArguments arguments;
 
 		private AtomicExceptionReference<WebApplicationException> atomicWebAppException;
@@ -231,11 +340,12 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 		/**
 		 * Create a command to call ConfigurableMoxyJsonProvider.readFrom()
 		 * over the transactional editing domain
-		 * @param domain the ed
+		 * @param repo the repository to write to
 		 * @param arguments for the readFrom function 
 		 */
-		ReadFromCommand(TransactionalEditingDomain domain, ReadFromArguments arguments) {
-			super(domain);
+		ReadFromCommand(ServerRepository repo, ReadFromArguments arguments) {
+			super(repo.getEd());
+			this.repo = repo;
 			this.arguments = arguments;
 			
 			atomicIoException = new AtomicExceptionReference<>();
@@ -253,7 +363,7 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 					arguments.getMediaType(),
 					arguments.getHttpHeaders(),
 					arguments.getEntityStream());
-				resourceSet.saveAllResources(new NullProgressMonitor(), ed);
+				repo.getResourceSet().saveAllResources(new NullProgressMonitor(), repo.getEd());
 				repo.syncRepository();
 				results.add(result);
 			} catch (WebApplicationException e) {
@@ -296,10 +406,11 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 			// so we only register those missing classes here.
 			domainClasses.addAll(LIST_CLASSES);
 		} else {
-			// We assume that the registered classes in the concept can change any time
-			// so no cashing is possible and we have to get the current ones on each request
-			if (ed != null) {
-				domainClasses.addAll(getClassesToRegister());
+			// The registered classes can change with the active concepts, so they
+			// are cached for the versions of the concepts of the requested repository
+			ServerRepository repo = getServerRepository();
+			if (repo != null && repo.getResourceSet() != null) {
+				domainClasses.addAll(getClassesToRegister(repo.getResourceSet()));
 			}
 		}
 		
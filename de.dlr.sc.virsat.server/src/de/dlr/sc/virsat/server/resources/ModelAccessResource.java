@@ -12,19 +12,26 @@ package de.dlr.sc.virsat.server.resources;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
-import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.EObject;
 
 import de.dlr.sc.virsat.model.concept.types.category.ABeanCategoryAssignment;
 import de.dlr.sc.virsat.model.concept.types.factory.BeanCategoryAssignmentFactory;
@@ -35,9 +42,9 @@ import de.dlr.sc.virsat.model.concept.types.structural.ABeanStructuralElementIns
 import de.dlr.sc.virsat.model.concept.types.structural.IBeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
-import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
+import de.dlr.sc.virsat.project.resources.ResourceModificationTracker;
+import de.dlr.sc.virsat.server.dataaccess.BeanStreamingOutput;
 import de.dlr.sc.virsat.server.dataaccess.RepositoryUtility;
-import de.dlr.sc.virsat.server.dataaccess.TransactionalJsonProvider;
 import de.dlr.sc.virsat.server.repository.RepoRegistry;
 import de.dlr.sc.virsat.server.repository.ServerRepository;
 
@@ -48,9 +55,8 @@ import de.dlr.sc.virsat.server.repository.ServerRepository;
 @Path(ModelAccessResource.PATH)
 public class ModelAccessResource {
 
-	TransactionalJsonProvider provider;
-	
 	public static final String PATH = "/repository";
+	public static final String REPO_NAME = "repoName";
 
 	public static final String ROOT_SEIS = "seis";
 	public static final String SEI = "sei";
@@ -59,24 +65,26 @@ public class ModelAccessResource {
 	public static final String CA = "ca";
 	public static final String CA_AND_PROPERTIES = "caAndProperties";
 	public static final String PROPERTY = "property";
-
-	@Inject
-	public ModelAccessResource(TransactionalJsonProvider provider) { 
-		this.provider = provider;
-	}
+	public static final String PAGED = "paged";
+	public static final String CHILDREN = "children";
+	public static final String CAS = "cas";
 	
+	public static final String QUERY_OFFSET = "offset";
+	public static final String QUERY_LIMIT = "limit";
+	public static final String DEFAULT_LIMIT = "100";
+
 	/**
 	 * Get the ServerRepository corresponding to the repoName and create a new RepoModelAccessResource
 	 * @param repoName of the repository to be accessed by the request
 	 * @return RepoModelAccessResource or null if the repo is not found
 	 */
-	@Path("{repoName}")
-	public RepoModelAccessResource getConcreteResource(@PathParam("repoName") String repoName) {
+	@Path("{" + REPO_NAME + "}")
+	public RepoModelAccessResource getConcreteResource(@PathParam(REPO_NAME) String repoName) {
 		ServerRepository repo = RepoRegistry.getInstance().getRepository(repoName);
 		if (repo != null) {
-			VirSatTransactionalEditingDomain ed = repo.getEd();
-			provider.setServerRepository(repo);
-			return new RepoModelAccessResource(ed.getResourceSet().getRepository());
+			// The repository of the request is only passed on to the sub resource and not stored in
+			// any shared object, so that concurrent requests to different repositories do not interfere
+			return new RepoModelAccessResource(repo);
 		}
 
 		return null;
@@ -86,6 +94,7 @@ public class ModelAccessResource {
 	 * The resource to access the VirSat data model of a specific server repository
 	 * Provides the following endpoints:
 	 *   - Get roots seis
+	 *   - Get pages of root seis, children and cas of a sei as stream with ETag
 	 *   - Get and update sei by uuid
 	 *   - Get disciplines
 	 *   - Get concepts
@@ -95,16 +104,61 @@ public class ModelAccessResource {
 	 */
 	public static class RepoModelAccessResource {
 	
+		private ServerRepository serverRepository;
 		private Repository repository;
 		
-		public RepoModelAccessResource(Repository repository) {
-			this.repository = repository;
+		public RepoModelAccessResource(ServerRepository serverRepository) {
+			this.serverRepository = serverRepository;
+			this.repository = serverRepository.getResourceSet().getRepository();
 		}
 		
 		private Response createBadRequestResponse(String msg) {
 			return Response.status(Response.Status.BAD_REQUEST).entity(msg).build();
 		}
 		
+		/**
+		 * Creates an entity tag from the modification count of the resource set. It changes
+		 * whenever anything in the repository is changed, loaded or unloaded.
+		 * @return the entity tag or null if the modifications of the repository are not tracked
+		 */
+		private EntityTag getEntityTag() {
+			ResourceModificationTracker tracker = serverRepository.getResourceSet().getModificationTracker();
+			if (tracker == null) {
+				return null;
+			}
+			
+			// The identity of the tracker distinguishes the counts of reloaded resource sets
+			String tag = Integer.toHexString(System.identityHashCode(tracker)) + "-" + Long.toHexString(tracker.getModificationCount());
+			return new EntityTag(tag);
+		}
+		
+		/**
+		 * Creates a response streaming a page of elements. In case the client already knows
+		 * the current state of the repository, only the status not modified is returned.
+		 * @param request the request to evaluate the If-None-Match header
+		 * @param elements supplies the elements to be paged
+		 * @param offset the index of the first element of the page
+		 * @param limit the maximum number of elements of the page
+		 * @return a server response
+		 */
+		private Response createPagedResponse(Request request, Supplier<List<? extends EObject>> elements, int offset, int limit) {
+			if (offset < 0 || limit < 0) {
+				return createBadRequestResponse("Offset and limit must not be negative");
+			}
+			
+			// Take the tag before reading the elements, so a concurrent change results in a new tag
+			EntityTag entityTag = getEntityTag();
+			if (entityTag != null) {
+				ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+				if (notModified != null) {
+					return notModified.build();
+				}
+			}
+			
+			BeanStreamingOutput output = new BeanStreamingOutput(serverRepository, elements, offset, limit);
+			return Response.ok(output).tag(entityTag).build();
+		}
+		
 		@GET
 		@Path(PROPERTY + "/{propertyUuid}")
 		@Produces(MediaType.APPLICATION_JSON)
@@ -173,6 +227,72 @@ public class ModelAccessResource {
 			}
 		}
 		
+		/**
+		 * Returns a response streaming a page of the root seis
+		 * @param request the request
+		 * @param offset the index of the first root sei
+		 * @param limit the maximum number of root seis
+		 * @return a server response
+		 */
+		@GET
+		@Path(ROOT_SEIS + "/" + PAGED)
+		@Produces(MediaType.APPLICATION_JSON)
+		public Response getRootSeisPaged(@Context Request request,
+				@QueryParam(QUERY_OFFSET) @DefaultValue("0") int offset,
+				@QueryParam(QUERY_LIMIT) @DefaultValue(DEFAULT_LIMIT) int limit) {
+			return createPagedResponse(request, repository::getRootEntities, offset, limit);
+		}
+		
+		/**
+		 * Returns a response streaming a page of the children of the sei with the seiUuid
+		 * @param request the request
+		 * @param seiUuid uuid of the sei
+		 * @param offset the index of the first child
+		 * @param limit the maximum number of children
+		 * @return a server response
+		 */
+		@GET
+		@Path(SEI + "/{seiUuid}/" + CHILDREN)
+		@Produces(MediaType.APPLICATION_JSON)
+		public Response getChildrenPaged(@Context Request request, @PathParam("seiUuid") String seiUuid,
+				@QueryParam(QUERY_OFFSET) @DefaultValue("0") int offset,
+				@QueryParam(QUERY_LIMIT) @DefaultValue(DEFAULT_LIMIT) int limit) {
+			try {
+				StructuralElementInstance sei = RepositoryUtility.findSei(seiUuid, repository);
+				if (sei == null) {
+					return Response.status(Response.Status.NOT_FOUND).build();
+				}
+				return createPagedResponse(request, sei::getChildren, offset, limit);
+			} catch (CoreException e) {
+				return createBadRequestResponse(e.getMessage());
+			}
+		}
+		
+		/**
+		 * Returns a response streaming a page of the category assignments of the sei with the seiUuid
+		 * @param request the request
+		 * @param seiUuid uuid of the sei
+		 * @param offset the index of the first category assignment
+		 * @param limit the maximum number of category assignments
+		 * @return a server response
+		 */
+		@GET
+		@Path(SEI + "/{seiUuid}/" + CAS)
+		@Produces(MediaType.APPLICATION_JSON)
+		public Response getCasPaged(@Context Request request, @PathParam("seiUuid") String seiUuid,
+				@QueryParam(QUERY_OFFSET) @DefaultValue("0") int offset,
+				@QueryParam(QUERY_LIMIT) @DefaultValue(DEFAULT_LIMIT) int limit) {
+			try {
+				StructuralElementInstance sei = RepositoryUtility.findSei(seiUuid, repository);
+				if (sei == null) {
+					return Response.status(Response.Status.NOT_FOUND).build();
+				}
+				return createPagedResponse(request, sei::getCategoryAssignments, offset, limit);
+			} catch (CoreException e) {
+				return createBadRequestResponse(e.getMessage());
+			}
+		}
+		
 		/**
 		 * Returns a response with the sei with the seiUuid
 		 * @param seiUuid uuid of the sei
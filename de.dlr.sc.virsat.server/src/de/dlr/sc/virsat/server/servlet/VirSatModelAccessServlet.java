@@ -12,7 +12,6 @@ package de.dlr.sc.virsat.server.servlet;
 import javax.servlet.Servlet;
 
 import org.glassfish.jersey.CommonProperties;
-import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
 import org.glassfish.jersey.servlet.ServletContainer;
@@ -56,15 +55,8 @@ public class VirSatModelAccessServlet extends ApplicationServletContainer implem
 			// Register our RepositoryFilter via a dynamic binding
 			register(DynamicRepositoryFilterBinding.class);
 			
-			// Register a custom json provider that extends the default moxy provider
-			final TransactionalJsonProvider provider = new TransactionalJsonProvider();
-			final AbstractBinder binder = new AbstractBinder() {
-				@Override
-				public void configure() {
-					bind(provider).to(TransactionalJsonProvider.class);
-				}
-			};
-			register(binder);
+			// Register a custom json provider that extends the default moxy provider.
+			// It resolves the repository from the path of each request.
 			register(TransactionalJsonProvider.class);
 		}
 	}